@@ -1,11 +1,13 @@
 package fr.polytech.projectjava.checkingsimulation;
 
 import fr.polytech.projectjava.utils.jfx.SimpleLocalDateTimeProperty;
+import fr.polytech.projectjava.utils.socket.CheckCodec;
 import javafx.beans.property.SimpleObjectProperty;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -139,6 +141,18 @@ public class CheckInfos implements Serializable
 		return getEmployee().getID() + ";" + getCheckType().toString() + ";" + getFormattedCheckDate();
 	}
 	
+	/**
+	 * Write the binary form of the check to be sent to the server.
+	 *
+	 * @param buffer The buffer to write into.
+	 *
+	 * @see CheckCodec
+	 */
+	public void writeForSocket(ByteBuffer buffer)
+	{
+		CheckCodec.write(buffer, getEmployee().getID(), getCheckType() == CheckType.IN ? CheckCodec.TYPE_IN : CheckCodec.TYPE_OUT, getCheckDate());
+	}
+	
 	/**
 	 * Get the date as a formatted string.
 	 *
@@ -1,7 +1,12 @@
 package fr.polytech.projectjava.checkingsimulation;
 
 import fr.polytech.projectjava.checkingsimulation.jfx.SimulationApplication;
+import fr.polytech.projectjava.checkingsimulation.load.LoadGenerator;
+import fr.polytech.projectjava.checkingsimulation.load.LoadReport;
+import fr.polytech.projectjava.utils.Log;
 import javafx.application.Application;
+import java.util.Arrays;
+import java.util.logging.Level;
 
 /**
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 23/03/2017.
@@ -13,11 +18,21 @@ public class Main
 {
 	/**
 	 * Main method.
+	 * With "--headless", virtual terminals are ran against the server instead of opening the window (see {@link LoadGenerator#fromArguments(String[])}).
 	 *
 	 * @param args Program's arguments.
+	 *
+	 * @throws InterruptedException If the load run was interrupted.
 	 */
-	public static void main(String[] args)
+	public static void main(String[] args) throws InterruptedException
 	{
+		if(Arrays.asList(args).contains("--headless"))
+		{
+			Log.getInstance().setLevel(Level.WARNING); //Every packet is logged otherwise
+			LoadReport report = LoadGenerator.fromArguments(args).run();
+			System.out.println(report);
+			System.exit(report.getErrors() > 0 ? 1 : 0);
+		}
 		Application.launch(SimulationApplication.class, args);
 	}
 }
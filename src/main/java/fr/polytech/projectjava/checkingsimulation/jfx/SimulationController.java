@@ -2,10 +2,12 @@ package fr.polytech.projectjava.checkingsimulation.jfx;
 
 import fr.polytech.projectjava.checkingsimulation.CheckInfos;
 import fr.polytech.projectjava.checkingsimulation.Employee;
-import fr.polytech.projectjava.checkingsimulation.socket.CheckingSender;
+import fr.polytech.projectjava.checkingsimulation.socket.OutboundQueue;
 import fr.polytech.projectjava.checkingsimulation.socket.EmployeeGetter;
+import fr.polytech.projectjava.checkingsimulation.socket.TerminalConnection;
 import fr.polytech.projectjava.utils.Configuration;
 import fr.polytech.projectjava.utils.Log;
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.scene.control.Button;
@@ -13,6 +15,11 @@ import javafx.stage.WindowEvent;
 import java.io.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The controller for the checking application.
@@ -25,6 +32,9 @@ import java.time.LocalTime;
 public class SimulationController
 {
 	private final SimulationApplication parent;
+	private final TerminalConnection connection;
+	private final OutboundQueue outbound;
+	private EmployeeGetter employeeGetter;
 	
 	/**
 	 * Constructor.
@@ -34,6 +44,9 @@ public class SimulationController
 	public SimulationController(SimulationApplication simulationApplication)
 	{
 		this.parent = simulationApplication;
+		connection = new TerminalConnection();
+		outbound = new OutboundQueue(connection, this::onChecksSent);
+		new Thread(connection, "Terminal connection").start();
 	}
 	
 	/**
@@ -56,9 +69,7 @@ public class SimulationController
 		CheckInfos checkInfos = new CheckInfos(employee, employee.isInside() ? CheckInfos.CheckType.OUT : CheckInfos.CheckType.IN, LocalDate.now(), roundedTime); // Build the check
 		employee.setInside(!employee.isInside()); // Change its state
 		
-		getCheckings().add(checkInfos); // Add the check to the list to send
-		
-		sendPending(evt); // Send the check (and all the other pending)
+		addChecking(checkInfos); // Add the check to the list and send it
 		
 		source.setText("Check I/O");
 	}
@@ -80,16 +91,21 @@ public class SimulationController
 	 */
 	public void sendPending(ActionEvent actionEvent)
 	{
-		try
-		{
-			Log.info("Sending pending checks...");
-			if(getCheckings().size() > 0) // If we have checks to send
-				new Thread(new CheckingSender(getCheckings().iterator())).start();
-		}
-		catch(IOException e)
-		{
-			Log.warning("Error sending checks", e);
-		}
+		Log.info("Sending pending checks...");
+		outbound.flush();
+	}
+	
+	/**
+	 * Called from the connection thread when a batch of checks was accepted by the server.
+	 * The checks are removed from the displayed list on the JavaFX thread, once for the whole batch.
+	 *
+	 * @param checks The checks sent.
+	 */
+	private void onChecksSent(List<CheckInfos> checks)
+	{
+		Set<CheckInfos> sent = Collections.newSetFromMap(new IdentityHashMap<>()); //Checks are compared by identity, two identical checks may be pending
+		sent.addAll(checks);
+		Platform.runLater(() -> getCheckings().removeIf(sent::contains));
 	}
 	
 	/**
@@ -99,22 +115,17 @@ public class SimulationController
 	 */
 	public void refreshEmployees(ActionEvent evt)
 	{
-		try
-		{
-			Log.info("Refreshing employees...");
-			getEmployeeList().clear(); // Clear the list of the employees
-			EmployeeGetter employeeGetter = new EmployeeGetter(getEmployeeList()); // Get the new one
-			new Thread(employeeGetter).start();
-			if(evt != null && evt.getSource() instanceof Button) // If the refresh come from a button, disable it while the server is being reached
-			{
-				Button button = (Button) evt.getSource();
-				button.setDisable(true);
-				employeeGetter.addFinishedListener(event -> button.setDisable(false));
-			}
-		}
-		catch(IOException e)
+		if(evt != null && !connection.isConnected())
+			Log.warning("Server not reachable, employees will be refreshed once connected");
+		Log.info("Refreshing employees...");
+		if(employeeGetter == null)
+			employeeGetter = new EmployeeGetter(getEmployeeList());
+		CompletableFuture<Boolean> result = connection.submit(employeeGetter); // Get what changed since the last refresh
+		if(evt != null && evt.getSource() instanceof Button) // If the refresh come from a button, disable it while the server is being reached
 		{
-			Log.warning("Server not reachable");
+			Button button = (Button) evt.getSource();
+			button.setDisable(true);
+			result.whenComplete((done, error) -> Platform.runLater(() -> button.setDisable(false)));
 		}
 	}
 	
@@ -139,6 +150,7 @@ public class SimulationController
 	@SuppressWarnings("SameReturnValue")
 	public boolean close(WindowEvent windowEvent)
 	{
+		connection.stop();
 		saveDatas();
 		return true;
 	}
@@ -176,6 +188,7 @@ public class SimulationController
 				int count = ois.readInt();
 				for(int i = 0; i < count; i++)
 					getCheckings().add((CheckInfos) ois.readObject());
+				outbound.addAll(getCheckings()); //Sent with the next check or when asked
 				Log.info("Loaded");
 			}
 			catch(IOException | ClassNotFoundException e)
@@ -186,12 +199,13 @@ public class SimulationController
 	}
 	
 	/**
-	 * Add a checking to the model.
+	 * Add a checking to the model and queue it to be sent.
 	 *
 	 * @param checkInfos The checking to add.
 	 */
 	public void addChecking(CheckInfos checkInfos)
 	{
 		getCheckings().add(checkInfos);
+		outbound.offer(checkInfos);
 	}
 }
@@ -0,0 +1,60 @@
+package fr.polytech.projectjava.checkingsimulation.load;
+
+import java.util.Random;
+
+/**
+ * How the checks of a virtual terminal are spread over time.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public enum Distribution
+{
+	/**
+	 * The checks are evenly spaced.
+	 */
+	CONSTANT
+	{
+		@Override
+		public long nextInterval(Random random, long mean, long sequence, int burstSize)
+		{
+			return mean;
+		}
+	},
+	/**
+	 * The checks arrive independently from each other, the intervals following an exponential law.
+	 */
+	POISSON
+	{
+		@Override
+		public long nextInterval(Random random, long mean, long sequence, int burstSize)
+		{
+			return (long) (-Math.log(1 - random.nextDouble()) * mean);
+		}
+	},
+	/**
+	 * The checks arrive by groups all at once, like at a shift change, the groups being evenly spaced to keep the same mean rate.
+	 */
+	BURST
+	{
+		@Override
+		public long nextInterval(Random random, long mean, long sequence, int burstSize)
+		{
+			return sequence % burstSize == 0 ? mean * burstSize : 0;
+		}
+	};
+	
+	/**
+	 * Get the time to wait before the next check.
+	 *
+	 * @param random    The random generator to use.
+	 * @param mean      The mean interval in nanoseconds.
+	 * @param sequence  The number of checks already generated.
+	 * @param burstSize The number of checks in a group for {@link #BURST}.
+	 *
+	 * @return The interval in nanoseconds.
+	 */
+	public abstract long nextInterval(Random random, long mean, long sequence, int burstSize);
+}
@@ -0,0 +1,77 @@
+package fr.polytech.projectjava.checkingsimulation.load;
+
+import java.util.Arrays;
+
+/**
+ * Record latencies and compute their percentiles.
+ * <p>
+ * Every value is kept, so the percentiles are exact. Values can be recorded from several threads.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class LatencyRecorder
+{
+	private long[] values;
+	private int count = 0;
+	
+	/**
+	 * Constructor.
+	 */
+	public LatencyRecorder()
+	{
+		values = new long[1024];
+	}
+	
+	/**
+	 * Record a latency.
+	 *
+	 * @param nanos The latency in nanoseconds.
+	 */
+	public synchronized void record(long nanos)
+	{
+		if(count == values.length)
+			values = Arrays.copyOf(values, values.length * 2);
+		values[count++] = nanos;
+	}
+	
+	/**
+	 * Get the number of latencies recorded.
+	 *
+	 * @return The latency count.
+	 */
+	public synchronized int getCount()
+	{
+		return count;
+	}
+	
+	/**
+	 * Get the latencies recorded, sorted.
+	 *
+	 * @return The sorted latencies in nanoseconds.
+	 */
+	public synchronized long[] sorted()
+	{
+		long[] sorted = Arrays.copyOf(values, count);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+	
+	/**
+	 * Get a percentile out of sorted latencies, using the nearest rank.
+	 *
+	 * @param sorted     The sorted latencies.
+	 * @param percentile The percentile wanted, between 0 and 1.
+	 *
+	 * @return The latency in nanoseconds, 0 if there's no latency.
+	 */
+	public static long percentile(long[] sorted, double percentile)
+	{
+		if(sorted.length == 0)
+			return 0;
+		int rank = (int) Math.ceil(percentile * sorted.length);
+		return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+	}
+}
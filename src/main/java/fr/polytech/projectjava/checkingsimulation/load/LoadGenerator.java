@@ -0,0 +1,146 @@
+package fr.polytech.projectjava.checkingsimulation.load;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run several virtual terminals against a checking server and measure how it copes.
+ * <p>
+ * The settings are taken from the configuration ("loadTerminals", "loadRate", "loadDistribution", "loadBurstSize", "loadDuration") and can be overridden by arguments like "--terminals=50".
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class LoadGenerator
+{
+	private final InetSocketAddress address;
+	private final int terminals;
+	private final double rate;
+	private final Distribution distribution;
+	private final int burstSize;
+	private final int duration;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param address      The address of the server.
+	 * @param terminals    The number of virtual terminals.
+	 * @param rate         The mean number of checks per second of each terminal.
+	 * @param distribution How the checks are spread over time.
+	 * @param burstSize    The number of checks in a group for {@link Distribution#BURST}.
+	 * @param duration     The time during which checks are generated, in seconds.
+	 *
+	 * @throws IllegalArgumentException If a setting is invalid.
+	 */
+	public LoadGenerator(InetSocketAddress address, int terminals, double rate, Distribution distribution, int burstSize, int duration) throws IllegalArgumentException
+	{
+		if(terminals < 1 || rate <= 0 || duration < 1)
+			throw new IllegalArgumentException("Terminals, rate and duration must be positive");
+		this.address = address;
+		this.terminals = terminals;
+		this.rate = rate;
+		this.distribution = distribution;
+		this.burstSize = burstSize;
+		this.duration = duration;
+	}
+	
+	/**
+	 * Build a generator from the configuration and the program's arguments.
+	 *
+	 * @param args The arguments, formatted as "--name=value". Unknown ones are ignored.
+	 *
+	 * @return The generator.
+	 *
+	 * @throws IllegalArgumentException If a setting is invalid.
+	 */
+	public static LoadGenerator fromArguments(String[] args) throws IllegalArgumentException
+	{
+		String host = Configuration.getString("serverAddress");
+		int port = Configuration.getInt("serverPort");
+		int terminals = Configuration.getInt("loadTerminals");
+		double rate = Double.parseDouble(Configuration.getString("loadRate"));
+		String distribution = Configuration.getString("loadDistribution");
+		int burstSize = Configuration.getInt("loadBurstSize");
+		int duration = Configuration.getInt("loadDuration");
+		for(String arg : args)
+		{
+			int separator = arg.indexOf('=');
+			if(!arg.startsWith("--") || separator < 0)
+				continue;
+			String value = arg.substring(separator + 1);
+			switch(arg.substring(2, separator))
+			{
+				case "host":
+					host = value;
+					break;
+				case "port":
+					port = Integer.parseInt(value);
+					break;
+				case "terminals":
+					terminals = Integer.parseInt(value);
+					break;
+				case "rate":
+					rate = Double.parseDouble(value);
+					break;
+				case "distribution":
+					distribution = value;
+					break;
+				case "burst":
+					burstSize = Integer.parseInt(value);
+					break;
+				case "duration":
+					duration = Integer.parseInt(value);
+					break;
+			}
+		}
+		return new LoadGenerator(new InetSocketAddress(host, port), terminals, rate, Distribution.valueOf(distribution.toUpperCase(Locale.ROOT)), burstSize, duration);
+	}
+	
+	/**
+	 * Run the terminals for the configured duration, wait for the last checks to be acknowledged and give the results.
+	 *
+	 * @return The report of the run.
+	 *
+	 * @throws InterruptedException If the run was interrupted.
+	 */
+	public LoadReport run() throws InterruptedException
+	{
+		Log.info("Starting " + terminals + " terminals sending " + rate + " checks/s each (" + distribution + ") for " + duration + "s");
+		LatencyRecorder latencies = new LatencyRecorder();
+		List<VirtualTerminal> virtualTerminals = new ArrayList<>(terminals);
+		List<Thread> threads = new ArrayList<>(terminals);
+		long start = System.nanoTime();
+		for(int i = 0; i < terminals; i++)
+		{
+			VirtualTerminal terminal = new VirtualTerminal(i, terminals, address, rate, distribution, burstSize, latencies);
+			Thread thread = new Thread(terminal, "Load generator " + i);
+			virtualTerminals.add(terminal);
+			threads.add(thread);
+			thread.start();
+		}
+		Thread.sleep(TimeUnit.SECONDS.toMillis(duration));
+		virtualTerminals.forEach(VirtualTerminal::stop);
+		for(Thread thread : threads)
+			thread.join();
+		virtualTerminals.forEach(terminal -> terminal.drain(Configuration.getInt("terminalReadTimeout")));
+		double seconds = (System.nanoTime() - start) / 1e9;
+		
+		long generated = 0;
+		long acknowledged = 0;
+		int failures = 0;
+		for(VirtualTerminal terminal : virtualTerminals)
+		{
+			generated += terminal.getGenerated();
+			acknowledged += terminal.getAcknowledged();
+			failures += terminal.getConnectionFailures();
+		}
+		return new LoadReport(terminals, seconds, generated, acknowledged, failures, latencies.sorted());
+	}
+}
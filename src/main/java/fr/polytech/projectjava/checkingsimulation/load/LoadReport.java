@@ -0,0 +1,99 @@
+package fr.polytech.projectjava.checkingsimulation.load;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The results of a load run.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class LoadReport
+{
+	private final int terminals;
+	private final double seconds;
+	private final long generated;
+	private final long acknowledged;
+	private final int connectionFailures;
+	private final long[] latencies;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param terminals          The number of terminals used.
+	 * @param seconds            The duration of the run, including the time to send the last checks.
+	 * @param generated          The number of checks generated.
+	 * @param acknowledged       The number of checks acknowledged by the server.
+	 * @param connectionFailures The number of times a connection couldn't be opened or was lost.
+	 * @param latencies          The sorted latencies in nanoseconds.
+	 */
+	public LoadReport(int terminals, double seconds, long generated, long acknowledged, int connectionFailures, long[] latencies)
+	{
+		this.terminals = terminals;
+		this.seconds = seconds;
+		this.generated = generated;
+		this.acknowledged = acknowledged;
+		this.connectionFailures = connectionFailures;
+		this.latencies = latencies;
+	}
+	
+	/**
+	 * Get the number of checks acknowledged per second.
+	 *
+	 * @return The throughput.
+	 */
+	public double getThroughput()
+	{
+		return seconds > 0 ? acknowledged / seconds : 0;
+	}
+	
+	/**
+	 * Get a latency percentile.
+	 *
+	 * @param percentile The percentile wanted, between 0 and 1.
+	 *
+	 * @return The latency in milliseconds.
+	 */
+	public double getLatency(double percentile)
+	{
+		return LatencyRecorder.percentile(latencies, percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+	
+	/**
+	 * Get the number of errors: the checks that weren't acknowledged and the connection failures.
+	 *
+	 * @return The error count.
+	 */
+	public long getErrors()
+	{
+		return generated - acknowledged + connectionFailures;
+	}
+	
+	/**
+	 * Get the number of checks generated.
+	 *
+	 * @return The generated check count.
+	 */
+	public long getGenerated()
+	{
+		return generated;
+	}
+	
+	/**
+	 * Get the number of checks acknowledged by the server.
+	 *
+	 * @return The acknowledged check count.
+	 */
+	public long getAcknowledged()
+	{
+		return acknowledged;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("%d terminals, %.2fs%n", terminals, seconds) + String.format("Checks: %d generated, %d acknowledged, %d lost%n", generated, acknowledged, generated - acknowledged) + String.format("Connection failures: %d%n", connectionFailures) + String.format("Throughput: %.1f checks/s%n", getThroughput()) + String.format("Latency: p50 %.2fms, p99 %.2fms, p999 %.2fms, max %.2fms", getLatency(0.5), getLatency(0.99), getLatency(0.999), getLatency(1));
+	}
+}
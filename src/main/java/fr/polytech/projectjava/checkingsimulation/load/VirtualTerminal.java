@@ -0,0 +1,206 @@
+package fr.polytech.projectjava.checkingsimulation.load;
+
+import fr.polytech.projectjava.checkingsimulation.CheckInfos;
+import fr.polytech.projectjava.checkingsimulation.Employee;
+import fr.polytech.projectjava.checkingsimulation.socket.EmployeeGetter;
+import fr.polytech.projectjava.checkingsimulation.socket.OutboundQueue;
+import fr.polytech.projectjava.checkingsimulation.socket.TerminalConnection;
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A terminal without UI, sending checks at a given rate.
+ * <p>
+ * It has its own connection and outbound queue, like a real terminal. It fetches the roster once and then checks the employees it's responsible for in and out.
+ * The latency of a check is measured from the time it was planned to be sent to the time the server acknowledged it, so a generator falling behind shows up in the latencies.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class VirtualTerminal implements Runnable
+{
+	private final int index;
+	private final int terminalCount;
+	private final long meanInterval;
+	private final Distribution distribution;
+	private final int burstSize;
+	private final LatencyRecorder latencies;
+	private final TerminalConnection connection;
+	private final OutboundQueue queue;
+	private final Map<CheckInfos, Long> inFlight;
+	private final AtomicLong generated;
+	private final AtomicLong acknowledged;
+	private volatile boolean stop = false;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param index         The index of this terminal, used to pick its employees.
+	 * @param terminalCount The number of terminals sharing the employees.
+	 * @param address       The address of the server.
+	 * @param rate          The mean number of checks per second.
+	 * @param distribution  How the checks are spread over time.
+	 * @param burstSize     The number of checks in a group for {@link Distribution#BURST}.
+	 * @param latencies     Where to record the latencies.
+	 */
+	public VirtualTerminal(int index, int terminalCount, InetSocketAddress address, double rate, Distribution distribution, int burstSize, LatencyRecorder latencies)
+	{
+		this.index = index;
+		this.terminalCount = terminalCount;
+		this.meanInterval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+		this.distribution = distribution;
+		this.burstSize = Math.max(1, burstSize);
+		this.latencies = latencies;
+		connection = new TerminalConnection(address);
+		queue = new OutboundQueue(connection, this::onSent);
+		inFlight = Collections.synchronizedMap(new IdentityHashMap<>()); //Two checks can be equal, each one is timed
+		generated = new AtomicLong();
+		acknowledged = new AtomicLong();
+	}
+	
+	@Override
+	public void run()
+	{
+		new Thread(connection, "Load terminal " + index).start();
+		List<Employee> employees = fetchEmployees();
+		if(employees.isEmpty())
+		{
+			Log.warning("Terminal " + index + " has no employee to check");
+			return;
+		}
+		int[] checkCounts = new int[employees.size()];
+		LocalDate firstDay = LocalDate.now();
+		Random random = ThreadLocalRandom.current();
+		long next = System.nanoTime();
+		long sequence = 0;
+		while(!stop)
+		{
+			next += distribution.nextInterval(random, meanInterval, sequence++, burstSize);
+			long wait;
+			while(!stop && (wait = next - System.nanoTime()) > 0)
+				LockSupport.parkNanos(wait);
+			if(stop)
+				break;
+			int picked = random.nextInt(employees.size());
+			int count = checkCounts[picked]++;
+			CheckInfos check = new CheckInfos(employees.get(picked), count % 2 == 0 ? CheckInfos.CheckType.IN : CheckInfos.CheckType.OUT, firstDay.plusDays(count / 2), count % 2 == 0 ? LocalTime.of(8, 0) : LocalTime.of(17, 0));
+			inFlight.put(check, next);
+			generated.incrementAndGet();
+			queue.offer(check);
+		}
+	}
+	
+	/**
+	 * Get the roster from the server and keep the employees this terminal is responsible for.
+	 *
+	 * @return The employees to check.
+	 */
+	private List<Employee> fetchEmployees()
+	{
+		ObservableList<Employee> roster = FXCollections.observableArrayList();
+		try
+		{
+			if(!connection.submit(new EmployeeGetter(roster)).get(Configuration.getInt("terminalReadTimeout"), TimeUnit.MILLISECONDS))
+				return Collections.emptyList();
+		}
+		catch(Exception e)
+		{
+			Log.warning("Terminal " + index + " couldn't get the employees", e);
+			return Collections.emptyList();
+		}
+		List<Employee> employees = new ArrayList<>();
+		for(int i = index; i < roster.size(); i += terminalCount) //Each employee is checked by one terminal only, so its checks stay in order
+			employees.add(roster.get(i));
+		return employees;
+	}
+	
+	/**
+	 * Called when checks were acknowledged by the server.
+	 *
+	 * @param checks The checks acknowledged.
+	 */
+	private void onSent(List<CheckInfos> checks)
+	{
+		long now = System.nanoTime();
+		for(CheckInfos check : checks)
+		{
+			Long planned = inFlight.remove(check);
+			if(planned != null)
+				latencies.record(now - planned);
+		}
+		acknowledged.addAndGet(checks.size());
+	}
+	
+	/**
+	 * Stop generating checks.
+	 */
+	public void stop()
+	{
+		stop = true;
+	}
+	
+	/**
+	 * Wait for the checks generated to be sent, then close the connection.
+	 *
+	 * @param timeout The maximum time to wait in milliseconds.
+	 */
+	public void drain(long timeout)
+	{
+		long deadline = System.currentTimeMillis() + timeout;
+		try
+		{
+			do //Checks can be added while the last sender finishes, flush until everything went through
+			{
+				queue.flush().get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			}
+			while(queue.size() > 0 && System.currentTimeMillis() < deadline);
+		}
+		catch(Exception e)
+		{
+			Log.warning("Terminal " + index + " couldn't send every check", e);
+		}
+		connection.stop();
+	}
+	
+	/**
+	 * Get the number of checks generated.
+	 *
+	 * @return The generated check count.
+	 */
+	public long getGenerated()
+	{
+		return generated.get();
+	}
+	
+	/**
+	 * Get the number of checks acknowledged by the server.
+	 *
+	 * @return The acknowledged check count.
+	 */
+	public long getAcknowledged()
+	{
+		return acknowledged.get();
+	}
+	
+	/**
+	 * Get the number of times the connection couldn't be opened or was lost.
+	 *
+	 * @return The failure count.
+	 */
+	public int getConnectionFailures()
+	{
+		return connection.getFailureCount();
+	}
+}
@@ -1,68 +1,156 @@
 package fr.polytech.projectjava.checkingsimulation.socket;
 
 import fr.polytech.projectjava.checkingsimulation.CheckInfos;
-import fr.polytech.projectjava.utils.Configuration;
 import fr.polytech.projectjava.utils.Log;
-import fr.polytech.projectjava.utils.socket.SocketBase;
+import fr.polytech.projectjava.utils.socket.CheckCodec;
 import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.util.Iterator;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 /**
- * The socket client sending the checks to the server.
+ * The job draining the {@link OutboundQueue} of a terminal to the server.
+ * <p>
+ * The checks are sent in batches of at most "simulationBatchSize" checks, each batch being acknowledged once by the server.
+ * A batch size of 1 falls back to the one check per exchange protocol, where the server answers OK or NOK for the check.
+ * The checks are encoded in binary if the server supports it (see {@link CheckCodec}).
  * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 28/03/2017.
  *
  * @author Thomas Couchoud
  * @since 2017-03-28
  */
-public class CheckingSender extends SocketBase
+public class CheckingSender implements TerminalJob
 {
-	private final static Object LOCK = new Object();
-	private final Iterator<CheckInfos> datas;
+	private final OutboundQueue queue;
+	private final int batchSize;
 	
 	/**
 	 * Constructor.
 	 *
-	 * @param datas An iterator of the checkings to send.
-	 *
-	 * @throws IOException If an error occurred creating the client.
+	 * @param queue     The queue to drain.
+	 * @param batchSize The maximum number of checks sent in one exchange.
 	 */
-	public CheckingSender(Iterator<CheckInfos> datas) throws IOException
+	CheckingSender(OutboundQueue queue, int batchSize)
 	{
-		super("Checking client", new InetSocketAddress(Configuration.getString("serverAddress"), Configuration.getInt("serverPort")));
-		setTimeout(Configuration.getInt("simulationCheckTimeout"));
-		this.datas = datas;
+		this.queue = queue;
+		this.batchSize = Math.max(1, batchSize);
 	}
 	
 	@Override
-	protected boolean processData() throws Exception
+	public boolean execute(TerminalSession session) throws IOException
 	{
-		synchronized(LOCK)
+		queue.startDraining();
+		List<CheckInfos> rejected = new ArrayList<>();
+		List<CheckInfos> batch = Collections.emptyList();
+		try
 		{
-			int packetSize = Configuration.getInt("socketPacketSize");
-			
-			while(datas.hasNext())
+			while(!(batch = queue.poll(batchSize)).isEmpty())
 			{
-				sendPacket("CHECK".getBytes()); // Tell the server we went to send a check
-				
-				byte[] response = receivePacket(packetSize);
-				if(response == null || !new String(response).equals("OK")) // If the server didn't agree
+				List<CheckInfos> accepted = batchSize == 1 ? sendCheck(session, batch.get(0)) : sendBatch(session, batch);
+				if(accepted == null) //Not acknowledged, stop here and keep the batch
 					return false;
-				
-				CheckInfos check = datas.next();
-				Log.info("Sending " + check);
-				sendPacket(check.getForSocket().getBytes()); // Send the check
-				
-				response = receivePacket(packetSize);
-				if(response == null || !new String(response).equals("OK")) //Wait acknowledgement
-					return false;
-				
-				datas.remove();
+				queue.sent(accepted);
+				if(accepted.size() != batch.size())
+				{
+					Set<CheckInfos> acceptedSet = Collections.newSetFromMap(new IdentityHashMap<>()); //Constant time lookups, checks are compared by identity
+					acceptedSet.addAll(accepted);
+					for(CheckInfos check : batch)
+						if(!acceptedSet.contains(check))
+							rejected.add(check);
+				}
+			}
+			return true;
+		}
+		finally
+		{
+			rejected.addAll(batch); //Empty if the last batch was fully handled
+			queue.requeue(rejected);
+		}
+	}
+	
+	/**
+	 * Send a single check.
+	 *
+	 * @param session The session to send it with.
+	 * @param check   The check to send.
+	 *
+	 * @return The check if the server accepted it, an empty list if it refused it, null if the exchange failed.
+	 *
+	 * @throws IOException If an I/O error occurred.
+	 */
+	private List<CheckInfos> sendCheck(TerminalSession session, CheckInfos check) throws IOException
+	{
+		Log.info("Sending " + check);
+		byte[] data;
+		if(session.getVersion() >= CheckCodec.BINARY_VERSION)
+		{
+			ByteBuffer buffer = ByteBuffer.allocate(CheckCodec.RECORD_SIZE);
+			check.writeForSocket(buffer);
+			data = buffer.array();
+		}
+		else
+			data = check.getForSocket().getBytes();
+		session.send("CHECK".getBytes(), data); // Tell the server we went to send a check and send it right behind
+		
+		if(!new String(session.receive()).equals("OK")) // If the server didn't agree
+			return null;
+		
+		String ack = new String(session.receive()); //Wait acknowledgement
+		if(ack.equals("NOK")) //Refused, keep it pending
+		{
+			Log.warning("Server rejected " + check + ", keeping it pending");
+			return Collections.emptyList();
+		}
+		if(!ack.equals("OK"))
+			return null;
+		
+		return Collections.singletonList(check);
+	}
+	
+	/**
+	 * Send several checks at once.
+	 *
+	 * @param session The session to send them with.
+	 * @param batch   The checks to send.
+	 *
+	 * @return The checks accepted by the server, null if the batch wasn't acknowledged.
+	 *
+	 * @throws IOException If an I/O error occurred.
+	 */
+	private List<CheckInfos> sendBatch(TerminalSession session, List<CheckInfos> batch) throws IOException
+	{
+		Log.info("Sending " + batch.size() + " checks");
+		byte[] payload;
+		if(session.getVersion() >= CheckCodec.BINARY_VERSION)
+		{
+			ByteBuffer buffer = ByteBuffer.allocate(batch.size() * CheckCodec.RECORD_SIZE);
+			for(CheckInfos check : batch)
+				check.writeForSocket(buffer);
+			payload = buffer.array();
+		}
+		else
+		{
+			StringBuilder builder = new StringBuilder();
+			for(CheckInfos check : batch)
+			{
+				if(builder.length() > 0)
+					builder.append('\n');
+				builder.append(check.getForSocket());
 			}
-			
-			sendPacket("END".getBytes()); // Tell the server we're done
+			payload = builder.toString().getBytes();
 		}
-		return true;
+		session.send("CHECKS".getBytes(), payload); // Send the command and the whole batch right behind
+		
+		String[] ack = new String(session.receive()).split(";", -1); //ACK;accepted;rejected
+		if(ack.length != 3 || !ack[0].equals("ACK"))
+			return null;
+		
+		List<CheckInfos> accepted = new ArrayList<>(batch.size());
+		if(!ack[1].isEmpty())
+			for(String index : ack[1].split(","))
+				accepted.add(batch.get(Integer.parseInt(index)));
+		if(!ack[2].isEmpty())
+			Log.warning("Server rejected " + ack[2].split(",").length + " checks, keeping them pending");
+		return accepted;
 	}
 }
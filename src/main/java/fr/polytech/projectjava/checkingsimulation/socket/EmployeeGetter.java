@@ -1,59 +1,99 @@
 package fr.polytech.projectjava.checkingsimulation.socket;
 
 import fr.polytech.projectjava.checkingsimulation.Employee;
-import fr.polytech.projectjava.utils.Configuration;
 import fr.polytech.projectjava.utils.Log;
-import fr.polytech.projectjava.utils.socket.SocketBase;
 import javafx.collections.ObservableList;
 import java.io.IOException;
-import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Get the employees from the main application.
  * <p>
+ * The version of the roster received is remembered, so running the same getter again only receives what changed since.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 28/03/2017.
  *
  * @author Thomas Couchoud
  * @since 2017-03-28
  */
-public class EmployeeGetter extends SocketBase
+public class EmployeeGetter implements TerminalJob
 {
-	private static final Object lock = new Object();
 	private final ObservableList<Employee> datas;
+	private long generation = -1;
+	private long version = 0;
 	
 	/**
 	 * Constructor.
 	 *
 	 * @param datas The list to add the employees to.
-	 *
-	 * @throws IOException If an I/O error occurs when creating the socket.
 	 */
-	public EmployeeGetter(ObservableList<Employee> datas) throws IOException
+	public EmployeeGetter(ObservableList<Employee> datas)
 	{
-		super("Employee client", new InetSocketAddress(Configuration.getString("serverAddress"), Configuration.getInt("serverPort")));
-		setTimeout(Configuration.getInt("simulationEmployeeTimeout"));
 		this.datas = datas;
 	}
 	
 	@Override
-	protected boolean processData() throws Exception
+	public boolean execute(TerminalSession session) throws IOException
 	{
-		int packetSize = Configuration.getInt("socketPacketSize");
-		
-		Log.info("Requesting employees...");
-		sendPacket("EMPLOYEE".getBytes()); //Tell the server we want the list of the employees
-		
-		byte[] response;
-		while((response = receivePacket(packetSize)) != null && !new String(response).equals("DONE")) //While the server isn't done and haven't failed
+		synchronized(this)
 		{
-			Employee employee = Employee.parse(new String(response)); //Parse  the employee
-			if(!datas.contains(employee))
-				datas.add(employee);
-			Log.info("Received employee " + employee);
-			sendPacket("OK".getBytes()); // Send acknowledgment
+			Log.info("Requesting employees since version " + version + "...");
+			session.send(("EMPLOYEE;" + generation + ";" + version).getBytes()); //Tell the server we want what changed in the list of the employees
+			
+			String[] lines = new String(session.receive()).split("\n");
+			String[] header = lines[0].split(";"); //FULL or DELTA;generation;version
+			if(header.length != 3 || !(header[0].equals("FULL") || header[0].equals("DELTA")))
+			{
+				Log.warning("Unexpected employee answer " + lines[0]);
+				return false;
+			}
+			
+			if(header[0].equals("FULL"))
+			{
+				List<Employee> employees = new ArrayList<>(lines.length);
+				for(int i = 1; i < lines.length; i++)
+				{
+					Employee employee = Employee.parse(lines[i].substring(2));
+					if(employee != null)
+						employees.add(employee);
+				}
+				datas.setAll(employees);
+			}
+			else
+				for(int i = 1; i < lines.length; i++)
+					applyChange(lines[i]);
+			
+			generation = Long.parseLong(header[1]);
+			version = Long.parseLong(header[2]);
+			Log.info("Employees received (" + header[0] + ", " + (lines.length - 1) + " changes), now at version " + version);
 		}
-		Log.info("Employees received");
-		sendPacket("END".getBytes()); // Tell the server we're done
 		return true;
 	}
+	
+	/**
+	 * Apply a change of the roster to the list.
+	 *
+	 * @param change The change, formatted as "A;employee", "U;employee" or "R;ID".
+	 */
+	private void applyChange(String change)
+	{
+		if(change.startsWith("R;"))
+		{
+			int ID = Integer.parseInt(change.substring(2));
+			datas.removeIf(employee -> employee.getID() == ID);
+			return;
+		}
+		Employee employee = Employee.parse(change.substring(2));
+		if(employee == null)
+		{
+			Log.warning("Couldn't parse employee " + change);
+			return;
+		}
+		int index = datas.indexOf(employee);
+		if(index >= 0)
+			datas.set(index, employee);
+		else
+			datas.add(employee);
+	}
 }
@@ -0,0 +1,168 @@
+package fr.polytech.projectjava.checkingsimulation.socket;
+
+import fr.polytech.projectjava.checkingsimulation.CheckInfos;
+import fr.polytech.projectjava.utils.Configuration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The checks of a terminal waiting to be sent to the server.
+ * <p>
+ * Checks can be added from any thread without blocking. Only one {@link CheckingSender} drains the queue at a time: adding a check schedules it on the connection if none is already running.
+ * The checks accepted by the server are given to the listener one batch at a time, so the UI can be updated once per batch instead of once per check.
+ * The checks rejected by the server are put back in the queue and only sent again on the next {@link #flush()} or when new checks are added.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class OutboundQueue
+{
+	private final ConcurrentLinkedDeque<CheckInfos> queue;
+	private final TerminalConnection connection;
+	private final Consumer<List<CheckInfos>> sentListener;
+	private final AtomicBoolean scheduled;
+	private final int batchSize;
+	private volatile boolean dirty = false;
+	private volatile CompletableFuture<Boolean> current;
+	
+	/**
+	 * Constructor.
+	 * The batch size is taken from the configuration.
+	 *
+	 * @param connection   The connection to send the checks with.
+	 * @param sentListener The listener called, from the connection thread, with each batch of checks accepted by the server.
+	 */
+	public OutboundQueue(TerminalConnection connection, Consumer<List<CheckInfos>> sentListener)
+	{
+		this(connection, sentListener, Configuration.getInt("simulationBatchSize"));
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param connection   The connection to send the checks with.
+	 * @param sentListener The listener called, from the connection thread, with each batch of checks accepted by the server.
+	 * @param batchSize    The maximum number of checks sent in one exchange, 1 to send them one by one.
+	 */
+	public OutboundQueue(TerminalConnection connection, Consumer<List<CheckInfos>> sentListener, int batchSize)
+	{
+		this.connection = connection;
+		this.sentListener = sentListener;
+		this.batchSize = Math.max(1, batchSize);
+		queue = new ConcurrentLinkedDeque<>();
+		scheduled = new AtomicBoolean(false);
+		current = CompletableFuture.completedFuture(true);
+	}
+	
+	/**
+	 * Add a check and send it as soon as possible.
+	 *
+	 * @param check The check to send.
+	 */
+	public void offer(CheckInfos check)
+	{
+		queue.add(check);
+		flush();
+	}
+	
+	/**
+	 * Add checks without sending them until the next {@link #flush()}.
+	 *
+	 * @param checks The checks to add.
+	 */
+	public void addAll(Collection<CheckInfos> checks)
+	{
+		queue.addAll(checks);
+	}
+	
+	/**
+	 * Send every check of the queue, including those previously rejected.
+	 *
+	 * @return The future result of the sending, true if every exchange was acknowledged by the server.
+	 */
+	public CompletableFuture<Boolean> flush()
+	{
+		dirty = true;
+		schedule();
+		return current;
+	}
+	
+	/**
+	 * Submit a sender to the connection if none is running.
+	 */
+	private void schedule()
+	{
+		if(!scheduled.compareAndSet(false, true))
+			return;
+		current = connection.submit(new CheckingSender(this, batchSize)).whenComplete((result, error) -> {
+			scheduled.set(false);
+			if(dirty && !queue.isEmpty() && !connection.isStopped()) //Something was added after the sender finished draining
+				schedule();
+		});
+	}
+	
+	/**
+	 * Called by the sender before draining the queue.
+	 */
+	void startDraining()
+	{
+		dirty = false;
+	}
+	
+	/**
+	 * Take the next checks to send.
+	 *
+	 * @param count The maximum number of checks to take.
+	 *
+	 * @return The checks taken, empty if the queue is empty.
+	 */
+	List<CheckInfos> poll(int count)
+	{
+		List<CheckInfos> checks = new ArrayList<>(Math.min(count, 64));
+		CheckInfos check;
+		while(checks.size() < count && (check = queue.poll()) != null)
+			checks.add(check);
+		return checks;
+	}
+	
+	/**
+	 * Put checks back at the head of the queue, keeping their order.
+	 *
+	 * @param checks The checks to put back.
+	 */
+	void requeue(List<CheckInfos> checks)
+	{
+		ListIterator<CheckInfos> iterator = checks.listIterator(checks.size());
+		while(iterator.hasPrevious())
+			queue.addFirst(iterator.previous());
+	}
+	
+	/**
+	 * Called by the sender when checks were accepted by the server.
+	 *
+	 * @param checks The accepted checks.
+	 */
+	void sent(List<CheckInfos> checks)
+	{
+		if(!checks.isEmpty())
+			sentListener.accept(checks);
+	}
+	
+	/**
+	 * Get the number of checks waiting to be sent.
+	 *
+	 * @return The pending check count.
+	 */
+	public int size()
+	{
+		return queue.size();
+	}
+}
@@ -0,0 +1,228 @@
+package fr.polytech.projectjava.checkingsimulation.socket;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The long lived connection of a terminal to the server, carrying every exchange (checks and employees).
+ * <p>
+ * Jobs are queued and ran one after the other on the same connection. When the connection is lost, it is opened again after a delay doubling at each failure, and the job that was running is ran again.
+ * While there's nothing to do, heartbeats are sent so a dead connection is noticed without waiting for a job.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class TerminalConnection implements Runnable
+{
+	private final BlockingDeque<PendingJob> jobs;
+	private final InetSocketAddress address;
+	private final int heartbeatInterval;
+	private final int minBackoff;
+	private final int maxBackoff;
+	private volatile boolean stop = false;
+	private volatile boolean connected = false;
+	private volatile int failureCount = 0;
+	private volatile TerminalSession session;
+	private Thread thread;
+	
+	/**
+	 * Constructor.
+	 * The address and delays are taken from the configuration.
+	 */
+	public TerminalConnection()
+	{
+		this(new InetSocketAddress(Configuration.getString("serverAddress"), Configuration.getInt("serverPort")));
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param address The address of the server.
+	 */
+	public TerminalConnection(InetSocketAddress address)
+	{
+		this.address = address;
+		jobs = new LinkedBlockingDeque<>();
+		heartbeatInterval = Configuration.getInt("terminalHeartbeatInterval");
+		minBackoff = Configuration.getInt("terminalReconnectMin");
+		maxBackoff = Configuration.getInt("terminalReconnectMax");
+	}
+	
+	@Override
+	public void run()
+	{
+		thread = Thread.currentThread();
+		int backoff = minBackoff;
+		while(!stop)
+		{
+			try
+			{
+				session = new TerminalSession(this, address);
+				session.run();
+				if(session.isReady()) //We were connected, start over with a short delay
+					backoff = minBackoff;
+			}
+			catch(IOException e)
+			{
+				Log.warning("Server not reachable: " + e.getMessage());
+			}
+			connected = false;
+			session = null;
+			if(stop)
+				break;
+			failureCount++; //Only the connection thread writes it
+			try
+			{
+				Log.info("Reconnecting in " + backoff + "ms");
+				Thread.sleep(backoff);
+			}
+			catch(InterruptedException ignored)
+			{
+			}
+			backoff = Math.min(maxBackoff, backoff * 2);
+		}
+		PendingJob job;
+		while((job = jobs.poll()) != null) //Nobody will run them anymore
+			job.result.complete(false);
+	}
+	
+	/**
+	 * Queue a job to be ran as soon as the connection is available.
+	 *
+	 * @param job The job to run.
+	 *
+	 * @return The future result of the job.
+	 */
+	public CompletableFuture<Boolean> submit(TerminalJob job)
+	{
+		PendingJob pending = new PendingJob(job);
+		jobs.add(pending);
+		if(stop)
+			pending.result.complete(false);
+		return pending.result;
+	}
+	
+	/**
+	 * Wait for the next job to run.
+	 *
+	 * @return The next job, null if there wasn't any during a heartbeat interval or if the connection is stopping.
+	 *
+	 * @throws InterruptedException If the wait was interrupted.
+	 */
+	TerminalJob nextJob() throws InterruptedException
+	{
+		if(stop)
+			return null;
+		PendingJob job = jobs.poll(heartbeatInterval, TimeUnit.MILLISECONDS);
+		if(job == null)
+			return null;
+		jobs.addFirst(job); //Keep it in the queue until it's done, in case the connection is lost
+		return job.job;
+	}
+	
+	/**
+	 * Run a job given by {@link #nextJob()}.
+	 *
+	 * @param job     The job to run.
+	 * @param session The session to run it on.
+	 *
+	 * @throws IOException If the connection was lost. The job stays queued to be ran again.
+	 */
+	void execute(TerminalJob job, TerminalSession session) throws IOException
+	{
+		boolean result;
+		try
+		{
+			result = job.execute(session);
+		}
+		catch(IOException e)
+		{
+			throw e;
+		}
+		catch(Exception e)
+		{
+			Log.warning("Error running terminal job", e);
+			result = false;
+		}
+		PendingJob pending = jobs.poll();
+		if(pending != null)
+			pending.result.complete(result);
+	}
+	
+	/**
+	 * Called by the session once it's ready.
+	 */
+	void onConnected()
+	{
+		connected = true;
+		Log.info("Terminal connected to " + address);
+	}
+	
+	/**
+	 * Stop the connection once the current job is done.
+	 */
+	public void stop()
+	{
+		stop = true;
+		if(thread != null && session == null) //Waiting before reconnecting
+			thread.interrupt();
+	}
+	
+	/**
+	 * Tell if the connection is stopping.
+	 *
+	 * @return True if stopped, false else.
+	 */
+	boolean isStopped()
+	{
+		return stop;
+	}
+	
+	/**
+	 * Tell if the terminal is currently connected to the server.
+	 *
+	 * @return True if connected, false else.
+	 */
+	public boolean isConnected()
+	{
+		return connected;
+	}
+	
+	/**
+	 * Get the number of times the connection couldn't be opened or was lost.
+	 *
+	 * @return The failure count.
+	 */
+	public int getFailureCount()
+	{
+		return failureCount;
+	}
+	
+	/**
+	 * A job waiting to be ran with its result.
+	 */
+	private static class PendingJob
+	{
+		private final TerminalJob job;
+		private final CompletableFuture<Boolean> result;
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param job The job to run.
+		 */
+		PendingJob(TerminalJob job)
+		{
+			this.job = job;
+			result = new CompletableFuture<>();
+		}
+	}
+}
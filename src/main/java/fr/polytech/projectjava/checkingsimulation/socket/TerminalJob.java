@@ -0,0 +1,26 @@
+package fr.polytech.projectjava.checkingsimulation.socket;
+
+import java.io.IOException;
+
+/**
+ * An exchange with the server ran over the connection of a terminal.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public interface TerminalJob
+{
+	/**
+	 * Do the exchange.
+	 * If the connection is lost, the job is ran again once reconnected, so it must be safe to run it again.
+	 *
+	 * @param session The session to use.
+	 *
+	 * @return True if everything went fine, false else.
+	 *
+	 * @throws IOException If the connection is lost.
+	 */
+	boolean execute(TerminalSession session) throws IOException;
+}
@@ -0,0 +1,126 @@
+package fr.polytech.projectjava.checkingsimulation.socket;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.socket.CheckCodec;
+import fr.polytech.projectjava.utils.socket.SocketBase;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * One connection of a terminal to the server.
+ * It agrees on the protocol version, then runs the jobs of its {@link TerminalConnection} one after the other and sends heartbeats while there's nothing to do.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class TerminalSession extends SocketBase
+{
+	private final TerminalConnection parent;
+	private final int packetSize;
+	private int version = CheckCodec.TEXT_VERSION;
+	private boolean ready = false;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param parent  The connection this session belongs to.
+	 * @param address The address of the server.
+	 *
+	 * @throws IOException If the server couldn't be reached.
+	 */
+	TerminalSession(TerminalConnection parent, InetSocketAddress address) throws IOException
+	{
+		super("Terminal session", address);
+		this.parent = parent;
+		packetSize = Configuration.getInt("socketPacketSize");
+		setTimeout(Configuration.getInt("terminalReadTimeout"));
+		setFramed(true);
+	}
+	
+	@Override
+	protected boolean processData() throws Exception
+	{
+		handshake();
+		ready = true;
+		parent.onConnected();
+		TerminalJob job;
+		while((job = parent.nextJob()) != null || !parent.isStopped())
+		{
+			if(job == null) //Nothing to do, check the server is still there
+			{
+				send("PING".getBytes());
+				if(!new String(receive()).equals("PONG"))
+					throw new IOException("Invalid heartbeat answer");
+			}
+			else
+				parent.execute(job, this);
+		}
+		send("END".getBytes()); // Tell the server we're done
+		return true;
+	}
+	
+	/**
+	 * Agree with the server on the protocol version to use.
+	 *
+	 * @throws IOException If the server didn't answer.
+	 */
+	private void handshake() throws IOException
+	{
+		send(("HELLO;" + CheckCodec.VERSION).getBytes());
+		String response = new String(receive());
+		if(!response.startsWith("HELLO;"))
+			throw new IOException("Invalid handshake answer " + response);
+		version = Integer.parseInt(response.substring("HELLO;".length()));
+		Log.info("Using protocol version " + version);
+	}
+	
+	/**
+	 * Send packets, one after the other without waiting for an answer.
+	 *
+	 * @param packets The packets to send.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void send(byte[]... packets) throws IOException
+	{
+		sendPackets(packets);
+	}
+	
+	/**
+	 * Wait for a packet.
+	 *
+	 * @return The packet received.
+	 *
+	 * @throws IOException If nothing was received.
+	 */
+	public byte[] receive() throws IOException
+	{
+		byte[] packet = receivePacket(packetSize);
+		if(packet == null)
+			throw new IOException("Connection lost");
+		return packet;
+	}
+	
+	/**
+	 * Get the protocol version agreed with the server.
+	 *
+	 * @return The protocol version.
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+	
+	/**
+	 * Tell if the session went as far as agreeing with the server.
+	 *
+	 * @return True if the handshake succeeded, false else.
+	 */
+	boolean isReady()
+	{
+		return ready;
+	}
+}
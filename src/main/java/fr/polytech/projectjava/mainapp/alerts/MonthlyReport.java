@@ -0,0 +1,471 @@
+package fr.polytech.projectjava.mainapp.alerts;
+
+import fr.polytech.projectjava.mainapp.company.ClosedDays;
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.Manager;
+import fr.polytech.projectjava.mainapp.company.staff.checking.WorkSchedule;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * The attendance of the employees of a company during a month.
+ * <p>
+ * The employees can only be read on the thread allowed to modify the model, so a snapshot of each department is taken there in one go: the times of the checks of the month of each employee, copied as numbers.
+ * Every department then sees the same state of the company, and only the checks of the month are copied, never the check objects.
+ * Each department is then computed from its snapshot by its own task of a {@link ForkJoinPool}, and its rows are written as soon as it's done.
+ * Only the totals of each employee are kept, so the report stays small whatever the number of checks.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class MonthlyReport
+{
+	private static final String DELIMITER = ";";
+	private static final int NONE = -1;
+	private final YearMonth month;
+	private final List<ForkJoinTask<Section>> tasks;
+	private List<Section> sections;
+	private Totals totals;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param month The month of the report.
+	 * @param tasks The tasks computing the sections of the report.
+	 */
+	private MonthlyReport(YearMonth month, List<ForkJoinTask<Section>> tasks)
+	{
+		this.month = month;
+		this.tasks = tasks;
+	}
+	
+	/**
+	 * Build the report of a month, from a snapshot of the departments taken on the thread allowed to modify the model.
+	 *
+	 * @param company       The company.
+	 * @param month         The month.
+	 * @param modelExecutor The executor taking the snapshot, on the thread allowed to modify the model.
+	 * @param pool          The pool computing the departments.
+	 *
+	 * @return The report, completed once the snapshot is taken, with a section per department and one for the employees without department if there's any.
+	 */
+	public static CompletableFuture<MonthlyReport> build(Company company, YearMonth month, Executor modelExecutor, ForkJoinPool pool)
+	{
+		return CompletableFuture.supplyAsync(() -> snapshot(company, month), modelExecutor).thenApply(snapshots -> new MonthlyReport(month, snapshots.stream().map(snapshot -> pool.submit(() -> new Section(snapshot))).collect(Collectors.toList())));
+	}
+	
+	/**
+	 * Take a snapshot of each department for a month.
+	 *
+	 * @param company The company.
+	 * @param month   The month.
+	 *
+	 * @return The snapshots, in the order of the departments, then the employees without department if there's any.
+	 */
+	private static List<DepartmentMonth> snapshot(Company company, YearMonth month)
+	{
+		ClosedDays closedDays = company.getClosedDays();
+		List<DepartmentMonth> snapshots = new ArrayList<>();
+		for(StandardDepartment department : company.getDepartements())
+			snapshots.add(new DepartmentMonth(department, department.getEmployees(), month, closedDays));
+		List<Employee> unassigned = company.getEmployees().stream().filter(employee -> employee.getWorkingDepartment() == null).collect(Collectors.toList());
+		if(!unassigned.isEmpty())
+			snapshots.add(new DepartmentMonth(null, unassigned, month, closedDays));
+		return snapshots;
+	}
+	
+	/**
+	 * Write a line per employee in CSV.
+	 *
+	 * @param writer Where to write, the lines of each department are written as soon as it's computed, while the next ones are still computed.
+	 *
+	 * @throws IOException If the writing failed.
+	 */
+	public void writeCSV(Writer writer) throws IOException
+	{
+		writer.write(String.join(DELIMITER, "Department", "ID", "Employee", "Worked minutes", "Expected minutes", "Overtime", "Days present", "Late arrivals", "Missing check-outs") + "\n");
+		for(ForkJoinTask<Section> task : tasks)
+		{
+			Section section = task.join();
+			for(Row row : section.rows)
+				writer.write(section.getName() + DELIMITER + row.employeeID + DELIMITER + row.name + DELIMITER + row.totals.asCSV(DELIMITER) + "\n");
+			writer.flush();
+		}
+	}
+	
+	/**
+	 * Write the totals of each department and of the company.
+	 *
+	 * @param writer Where to write.
+	 *
+	 * @throws IOException If the writing failed.
+	 */
+	public void writeSummary(Writer writer) throws IOException
+	{
+		writer.write("Attendance report of " + month + "\n\n");
+		for(Section section : getSections())
+			writer.write(section.getName() + " (" + section.rows.size() + " employees): " + section.totals + "\n");
+		writer.write("\nCompany: " + getTotals() + "\n");
+		writer.flush();
+	}
+	
+	/**
+	 * Get the month of the report.
+	 *
+	 * @return The month.
+	 */
+	public YearMonth getMonth()
+	{
+		return month;
+	}
+	
+	/**
+	 * Get the sections of the report, waiting for them to be computed.
+	 *
+	 * @return The sections, in the order of the departments.
+	 */
+	public List<Section> getSections()
+	{
+		if(sections == null)
+			sections = tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+		return sections;
+	}
+	
+	/**
+	 * Get the totals of the company, waiting for them to be computed.
+	 *
+	 * @return The totals.
+	 */
+	public Totals getTotals()
+	{
+		if(totals == null)
+		{
+			totals = new Totals();
+			getSections().forEach(section -> totals.add(section.totals));
+		}
+		return totals;
+	}
+	
+	/**
+	 * The attendance of the employees of a department.
+	 */
+	public static class Section
+	{
+		private final StandardDepartment department;
+		private final String name;
+		private final Manager leader;
+		private final List<Row> rows;
+		private final Totals totals;
+		
+		/**
+		 * Constructor, going through the checks of the snapshot.
+		 *
+		 * @param snapshot The snapshot of the department.
+		 */
+		Section(DepartmentMonth snapshot)
+		{
+			department = snapshot.department;
+			name = snapshot.name;
+			leader = snapshot.leader;
+			rows = new ArrayList<>(snapshot.employees.size());
+			totals = new Totals();
+			for(EmployeeMonth employee : snapshot.employees)
+			{
+				Row row = new Row(employee);
+				rows.add(row);
+				totals.add(row.totals);
+			}
+		}
+		
+		/**
+		 * Get the department.
+		 *
+		 * @return The department, null for the employees without department.
+		 */
+		public StandardDepartment getDepartment()
+		{
+			return department;
+		}
+		
+		/**
+		 * Get the name of the section.
+		 *
+		 * @return The name of the department.
+		 */
+		public String getName()
+		{
+			return name;
+		}
+		
+		/**
+		 * Get the leader of the department when the report was built.
+		 *
+		 * @return The leader, null if there's none.
+		 */
+		public Manager getLeader()
+		{
+			return leader;
+		}
+		
+		/**
+		 * Get the totals of the department.
+		 *
+		 * @return The totals.
+		 */
+		public Totals getTotals()
+		{
+			return totals;
+		}
+		
+		/**
+		 * Describe the attendance of each employee, for the mail of the manager.
+		 *
+		 * @return The text.
+		 */
+		public String describe()
+		{
+			StringBuilder builder = new StringBuilder();
+			for(Row row : rows)
+				builder.append(row.name).append(": ").append(row.totals).append("\n");
+			return builder.append("\nDepartment: ").append(totals).append("\n").toString();
+		}
+	}
+	
+	/**
+	 * The attendance of an employee.
+	 */
+	private static class Row
+	{
+		private final int employeeID;
+		private final String name;
+		private final Totals totals;
+		
+		/**
+		 * Constructor, going through the checks of the snapshot of the employee.
+		 *
+		 * @param employee The snapshot of the employee.
+		 */
+		Row(EmployeeMonth employee)
+		{
+			employeeID = employee.employeeID;
+			name = employee.name;
+			totals = new Totals();
+			totals.expectedMinutes = employee.expectedMinutes;
+			for(int i = 0; i < employee.checkCount; i++)
+				totals.add(employee.days[i], employee.checkIns[i], employee.checkOuts[i], employee.schedule);
+		}
+	}
+	
+	/**
+	 * What the report needs of a department, read on the thread allowed to modify the model.
+	 */
+	private static class DepartmentMonth
+	{
+		private final StandardDepartment department;
+		private final String name;
+		private final Manager leader;
+		private final List<EmployeeMonth> employees;
+		
+		/**
+		 * Constructor, copying the checks of the month of the employees.
+		 *
+		 * @param department The department, null for the employees without department.
+		 * @param employees  The employees.
+		 * @param month      The month.
+		 * @param closedDays The days the company is closed.
+		 */
+		DepartmentMonth(StandardDepartment department, Collection<Employee> employees, YearMonth month, ClosedDays closedDays)
+		{
+			this.department = department;
+			name = department == null ? "No department" : department.getName();
+			leader = department == null ? null : department.getLeader();
+			this.employees = new ArrayList<>(employees.size());
+			for(Employee employee : employees)
+				this.employees.add(new EmployeeMonth(employee, month, closedDays));
+		}
+	}
+	
+	/**
+	 * What the report needs of an employee during a month, read on the thread allowed to modify the model.
+	 * <p>
+	 * An employee has at most a check per day, so the times of the checks are copied in arrays of the size of the month.
+	 */
+	private static class EmployeeMonth
+	{
+		private final int employeeID;
+		private final String name;
+		private final long expectedMinutes;
+		private final WorkSchedule schedule;
+		private final int[] days;
+		private final int[] checkIns;
+		private final int[] checkOuts;
+		private int checkCount;
+		
+		/**
+		 * Constructor, copying the checks of the month of the employee.
+		 *
+		 * @param employee   The employee.
+		 * @param month      The month.
+		 * @param closedDays The days the company is closed.
+		 */
+		EmployeeMonth(Employee employee, YearMonth month, ClosedDays closedDays)
+		{
+			employeeID = employee.getID();
+			name = employee.getFullName();
+			schedule = employee.getSchedule();
+			LocalDate from = month.atDay(1);
+			LocalDate to = month.atEndOfMonth();
+			expectedMinutes = employee.getWorkCalendar().getExpectedMinutes(from, to, closedDays);
+			days = new int[month.lengthOfMonth()];
+			checkIns = new int[days.length];
+			checkOuts = new int[days.length];
+			employee.forEachCheck(from, to, check -> {
+				days[checkCount] = check.getEpochDay();
+				checkIns[checkCount] = check.getCheckIn() == null ? NONE : check.getCheckIn().toSecondOfDay();
+				checkOuts[checkCount] = check.getCheckOut() == null ? NONE : check.getCheckOut().toSecondOfDay();
+				checkCount++;
+			});
+		}
+	}
+	
+	/**
+	 * The attendance totals of one or more employees.
+	 */
+	public static class Totals
+	{
+		private long workedMinutes;
+		private long expectedMinutes;
+		private int presentDays;
+		private int lateArrivals;
+		private int missingCheckOuts;
+		
+		/**
+		 * Count a check, like {@link fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck} does.
+		 *
+		 * @param day      The day of the check, in days since the epoch.
+		 * @param checkIn  The second of the day of the check in, {@link MonthlyReport#NONE} if not checked.
+		 * @param checkOut The second of the day of the check out, {@link MonthlyReport#NONE} if not checked.
+		 * @param schedule The schedule of the employee.
+		 */
+		void add(int day, int checkIn, int checkOut, WorkSchedule schedule)
+		{
+			if(checkIn == NONE)
+				return;
+			presentDays++;
+			if(checkOut == NONE)
+				missingCheckOuts++;
+			else
+				workedMinutes += (checkOut - checkIn) / 60;
+			LocalTime start = schedule.getStartTime(LocalDate.ofEpochDay(day).getDayOfWeek());
+			if(start != null && checkIn > start.toSecondOfDay())
+				lateArrivals++;
+		}
+		
+		/**
+		 * Count other totals.
+		 *
+		 * @param totals The other totals.
+		 */
+		void add(Totals totals)
+		{
+			workedMinutes += totals.workedMinutes;
+			expectedMinutes += totals.expectedMinutes;
+			presentDays += totals.presentDays;
+			lateArrivals += totals.lateArrivals;
+			missingCheckOuts += totals.missingCheckOuts;
+		}
+		
+		/**
+		 * Get the minutes worked.
+		 *
+		 * @return The minutes worked.
+		 */
+		public long getWorkedMinutes()
+		{
+			return workedMinutes;
+		}
+		
+		/**
+		 * Get the minutes to work.
+		 *
+		 * @return The minutes to work.
+		 */
+		public long getExpectedMinutes()
+		{
+			return expectedMinutes;
+		}
+		
+		/**
+		 * Get the minutes worked more than expected.
+		 *
+		 * @return The overtime, negative if less was worked.
+		 */
+		public long getOvertime()
+		{
+			return workedMinutes - expectedMinutes;
+		}
+		
+		/**
+		 * Get the number of days with a check in.
+		 *
+		 * @return The days present.
+		 */
+		public int getPresentDays()
+		{
+			return presentDays;
+		}
+		
+		/**
+		 * Get the number of check in after the time of the schedule.
+		 *
+		 * @return The late arrivals.
+		 */
+		public int getLateArrivals()
+		{
+			return lateArrivals;
+		}
+		
+		/**
+		 * Get the number of days with a check in but no check out.
+		 *
+		 * @return The missing check outs.
+		 */
+		public int getMissingCheckOuts()
+		{
+			return missingCheckOuts;
+		}
+		
+		/**
+		 * Transform the totals into a CSV form.
+		 *
+		 * @param delimiter The delimiter to use.
+		 *
+		 * @return The CSV string.
+		 */
+		String asCSV(String delimiter)
+		{
+			return workedMinutes + delimiter + expectedMinutes + delimiter + getOvertime() + delimiter + presentDays + delimiter + lateArrivals + delimiter + missingCheckOuts;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return "worked " + workedMinutes + "/" + expectedMinutes + " minutes (overtime " + getOvertime() + "), " + presentDays + " days present, " + lateArrivals + " late arrivals, " + missingCheckOuts + " missing check-outs";
+		}
+	}
+}
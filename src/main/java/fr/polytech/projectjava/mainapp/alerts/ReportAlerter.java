@@ -1,11 +1,29 @@
 package fr.polytech.projectjava.mainapp.alerts;
 
+import fr.polytech.projectjava.mainapp.company.Company;
 import fr.polytech.projectjava.mainapp.jfx.MainController;
-import java.time.LocalDate;
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import javafx.application.Platform;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 /**
  * Runnable to send monthly reports.
  * <p>
+ * Once a month is over, a snapshot of its checks is taken on the thread modifying the model, and its report is computed from it by the common pool, a task per department.
+ * The report is written in the folder of the settings ("reportFolder") as the departments are computed, then sent to the manager of each department.
+ * The CSV file of a month tells that its report was done, so it's done once even if the application restarts.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 06/06/2017.
  *
  * @author Thomas Couchoud
@@ -13,7 +31,9 @@ import java.time.LocalDate;
  */
 public class ReportAlerter implements Runnable
 {
-	private final MainController controller;
+	private final Supplier<Company> companySupplier;
+	private final Executor modelExecutor;
+	private final File folder;
 	
 	/**
 	 * Constructor.
@@ -22,15 +42,88 @@ public class ReportAlerter implements Runnable
 	 */
 	public ReportAlerter(MainController controller)
 	{
-		this.controller = controller;
+		this(controller::getCompany, Platform::runLater, new File(Configuration.getString("reportFolder")));
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param companySupplier Gives the company to report.
+	 * @param modelExecutor   The executor reading the company, on the thread allowed to modify the model.
+	 * @param folder          The folder where the reports are written.
+	 */
+	public ReportAlerter(Supplier<Company> companySupplier, Executor modelExecutor, File folder)
+	{
+		this.companySupplier = companySupplier;
+		this.modelExecutor = modelExecutor;
+		this.folder = folder;
 	}
 	
 	@Override
 	public void run()
 	{
-		if(LocalDate.now().getDayOfMonth() == 1) // If we're the fist of the month (so a new month started).
+		YearMonth month = YearMonth.now().minusMonths(1);
+		if(getCSVFile(month).exists())
+			return;
+		try
 		{
-			//TODO Monthly report
+			report(month);
 		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch(IOException | ExecutionException e)
+		{
+			Log.error("Failed to build the report of " + month, e);
+		}
+	}
+	
+	/**
+	 * Build, write and send the report of a month.
+	 *
+	 * @param month The month.
+	 *
+	 * @return The report, null if there's no company.
+	 *
+	 * @throws InterruptedException If the wait for the model was interrupted.
+	 * @throws ExecutionException   If the report couldn't be built.
+	 * @throws IOException          If the report couldn't be written.
+	 */
+	public MonthlyReport report(YearMonth month) throws InterruptedException, ExecutionException, IOException
+	{
+		long start = System.nanoTime();
+		MonthlyReport report = CompletableFuture.supplyAsync(companySupplier, modelExecutor).thenCompose(company -> company == null ? CompletableFuture.<MonthlyReport>completedFuture(null) : MonthlyReport.build(company, month, modelExecutor, ForkJoinPool.commonPool())).get();
+		if(report == null)
+			return null;
+		if(!folder.isDirectory() && !folder.mkdirs())
+			throw new IOException("Couldn't create the report folder " + folder);
+		File temporary = new File(folder, "report-" + month + ".csv.tmp");
+		try(Writer writer = Files.newBufferedWriter(temporary.toPath()))
+		{
+			report.writeCSV(writer);
+		}
+		try(Writer writer = Files.newBufferedWriter(new File(folder, "report-" + month + "-summary.txt").toPath()))
+		{
+			report.writeSummary(writer);
+		}
+		Files.move(temporary.toPath(), getCSVFile(month).toPath(), StandardCopyOption.REPLACE_EXISTING); //The report is only marked as done once fully written
+		for(MonthlyReport.Section section : report.getSections())
+			if(section.getLeader() != null)
+				section.getLeader().mailManager("Attendance report of " + month + " for department " + section.getName(), section.describe());
+		Log.info(String.format("Report of %s done in %.1fms", month, (System.nanoTime() - start) / 1000000.0));
+		return report;
+	}
+	
+	/**
+	 * Get the CSV file of a report.
+	 *
+	 * @param month The month of the report.
+	 *
+	 * @return The file.
+	 */
+	private File getCSVFile(YearMonth month)
+	{
+		return new File(folder, "report-" + month + ".csv");
 	}
 }
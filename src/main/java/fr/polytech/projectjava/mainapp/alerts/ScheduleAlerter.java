@@ -1,10 +1,33 @@
 package fr.polytech.projectjava.mainapp.alerts;
 
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
 import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.mainapp.company.staff.checking.WorkSchedule;
 import fr.polytech.projectjava.mainapp.jfx.MainController;
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.IntObjectMap;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.TimerWheel;
+import javafx.collections.ListChangeListener;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.function.Supplier;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
 
 /**
+ * Alert the managers when an employee arrives or leaves too far from his/her schedule.
+ * <p>
+ * Each day, a timer is armed for every employee at the expected arrival and departure plus the threshold ("alertThreshold" in minutes).
+ * A check cancels its timer and is compared to the schedule right away, so a timer only expires for an employee that didn't check in time.
+ * Each run only handles the timers expired since the last one, instead of going through every employee.
+ * The timers of an employee are armed again when he/she is added or his/her schedule changes during the day.
+ * The timers falling after midnight are kept when the day changes, so a late departure is still alerted.
+ * <p>
+ * The alerter must be run and told about the checks on the thread modifying the model.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 06/06/2017.
  *
  * @author Thomas Couchoud
@@ -12,7 +35,15 @@ import java.time.LocalDate;
  */
 public class ScheduleAlerter implements Runnable
 {
-	private final MainController controller;
+	private static final int SECONDS_IN_DAY = 24 * 60 * 60;
+	private final Supplier<Company> companySupplier;
+	private final int threshold;
+	private final TimerWheel<Alert> wheel;
+	private final IntObjectMap<TimerWheel.Timer<Alert>> arrivals;
+	private final IntObjectMap<TimerWheel.Timer<Alert>> departures;
+	private final ListChangeListener<Employee> employeesListener;
+	private Company company;
+	private LocalDate date;
 	
 	/**
 	 * Constructor.
@@ -21,18 +52,296 @@ public class ScheduleAlerter implements Runnable
 	 */
 	public ScheduleAlerter(MainController controller)
 	{
-		this.controller = controller;
+		this(controller::getCompany, Configuration.getInt("alertThreshold"));
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param companySupplier Gives the company to watch.
+	 * @param threshold       The offset in minutes from the schedule from which the managers are alerted.
+	 */
+	public ScheduleAlerter(Supplier<Company> companySupplier, int threshold)
+	{
+		this.companySupplier = companySupplier;
+		this.threshold = threshold;
+		wheel = new TimerWheel<>(24 * 60, 60, 0); //A slot per minute of the day
+		arrivals = new IntObjectMap<>();
+		departures = new IntObjectMap<>();
+		employeesListener = this::onEmployeesChanged;
 	}
 	
 	@Override
 	public void run()
 	{
-		controller.getCompany().getDepartements().forEach(department -> department.getEmployees().forEach(employee -> {
-			EmployeeCheck check = employee.getCheckForDate(LocalDate.now());
-			if(Math.abs(check.getArrivalOffset().getMinutes()) >= 30)
+		tick(LocalDateTime.now());
+	}
+	
+	/**
+	 * Expire the timers due, arming the ones of the day first if the day or the company changed.
+	 *
+	 * @param now The current time.
+	 *
+	 * @return The number of timers expired.
+	 */
+	public int tick(LocalDateTime now)
+	{
+		Company current = companySupplier.get();
+		if(current != company)
+			watch(current, now.toLocalDate());
+		else if(!now.toLocalDate().equals(date))
+			arm(now.toLocalDate());
+		return wheel.advance(toSeconds(now.toLocalDate(), now.toLocalTime()), this::expire);
+	}
+	
+	/**
+	 * Called when an employee checks, to cancel the timer waiting for it and alert if the check is too far from the schedule.
+	 *
+	 * @param employee  The employee.
+	 * @param checkType The type of the check.
+	 * @param time      The time of the check.
+	 */
+	public void onCheck(Employee employee, EmployeeCheck.CheckType checkType, LocalDateTime time)
+	{
+		if(employee.getCompany() != company || !time.toLocalDate().equals(date) || !isAlerted(employee, date))
+			return;
+		TimerWheel.Timer<Alert> timer = (checkType == IN ? arrivals : departures).remove(employee.getID());
+		if(timer != null)
+			timer.cancel();
+		compare(employee.getCheckForDate(date), checkType);
+	}
+	
+	/**
+	 * Get the number of timers waiting.
+	 *
+	 * @return The timer count.
+	 */
+	public int getPendingCount()
+	{
+		return wheel.size();
+	}
+	
+	/**
+	 * Arm the timers of an employee again, after his/her schedule changed.
+	 *
+	 * @param employee The employee.
+	 */
+	public void rearm(Employee employee)
+	{
+		if(employee.getCompany() != company || date == null)
+			return;
+		cancel(employee);
+		arm(employee);
+	}
+	
+	/**
+	 * Watch another company, dropping the timers of the previous one.
+	 *
+	 * @param company The company to watch, may be null.
+	 * @param date    The day.
+	 */
+	private void watch(Company company, LocalDate date)
+	{
+		wheel.clear();
+		if(this.company != null)
+		{
+			this.company.getEmployees().removeListener(employeesListener);
+			this.company.setScheduleListener(null);
+		}
+		this.company = company;
+		if(company != null)
+		{
+			company.getEmployees().addListener(employeesListener);
+			company.setScheduleListener(this::rearm);
+		}
+		arm(date);
+	}
+	
+	/**
+	 * Arm the timers of a day.
+	 * The timers of the previous day still waiting are kept, they'll expire for their own day.
+	 *
+	 * @param date The day.
+	 */
+	private void arm(LocalDate date)
+	{
+		int carried = wheel.size();
+		arrivals.clear();
+		departures.clear();
+		this.date = date;
+		if(company == null)
+			return;
+		for(Employee employee : company.getEmployees())
+			arm(employee);
+		Log.info("Armed " + (wheel.size() - carried) + " schedule alerts for " + date + ", " + carried + " carried over");
+	}
+	
+	/**
+	 * Arm the timers of an employee for the current day.
+	 *
+	 * @param employee The employee.
+	 */
+	private void arm(Employee employee)
+	{
+		if(!isAlerted(employee, date))
+			return;
+		DayOfWeek day = date.getDayOfWeek();
+		WorkSchedule schedule = employee.getSchedule();
+		arm(employee, IN, schedule.getStartTime(day));
+		arm(employee, EmployeeCheck.CheckType.OUT, schedule.getEndTime(day));
+	}
+	
+	/**
+	 * Cancel the timers of an employee for the current day.
+	 *
+	 * @param employee The employee.
+	 */
+	private void cancel(Employee employee)
+	{
+		TimerWheel.Timer<Alert> arrival = arrivals.remove(employee.getID());
+		if(arrival != null)
+			arrival.cancel();
+		TimerWheel.Timer<Alert> departure = departures.remove(employee.getID());
+		if(departure != null)
+			departure.cancel();
+	}
+	
+	/**
+	 * Arm the timers of the employees added and cancel those of the employees removed.
+	 *
+	 * @param change The change of the employee list.
+	 */
+	private void onEmployeesChanged(ListChangeListener.Change<? extends Employee> change)
+	{
+		while(change.next())
+		{
+			for(Employee employee : change.getRemoved())
+				cancel(employee);
+			for(Employee employee : change.getAddedSubList())
+				rearm(employee);
+		}
+	}
+	
+	/**
+	 * Arm the timer of an employee, or compare the check if it was already done.
+	 *
+	 * @param employee  The employee.
+	 * @param checkType The type of the check expected.
+	 * @param expected  The time of the check expected.
+	 */
+	private void arm(Employee employee, EmployeeCheck.CheckType checkType, LocalTime expected)
+	{
+		if(expected == null)
+			return;
+		if(employee.hasCheckForDate(date) && getTime(employee.getCheckForDate(date), checkType) != null)
+			compare(employee.getCheckForDate(date), checkType);
+		else
+			(checkType == IN ? arrivals : departures).put(employee.getID(), wheel.schedule(toSeconds(date, expected) + threshold * 60, new Alert(employee, checkType, date)));
+	}
+	
+	/**
+	 * Called when a timer expires, the employee didn't check in time.
+	 *
+	 * @param alert The alert of the timer.
+	 */
+	private void expire(Alert alert)
+	{
+		Employee employee = alert.employee;
+		IntObjectMap<TimerWheel.Timer<Alert>> timers = alert.checkType == IN ? arrivals : departures;
+		TimerWheel.Timer<Alert> timer = timers.get(employee.getID());
+		if(timer != null && timer.getValue() == alert) //A timer carried over from the previous day isn't listed anymore
+			timers.remove(employee.getID());
+		if(!isAlerted(employee, alert.date))
+			return;
+		EmployeeCheck check = employee.hasCheckForDate(alert.date) ? employee.getCheckForDate(alert.date) : null;
+		if(check == null || getTime(check, alert.checkType) == null)
+		{
+			if(alert.checkType == IN)
+				employee.getCheckForDate(alert.date).notifyManagerArrival();
+			else
+				employee.getCheckForDate(alert.date).notifyManagerDeparture();
+		}
+	}
+	
+	/**
+	 * Alert the manager if a check is too far from the schedule.
+	 *
+	 * @param check     The check.
+	 * @param checkType The type of the time to compare.
+	 */
+	private void compare(EmployeeCheck check, EmployeeCheck.CheckType checkType)
+	{
+		if(getTime(check, checkType) == null)
+			return;
+		if(checkType == IN)
+		{
+			if(Math.abs(check.getArrivalOffset().getMinutes()) >= threshold)
 				check.notifyManagerArrival();
-			if(Math.abs(check.getDepartureOffset().getMinutes()) >= 30)
-				check.notifyManagerDeparture();
-		}));
+		}
+		else if(Math.abs(check.getDepartureOffset().getMinutes()) >= threshold)
+			check.notifyManagerDeparture();
+	}
+	
+	/**
+	 * Tell if an employee is watched for a day.
+	 *
+	 * @param employee The employee.
+	 * @param date     The day.
+	 *
+	 * @return True if in a department and working this day, false else.
+	 */
+	private static boolean isAlerted(Employee employee, LocalDate date)
+	{
+		return employee.getWorkingDepartment() != null && employee.getSchedule().isWorking(date.getDayOfWeek());
+	}
+	
+	/**
+	 * Get a time of a check.
+	 *
+	 * @param check     The check.
+	 * @param checkType The type of the time.
+	 *
+	 * @return The time, null if not checked.
+	 */
+	private static LocalTime getTime(EmployeeCheck check, EmployeeCheck.CheckType checkType)
+	{
+		return checkType == IN ? check.getCheckIn() : check.getCheckOut();
+	}
+	
+	/**
+	 * Get the time used by the wheel.
+	 *
+	 * @param date The date.
+	 * @param time The time of the day.
+	 *
+	 * @return The seconds since the epoch, without time zone.
+	 */
+	private static long toSeconds(LocalDate date, LocalTime time)
+	{
+		return date.toEpochDay() * SECONDS_IN_DAY + time.toSecondOfDay();
+	}
+	
+	/**
+	 * A check expected from an employee.
+	 */
+	private static class Alert
+	{
+		private final Employee employee;
+		private final EmployeeCheck.CheckType checkType;
+		private final LocalDate date;
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param employee  The employee.
+		 * @param checkType The type of the check expected.
+		 * @param date      The day of the check expected.
+		 */
+		Alert(Employee employee, EmployeeCheck.CheckType checkType, LocalDate date)
+		{
+			this.employee = employee;
+			this.checkType = checkType;
+			this.date = date;
+		}
 	}
 }
@@ -0,0 +1,222 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.utils.IntObjectMap;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The attendance of each department on each day, kept up to date with the checks.
+ * <p>
+ * Each check counts in the day of its date and of the department its employee was in on that day, the employees without department being under the null department.
+ * Changing a check removes what it counted and counts it again, so a change only touches one day of one department.
+ * A transfer only moves the checks from the day of the transfer on, the days before stay as they were.
+ * Reading the attendance of a day doesn't go through the checks.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class AttendanceStats
+{
+	public static final int HISTOGRAM_STEP = 15;
+	private static final int HISTOGRAM_SIZE = 24 * 60 / HISTOGRAM_STEP;
+	private final Map<StandardDepartment, IntObjectMap<Day>> departments = new IdentityHashMap<>();
+	
+	/**
+	 * Build the attendance of the checks of some employees.
+	 *
+	 * @param employees The employees.
+	 *
+	 * @return The attendance.
+	 */
+	public static AttendanceStats build(Iterable<Employee> employees)
+	{
+		AttendanceStats stats = new AttendanceStats();
+		for(Employee employee : employees)
+			stats.count(employee, 1);
+		return stats;
+	}
+	
+	/**
+	 * Count or remove all the checks of an employee, each in the department of its day.
+	 *
+	 * @param employee The employee.
+	 * @param sign     1 to count the checks, -1 to remove them.
+	 */
+	void count(Employee employee, int sign)
+	{
+		employee.forEachCheck(check -> count(employee.getWorkingDepartment(check.getEpochDay()), check, sign));
+	}
+	
+	/**
+	 * Count or remove a check.
+	 *
+	 * @param department The department of the employee on the day of the check.
+	 * @param check      The check.
+	 * @param sign       1 to count the check, -1 to remove it.
+	 */
+	void count(StandardDepartment department, EmployeeCheck check, int sign)
+	{
+		IntObjectMap<Day> days = departments.get(department);
+		if(days == null)
+			departments.put(department, days = new IntObjectMap<>());
+		Day day = days.get(check.getEpochDay());
+		if(day == null)
+			days.put(check.getEpochDay(), day = new Day());
+		day.count(check, sign);
+		if(day.isEmpty())
+			days.remove(check.getEpochDay());
+	}
+	
+	/**
+	 * Get the attendance of a department on a day.
+	 *
+	 * @param department The department, null for the employees without department.
+	 * @param date       The day.
+	 *
+	 * @return The attendance, empty if nobody checked.
+	 */
+	public Day getDay(StandardDepartment department, LocalDate date)
+	{
+		IntObjectMap<Day> days = departments.get(department);
+		Day day = days == null ? null : days.get((int) date.toEpochDay());
+		return day == null ? Day.EMPTY : day;
+	}
+	
+	/**
+	 * Get the average arrival time of a department between two days.
+	 *
+	 * @param department The department, null for the employees without department.
+	 * @param from       The first day, included.
+	 * @param to         The last day, included.
+	 *
+	 * @return The average arrival time, null if nobody checked in.
+	 */
+	public LocalTime getAverageArrival(StandardDepartment department, LocalDate from, LocalDate to)
+	{
+		long seconds = 0;
+		int present = 0;
+		for(LocalDate date = from; !date.isAfter(to); date = date.plusDays(1))
+		{
+			Day day = getDay(department, date);
+			seconds += day.arrivalSeconds;
+			present += day.presentCount;
+		}
+		return present == 0 ? null : LocalTime.ofSecondOfDay(seconds / present);
+	}
+	
+	/**
+	 * The attendance of a department on a day.
+	 */
+	public static class Day
+	{
+		private static final Day EMPTY = new Day();
+		private int presentCount;
+		private int insideCount;
+		private int lateCount;
+		private long workedMinutes;
+		private long arrivalSeconds;
+		private int[] arrivals;
+		
+		/**
+		 * Count or remove a check.
+		 *
+		 * @param check The check.
+		 * @param sign  1 to count the check, -1 to remove it.
+		 */
+		private void count(EmployeeCheck check, int sign)
+		{
+			workedMinutes += sign * check.getWorkedMinutes();
+			LocalTime checkIn = check.getCheckIn();
+			if(checkIn == null)
+				return;
+			presentCount += sign;
+			arrivalSeconds += sign * checkIn.toSecondOfDay();
+			if(arrivals == null)
+				arrivals = new int[HISTOGRAM_SIZE];
+			arrivals[checkIn.toSecondOfDay() / 60 / HISTOGRAM_STEP] += sign;
+			if(check.getCheckOut() == null)
+				insideCount += sign;
+			if(check.isLateArrival())
+				lateCount += sign;
+		}
+		
+		/**
+		 * Tell if nothing is counted anymore.
+		 *
+		 * @return True if empty, false else.
+		 */
+		private boolean isEmpty()
+		{
+			return presentCount == 0 && workedMinutes == 0;
+		}
+		
+		/**
+		 * Get the number of employees who checked in.
+		 *
+		 * @return The present count.
+		 */
+		public int getPresentCount()
+		{
+			return presentCount;
+		}
+		
+		/**
+		 * Get the number of employees who checked in but not out.
+		 *
+		 * @return The count of employees still inside.
+		 */
+		public int getInsideCount()
+		{
+			return insideCount;
+		}
+		
+		/**
+		 * Get the number of employees who checked in after the time of their schedule.
+		 *
+		 * @return The late count.
+		 */
+		public int getLateCount()
+		{
+			return lateCount;
+		}
+		
+		/**
+		 * Get the minutes worked by all the employees.
+		 *
+		 * @return The minutes worked.
+		 */
+		public long getWorkedMinutes()
+		{
+			return workedMinutes;
+		}
+		
+		/**
+		 * Get the number of arrivals in a slot of the day.
+		 *
+		 * @param slot The slot, the minute of the day divided by {@link #HISTOGRAM_STEP}.
+		 *
+		 * @return The number of check in in this slot.
+		 */
+		public int getArrivals(int slot)
+		{
+			return arrivals == null ? 0 : arrivals[slot];
+		}
+		
+		/**
+		 * Get the average arrival time.
+		 *
+		 * @return The average time, null if nobody checked in.
+		 */
+		public LocalTime getAverageArrival()
+		{
+			return presentCount == 0 ? null : LocalTime.ofSecondOfDay(arrivalSeconds / presentCount);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.utils.SortedIntObjectMap;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The checks of a company indexed by day and by presence, kept up to date with the checks.
+ * <p>
+ * The checks of each day are kept in a list, found by identity when removed as another check of the same employee and day is equal.
+ * There's one check per employee and day, so removing one only goes through the checks of its day.
+ * The checks of an employee are already indexed by day by the employee itself, so the checks of a department are read from its employees, and a transfer doesn't change the index.
+ * The checks in progress are kept apart as there's few of them.
+ * A query only goes through the days that have checks and the checks it returns, instead of every check of the company.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckIndex
+{
+	private final Company company;
+	private final SortedIntObjectMap<List<EmployeeCheck>> days = new SortedIntObjectMap<>();
+	private final Set<EmployeeCheck> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param company The company of the checks.
+	 */
+	private CheckIndex(Company company)
+	{
+		this.company = company;
+	}
+	
+	/**
+	 * Build the index of the checks of the employees of a company.
+	 *
+	 * @param company The company.
+	 *
+	 * @return The index.
+	 */
+	public static CheckIndex build(Company company)
+	{
+		CheckIndex index = new CheckIndex(company);
+		for(Employee employee : company.getEmployees())
+			index.update(employee, 1);
+		return index;
+	}
+	
+	/**
+	 * Add or remove all the checks of an employee.
+	 *
+	 * @param employee The employee.
+	 * @param sign     1 to add the checks, -1 to remove them.
+	 */
+	void update(Employee employee, int sign)
+	{
+		employee.forEachCheck(check -> update(check, sign));
+	}
+	
+	/**
+	 * Add or remove a check.
+	 *
+	 * @param check The check.
+	 * @param sign  1 to add the check, -1 to remove it.
+	 */
+	void update(EmployeeCheck check, int sign)
+	{
+		List<EmployeeCheck> checks = days.get(check.getEpochDay());
+		if(sign > 0)
+		{
+			if(checks == null)
+				days.put(check.getEpochDay(), checks = new ArrayList<>());
+			checks.add(check);
+			if(check.isInProgress())
+				inProgress.add(check);
+		}
+		else
+		{
+			if(checks != null)
+				for(int i = checks.size() - 1; i >= 0; i--) //The checks changed are mostly the last ones added
+					if(checks.get(i) == check)
+					{
+						checks.set(i, checks.get(checks.size() - 1));
+						checks.remove(checks.size() - 1);
+						if(checks.isEmpty())
+							days.remove(check.getEpochDay());
+						break;
+					}
+			inProgress.remove(check);
+		}
+	}
+	
+	/**
+	 * Get the checks matching some filters.
+	 *
+	 * @param from           The first day, included, null for no limit.
+	 * @param to             The last day, included, null for no limit.
+	 * @param department     The department of the employees, null for every employee.
+	 * @param employee       The employee, null for every employee.
+	 * @param inProgressOnly True to only get the checks in progress.
+	 *
+	 * @return The checks, in no particular order.
+	 */
+	public List<EmployeeCheck> query(LocalDate from, LocalDate to, StandardDepartment department, Employee employee, boolean inProgressOnly)
+	{
+		int firstDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+		int lastDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+		List<EmployeeCheck> result = new ArrayList<>();
+		if(inProgressOnly && employee == null)
+		{
+			for(EmployeeCheck check : inProgress)
+				if(check.getEpochDay() >= firstDay && check.getEpochDay() <= lastDay && (department == null || check.getEmployee().getWorkingDepartment() == department))
+					result.add(check);
+		}
+		else if(employee != null || department != null)
+		{
+			for(Employee emp : employee != null ? Collections.singletonList(employee) : department.getEmployees())
+				if((department == null || emp.getWorkingDepartment() == department) && company.getEmployee(emp.getID()).orElse(null) == emp)
+					emp.forEachCheck(LocalDate.ofEpochDay(firstDay), LocalDate.ofEpochDay(lastDay), check -> {
+						if(!inProgressOnly || check.isInProgress())
+							result.add(check);
+					});
+		}
+		else
+			for(int i = days.ceilingIndex(firstDay); i < days.size() && days.keyAt(i) <= lastDay; i++)
+				result.addAll(days.valueAt(i));
+		return result;
+	}
+}
@@ -0,0 +1,186 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.utils.SortedIntObjectMap;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * The days the company is closed, like public holidays, where nobody is expected to work.
+ * <p>
+ * The days are kept sorted, along with the number of days closed before each of them for every day of the week.
+ * Counting the days closed between two dates is then done with two binary searches, whatever the length of the period.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class ClosedDays implements Serializable
+{
+	private static final long serialVersionUID = -3304725480532118930L;
+	private transient SortedIntObjectMap<String> days;
+	private transient volatile int[][] counts; //Built on the first need, maybe by several threads computing overtimes
+	
+	/**
+	 * Constructor.
+	 */
+	public ClosedDays()
+	{
+		days = new SortedIntObjectMap<>();
+	}
+	
+	/**
+	 * Close the company on a day.
+	 *
+	 * @param date The day closed.
+	 * @param name The reason of the closure, like the name of the holiday.
+	 */
+	public void add(LocalDate date, String name)
+	{
+		days.put(toDay(date), name);
+		counts = null;
+	}
+	
+	/**
+	 * Open the company again on a day.
+	 *
+	 * @param date The day to open.
+	 *
+	 * @return True if the company was closed on this day, false else.
+	 */
+	public boolean remove(LocalDate date)
+	{
+		if(days.remove(toDay(date)) == null)
+			return false;
+		counts = null;
+		return true;
+	}
+	
+	/**
+	 * Tell if the company is closed on a day.
+	 *
+	 * @param date The day to look for.
+	 *
+	 * @return True if closed, false else.
+	 */
+	public boolean isClosed(LocalDate date)
+	{
+		return days.containsKey(toDay(date));
+	}
+	
+	/**
+	 * Get the reason of a closure.
+	 *
+	 * @param date The day closed.
+	 *
+	 * @return The reason, or null if the company is open this day.
+	 */
+	public String getName(LocalDate date)
+	{
+		return days.get(toDay(date));
+	}
+	
+	/**
+	 * Get the number of days closed.
+	 *
+	 * @return The days count.
+	 */
+	public int size()
+	{
+		return days.size();
+	}
+	
+	/**
+	 * Get the minutes that would have been worked on the days closed between two dates.
+	 *
+	 * @param weekMinutes The minutes to work for each day of the week, indexed by {@link DayOfWeek#ordinal()}.
+	 * @param from        The first day, included.
+	 * @param to          The last day, included.
+	 *
+	 * @return The minutes not worked because the company is closed.
+	 */
+	public long getClosedMinutes(long[] weekMinutes, LocalDate from, LocalDate to)
+	{
+		if(days.isEmpty() || from.isAfter(to))
+			return 0;
+		int[][] counts = this.counts;
+		if(counts == null)
+			counts = buildCounts();
+		int start = days.ceilingIndex(toDay(from));
+		int end = days.ceilingIndex(toDay(to) + 1);
+		long minutes = 0;
+		for(int day = 0; day < weekMinutes.length; day++)
+			minutes += weekMinutes[day] * (counts[day][end] - counts[day][start]);
+		return minutes;
+	}
+	
+	/**
+	 * Count, for every day of the week, the days closed before each index.
+	 *
+	 * @return The counts.
+	 */
+	private int[][] buildCounts()
+	{
+		int[][] counts = new int[DayOfWeek.values().length][days.size() + 1];
+		for(int i = 0; i < days.size(); i++)
+		{
+			int dayOfWeek = LocalDate.ofEpochDay(days.keyAt(i)).getDayOfWeek().ordinal();
+			for(int day = 0; day < counts.length; day++)
+				counts[day][i + 1] = counts[day][i] + (day == dayOfWeek ? 1 : 0);
+		}
+		this.counts = counts;
+		return counts;
+	}
+	
+	/**
+	 * Get the key of a date.
+	 *
+	 * @param date The date.
+	 *
+	 * @return The number of days since the epoch.
+	 */
+	private static int toDay(LocalDate date)
+	{
+		return (int) date.toEpochDay();
+	}
+	
+	/**
+	 * Serialize the object.
+	 *
+	 * @param oos The object stream.
+	 *
+	 * @throws IOException If the serialization failed.
+	 */
+	private void writeObject(ObjectOutputStream oos) throws IOException
+	{
+		oos.writeInt(days.size());
+		for(int i = 0; i < days.size(); i++)
+		{
+			oos.writeInt(days.keyAt(i));
+			oos.writeObject(days.valueAt(i));
+		}
+	}
+	
+	/**
+	 * Deserialize an object.
+	 *
+	 * @param ois The object stream.
+	 *
+	 * @throws IOException            If the deserialization failed.
+	 * @throws ClassNotFoundException If the file doesn't represent the correct class.
+	 */
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
+	{
+		int count = ois.readInt();
+		days = new SortedIntObjectMap<>(Math.max(8, count));
+		for(int i = 0; i < count; i++)
+		{
+			int day = ois.readInt();
+			days.put(day, (String) ois.readObject());
+		}
+	}
+}
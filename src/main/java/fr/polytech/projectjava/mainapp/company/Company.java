@@ -5,7 +5,10 @@ import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
 import fr.polytech.projectjava.mainapp.company.staff.Boss;
 import fr.polytech.projectjava.mainapp.company.staff.Employee;
 import fr.polytech.projectjava.mainapp.company.staff.Manager;
+import fr.polytech.projectjava.mainapp.company.staff.checking.CheckStore;
 import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.IntObjectMap;
 import fr.polytech.projectjava.utils.Log;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -15,12 +18,22 @@ import javafx.collections.ObservableList;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OptionalDataException;
 import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Represent a company.
  * <p>
+ * Many changes can be made at once in a bulk update, see {@link #beginBulkUpdate()}.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 23/03/2017.
  *
  * @author Thomas Couchoud
@@ -35,6 +48,18 @@ public class Company implements Serializable
 	private ManagementDepartment managementDepartment;
 	private ObservableList<EmployeeCheck> checks;
 	private ObservableList<Manager> managers = FXCollections.observableArrayList();
+	private ClosedDays closedDays = new ClosedDays();
+	private transient CheckStore checkStore;
+	private transient RosterLog roster;
+	private transient IntObjectMap<Employee> employeeIndex;
+	private transient IntObjectMap<StandardDepartment> departmentIndex;
+	private transient int bulkDepth;
+	private transient Set<Employee> pendingEmployees;
+	private transient boolean pendingManagers;
+	private transient RecomputeService recomputeService;
+	private transient AttendanceStats attendance;
+	private transient CheckIndex checkIndex;
+	private transient Consumer<Employee> scheduleListener;
 	
 	/**
 	 * Construct a company with its name and boss.
@@ -48,11 +73,26 @@ public class Company implements Serializable
 		this.boss = new SimpleObjectProperty<>(boss);
 		this.managementDepartment = new ManagementDepartment(this, boss);
 		this.checks = FXCollections.observableArrayList();
+		roster = new RosterLog(employees, Configuration.getInt("rosterLogSize"));
+		buildIndexes();
+		watchManagers();
+	}
+	
+	/**
+	 * Keep the manager list up to date with the employee list.
+	 */
+	private void watchManagers()
+	{
 		employees.addListener(new ListChangeListener<Employee>() //Keep track the what happens to the employee list in order to update the manager list
 		{
 			@Override
 			public void onChanged(Change<? extends Employee> c)
 			{
+				if(bulkDepth > 0) //Rebuilt at the end of the bulk update
+				{
+					pendingManagers = true;
+					return;
+				}
 				while(c.next())
 				{
 					if(c.wasAdded() || c.wasReplaced())
@@ -72,6 +112,216 @@ public class Company implements Serializable
 		});
 	}
 	
+	/**
+	 * Start a bulk update, to make many changes at once like when loading or importing employees.
+	 * Until the matching {@link #endBulkUpdate()}, the overtime and presence of the employees aren't updated after each change, the manager list isn't kept up to date and the info messages of the current thread aren't logged.
+	 * They are all updated once when the last bulk update ends.
+	 * Bulk updates can be nested, and should be ended in a finally block by the thread that started them.
+	 */
+	public void beginBulkUpdate()
+	{
+		if(bulkDepth++ == 0)
+			Log.holdInfo();
+	}
+	
+	/**
+	 * End a bulk update.
+	 * If it's the last one, the manager list is rebuilt and the employees changed meanwhile are refreshed.
+	 */
+	public void endBulkUpdate()
+	{
+		if(bulkDepth == 0 || --bulkDepth > 0)
+			return;
+		int skipped = Log.releaseInfo();
+		if(pendingManagers)
+		{
+			pendingManagers = false;
+			managers.setAll(employees.stream().filter(employee -> employee instanceof Manager).map(employee -> (Manager) employee).collect(Collectors.toList()));
+		}
+		Set<Employee> pending = pendingEmployees;
+		pendingEmployees = null;
+		if(pending != null)
+			getRecomputeService().recompute(pending, LocalDate.now());
+		Log.info("Bulk update of " + this + " done, " + (pending == null ? 0 : pending.size()) + " employees refreshed and " + skipped + " messages skipped");
+	}
+	
+	/**
+	 * Tell if a bulk update is running.
+	 *
+	 * @return True if running, false else.
+	 */
+	public boolean isBulkUpdating()
+	{
+		return bulkDepth > 0;
+	}
+	
+	/**
+	 * Defer the update of the overtime and presence of an employee to the end of the bulk update.
+	 *
+	 * @param employee The employee to update.
+	 *
+	 * @return True if deferred, false if no bulk update is running and the update should be done now.
+	 */
+	public boolean deferUpdate(Employee employee)
+	{
+		if(bulkDepth == 0)
+			return false;
+		if(pendingEmployees == null)
+			pendingEmployees = Collections.newSetFromMap(new IdentityHashMap<>());
+		pendingEmployees.add(employee);
+		return true;
+	}
+	
+	/**
+	 * Get the attendance of each department on each day, built from the checks on the first call and kept up to date afterwards.
+	 *
+	 * @return The attendance.
+	 */
+	public AttendanceStats getAttendance()
+	{
+		if(attendance == null)
+			attendance = AttendanceStats.build(employees);
+		return attendance;
+	}
+	
+	/**
+	 * Get the index of the checks, built from the checks on the first call and kept up to date afterwards.
+	 *
+	 * @return The check index.
+	 */
+	public CheckIndex getCheckIndex()
+	{
+		if(checkIndex == null)
+			checkIndex = CheckIndex.build(this);
+		return checkIndex;
+	}
+	
+	/**
+	 * Get the checks matching some filters, through the check index.
+	 *
+	 * @param from           The first day, included, null for no limit.
+	 * @param to             The last day, included, null for no limit.
+	 * @param department     The department of the employees, null for every employee.
+	 * @param employee       The employee, null for every employee.
+	 * @param inProgressOnly True to only get the checks in progress.
+	 *
+	 * @return The checks, in no particular order, none if the employee isn't in the company.
+	 */
+	public List<EmployeeCheck> queryChecks(LocalDate from, LocalDate to, StandardDepartment department, Employee employee, boolean inProgressOnly)
+	{
+		if(employee != null && employeeIndex.get(employee.getID()) != employee)
+			return Collections.emptyList();
+		return getCheckIndex().query(from, to, department, employee, inProgressOnly);
+	}
+	
+	/**
+	 * Add or remove a check from the attendance and the check index, if they were built and the employee is in the company.
+	 *
+	 * @param employee   The employee of the check.
+	 * @param department The department the check counts in.
+	 * @param check      The check.
+	 * @param sign       1 to add the check, -1 to remove it.
+	 */
+	public void updateCheckIndexes(Employee employee, StandardDepartment department, EmployeeCheck check, int sign)
+	{
+		if((attendance != null || checkIndex != null) && employeeIndex.get(employee.getID()) == employee)
+		{
+			if(attendance != null)
+				attendance.count(department, check, sign);
+			if(checkIndex != null)
+				checkIndex.update(check, sign);
+		}
+	}
+	
+	/**
+	 * Add or remove all the checks of an employee from the attendance and the check index, if they were built.
+	 *
+	 * @param employee The employee.
+	 * @param sign     1 to add the checks, -1 to remove them.
+	 */
+	private void updateCheckIndexes(Employee employee, int sign)
+	{
+		if(attendance != null)
+			attendance.count(employee, sign);
+		if(checkIndex != null)
+			checkIndex.update(employee, sign);
+	}
+	
+	/**
+	 * Recompute the overtime and presence of every employee, like when the day changes.
+	 */
+	public void recomputeAll()
+	{
+		getRecomputeService().recompute(employees, LocalDate.now());
+	}
+	
+	/**
+	 * Get the service recomputing the overtime and presence of the employees.
+	 *
+	 * @return The recompute service.
+	 */
+	public RecomputeService getRecomputeService()
+	{
+		if(recomputeService == null)
+			recomputeService = new RecomputeService();
+		return recomputeService;
+	}
+	
+	/**
+	 * Set the service recomputing the overtime and presence of the employees.
+	 *
+	 * @param recomputeService The recompute service.
+	 */
+	public void setRecomputeService(RecomputeService recomputeService)
+	{
+		this.recomputeService = recomputeService;
+	}
+	
+	/**
+	 * Build the indexes of the employees and departments by ID, and keep them up to date with the lists.
+	 */
+	private void buildIndexes()
+	{
+		employeeIndex = new IntObjectMap<>(employees.size());
+		employees.forEach(employee -> employeeIndex.put(employee.getID(), employee));
+		employees.addListener(new ListChangeListener<Employee>()
+		{
+			@Override
+			public void onChanged(Change<? extends Employee> c)
+			{
+				while(c.next())
+				{
+					for(Employee employee : c.getRemoved())
+						if(employeeIndex.get(employee.getID()) == employee)
+						{
+							employeeIndex.remove(employee.getID());
+							updateCheckIndexes(employee, -1);
+						}
+					for(Employee employee : c.getAddedSubList())
+						if(employeeIndex.put(employee.getID(), employee) != employee)
+							updateCheckIndexes(employee, 1);
+				}
+			}
+		});
+		departmentIndex = new IntObjectMap<>(departments.size());
+		departments.forEach(department -> departmentIndex.put(department.getID(), department));
+		departments.addListener(new ListChangeListener<StandardDepartment>()
+		{
+			@Override
+			public void onChanged(Change<? extends StandardDepartment> c)
+			{
+				while(c.next())
+				{
+					for(StandardDepartment department : c.getRemoved())
+						if(departmentIndex.get(department.getID()) == department)
+							departmentIndex.remove(department.getID());
+					for(StandardDepartment department : c.getAddedSubList())
+						departmentIndex.put(department.getID(), department);
+				}
+			}
+		});
+	}
+	
 	/**
 	 * Get an employee by its ID.
 	 *
@@ -81,10 +331,38 @@ public class Company implements Serializable
 	 */
 	public Optional<Employee> getEmployee(int ID)
 	{
-		for(Employee employee : getEmployees())
-			if(employee.getID() == ID)
-				return Optional.of(employee);
-		return Optional.empty();
+		return Optional.ofNullable(employeeIndex.get(ID));
+	}
+	
+	/**
+	 * Get the log of the changes made to the employees, as seen by the terminals.
+	 *
+	 * @return The roster log.
+	 */
+	public RosterLog getRoster()
+	{
+		return roster;
+	}
+	
+	/**
+	 * Set what is told when the schedule of an employee changes.
+	 *
+	 * @param listener The listener, null for none.
+	 */
+	public void setScheduleListener(Consumer<Employee> listener)
+	{
+		scheduleListener = listener;
+	}
+	
+	/**
+	 * Called by an employee when his/her schedule changed.
+	 *
+	 * @param employee The employee.
+	 */
+	public void onScheduleChanged(Employee employee)
+	{
+		if(scheduleListener != null)
+			scheduleListener.accept(employee);
 	}
 	
 	/**
@@ -106,10 +384,7 @@ public class Company implements Serializable
 	 */
 	public Optional<StandardDepartment> getDepartment(int ID)
 	{
-		for(StandardDepartment department : departments)
-			if(department.getID() == ID)
-				return Optional.of(department);
-		return Optional.empty();
+		return Optional.ofNullable(departmentIndex.get(ID));
 	}
 	
 	@Override
@@ -177,7 +452,7 @@ public class Company implements Serializable
 	 */
 	public void addDepartment(StandardDepartment department)
 	{
-		if(!departments.contains(department))
+		if(!departmentIndex.containsKey(department.getID()))
 		{
 			departments.add(department);
 			Log.info("Department " + department + " added to the company " + this);
@@ -191,7 +466,7 @@ public class Company implements Serializable
 	 */
 	public void addEmployee(Employee employee)
 	{
-		if(employee != null && !employees.contains(employee))
+		if(employee != null && !employeeIndex.containsKey(employee.getID()))
 		{
 			employees.add(employee);
 			Log.info("Employee " + employee + " added to the company " + this);
@@ -224,6 +499,72 @@ public class Company implements Serializable
 		Log.info("Department" + department + " removed from the company " + this);
 	}
 	
+	/**
+	 * Close the company on a day, so nobody has to work on it.
+	 *
+	 * @param date The day closed.
+	 * @param name The reason of the closure, like the name of the holiday.
+	 */
+	public void addClosedDay(LocalDate date, String name)
+	{
+		closedDays.add(date, name);
+		beginBulkUpdate();
+		try
+		{
+			employees.forEach(employee -> employee.updateOvertime(null));
+		}
+		finally
+		{
+			endBulkUpdate();
+		}
+		Log.info("Company " + this + " is now closed on " + date + " (" + name + ")");
+	}
+	
+	/**
+	 * Open the company again on a day that was closed.
+	 *
+	 * @param date The day to open.
+	 */
+	public void removeClosedDay(LocalDate date)
+	{
+		if(closedDays.remove(date))
+		{
+			beginBulkUpdate();
+			try
+			{
+				employees.forEach(employee -> employee.updateOvertime(null));
+			}
+			finally
+			{
+				endBulkUpdate();
+			}
+			Log.info("Company " + this + " is now open on " + date);
+		}
+	}
+	
+	/**
+	 * Get the days the company is closed.
+	 *
+	 * @return The closed days.
+	 */
+	public ClosedDays getClosedDays()
+	{
+		return closedDays;
+	}
+	
+	/**
+	 * Get the store where the data of the checks is kept.
+	 * It's created on the first call, as the checks may be read before the rest of the company when it's deserialized.
+	 *
+	 * @return The check store.
+	 */
+	public CheckStore getCheckStore()
+	{
+		if(checkStore == null)
+			checkStore = new CheckStore();
+		return checkStore;
+	}
+	
 	/**
 	 * Register an employee check to add it into the global check list.
 	 *
@@ -265,6 +606,7 @@ public class Company implements Serializable
 		oos.writeInt(checks.size());
 		for(int i = 0; i < checks.size(); i++)
 			oos.writeObject(checks.get(i));
+		oos.writeObject(closedDays);
 	}
 	
 	/**
@@ -296,6 +638,27 @@ public class Company implements Serializable
 	 * @throws ClassNotFoundException If the file doesn't represent the correct class.
 	 */
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
+	{
+		beginBulkUpdate(); //The employees read are refreshed once everything is read
+		try
+		{
+			readCompany(ois);
+		}
+		finally
+		{
+			endBulkUpdate();
+		}
+	}
+	
+	/**
+	 * Read the fields of the company.
+	 *
+	 * @param ois The object stream.
+	 *
+	 * @throws IOException            If the deserialization failed.
+	 * @throws ClassNotFoundException If the file doesn't represent the correct class.
+	 */
+	private void readCompany(ObjectInputStream ois) throws IOException, ClassNotFoundException
 	{
 		name = new SimpleStringProperty((String) ois.readObject());
 		boss = new SimpleObjectProperty<>((Boss) ois.readObject());
@@ -320,33 +683,25 @@ public class Company implements Serializable
 			else
 				employees.add((Employee) emp);
 		}
-		employees.addListener(new ListChangeListener<Employee>()
-		{
-			@Override
-			public void onChanged(Change<? extends Employee> c)
-			{
-				while(c.next())
-				{
-					if(c.wasAdded() || c.wasReplaced())
-					{
-						for(Employee emp : c.getAddedSubList())
-							if(emp instanceof Manager)
-								managers.add((Manager) emp);
-					}
-					else if(c.wasRemoved() || c.wasReplaced())
-					{
-						for(Employee emp : c.getRemoved())
-							if(emp instanceof Manager)
-								managers.remove(emp);
-					}
-				}
-			}
-		});
+		roster = new RosterLog(employees, Configuration.getInt("rosterLogSize"));
+		buildIndexes();
+		watchManagers();
 		
 		checks = FXCollections.observableArrayList();
 		int chkSize = ois.readInt();
 		for(int i = 0; i < chkSize; i++)
 			checks.add((EmployeeCheck) ois.readObject());
+		
+		try
+		{
+			closedDays = (ClosedDays) ois.readObject();
+		}
+		catch(OptionalDataException e) //Saved before the closed days were kept
+		{
+			closedDays = new ClosedDays();
+		}
+		if(closedDays.size() > 0) //The employees were read before the closed days, they'll be refreshed at the end of the bulk update
+			employees.forEach(employee -> employee.updateOvertime(null));
 	}
 	
 	/**
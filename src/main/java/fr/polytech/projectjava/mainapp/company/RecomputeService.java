@@ -0,0 +1,153 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.jfx.MinutesDuration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Recompute the overtime and presence of many employees at once.
+ * <p>
+ * The employees are split between the threads of a {@link ForkJoinPool}, where the values of each one are computed without modifying anything.
+ * They are then published to the employees in a single task given to the publisher, like {@code Platform::runLater} to set the properties on the JavaFX thread.
+ * The employees must not be modified while the values are computed, so the caller waits for them.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class RecomputeService
+{
+	private static final int LEAF_SIZE = 32;
+	private static ForkJoinPool defaultPool;
+	private final ForkJoinPool pool;
+	private final Executor publisher;
+	private volatile long lastRunTime;
+	
+	/**
+	 * Constructor.
+	 * The pool has the parallelism of the configuration ("recomputeParallelism", 0 to use the common pool) and the values are published on the calling thread.
+	 */
+	public RecomputeService()
+	{
+		this(getDefaultPool(), Runnable::run);
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param pool      The pool computing the values.
+	 * @param publisher The executor publishing the values, on the thread allowed to modify the employees.
+	 */
+	public RecomputeService(ForkJoinPool pool, Executor publisher)
+	{
+		this.pool = pool;
+		this.publisher = publisher;
+	}
+	
+	/**
+	 * Recompute the overtime and presence of employees.
+	 *
+	 * @param employees The employees to recompute.
+	 * @param date      The last day counted in the overtime.
+	 */
+	public void recompute(Collection<Employee> employees, LocalDate date)
+	{
+		long start = System.nanoTime();
+		Employee[] targets = employees.toArray(new Employee[employees.size()]);
+		long[] overtimes = new long[targets.length];
+		boolean[] presences = new boolean[targets.length];
+		pool.invoke(new RecomputeTask(targets, overtimes, presences, date, 0, targets.length));
+		long computeTime = System.nanoTime() - start;
+		publisher.execute(() -> {
+			for(int i = 0; i < targets.length; i++)
+			{
+				targets[i].setLateDuration(new MinutesDuration(overtimes[i]));
+				targets[i].setPresent(presences[i]);
+			}
+			lastRunTime = System.nanoTime() - start;
+			Log.info(String.format("Recomputed %d employees in %.1fms (%.1fms computing on %d threads)", targets.length, lastRunTime / 1000000.0, computeTime / 1000000.0, pool.getParallelism()));
+		});
+	}
+	
+	/**
+	 * Get the time taken by the last run, from its start to the end of the publication.
+	 *
+	 * @return The time in nanoseconds, 0 if nothing was published yet.
+	 */
+	public long getLastRunTime()
+	{
+		return lastRunTime;
+	}
+	
+	/**
+	 * Get the pool used by default, created on the first call.
+	 *
+	 * @return The pool.
+	 */
+	private static synchronized ForkJoinPool getDefaultPool()
+	{
+		if(defaultPool == null)
+		{
+			int parallelism = Configuration.getInt("recomputeParallelism");
+			defaultPool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+		}
+		return defaultPool;
+	}
+	
+	/**
+	 * Compute the values of a range of employees, splitting it in halves while it's big.
+	 */
+	private static class RecomputeTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 5329175081613650471L;
+		private final Employee[] employees;
+		private final long[] overtimes;
+		private final boolean[] presences;
+		private final LocalDate date;
+		private final int from;
+		private final int to;
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param employees The employees.
+		 * @param overtimes Where to put the overtimes.
+		 * @param presences Where to put the presences.
+		 * @param date      The last day counted in the overtime.
+		 * @param from      The first index to compute, included.
+		 * @param to        The last index to compute, excluded.
+		 */
+		RecomputeTask(Employee[] employees, long[] overtimes, boolean[] presences, LocalDate date, int from, int to)
+		{
+			this.employees = employees;
+			this.overtimes = overtimes;
+			this.presences = presences;
+			this.date = date;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if(to - from > LEAF_SIZE)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new RecomputeTask(employees, overtimes, presences, date, from, middle), new RecomputeTask(employees, overtimes, presences, date, middle, to));
+				return;
+			}
+			for(int i = from; i < to; i++)
+			{
+				overtimes[i] = employees[i].getOvertime(date);
+				presences[i] = employees[i].getCheckedPresence();
+			}
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Keep track of the changes made to the employees of a company, the way the terminals see them (ID and names).
+ * The presence isn't tracked, the terminals follow it themselves with the checks they send.
+ * <p>
+ * Each change increases the version of the roster and is kept in a bounded log, so a terminal knowing a version can be sent only what changed since.
+ * The employees tracked are indexed by ID, so the changes can be resolved without going through every employee nor waiting for the thread modifying the model.
+ * The log isn't saved, so each instance has its own random generation: a version is only meaningful with the generation it was given with.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class RosterLog
+{
+	public static final byte ADDED = 0;
+	public static final byte UPDATED = 1;
+	public static final byte REMOVED = 2;
+	private final long generation;
+	private final int[] employeeIDs;
+	private final byte[] types;
+	private final Map<Integer, Employee> employees;
+	private long version = 0;
+	
+	/**
+	 * Constructor.
+	 * Start tracking the employees of the list.
+	 *
+	 * @param employees The employees to track.
+	 * @param capacity  The maximum number of changes remembered.
+	 */
+	public RosterLog(ObservableList<Employee> employees, int capacity)
+	{
+		generation = new Random().nextLong() & Long.MAX_VALUE;
+		employeeIDs = new int[Math.max(1, capacity)];
+		types = new byte[employeeIDs.length];
+		this.employees = new LinkedHashMap<>();
+		employees.forEach(this::watch);
+		employees.addListener((ListChangeListener<Employee>) c -> {
+			while(c.next())
+			{
+				for(Employee emp : c.getRemoved())
+				{
+					unwatch(emp);
+					record(emp.getID(), REMOVED);
+				}
+				for(Employee emp : c.getAddedSubList())
+				{
+					watch(emp);
+					record(emp.getID(), ADDED);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Start tracking an employee, the employee telling the log when his/her name changes.
+	 *
+	 * @param employee The employee to track.
+	 */
+	private synchronized void watch(Employee employee)
+	{
+		employees.put(employee.getID(), employee);
+		employee.setRoster(this);
+	}
+	
+	/**
+	 * Stop tracking an employee.
+	 *
+	 * @param employee The employee to forget.
+	 */
+	private synchronized void unwatch(Employee employee)
+	{
+		if(employees.get(employee.getID()) == employee)
+			employees.remove(employee.getID());
+		if(employee.getRoster() == this)
+			employee.setRoster(null);
+	}
+	
+	/**
+	 * Record that what the terminals see of an employee changed, if it's tracked.
+	 * Called by the employee, without any listener.
+	 *
+	 * @param employee The employee that changed.
+	 */
+	public synchronized void updated(Employee employee)
+	{
+		if(employees.get(employee.getID()) == employee)
+			record(employee.getID(), UPDATED);
+	}
+	
+	/**
+	 * Get an employee tracked by its ID.
+	 *
+	 * @param ID The ID of the employee.
+	 *
+	 * @return The employee, null if not tracked.
+	 */
+	public synchronized Employee getEmployee(int ID)
+	{
+		return employees.get(ID);
+	}
+	
+	/**
+	 * Get the employees tracked.
+	 *
+	 * @return A copy of the employees, in the order they were added.
+	 */
+	public synchronized List<Employee> getEmployees()
+	{
+		return new ArrayList<>(employees.values());
+	}
+	
+	/**
+	 * Record a change.
+	 *
+	 * @param employeeID The ID of the employee that changed.
+	 * @param type       The type of the change.
+	 */
+	private synchronized void record(int employeeID, byte type)
+	{
+		int index = (int) (version++ % employeeIDs.length);
+		employeeIDs[index] = employeeID;
+		types[index] = type;
+	}
+	
+	/**
+	 * Get the changes made since a version.
+	 * If an employee changed several times, only one change is given: removed if it was removed last, added if it was added, updated else.
+	 *
+	 * @param generation The generation the version was given with.
+	 * @param since      The version known.
+	 *
+	 * @return The changes by employee ID in the order they happened, null if they aren't known anymore and everything should be sent again.
+	 */
+	public synchronized Map<Integer, Byte> getChangesSince(long generation, long since)
+	{
+		if(generation != this.generation || since > version || version - since > employeeIDs.length)
+			return null;
+		Map<Integer, Byte> changes = new LinkedHashMap<>();
+		for(long v = since; v < version; v++)
+		{
+			int index = (int) (v % employeeIDs.length);
+			Byte previous = changes.remove(employeeIDs[index]); //Remove to keep the order of the last change
+			changes.put(employeeIDs[index], previous != null && previous == ADDED && types[index] == UPDATED ? ADDED : types[index]);
+		}
+		return changes;
+	}
+	
+	/**
+	 * Get the generation of this log.
+	 *
+	 * @return The generation.
+	 */
+	public long getGeneration()
+	{
+		return generation;
+	}
+	
+	/**
+	 * Get the current version of the roster.
+	 *
+	 * @return The version.
+	 */
+	public synchronized long getVersion()
+	{
+		return version;
+	}
+}
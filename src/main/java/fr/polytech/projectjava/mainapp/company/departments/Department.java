@@ -19,6 +19,8 @@ import java.util.logging.Level;
 /**
  * Represent a department
  * <p>
+ * The fields are kept as plain values, and their properties are only created when asked for.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 23/03/2017.
  *
  * @author Thomas Couchoud
@@ -29,11 +31,13 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	private static final long serialVersionUID = 3644405617796041285L;
 	protected static int NEXT_ID = 0;
 	protected Company company;
-	private SimpleObjectProperty<B> leader = new SimpleObjectProperty<>();
-	private SimpleIntegerProperty memberCount = new SimpleIntegerProperty();
+	private B leader;
 	private int ID;
-	private SimpleStringProperty name;
+	private String name;
 	private ObservableList<E> employees = FXCollections.observableArrayList();
+	private transient SimpleObjectProperty<B> leaderProperty;
+	private transient SimpleIntegerProperty memberCountProperty;
+	private transient SimpleStringProperty nameProperty;
 	
 	/**
 	 * Construct a department of a company with its name.
@@ -46,10 +50,8 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	{
 		this.ID = NEXT_ID++;
 		this.company = company;
-		this.name = new SimpleStringProperty(name);
-		this.leader = new SimpleObjectProperty<>(leader);
-		memberCount.set(0);
-		employees.addListener((InvalidationListener) observable -> memberCount.set(employees.size()));
+		this.name = name;
+		this.leader = leader;
 		Log.info("Department " + getName() + " created and have ID " + getID());
 	}
 	
@@ -60,7 +62,7 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	 */
 	public int getMemberCount()
 	{
-		return memberCount.get();
+		return employees.size();
 	}
 	
 	/**
@@ -70,7 +72,12 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	 */
 	public SimpleIntegerProperty memberCountProperty()
 	{
-		return memberCount;
+		if(memberCountProperty == null)
+		{
+			memberCountProperty = new SimpleIntegerProperty(this, "memberCount", employees.size());
+			employees.addListener((InvalidationListener) observable -> memberCountProperty.set(employees.size()));
+		}
+		return memberCountProperty;
 	}
 	
 	/**
@@ -107,7 +114,7 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	 */
 	public String getName()
 	{
-		return nameProperty().get();
+		return nameProperty == null ? name : nameProperty.get();
 	}
 	
 	/**
@@ -117,7 +124,9 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	 */
 	public SimpleStringProperty nameProperty()
 	{
-		return name;
+		if(nameProperty == null)
+			nameProperty = new SimpleStringProperty(this, "name", name);
+		return nameProperty;
 	}
 	
 	/**
@@ -187,7 +196,7 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	 */
 	public B getLeader()
 	{
-		return leaderProperty().get();
+		return leaderProperty == null ? leader : leaderProperty.get();
 	}
 	
 	/**
@@ -197,7 +206,10 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	 */
 	protected void setLeader(B leader)
 	{
-		this.leader.set(leader);
+		if(leaderProperty == null)
+			this.leader = leader;
+		else
+			leaderProperty.set(leader);
 		Log.log(leader == null ? Level.WARNING : Level.INFO, "Leader of " + this + " is now " + leader);
 	}
 	
@@ -208,7 +220,9 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	 */
 	public SimpleObjectProperty<B> leaderProperty()
 	{
-		return leader;
+		if(leaderProperty == null)
+			leaderProperty = new SimpleObjectProperty<>(this, "leader", leader);
+		return leaderProperty;
 	}
 	
 	/**
@@ -224,9 +238,9 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 	{
 		ID = ois.readInt();
 		NEXT_ID = Math.max(ID + 1, NEXT_ID); // Don't forget to change the next ID to avoid duplicate IDs.
-		name = new SimpleStringProperty((String) ois.readObject());
+		name = (String) ois.readObject();
 		//noinspection unchecked
-		leader = new SimpleObjectProperty<>((B) ois.readObject());
+		leader = (B) ois.readObject();
 		company = (Company) ois.readObject();
 		
 		employees = FXCollections.observableArrayList();
@@ -234,8 +248,6 @@ public abstract class Department<B extends Person & Serializable, E extends Empl
 		for(int i = 0; i < empCount; i++)
 			//noinspection unchecked
 			employees.add((E) ois.readObject());
-		memberCount = new SimpleIntegerProperty(employees.size());
-		employees.addListener((InvalidationListener) observable -> memberCount.set(employees.size()));
 	}
 	
 	/**
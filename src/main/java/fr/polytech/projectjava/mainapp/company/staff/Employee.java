@@ -1,29 +1,38 @@
 package fr.polytech.projectjava.mainapp.company.staff;
 
 import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.RosterLog;
 import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.checking.CheckStore;
 import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.mainapp.company.staff.checking.OvertimeLedger;
+import fr.polytech.projectjava.mainapp.company.staff.checking.WorkCalendar;
 import fr.polytech.projectjava.mainapp.company.staff.checking.WorkDay;
+import fr.polytech.projectjava.mainapp.company.staff.checking.WorkSchedule;
 import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.SortedIntObjectMap;
 import fr.polytech.projectjava.utils.jfx.MinutesDuration;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OptionalDataException;
 import java.io.Serializable;
 import java.sql.Date;
 import java.sql.Time;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.Map;
+import java.util.List;
+import java.util.Objects;
 import java.util.Queue;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
 
@@ -31,6 +40,14 @@ import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeChe
  * Represent an employee in the company.
  * Each one have a unique ID that is also their card ID.
  * <p>
+ * The checks are indexed by their day, so finding the check of a date or the latest check doesn't go through all of them.
+ * Their data is kept in the {@link CheckStore} of the company, and moved out of it once removed from the employee.
+ * The departments left are kept with the day of the transfer, so a check counts in the department the employee was in on its day.
+ * The time worked is also kept by month in an {@link OvertimeLedger}, and the time to work in a {@link WorkCalendar} following the schedule, so the overtime is updated without going through every check or day.
+ * The schedule is a {@link WorkSchedule} shared with every employee working the same hours, and changing a day only points to another one.
+ * The {@link WorkDay}s are created from it when the working days are asked for, and are kept by day of the week.
+ * Like for a {@link Person}, the properties are only created when asked for.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 23/03/2017.
  *
  * @author Thomas Couchoud
@@ -46,10 +63,20 @@ public class Employee extends Person implements Serializable
 	private int ID;
 	private Company company;
 	private ObservableList<EmployeeCheck> checks = FXCollections.observableArrayList();
-	private ObservableList<WorkDay> workingDays = FXCollections.observableArrayList(); //TODO: UI Editable
-	private SimpleObjectProperty<MinutesDuration> lateDuration;
-	private SimpleBooleanProperty isPresent;
-	private SimpleObjectProperty<StandardDepartment> workingDepartment;
+	private transient SortedIntObjectMap<EmployeeCheck> checksByDay;
+	private transient OvertimeLedger ledger;
+	private transient WorkCalendar calendar;
+	private transient WorkSchedule schedule;
+	private transient ObservableList<WorkDay> workingDays; //TODO: UI Editable
+	private transient WorkDay[] workDays;
+	private MinutesDuration lateDuration;
+	private boolean present;
+	private StandardDepartment workingDepartment;
+	private transient SortedIntObjectMap<StandardDepartment> transfers;
+	private transient SimpleObjectProperty<MinutesDuration> lateDurationProperty;
+	private transient SimpleBooleanProperty isPresentProperty;
+	private transient SimpleObjectProperty<StandardDepartment> workingDepartmentProperty;
+	private transient RosterLog roster;
 	
 	/**
 	 * Constructor used to parse an employee from CSV.
@@ -61,9 +88,9 @@ public class Employee extends Person implements Serializable
 		super("", "");
 		this.ID = NEXT_ID++;
 		this.company = company;
-		lateDuration = new SimpleObjectProperty<>(MinutesDuration.ZERO);
-		workingDepartment = new SimpleObjectProperty<>(null);
-		isPresent = new SimpleBooleanProperty(false);
+		lateDuration = MinutesDuration.ZERO;
+		indexChecks();
+		applySchedule(WorkSchedule.EMPTY);
 		company.addEmployee(this);
 	}
 	
@@ -85,11 +112,9 @@ public class Employee extends Person implements Serializable
 		if(arrivalTime.isAfter(departureTIme))
 			throw new IllegalArgumentException("Arrival time can't be after the departure time.");
 		this.ID = NEXT_ID++;
-		this.lateDuration = new SimpleObjectProperty<>(MinutesDuration.ZERO);
-		workingDepartment = new SimpleObjectProperty<>(null);
-		isPresent = new SimpleBooleanProperty(false);
-		for(DayOfWeek day : DEFAULT_WORKING_DAYS)
-			workingDays.add(new WorkDay(this, day, arrivalTime, departureTIme));
+		this.lateDuration = MinutesDuration.ZERO;
+		indexChecks();
+		applySchedule(WorkSchedule.of(DEFAULT_WORKING_DAYS, arrivalTime, departureTIme));
 		updateOvertime(null);
 		Log.info("New employee created " + this);
 	}
@@ -103,10 +128,10 @@ public class Employee extends Person implements Serializable
 	 */
 	public EmployeeCheck getCheckForDate(LocalDate date)
 	{
-		for(EmployeeCheck check : getChecks())
-			if(check.getDate().equals(date))
-				return check;
-		EmployeeCheck check = new EmployeeCheck(this, date);
+		EmployeeCheck check = checksByDay.get(toDay(date));
+		if(check != null)
+			return check;
+		check = new EmployeeCheck(this, date);
 		addCheck(check);
 		return check;
 	}
@@ -137,56 +162,138 @@ public class Employee extends Person implements Serializable
 		oos.writeObject(company);
 		oos.writeInt(getID());
 		oos.writeObject(getWorkingDepartment());
-		oos.writeInt(workingDays.size());
-		for(WorkDay workingDay : workingDays)
-			oos.writeObject(workingDay);
+		DayOfWeek[] days = schedule.getDays();
+		oos.writeInt(days.length);
+		for(DayOfWeek day : days)
+			oos.writeObject(new WorkDay(this, day, schedule.getStartTime(day), schedule.getEndTime(day)));
 		oos.writeInt(checks.size());
 		for(EmployeeCheck check : checks)
 			oos.writeObject(check);
+		int[] transferDays = new int[transfers == null ? 0 : transfers.size()];
+		StandardDepartment[] departmentsLeft = new StandardDepartment[transferDays.length];
+		for(int i = 0; i < transferDays.length; i++)
+		{
+			transferDays[i] = transfers.keyAt(i);
+			departmentsLeft[i] = transfers.valueAt(i);
+		}
+		oos.writeObject(transferDays);
+		oos.writeObject(departmentsLeft);
 	}
 	
 	/**
 	 * Get the number of minutes the employee done more.
 	 *
+	 * During a bulk update of the company, the update is deferred to its end if no date is given.
+	 *
 	 * @param maxDate The maximum date to check for the times. If null, the current time will be used.
 	 *
-	 * @return The number of minutes overtime.
+	 * @return The number of minutes overtime, as of the last update if deferred.
 	 *
 	 * @throws IllegalStateException If the checks are in an invalid state (more than 2 checks a day or 2 times the same type of check).
 	 */
 	public double updateOvertime(LocalDate maxDate) throws IllegalStateException
 	{
 		if(maxDate == null) //If no max date provided, use the current one.
-			maxDate = new Date(System.currentTimeMillis()).toLocalDate();
-		
-		Map<LocalDate, EmployeeCheck> checksByDate = checks.stream().collect(Collectors.toMap(EmployeeCheck::getDate, Function.identity())); //Map every check to its date
-		LocalDate currentDate = checksByDate.keySet().stream().sorted(Comparator.naturalOrder()).findFirst().orElseGet(() -> new Date(System.currentTimeMillis()).toLocalDate()); //Get the oldest day
-		MinutesDuration overtime = MinutesDuration.ZERO;
-		while(currentDate.compareTo(maxDate) <= 0) //For each day up to the maximum one
 		{
-			if(checksByDate.containsKey(currentDate)) //If we have a record for this day, add it to the time worked
-				overtime = overtime.add(checksByDate.get(currentDate).getWorkedTime());
-			overtime = overtime.substract(getWorkTimeForDay(currentDate.getDayOfWeek())); //Remove the time the employee should have worked
-			currentDate = currentDate.plusDays(1);
+			if(company != null && company.deferUpdate(this))
+				return getLateDuration().getMinutes();
+			maxDate = new Date(System.currentTimeMillis()).toLocalDate();
 		}
 		
+		MinutesDuration overtime = new MinutesDuration(getOvertime(maxDate));
+		
 		Log.info("New overtime for " + this + ": " + overtime);
 		
-		lateDuration.set(overtime);
+		setLateDuration(overtime);
 		return overtime.getMinutes();
 	}
 	
 	/**
-	 * Get the duration the employee should work for this day.
+	 * Set the overtime, computed with {@link #getOvertime(LocalDate)}.
+	 *
+	 * @param overtime The overtime.
+	 */
+	public void setLateDuration(MinutesDuration overtime)
+	{
+		if(lateDurationProperty == null)
+			lateDuration = overtime;
+		else
+			lateDurationProperty.set(overtime);
+	}
+	
+	/**
+	 * Get the number of minutes the employee done more, from his/her first check up to a date.
+	 *
+	 * @param date The last day to count, included.
+	 *
+	 * @return The number of minutes overtime.
+	 */
+	public long getOvertime(LocalDate date)
+	{
+		LocalDate firstDate = checksByDay.isEmpty() ? new Date(System.currentTimeMillis()).toLocalDate() : checksByDay.first().getDate(); //Get the oldest day
+		if(firstDate.isAfter(date))
+			return 0;
+		long worked = ledger.getTotalBeforeMonth(date);
+		int lastDay = toDay(date);
+		for(int i = checksByDay.ceilingIndex(toDay(date.withDayOfMonth(1))); i < checksByDay.size() && checksByDay.keyAt(i) <= lastDay; i++) //Add the days of the last month
+			worked += checksByDay.valueAt(i).getWorkedMinutes();
+		return worked - calendar.getExpectedMinutes(firstDate, date, company == null ? null : company.getClosedDays()); //Remove the time the employee should have worked
+	}
+	
+	/**
+	 * Update the time worked when the times of a check changed.
+	 *
+	 * @param check   The check modified.
+	 * @param minutes The minutes added to the time worked, negative if removed.
+	 */
+	public void updateWorkedTime(EmployeeCheck check, long minutes)
+	{
+		if(checksByDay != null && checksByDay.get(check.getEpochDay()) == check) //Checks not added yet will be counted when they are
+			ledger.add(check.getDate(), minutes);
+	}
+	
+	/**
+	 * Update the time to work when the times of a work day changed.
+	 *
+	 * @param day The work day modified.
+	 */
+	public void updateWorkTime(WorkDay day)
+	{
+		if(workDays != null && workDays[day.getDay().ordinal()] == day) //Work days not added yet will be counted when they are
+			applySchedule(schedule.with(day.getDay(), day.getStartTime(), day.getEndTime()));
+	}
+	
+	/**
+	 * Get the schedule of the employee.
 	 *
-	 * @param dayOfWeek The day of the week concerned.
+	 * @return The schedule, shared with the employees working the same hours.
+	 */
+	public WorkSchedule getSchedule()
+	{
+		return schedule;
+	}
+	
+	/**
+	 * Set the schedule of the employee.
+	 *
+	 * @param schedule The schedule to follow.
+	 */
+	public void setSchedule(WorkSchedule schedule)
+	{
+		if(workingDays != null)
+			workingDays.setAll(createWorkDays(schedule));
+		applySchedule(schedule);
+		Log.info(this + " now follows a new schedule");
+	}
+	
+	/**
+	 * Get the calendar of the time the employee should work.
 	 *
-	 * @return The duration to work.
+	 * @return The work calendar.
 	 */
-	private MinutesDuration getWorkTimeForDay(DayOfWeek dayOfWeek)
+	public WorkCalendar getWorkCalendar()
 	{
-		WorkDay day = getWorkDay(dayOfWeek);
-		return day == null ? MinutesDuration.ZERO : day.getWorkTime();
+		return calendar;
 	}
 	
 	/**
@@ -200,12 +307,20 @@ public class Employee extends Person implements Serializable
 	@SuppressWarnings("UnusedReturnValue")
 	public static Employee fromCSV(Company company, Queue<String> csv)
 	{
-		Employee employee = new Employee(company);
-		company.addEmployee(employee);
-		employee.parseCSV(csv);
-		if(employee.getWorkingDepartment() != null)
-			employee.getWorkingDepartment().addEmployee(employee);
-		return employee;
+		company.beginBulkUpdate();
+		try
+		{
+			Employee employee = new Employee(company);
+			company.addEmployee(employee);
+			employee.parseCSV(csv);
+			if(employee.getWorkingDepartment() != null)
+				employee.getWorkingDepartment().addEmployee(employee);
+			return employee;
+		}
+		finally
+		{
+			company.endBulkUpdate();
+		}
 	}
 	
 	/**
@@ -217,7 +332,7 @@ public class Employee extends Person implements Serializable
 	{
 		super.parseCSV(csv);
 		setWorkingDepartment(getCompany().getDepartment(Integer.parseInt(csv.poll())).orElse(null));
-		Arrays.stream(csv.poll().split("!")).forEach(day -> addWorkingDay(WorkDay.fromCSV(this, day, "/")));
+		applySchedule(schedule.with(Arrays.stream(csv.poll().split("!")).map(day -> WorkDay.fromCSV(this, day, "/")).collect(Collectors.toList())));
 		if(csv.size() > 0)
 			Arrays.stream(csv.poll().split("!")).forEach(check -> addCheck(EmployeeCheck.fromCSV(this, check, "/")));
 	}
@@ -237,10 +352,8 @@ public class Employee extends Person implements Serializable
 	 */
 	public WorkDay getWorkDay(DayOfWeek dayOfWeek)
 	{
-		for(WorkDay day : workingDays)
-			if(day.getDay() == dayOfWeek)
-				return day;
-		return null;
+		getWorkingDays();
+		return workDays[dayOfWeek.ordinal()];
 	}
 	
 	/**
@@ -250,7 +363,7 @@ public class Employee extends Person implements Serializable
 	 */
 	public boolean isPresent()
 	{
-		return isPresentProperty().get();
+		return isPresentProperty == null ? present : isPresentProperty.get();
 	}
 	
 	/**
@@ -270,7 +383,7 @@ public class Employee extends Person implements Serializable
 	 */
 	public void addCheck(EmployeeCheck check)
 	{
-		if(check != null && !checks.contains(check))
+		if(check != null && !checksByDay.containsKey(check.getEpochDay()))
 		{
 			checks.add(check);
 			company.registerCheck(check);
@@ -306,9 +419,53 @@ public class Employee extends Person implements Serializable
 	 */
 	public ObservableList<WorkDay> getWorkingDays()
 	{
+		if(workingDays == null)
+		{
+			workDays = new WorkDay[DayOfWeek.values().length];
+			workingDays = FXCollections.observableArrayList(createWorkDays(schedule));
+			for(WorkDay day : workingDays)
+				workDays[day.getDay().ordinal()] = day;
+			workingDays.addListener(new ListChangeListener<WorkDay>()
+			{
+				@Override
+				public void onChanged(Change<? extends WorkDay> c)
+				{
+					while(c.next())
+					{
+						for(WorkDay day : c.getRemoved())
+							if(workDays[day.getDay().ordinal()] == day)
+							{
+								workDays[day.getDay().ordinal()] = null;
+								applySchedule(schedule.without(day.getDay()));
+							}
+						for(WorkDay day : c.getAddedSubList())
+						{
+							workDays[day.getDay().ordinal()] = day;
+							applySchedule(schedule.with(day.getDay(), day.getStartTime(), day.getEndTime()));
+						}
+					}
+				}
+			});
+		}
 		return workingDays;
 	}
 	
+	/**
+	 * Create the work days of a schedule.
+	 *
+	 * @param schedule The schedule.
+	 *
+	 * @return The work days, in the order of the week.
+	 */
+	private WorkDay[] createWorkDays(WorkSchedule schedule)
+	{
+		DayOfWeek[] days = schedule.getDays();
+		WorkDay[] workDays = new WorkDay[days.length];
+		for(int i = 0; i < days.length; i++)
+			workDays[i] = new WorkDay(this, days[i], schedule.getStartTime(days[i]), schedule.getEndTime(days[i]));
+		return workDays;
+	}
+	
 	/**
 	 * Add a checking to this employee.
 	 *
@@ -318,19 +475,15 @@ public class Employee extends Person implements Serializable
 	 */
 	public void addCheckInOut(EmployeeCheck.CheckType checkType, LocalDate date, LocalTime time)
 	{
-		boolean found = false;
-		for(EmployeeCheck check : checks) // Find if there's already a check for this date.
-			if(check.getDate().equals(date))
-			{
-				if(checkType == IN)
-					check.setIn(time);
-				else
-					check.setOut(time);
-				
-				found = true;
-				break;
-			}
-		if(!found) //Else create it.
+		EmployeeCheck check = checksByDay.get(toDay(date)); // Find if there's already a check for this date.
+		if(check != null)
+		{
+			if(checkType == IN)
+				check.setIn(time);
+			else
+				check.setOut(time);
+		}
+		else //Else create it.
 			addCheck(new EmployeeCheck(this, checkType, date, time));
 		updateOvertime(null);
 		updatePresence();
@@ -338,15 +491,50 @@ public class Employee extends Person implements Serializable
 	
 	/**
 	 * Update the presence of the employee based on the checks.
+	 * During a bulk update of the company, the update is deferred to its end.
 	 */
 	public void updatePresence()
 	{
-		EmployeeCheck lastCheck = null;
-		for(EmployeeCheck check : checks) //Get the last check
-			if(lastCheck == null || lastCheck.getDate().isBefore(check.getDate()))
-				lastCheck = check;
-		if(lastCheck != null)
-			isPresent.set(lastCheck.isInProgress());
+		if(company != null && company.deferUpdate(this))
+			return;
+		setPresent(getCheckedPresence());
+	}
+	
+	/**
+	 * Tell if the employee should be present according to the checks, without updating the presence.
+	 *
+	 * @return True if the last check is in progress, the current presence if there's no check.
+	 */
+	public boolean getCheckedPresence()
+	{
+		EmployeeCheck lastCheck = checksByDay.last();
+		return lastCheck == null ? isPresent() : lastCheck.isInProgress();
+	}
+	
+	/**
+	 * Set the presence, computed with {@link #getCheckedPresence()}.
+	 * The roster log is told when it changes, as the terminals show it.
+	 *
+	 * @param present True if present, false else.
+	 */
+	public void setPresent(boolean present)
+	{
+		if(isPresentProperty != null)
+			isPresentProperty.set(present);
+		else if(this.present != present)
+		{
+			this.present = present;
+			onPresenceChanged();
+		}
+	}
+	
+	/**
+	 * Called after the presence changed, through the setter or the property.
+	 */
+	private void onPresenceChanged()
+	{
+		if(roster != null)
+			roster.updated(this);
 	}
 	
 	/**
@@ -356,7 +544,7 @@ public class Employee extends Person implements Serializable
 	 */
 	public boolean isValidSchedule()
 	{
-		return workingDays.stream().mapToInt(day -> day.isValid() ? 0 : 1).sum() == 0;
+		return schedule.isValid();
 	}
 	
 	/**
@@ -366,9 +554,9 @@ public class Employee extends Person implements Serializable
 	 */
 	public void addWorkingDay(WorkDay day)
 	{
-		if(day != null && !workingDays.contains(day))
+		if(day != null && !schedule.isWorking(day.getDay()))
 		{
-			workingDays.add(day);
+			getWorkingDays().add(day);
 			Log.info(this + " now works on " + day.getDay().name() + " from " + day.getStartTime() + " to " + day.getEndTime());
 		}
 	}
@@ -380,8 +568,7 @@ public class Employee extends Person implements Serializable
 	 */
 	public void removeWorkingDay(WorkDay day)
 	{
-		workingDays.remove(day);
-		Log.info(this + " doesn't work on " + day.getDay() + " anymore");
+		removeWorkingDay(day.getDay());
 	}
 	
 	/**
@@ -391,7 +578,13 @@ public class Employee extends Person implements Serializable
 	 */
 	public void removeWorkingDay(DayOfWeek day)
 	{
-		removeWorkingDay(getWorkDay(day));
+		if(!schedule.isWorking(day))
+			return;
+		if(workingDays != null)
+			workingDays.remove(workDays[day.ordinal()]);
+		else
+			applySchedule(schedule.without(day));
+		Log.info(this + " doesn't work on " + day + " anymore");
 	}
 	
 	/**
@@ -401,7 +594,19 @@ public class Employee extends Person implements Serializable
 	 */
 	public SimpleObjectProperty<MinutesDuration> lateDurationProperty()
 	{
-		return lateDuration;
+		if(lateDurationProperty == null)
+			lateDurationProperty = new SimpleObjectProperty<>(this, "lateDuration", lateDuration);
+		return lateDurationProperty;
+	}
+	
+	/**
+	 * Get the overtime, as of the last update.
+	 *
+	 * @return The overtime.
+	 */
+	public MinutesDuration getLateDuration()
+	{
+		return lateDurationProperty == null ? lateDuration : lateDurationProperty.get();
 	}
 	
 	/**
@@ -424,10 +629,130 @@ public class Employee extends Person implements Serializable
 	 */
 	public boolean hasCheckForDate(LocalDate date)
 	{
+		return checksByDay.containsKey(toDay(date));
+	}
+	
+	/**
+	 * Go through the checks of a period in the order of their dates, without copying them.
+	 *
+	 * @param from   The first day, included.
+	 * @param to     The last day, included.
+	 * @param action The action to run on each check.
+	 */
+	public void forEachCheck(LocalDate from, LocalDate to, Consumer<EmployeeCheck> action)
+	{
+		int lastDay = toDay(to);
+		for(int i = checksByDay.ceilingIndex(toDay(from)); i < checksByDay.size() && checksByDay.keyAt(i) <= lastDay; i++)
+			action.accept(checksByDay.valueAt(i));
+	}
+	
+	/**
+	 * Go through all the checks in the order of their dates, without copying them.
+	 *
+	 * @param action The action to run on each check.
+	 */
+	public void forEachCheck(Consumer<EmployeeCheck> action)
+	{
+		for(int i = 0; i < checksByDay.size(); i++)
+			action.accept(checksByDay.valueAt(i));
+	}
+	
+	/**
+	 * Add or remove a check from the attendance and the check index of the company, if it's one of the checks of the employee.
+	 *
+	 * @param check The check.
+	 * @param sign  1 to add the check, -1 to remove it.
+	 */
+	public void updateCheckIndexes(EmployeeCheck check, int sign)
+	{
+		if(company != null && checksByDay != null && checksByDay.get(check.getEpochDay()) == check)
+			company.updateCheckIndexes(this, getWorkingDepartment(check.getEpochDay()), check, sign);
+	}
+	
+	/**
+	 * Index the checks by their day and count their time worked, and keep them up to date with the check list.
+	 */
+	private void indexChecks()
+	{
+		checksByDay = new SortedIntObjectMap<>(Math.max(16, checks.size()));
+		ledger = new OvertimeLedger();
 		for(EmployeeCheck check : checks)
-			if(check.getDate().equals(date))
-				return true;
-		return false;
+			index(check);
+		checks.addListener(new ListChangeListener<EmployeeCheck>()
+		{
+			@Override
+			public void onChanged(Change<? extends EmployeeCheck> c)
+			{
+				while(c.next())
+				{
+					for(EmployeeCheck check : c.getRemoved())
+						if(checksByDay.get(check.getEpochDay()) == check)
+						{
+							updateCheckIndexes(check, -1);
+							checksByDay.remove(check.getEpochDay());
+							ledger.add(check.getDate(), -check.getWorkedMinutes());
+							check.setAttached(false);
+						}
+					for(EmployeeCheck check : c.getAddedSubList())
+						index(check);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Use a schedule and update the work calendar with its days.
+	 *
+	 * @param schedule The schedule to use.
+	 */
+	private void applySchedule(WorkSchedule schedule)
+	{
+		if(calendar == null)
+			calendar = new WorkCalendar();
+		WorkSchedule previous = this.schedule;
+		boolean recount = previous != null && checksByDay != null && Arrays.stream(DayOfWeek.values()).anyMatch(day -> !Objects.equals(previous.getStartTime(day), schedule.getStartTime(day))); //The late arrivals depend on the start times
+		if(recount)
+			forEachCheck(check -> updateCheckIndexes(check, -1));
+		this.schedule = schedule;
+		if(recount)
+			forEachCheck(check -> updateCheckIndexes(check, 1));
+		for(DayOfWeek day : DayOfWeek.values())
+			if(previous == null || previous.getWorkMinutes(day) != schedule.getWorkMinutes(day))
+				calendar.setWorkTime(day, schedule.getWorkMinutes(day));
+		if(previous != null && previous != schedule && company != null)
+			company.onScheduleChanged(this);
+	}
+	
+	/**
+	 * Add a check to the index and count its time worked.
+	 *
+	 * @param check The check to add.
+	 */
+	private void index(EmployeeCheck check)
+	{
+		EmployeeCheck previous = checksByDay.get(check.getEpochDay());
+		if(previous != null)
+		{
+			updateCheckIndexes(previous, -1);
+			ledger.add(previous.getDate(), -previous.getWorkedMinutes());
+			previous.setAttached(false);
+		}
+		checksByDay.put(check.getEpochDay(), check);
+		ledger.add(check.getDate(), check.getWorkedMinutes());
+		check.setAttached(true);
+		updateCheckIndexes(check, 1);
+	}
+	
+	/**
+	 * Get the key of a date in the check index.
+	 *
+	 * @param date The date.
+	 *
+	 * @return The number of days since the epoch.
+	 */
+	private static int toDay(LocalDate date)
+	{
+		return (int) date.toEpochDay();
 	}
 	
 	/**
@@ -437,7 +762,37 @@ public class Employee extends Person implements Serializable
 	 */
 	public StandardDepartment getWorkingDepartment()
 	{
-		return workingDepartmentProperty().get();
+		return workingDepartmentProperty == null ? workingDepartment : workingDepartmentProperty.get();
+	}
+	
+	/**
+	 * Get the department the employee was working in on a day.
+	 *
+	 * @param epochDay The day, in days since the epoch.
+	 *
+	 * @return The department, the current one if the employee wasn't transferred since.
+	 */
+	public StandardDepartment getWorkingDepartment(int epochDay)
+	{
+		if(transfers != null)
+		{
+			int index = transfers.ceilingIndex(epochDay + 1); //The first transfer after this day tells the department left
+			if(index < transfers.size())
+				return transfers.valueAt(index);
+		}
+		return getWorkingDepartment();
+	}
+	
+	/**
+	 * Get the departments left, by the first day in the next department.
+	 *
+	 * @return The transfers.
+	 */
+	private SortedIntObjectMap<StandardDepartment> getTransfers()
+	{
+		if(transfers == null)
+			transfers = new SortedIntObjectMap<>();
+		return transfers;
 	}
 	
 	/**
@@ -447,7 +802,9 @@ public class Employee extends Person implements Serializable
 	 */
 	public SimpleObjectProperty<StandardDepartment> workingDepartmentProperty()
 	{
-		return workingDepartment;
+		if(workingDepartmentProperty == null)
+			workingDepartmentProperty = new SimpleObjectProperty<>(this, "workingDepartment", workingDepartment);
+		return workingDepartmentProperty;
 	}
 	
 	/**
@@ -457,7 +814,23 @@ public class Employee extends Person implements Serializable
 	 */
 	public void setWorkingDepartment(StandardDepartment workingDepartment)
 	{
-		this.workingDepartment.set(workingDepartment);
+		StandardDepartment previous = getWorkingDepartment();
+		if(previous != workingDepartment)
+		{
+			int firstDay = previous == null && transfers == null ? Integer.MIN_VALUE : toDay(LocalDate.now()); //The first department is the one of the checks made before
+			if(company != null && checksByDay != null) //Only the checks from the transfer on move to the new department
+				for(int i = checksByDay.ceilingIndex(firstDay); i < checksByDay.size(); i++)
+				{
+					company.updateCheckIndexes(this, previous, checksByDay.valueAt(i), -1);
+					company.updateCheckIndexes(this, workingDepartment, checksByDay.valueAt(i), 1);
+				}
+			if(firstDay != Integer.MIN_VALUE && !getTransfers().containsKey(firstDay)) //Transferred again the same day, the department left that day was already kept
+				transfers.put(firstDay, previous);
+		}
+		if(workingDepartmentProperty == null)
+			this.workingDepartment = workingDepartment;
+		else
+			workingDepartmentProperty.set(workingDepartment);
 		Log.info(this + " now works in " + workingDepartment);
 	}
 	
@@ -474,20 +847,33 @@ public class Employee extends Person implements Serializable
 		company = (Company) ois.readObject();
 		ID = ois.readInt();
 		NEXT_ID = Math.max(ID + 1, NEXT_ID); // Don't forget to change the next ID to avoid duplicate IDs.
-		workingDepartment = new SimpleObjectProperty<>((StandardDepartment) ois.readObject());
+		workingDepartment = (StandardDepartment) ois.readObject();
 		
-		workingDays = FXCollections.observableArrayList();
+		List<WorkDay> days = new ArrayList<>();
 		int wkdCount = ois.readInt();
 		for(int i = 0; i < wkdCount; i++)
-			workingDays.add((WorkDay) ois.readObject());
+			days.add((WorkDay) ois.readObject());
+		applySchedule(WorkSchedule.EMPTY.with(days));
 		
 		checks = FXCollections.observableArrayList();
 		int chkCount = ois.readInt();
 		for(int i = 0; i < chkCount; i++)
 			checks.add((EmployeeCheck) ois.readObject());
+		indexChecks();
 		
-		lateDuration = new SimpleObjectProperty<>(MinutesDuration.ZERO);
-		isPresent = new SimpleBooleanProperty(false);
+		try
+		{
+			int[] transferDays = (int[]) ois.readObject();
+			StandardDepartment[] departmentsLeft = (StandardDepartment[]) ois.readObject();
+			for(int i = 0; i < transferDays.length; i++)
+				getTransfers().put(transferDays[i], departmentsLeft[i]);
+		}
+		catch(OptionalDataException e) //Saved before the transfers were kept
+		{
+		}
+		
+		lateDuration = MinutesDuration.ZERO;
+		present = false;
 		
 		updateOvertime(null);
 		updatePresence();
@@ -500,7 +886,17 @@ public class Employee extends Person implements Serializable
 	 */
 	public SimpleBooleanProperty isPresentProperty()
 	{
-		return isPresent;
+		if(isPresentProperty == null)
+			isPresentProperty = new SimpleBooleanProperty(this, "present", present)
+			{
+				@Override
+				protected void invalidated()
+				{
+					get(); //Reading the presence validates the property, else the next changes wouldn't be seen
+					onPresenceChanged();
+				}
+			};
+		return isPresentProperty;
 	}
 	
 	/**
@@ -542,4 +938,31 @@ public class Employee extends Person implements Serializable
 	{
 		return company;
 	}
+	
+	/**
+	 * Get the roster log told when the name or the presence of the employee changes.
+	 *
+	 * @return The roster log, null if none.
+	 */
+	public RosterLog getRoster()
+	{
+		return roster;
+	}
+	
+	/**
+	 * Set the roster log told when the name or the presence of the employee changes.
+	 *
+	 * @param roster The roster log, null for none.
+	 */
+	public void setRoster(RosterLog roster)
+	{
+		this.roster = roster;
+	}
+	
+	@Override
+	protected void onNameChanged()
+	{
+		if(roster != null)
+			roster.updated(this);
+	}
 }
@@ -1,12 +1,9 @@
 package fr.polytech.projectjava.mainapp.company.staff;
 
 import fr.polytech.projectjava.mainapp.company.Company;
-import fr.polytech.projectjava.mainapp.company.staff.checking.WorkDay;
-import fr.polytech.projectjava.utils.Configuration;
 import fr.polytech.projectjava.utils.Log;
-import fr.polytech.projectjava.utils.MailUtils;
+import fr.polytech.projectjava.utils.mail.MailOutbox;
 import javafx.beans.property.SimpleBooleanProperty;
-import javax.mail.MessagingException;
 import java.io.*;
 import java.time.LocalTime;
 import java.util.Queue;
@@ -23,7 +20,8 @@ import java.util.Queue;
 public class Manager extends Employee implements Serializable
 {
 	private static final long serialVersionUID = -2861031212711385809L;
-	private SimpleBooleanProperty managing;
+	private boolean managing;
+	private transient SimpleBooleanProperty managingProperty;
 	
 	/**
 	 * Promote an employee to a manager.
@@ -33,17 +31,24 @@ public class Manager extends Employee implements Serializable
 	public Manager(Employee employee)
 	{
 		this(employee.getCompany(), employee.getLastName(), employee.getFirstName());
-		if(employee.getWorkingDepartment() != null)
+		getCompany().beginBulkUpdate();
+		try
 		{
-			employee.getWorkingDepartment().addEmployee(this);
-			employee.getWorkingDepartment().removeEmployee(employee);
+			if(employee.getWorkingDepartment() != null)
+			{
+				employee.getWorkingDepartment().addEmployee(this);
+				employee.getWorkingDepartment().removeEmployee(employee);
+			}
+			setSchedule(employee.getSchedule());
+			updateOvertime(null);
+			updatePresence();
+			employee.getCompany().removeEmployee(employee);
+			getCompany().addEmployee(this);
+		}
+		finally
+		{
+			getCompany().endBulkUpdate();
 		}
-		getWorkingDays().clear();
-		employee.getWorkingDays().forEach(workDay -> addWorkingDay(new WorkDay(this, workDay.getDay(), workDay.getStartTime(), workDay.getEndTime())));
-		updateOvertime(null);
-		updatePresence();
-		employee.getCompany().removeEmployee(employee);
-		getCompany().addEmployee(this);
 	}
 	
 	/**
@@ -58,7 +63,6 @@ public class Manager extends Employee implements Serializable
 	public Manager(Company company, String lastName, String firstName) throws IllegalArgumentException
 	{
 		super(company, lastName, firstName);
-		managing = new SimpleBooleanProperty(false);
 	}
 	
 	/**
@@ -75,7 +79,6 @@ public class Manager extends Employee implements Serializable
 	public Manager(Company company, String lastName, String firstName, LocalTime arrivalTime, LocalTime departureTIme) throws IllegalArgumentException
 	{
 		super(company, lastName, firstName, arrivalTime, departureTIme);
-		managing = new SimpleBooleanProperty(false);
 	}
 	
 	/**
@@ -97,7 +100,7 @@ public class Manager extends Employee implements Serializable
 	 */
 	public boolean isManaging()
 	{
-		return managingProperty().get();
+		return managingProperty == null ? managing : managingProperty.get();
 	}
 	
 	/**
@@ -107,7 +110,9 @@ public class Manager extends Employee implements Serializable
 	 */
 	private SimpleBooleanProperty managingProperty()
 	{
-		return managing;
+		if(managingProperty == null)
+			managingProperty = new SimpleBooleanProperty(this, "managing", managing);
+		return managingProperty;
 	}
 	
 	/**
@@ -117,7 +122,10 @@ public class Manager extends Employee implements Serializable
 	 */
 	public void setManaging(boolean managing)
 	{
-		this.managing.set(managing);
+		if(managingProperty == null)
+			this.managing = managing;
+		else
+			managingProperty.set(managing);
 		Log.info("Manager " + this + " is " + (managing ? "now managing" : " no longer managing"));
 	}
 	
@@ -132,7 +140,7 @@ public class Manager extends Employee implements Serializable
 	@SuppressWarnings("RedundantThrows")
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
 	{
-		managing = new SimpleBooleanProperty(ois.readBoolean());
+		managing = ois.readBoolean();
 	}
 	
 	/**
@@ -143,7 +151,6 @@ public class Manager extends Employee implements Serializable
 	protected Manager(Company company)
 	{
 		super(company);
-		this.managing = new SimpleBooleanProperty(false);
 	}
 	
 	/**
@@ -157,16 +164,24 @@ public class Manager extends Employee implements Serializable
 	@SuppressWarnings("UnusedReturnValue")
 	public static Manager fromCSV(Company company, Queue<String> csv)
 	{
-		Manager manager = new Manager(company);
-		company.addEmployee(manager);
-		manager.parseCSV(csv);
-		if(manager.getWorkingDepartment() != null)
+		company.beginBulkUpdate();
+		try
+		{
+			Manager manager = new Manager(company);
+			company.addEmployee(manager);
+			manager.parseCSV(csv);
+			if(manager.getWorkingDepartment() != null)
+			{
+				manager.getWorkingDepartment().addEmployee(manager);
+				if(manager.isManaging())
+					manager.getWorkingDepartment().setLeader(manager);
+			}
+			return manager;
+		}
+		finally
 		{
-			manager.getWorkingDepartment().addEmployee(manager);
-			if(manager.isManaging())
-				manager.getWorkingDepartment().setLeader(manager);
+			company.endBulkUpdate();
 		}
-		return manager;
 	}
 	
 	@Override
@@ -184,7 +199,7 @@ public class Manager extends Employee implements Serializable
 	}
 	
 	/**
-	 * Send a mail to the manager.
+	 * Send a mail to the manager, through the outbox of the application.
 	 *
 	 * @param object The object of the mail.
 	 * @param body   The content of the mail.
@@ -192,13 +207,6 @@ public class Manager extends Employee implements Serializable
 	public void mailManager(String object, String body)
 	{
 		if(!getMail().equals("") && isValidMail())
-			try
-			{
-				MailUtils.sendMail(Configuration.getString("smtpFrom"), "ManagementApplication", getMail(), object, body);
-			}
-			catch(UnsupportedEncodingException | MessagingException e)
-			{
-				Log.error("Failed to send mail to manager " + this, e);
-			}
+			MailOutbox.getDefault().enqueue(getMail(), object, body);
 	}
 }
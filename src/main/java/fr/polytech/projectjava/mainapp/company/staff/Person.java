@@ -11,6 +11,9 @@ import java.util.regex.Pattern;
 /**
  * Represent a parson in the company.
  * <p>
+ * The fields are kept as plain values, and their properties are only created when asked for.
+ * Once created, a property holds the value of its field.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 23/03/2017.
  *
  * @author Thomas Couchoud
@@ -19,10 +22,13 @@ import java.util.regex.Pattern;
 public abstract class Person implements Serializable
 {
 	private static final long serialVersionUID = -451843709154049172L;
-	private SimpleStringProperty lastName;
-	private SimpleStringProperty firstName;
-	private SimpleStringProperty fullName;
-	private SimpleStringProperty mail;
+	private String lastName;
+	private String firstName;
+	private String mail;
+	private transient SimpleStringProperty lastNameProperty;
+	private transient SimpleStringProperty firstNameProperty;
+	private transient SimpleStringProperty fullNameProperty;
+	private transient SimpleStringProperty mailProperty;
 	
 	/**
 	 * Construct a person with his/her name.
@@ -32,12 +38,9 @@ public abstract class Person implements Serializable
 	 */
 	public Person(String lastName, String firstName)
 	{
-		this.lastName = new SimpleStringProperty(lastName);
-		this.lastName.addListener((observable -> fullNameProperty().set(getFirstName() + " " + getLastName())));
-		this.firstName = new SimpleStringProperty(firstName);
-		this.firstName.addListener((observable -> fullNameProperty().set(getFirstName() + " " + getLastName())));
-		fullName = new SimpleStringProperty(getFirstName() + " " + getLastName());
-		mail = new SimpleStringProperty("");
+		this.lastName = lastName;
+		this.firstName = firstName;
+		this.mail = "";
 	}
 	
 	@Override
@@ -65,7 +68,7 @@ public abstract class Person implements Serializable
 	 */
 	public String getFullName()
 	{
-		return fullNameProperty().get();
+		return getFirstName() + " " + getLastName();
 	}
 	
 	/**
@@ -75,7 +78,27 @@ public abstract class Person implements Serializable
 	 */
 	public SimpleStringProperty fullNameProperty()
 	{
-		return fullName;
+		if(fullNameProperty == null)
+			fullNameProperty = new SimpleStringProperty(this, "fullName", getFullName());
+		return fullNameProperty;
+	}
+	
+	/**
+	 * Update the full name property, if it was created, after a name changed, and tell the subclass.
+	 */
+	private void updateFullName()
+	{
+		String fullName = getFullName(); //Reading the names validates their properties, else the next changes wouldn't be seen
+		if(fullNameProperty != null)
+			fullNameProperty.set(fullName);
+		onNameChanged();
+	}
+	
+	/**
+	 * Called after the first or last name changed, through the setters or the properties.
+	 */
+	protected void onNameChanged()
+	{
 	}
 	
 	/**
@@ -85,7 +108,16 @@ public abstract class Person implements Serializable
 	 */
 	public SimpleStringProperty firstNameProperty()
 	{
-		return firstName;
+		if(firstNameProperty == null)
+			firstNameProperty = new SimpleStringProperty(this, "firstName", firstName)
+			{
+				@Override
+				protected void invalidated()
+				{
+					updateFullName();
+				}
+			};
+		return firstNameProperty;
 	}
 	
 	/**
@@ -95,7 +127,16 @@ public abstract class Person implements Serializable
 	 */
 	public SimpleStringProperty lastNameProperty()
 	{
-		return lastName;
+		if(lastNameProperty == null)
+			lastNameProperty = new SimpleStringProperty(this, "lastName", lastName)
+			{
+				@Override
+				protected void invalidated()
+				{
+					updateFullName();
+				}
+			};
+		return lastNameProperty;
 	}
 	
 	/**
@@ -105,7 +146,7 @@ public abstract class Person implements Serializable
 	 */
 	public String getMail()
 	{
-		return mail.get();
+		return mailProperty == null ? mail : mailProperty.get();
 	}
 	
 	/**
@@ -117,9 +158,9 @@ public abstract class Person implements Serializable
 	 */
 	private void writeObject(ObjectOutputStream oos) throws IOException
 	{
-		oos.writeObject(lastName.get());
-		oos.writeObject(firstName.get());
-		oos.writeObject(mail.get());
+		oos.writeObject(getLastName());
+		oos.writeObject(getFirstName());
+		oos.writeObject(getMail());
 	}
 	
 	/**
@@ -129,7 +170,42 @@ public abstract class Person implements Serializable
 	 */
 	public void setMail(String mail)
 	{
-		mailProperty().set(mail);
+		if(mailProperty == null)
+			this.mail = mail;
+		else
+			mailProperty.set(mail);
+	}
+	
+	/**
+	 * Set the first name of the person.
+	 *
+	 * @param firstName The first name to set.
+	 */
+	public void setFirstName(String firstName)
+	{
+		if(firstNameProperty == null)
+		{
+			this.firstName = firstName;
+			updateFullName();
+		}
+		else
+			firstNameProperty.set(firstName);
+	}
+	
+	/**
+	 * Set the last name of the person.
+	 *
+	 * @param lastName The last name to set.
+	 */
+	public void setLastName(String lastName)
+	{
+		if(lastNameProperty == null)
+		{
+			this.lastName = lastName;
+			updateFullName();
+		}
+		else
+			lastNameProperty.set(lastName);
 	}
 	
 	/**
@@ -139,7 +215,7 @@ public abstract class Person implements Serializable
 	 */
 	public String getFirstName()
 	{
-		return firstNameProperty().get();
+		return firstNameProperty == null ? firstName : firstNameProperty.get();
 	}
 	
 	/**
@@ -149,7 +225,7 @@ public abstract class Person implements Serializable
 	 */
 	public String getLastName()
 	{
-		return lastNameProperty().get();
+		return lastNameProperty == null ? lastName : lastNameProperty.get();
 	}
 	
 	/**
@@ -162,12 +238,9 @@ public abstract class Person implements Serializable
 	 */
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
 	{
-		lastName = new SimpleStringProperty((String) ois.readObject());
-		lastName.addListener((observable -> fullNameProperty().set(getFirstName() + " " + getLastName())));
-		firstName = new SimpleStringProperty((String) ois.readObject());
-		firstName.addListener((observable -> fullNameProperty().set(getFirstName() + " " + getLastName())));
-		fullName = new SimpleStringProperty(getFirstName() + " " + getLastName());
-		mail = new SimpleStringProperty((String) ois.readObject());
+		lastName = (String) ois.readObject();
+		firstName = (String) ois.readObject();
+		mail = (String) ois.readObject();
 	}
 	
 	/**
@@ -177,9 +250,9 @@ public abstract class Person implements Serializable
 	 */
 	protected void parseCSV(Queue<String> csv)
 	{
-		firstName.set(csv.poll());
-		lastName.set(csv.poll());
-		mail.set(csv.poll());
+		setFirstName(csv.poll());
+		setLastName(csv.poll());
+		setMail(csv.poll());
 	}
 	
 	/**
@@ -189,7 +262,9 @@ public abstract class Person implements Serializable
 	 */
 	public SimpleStringProperty mailProperty()
 	{
-		return mail;
+		if(mailProperty == null)
+			mailProperty = new SimpleStringProperty(this, "mail", mail);
+		return mailProperty;
 	}
 	
 	/**
@@ -0,0 +1,321 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import fr.polytech.projectjava.utils.jfx.RoundedLocalTimeProperty;
+import fr.polytech.projectjava.utils.jfx.TimeRounding;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import java.util.Arrays;
+
+/**
+ * The data of every check of a company, stored by column in primitive arrays.
+ * <p>
+ * A check is a row holding the ID of the employee, the day as a number of days since the epoch, the raw times of the in and out checks as seconds of the day ({@link #NONE} if missing), their rounded times as minutes of the day and some flags.
+ * That is 21 bytes per check, where {@link EmployeeCheck} objects only point to their row.
+ * <p>
+ * The times are rounded when they're written, and all of them again when the {@link RoundedLocalTimeProperty#roundingProperty() rounding} changes, so reading them never rounds.
+ * <p>
+ * Rows are appended in chunks of {@value #CHUNK_SIZE}, so growing never copies the data already stored.
+ * Only the first chunk starts with the capacity given and grows by doubling, so a store for a single check stays small.
+ * A check removed from its employee {@link #move(int, CheckStore) moves} its data to a store of its own, and its row is given to the next check added.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckStore
+{
+	public static final int NONE = -1;
+	public static final byte ARRIVAL_NOTIFIED = 0x01;
+	public static final byte DEPARTURE_NOTIFIED = 0x02;
+	private static final int CHUNK_BITS = 13;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private final int capacity;
+	private int[][] employees = new int[1][];
+	private int[][] days = new int[1][];
+	private int[][] ins = new int[1][];
+	private int[][] outs = new int[1][];
+	private short[][] roundedIns = new short[1][];
+	private short[][] roundedOuts = new short[1][];
+	private byte[][] flags = new byte[1][];
+	private int size = 0;
+	private int[] freeRows = new int[0];
+	private int freeCount = 0;
+	private final ChangeListener<TimeRounding> roundingListener = (observable, oldValue, newValue) -> roundAgain(newValue);
+
+	/**
+	 * Constructor.
+	 */
+	public CheckStore()
+	{
+		this(CHUNK_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity The number of checks the first chunk can hold before growing.
+	 */
+	public CheckStore(int capacity)
+	{
+		this.capacity = Math.max(1, Math.min(CHUNK_SIZE, capacity));
+		RoundedLocalTimeProperty.roundingProperty().addListener(new WeakChangeListener<>(roundingListener));
+	}
+
+	/**
+	 * Add a check, in the row of a released check if there's one.
+	 *
+	 * @param employeeID The ID of the employee.
+	 * @param day        The day of the check, in days since the epoch.
+	 *
+	 * @return The row of the check.
+	 */
+	public int add(int employeeID, int day)
+	{
+		int row = freeCount > 0 ? freeRows[--freeCount] : size++;
+		int chunk = row >>> CHUNK_BITS;
+		int index = row & CHUNK_MASK;
+		if(chunk == employees.length)
+		{
+			employees = Arrays.copyOf(employees, chunk * 2);
+			days = Arrays.copyOf(days, chunk * 2);
+			ins = Arrays.copyOf(ins, chunk * 2);
+			outs = Arrays.copyOf(outs, chunk * 2);
+			roundedIns = Arrays.copyOf(roundedIns, chunk * 2);
+			roundedOuts = Arrays.copyOf(roundedOuts, chunk * 2);
+			flags = Arrays.copyOf(flags, chunk * 2);
+		}
+		if(employees[chunk] == null)
+		{
+			int length = chunk == 0 ? capacity : CHUNK_SIZE;
+			employees[chunk] = new int[length];
+			days[chunk] = new int[length];
+			ins[chunk] = new int[length];
+			outs[chunk] = new int[length];
+			roundedIns[chunk] = new short[length];
+			roundedOuts[chunk] = new short[length];
+			flags[chunk] = new byte[length];
+		}
+		else if(index == employees[chunk].length)
+		{
+			int length = Math.min(CHUNK_SIZE, index * 2);
+			employees[chunk] = Arrays.copyOf(employees[chunk], length);
+			days[chunk] = Arrays.copyOf(days[chunk], length);
+			ins[chunk] = Arrays.copyOf(ins[chunk], length);
+			outs[chunk] = Arrays.copyOf(outs[chunk], length);
+			roundedIns[chunk] = Arrays.copyOf(roundedIns[chunk], length);
+			roundedOuts[chunk] = Arrays.copyOf(roundedOuts[chunk], length);
+			flags[chunk] = Arrays.copyOf(flags[chunk], length);
+		}
+		employees[chunk][index] = employeeID;
+		days[chunk][index] = day;
+		ins[chunk][index] = NONE;
+		outs[chunk][index] = NONE;
+		roundedIns[chunk][index] = NONE;
+		roundedOuts[chunk][index] = NONE;
+		flags[chunk][index] = 0;
+		return row;
+	}
+
+	/**
+	 * Release the row of a check, so it's used by the next check added.
+	 * The check mustn't be read from this store afterwards.
+	 *
+	 * @param row The row of the check.
+	 */
+	public void release(int row)
+	{
+		if(freeCount == freeRows.length)
+			freeRows = Arrays.copyOf(freeRows, Math.max(16, freeCount * 2));
+		freeRows[freeCount++] = row;
+	}
+
+	/**
+	 * Move a check to another store and release its row in this one.
+	 *
+	 * @param row   The row of the check.
+	 * @param store The store to move the check to.
+	 *
+	 * @return The row of the check in the other store.
+	 */
+	public int move(int row, CheckStore store)
+	{
+		int chunk = row >>> CHUNK_BITS;
+		int index = row & CHUNK_MASK;
+		int moved = store.add(employees[chunk][index], days[chunk][index]);
+		store.setIn(moved, ins[chunk][index]);
+		store.setOut(moved, outs[chunk][index]);
+		store.flags[moved >>> CHUNK_BITS][moved & CHUNK_MASK] = flags[chunk][index];
+		release(row);
+		return moved;
+	}
+
+	/**
+	 * Get the ID of the employee of a check.
+	 *
+	 * @param row The row of the check.
+	 *
+	 * @return The employee ID.
+	 */
+	public int getEmployeeID(int row)
+	{
+		return employees[row >>> CHUNK_BITS][row & CHUNK_MASK];
+	}
+
+	/**
+	 * Get the day of a check.
+	 *
+	 * @param row The row of the check.
+	 *
+	 * @return The number of days since the epoch.
+	 */
+	public int getDay(int row)
+	{
+		return days[row >>> CHUNK_BITS][row & CHUNK_MASK];
+	}
+
+	/**
+	 * Get the raw time of the in check.
+	 *
+	 * @param row The row of the check.
+	 *
+	 * @return The second of the day, {@link #NONE} if not checked.
+	 */
+	public int getIn(int row)
+	{
+		return ins[row >>> CHUNK_BITS][row & CHUNK_MASK];
+	}
+
+	/**
+	 * Get the rounded time of the in check.
+	 *
+	 * @param row The row of the check.
+	 *
+	 * @return The minute of the day, {@link #NONE} if not checked.
+	 */
+	public int getRoundedIn(int row)
+	{
+		return roundedIns[row >>> CHUNK_BITS][row & CHUNK_MASK];
+	}
+
+	/**
+	 * Set the raw time of the in check, and round it.
+	 *
+	 * @param row    The row of the check.
+	 * @param second The second of the day, {@link #NONE} if not checked.
+	 */
+	public void setIn(int row, int second)
+	{
+		ins[row >>> CHUNK_BITS][row & CHUNK_MASK] = second;
+		roundedIns[row >>> CHUNK_BITS][row & CHUNK_MASK] = round(RoundedLocalTimeProperty.getRounding(), second);
+	}
+
+	/**
+	 * Get the raw time of the out check.
+	 *
+	 * @param row The row of the check.
+	 *
+	 * @return The second of the day, {@link #NONE} if not checked.
+	 */
+	public int getOut(int row)
+	{
+		return outs[row >>> CHUNK_BITS][row & CHUNK_MASK];
+	}
+
+	/**
+	 * Get the rounded time of the out check.
+	 *
+	 * @param row The row of the check.
+	 *
+	 * @return The minute of the day, {@link #NONE} if not checked.
+	 */
+	public int getRoundedOut(int row)
+	{
+		return roundedOuts[row >>> CHUNK_BITS][row & CHUNK_MASK];
+	}
+
+	/**
+	 * Set the raw time of the out check, and round it.
+	 *
+	 * @param row    The row of the check.
+	 * @param second The second of the day, {@link #NONE} if not checked.
+	 */
+	public void setOut(int row, int second)
+	{
+		outs[row >>> CHUNK_BITS][row & CHUNK_MASK] = second;
+		roundedOuts[row >>> CHUNK_BITS][row & CHUNK_MASK] = round(RoundedLocalTimeProperty.getRounding(), second);
+	}
+
+	/**
+	 * Round every time again after the rounding changed.
+	 *
+	 * @param rounding The new rounding.
+	 */
+	private void roundAgain(TimeRounding rounding)
+	{
+		for(int chunk = 0; chunk < employees.length && employees[chunk] != null; chunk++)
+			for(int index = 0; index < employees[chunk].length; index++)
+			{
+				roundedIns[chunk][index] = round(rounding, ins[chunk][index]);
+				roundedOuts[chunk][index] = round(rounding, outs[chunk][index]);
+			}
+	}
+
+	/**
+	 * Round a raw time.
+	 *
+	 * @param rounding The rounding to use.
+	 * @param second   The second of the day, {@link #NONE} if not checked.
+	 *
+	 * @return The minute of the day, {@link #NONE} if not checked.
+	 */
+	private static short round(TimeRounding rounding, int second)
+	{
+		return (short) (second == NONE ? NONE : rounding.round(second));
+	}
+
+	/**
+	 * Tell if a flag is set on a check.
+	 *
+	 * @param row  The row of the check.
+	 * @param flag The flag.
+	 *
+	 * @return True if set, false else.
+	 */
+	public boolean hasFlag(int row, byte flag)
+	{
+		return (flags[row >>> CHUNK_BITS][row & CHUNK_MASK] & flag) != 0;
+	}
+
+	/**
+	 * Set a flag on a check.
+	 *
+	 * @param row  The row of the check.
+	 * @param flag The flag.
+	 */
+	public void setFlag(int row, byte flag)
+	{
+		flags[row >>> CHUNK_BITS][row & CHUNK_MASK] |= flag;
+	}
+
+	/**
+	 * Get the number of rows, including the released ones.
+	 *
+	 * @return The rows count.
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Get the number of checks in the store, without the released rows.
+	 *
+	 * @return The checks count.
+	 */
+	public int getCheckCount()
+	{
+		return size - freeCount;
+	}
+}
@@ -1,10 +1,13 @@
 package fr.polytech.projectjava.mainapp.company.staff.checking;
 
 import fr.polytech.projectjava.mainapp.company.staff.Employee;
-import fr.polytech.projectjava.mainapp.company.staff.EmployeeRoundedLocalTimeProperty;
 import fr.polytech.projectjava.utils.Log;
 import fr.polytech.projectjava.utils.jfx.MinutesDuration;
+import fr.polytech.projectjava.utils.jfx.RoundedLocalTimeProperty;
+import fr.polytech.projectjava.utils.jfx.TimeRounding;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -15,6 +18,12 @@ import java.time.LocalTime;
 /**
  * Represent a day check.
  * <p>
+ * The data of the check is kept in the {@link CheckStore} of the company of its employee, this object only points to its row.
+ * A check is written there as soon as it's created, as it's then added to its employee, so loading the checks doesn't copy them from store to store.
+ * Only a check without company, or once removed from its employee, keeps its data in a store of its own, so the row in the company is used again.
+ * That store and the properties used by the UI are kept apart, in a state created the first time it's needed, as most checks never need it.
+ * The properties are kept up to date from then on.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 17/05/2017.
  *
  * @author Thomas Couchoud
@@ -23,12 +32,9 @@ import java.time.LocalTime;
 public class EmployeeCheck implements Serializable
 {
 	private static final long serialVersionUID = 2289845323375640933L;
-	private SimpleObjectProperty<Employee> employee;
-	private SimpleObjectProperty<LocalDate> date;
-	private EmployeeRoundedLocalTimeProperty checkIn;
-	private EmployeeRoundedLocalTimeProperty checkOut;
-	private boolean notifiedArrival = false;
-	private boolean notifiedDeparture = false;
+	private transient Employee employee;
+	private transient int row;
+	private transient CheckState state;
 	
 	/**
 	 * Enumeration of the different types of checks possible.
@@ -46,10 +52,8 @@ public class EmployeeCheck implements Serializable
 	 */
 	public EmployeeCheck(Employee employee, LocalDate date)
 	{
-		this.date = new SimpleObjectProperty<>(date);
-		this.employee = new SimpleObjectProperty<>(employee);
-		checkIn = new EmployeeRoundedLocalTimeProperty(employee);
-		checkOut = new EmployeeRoundedLocalTimeProperty(employee);
+		this.employee = employee;
+		createRow(date);
 		Log.info("New check added for " + employee + " on " + date);
 	}
 	
@@ -101,7 +105,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	private void setArrivalNotified()
 	{
-		notifiedArrival = true;
+		getStore().setFlag(row, CheckStore.ARRIVAL_NOTIFIED);
 	}
 	
 	/**
@@ -109,7 +113,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	private void setDepartureNotified()
 	{
-		notifiedDeparture = true;
+		getStore().setFlag(row, CheckStore.DEPARTURE_NOTIFIED);
 	}
 	
 	/**
@@ -121,7 +125,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	public String asCSV(String delimiter)
 	{
-		return getDate().toString() + delimiter + (getCheckIn() == null ? "NULL" : getCheckIn().toString()) + delimiter + (getCheckOut() == null ? "NULL" : getCheckOut()) + delimiter + (notifiedArrival ? "t" : "f") + delimiter + (notifiedDeparture ? "t" : "f");
+		return getDate().toString() + delimiter + (getCheckIn() == null ? "NULL" : getCheckIn().toString()) + delimiter + (getCheckOut() == null ? "NULL" : getCheckOut()) + delimiter + (isArrivalNotified() ? "t" : "f") + delimiter + (isDepartureNotified() ? "t" : "f");
 	}
 	
 	/**
@@ -129,13 +133,13 @@ public class EmployeeCheck implements Serializable
 	 */
 	public void notifyManagerArrival()
 	{
-		if(!notifiedArrival)
+		if(!isArrivalNotified())
 		{
 			setArrivalNotified();
 			if(getEmployee().getWorkingDepartment() != null && getEmployee().getWorkingDepartment().getLeader() != null)
 			{
-				WorkDay day = getEmployee().getWorkDay(getDate().getDayOfWeek());
-				getEmployee().getWorkingDepartment().getLeader().mailManager(getDate() + ": Employee " + getEmployee() + " in department " + getEmployee().getWorkingDepartment() + " is " + (getArrivalOffset().getMinutes() > 0 ? "in advance" : "late"), "This employee was supposed to arrive at " + (day == null ? "NONE" : day.getStartTime()) + " but checked at " + (getCheckIn() == null ? "NONE" : getCheckIn()) + ".");
+				LocalTime start = getEmployee().getSchedule().getStartTime(getDate().getDayOfWeek());
+				getEmployee().getWorkingDepartment().getLeader().mailManager(getDate() + ": Employee " + getEmployee() + " in department " + getEmployee().getWorkingDepartment() + " is " + (getArrivalOffset().getMinutes() > 0 ? "in advance" : "late"), "This employee was supposed to arrive at " + (start == null ? "NONE" : start) + " but checked at " + (getCheckIn() == null ? "NONE" : getCheckIn()) + ".");
 			}
 		}
 	}
@@ -147,8 +151,19 @@ public class EmployeeCheck implements Serializable
 	 */
 	public MinutesDuration getArrivalOffset()
 	{
-		WorkDay workDay = getEmployee().getWorkDay(getDate().getDayOfWeek());
-		return MinutesDuration.seconds(getCheckIn() == null ? 0 : getCheckIn().toSecondOfDay()).substract(MinutesDuration.seconds(workDay == null ? 0 : workDay.getStartTime().toSecondOfDay()));
+		LocalTime start = getEmployee().getSchedule().getStartTime(getDate().getDayOfWeek());
+		return MinutesDuration.seconds(getCheckIn() == null ? 0 : getCheckIn().toSecondOfDay()).substract(MinutesDuration.seconds(start == null ? 0 : start.toSecondOfDay()));
+	}
+	
+	/**
+	 * Tell if the employee checked in after the start time of his/her schedule.
+	 *
+	 * @return True if late, false else or if not checked in.
+	 */
+	public boolean isLateArrival()
+	{
+		LocalTime start = getEmployee().getSchedule().getStartTime(getDate().getDayOfWeek());
+		return start != null && getCheckIn() != null && getCheckIn().isAfter(start);
 	}
 	
 	/**
@@ -156,13 +171,13 @@ public class EmployeeCheck implements Serializable
 	 */
 	public void notifyManagerDeparture()
 	{
-		if(!notifiedDeparture)
+		if(!isDepartureNotified())
 		{
 			setDepartureNotified();
 			if(getEmployee().getWorkingDepartment() != null && getEmployee().getWorkingDepartment().getLeader() != null)
 			{
-				WorkDay day = getEmployee().getWorkDay(getDate().getDayOfWeek());
-				getEmployee().getWorkingDepartment().getLeader().mailManager(getDate() + ": Employee " + getEmployee() + " in department " + getEmployee().getWorkingDepartment() + " is " + (getDepartureOffset().getMinutes() > 0 ? "leaving late" : "leaving early"), "This employee was supposed to leave at " + (day == null ? "NONE" : day.getEndTime()) + " but checked at " + (getCheckOut() == null ? "NONE" : getCheckOut()) + ".");
+				LocalTime end = getEmployee().getSchedule().getEndTime(getDate().getDayOfWeek());
+				getEmployee().getWorkingDepartment().getLeader().mailManager(getDate() + ": Employee " + getEmployee() + " in department " + getEmployee().getWorkingDepartment() + " is " + (getDepartureOffset().getMinutes() > 0 ? "leaving late" : "leaving early"), "This employee was supposed to leave at " + (end == null ? "NONE" : end) + " but checked at " + (getCheckOut() == null ? "NONE" : getCheckOut()) + ".");
 			}
 		}
 	}
@@ -174,8 +189,8 @@ public class EmployeeCheck implements Serializable
 	 */
 	public MinutesDuration getDepartureOffset()
 	{
-		WorkDay workDay = getEmployee().getWorkDay(getDate().getDayOfWeek());
-		return MinutesDuration.seconds(getCheckOut() == null ? 0 : getCheckOut().toSecondOfDay()).substract(MinutesDuration.seconds(workDay == null ? 0 : workDay.getEndTime().toSecondOfDay()));
+		LocalTime end = getEmployee().getSchedule().getEndTime(getDate().getDayOfWeek());
+		return MinutesDuration.seconds(getCheckOut() == null ? 0 : getCheckOut().toSecondOfDay()).substract(MinutesDuration.seconds(end == null ? 0 : end.toSecondOfDay()));
 	}
 	
 	/**
@@ -185,7 +200,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	public void setIn(LocalTime check)
 	{
-		checkIn.set(check);
+		setTime(CheckType.IN, check);
 		Log.info(employee + " checked in on " + getDate() + " at " + check);
 	}
 	
@@ -196,7 +211,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	public void setOut(LocalTime check)
 	{
-		checkOut.set(check);
+		setTime(CheckType.OUT, check);
 		Log.info(employee + " checked out on " + getDate() + " at " + check);
 	}
 	
@@ -207,7 +222,17 @@ public class EmployeeCheck implements Serializable
 	 */
 	public LocalDate getDate()
 	{
-		return dateProperty().get();
+		return LocalDate.ofEpochDay(getEpochDay());
+	}
+	
+	/**
+	 * Get the day of the check.
+	 *
+	 * @return The number of days since the epoch.
+	 */
+	public int getEpochDay()
+	{
+		return getStore().getDay(row);
 	}
 	
 	/**
@@ -217,7 +242,10 @@ public class EmployeeCheck implements Serializable
 	 */
 	public SimpleObjectProperty<LocalDate> dateProperty()
 	{
-		return date;
+		CheckState state = getState();
+		if(state.date == null)
+			state.date = new SimpleObjectProperty<>(this, "date", getDate());
+		return state.date;
 	}
 	
 	/**
@@ -231,13 +259,13 @@ public class EmployeeCheck implements Serializable
 	{
 		oos.writeObject(getEmployee());
 		oos.writeObject(getDate());
-		oos.writeInt(((checkIn.get() != null ? 1 : 0) << 1) + (checkOut.get() != null ? 1 : 0)); // Write in binary what will be writer: 01 - Only out / 10 - Only in / 11 - Both
-		if(checkIn.get() != null)
-			oos.writeObject(checkIn.get());
-		if(checkOut.get() != null)
-			oos.writeObject(checkOut.get());
-		oos.writeBoolean(notifiedArrival);
-		oos.writeBoolean(notifiedDeparture);
+		oos.writeInt(((getCheckIn() != null ? 1 : 0) << 1) + (getCheckOut() != null ? 1 : 0)); // Write in binary what will be writer: 01 - Only out / 10 - Only in / 11 - Both
+		if(getCheckIn() != null)
+			oos.writeObject(getCheckIn());
+		if(getCheckOut() != null)
+			oos.writeObject(getCheckOut());
+		oos.writeBoolean(isArrivalNotified());
+		oos.writeBoolean(isDepartureNotified());
 	}
 	
 	/**
@@ -247,7 +275,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	public Employee getEmployee()
 	{
-		return employeeProperty().get();
+		return employee;
 	}
 	
 	/**
@@ -257,7 +285,10 @@ public class EmployeeCheck implements Serializable
 	 */
 	public SimpleObjectProperty<Employee> employeeProperty()
 	{
-		return employee;
+		CheckState state = getState();
+		if(state.employee == null)
+			state.employee = new SimpleObjectProperty<>(this, "employee", employee);
+		return state.employee;
 	}
 	
 	/**
@@ -270,19 +301,125 @@ public class EmployeeCheck implements Serializable
 	 */
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
 	{
-		employee = new SimpleObjectProperty<>((Employee) ois.readObject());
-		date = new SimpleObjectProperty<>((LocalDate) ois.readObject());
+		employee = (Employee) ois.readObject();
+		createRow((LocalDate) ois.readObject());
 		int infos = ois.readInt();
 		if((infos & 0x02) == 0x02)
-			checkIn = new EmployeeRoundedLocalTimeProperty(getEmployee(), (LocalTime) ois.readObject());
-		else
-			checkIn = new EmployeeRoundedLocalTimeProperty(getEmployee());
+			getStore().setIn(row, ((LocalTime) ois.readObject()).toSecondOfDay());
 		if((infos & 0x01) == 0x01)
-			checkOut = new EmployeeRoundedLocalTimeProperty(getEmployee(), (LocalTime) ois.readObject());
+			getStore().setOut(row, ((LocalTime) ois.readObject()).toSecondOfDay());
+		if(ois.readBoolean())
+			setArrivalNotified();
+		if(ois.readBoolean())
+			setDepartureNotified();
+	}
+	
+	/**
+	 * Change a check time, and tell the employee how much the time worked changes, so his/her overtime can be updated without going through every check.
+	 *
+	 * @param checkType The check to change.
+	 * @param time      The new time, null to remove the check.
+	 */
+	private void setTime(CheckType checkType, LocalTime time)
+	{
+		long workedBefore = getWorkedMinutes();
+		if(getEmployee() != null)
+			getEmployee().updateCheckIndexes(this, -1);
+		int second = time == null ? CheckStore.NONE : time.toSecondOfDay();
+		if(checkType == CheckType.IN)
+			getStore().setIn(row, second);
 		else
-			checkOut = new EmployeeRoundedLocalTimeProperty(getEmployee());
-		notifiedArrival = ois.readBoolean();
-		notifiedDeparture = ois.readBoolean();
+			getStore().setOut(row, second);
+		CheckTimeProperty property = state == null ? null : checkType == CheckType.IN ? state.checkIn : state.checkOut;
+		if(property != null)
+			property.update();
+		if(getEmployee() != null)
+		{
+			getEmployee().updateCheckIndexes(this, 1);
+			getEmployee().updateWorkedTime(this, getWorkedMinutes() - workedBefore);
+			getEmployee().updateOvertime(null);
+			getEmployee().updatePresence();
+		}
+	}
+	
+	/**
+	 * Attach or detach this check from its employee.
+	 *
+	 * @param attached True if the check is now one of its employee's, false if it was removed.
+	 */
+	public void setAttached(boolean attached)
+	{
+		CheckStore companyStore = getCompanyStore();
+		if(companyStore == null || (getStore() == companyStore) == attached)
+			return;
+		CheckStore target = attached ? companyStore : new CheckStore(1);
+		row = getStore().move(row, target);
+		getState().store = attached ? null : target;
+	}
+	
+	/**
+	 * Write a new check in the store of the company of its employee, or in a store of its own if there's none.
+	 *
+	 * @param date The date of the check.
+	 */
+	private void createRow(LocalDate date)
+	{
+		CheckStore store = getCompanyStore();
+		if(store == null)
+			getState().store = store = new CheckStore(1);
+		row = store.add(employee == null ? -1 : employee.getID(), (int) date.toEpochDay());
+	}
+	
+	/**
+	 * Get the store keeping the data of the check.
+	 *
+	 * @return The store.
+	 */
+	private CheckStore getStore()
+	{
+		return state == null || state.store == null ? getCompanyStore() : state.store;
+	}
+	
+	/**
+	 * Get the store of the company of the employee.
+	 *
+	 * @return The store, null if the check has no employee or company.
+	 */
+	private CheckStore getCompanyStore()
+	{
+		return employee == null || employee.getCompany() == null ? null : employee.getCompany().getCheckStore();
+	}
+	
+	/**
+	 * Tell if the manager was notified about the arrival time.
+	 *
+	 * @return True if notified, false else.
+	 */
+	private boolean isArrivalNotified()
+	{
+		return getStore().hasFlag(row, CheckStore.ARRIVAL_NOTIFIED);
+	}
+	
+	/**
+	 * Tell if the manager was notified about the departure time.
+	 *
+	 * @return True if notified, false else.
+	 */
+	private boolean isDepartureNotified()
+	{
+		return getStore().hasFlag(row, CheckStore.DEPARTURE_NOTIFIED);
+	}
+	
+	/**
+	 * Get the time from a rounded time of the store.
+	 *
+	 * @param minute The minute of the day, {@link CheckStore#NONE} if not checked.
+	 *
+	 * @return The rounded time, null if not checked.
+	 */
+	private static LocalTime toTime(int minute)
+	{
+		return minute == CheckStore.NONE ? null : TimeRounding.ofMinuteOfDay(minute);
 	}
 	
 	@Override
@@ -294,7 +431,7 @@ public class EmployeeCheck implements Serializable
 	@Override
 	public String toString()
 	{
-		return employee + " " + date + " IN: " + (checkIn == null ? "?" : checkIn) + " / OUT: " + (checkOut == null ? "?" : checkOut);
+		return employee + " " + getDate() + " IN: " + (getCheckIn() == null ? "?" : getCheckIn()) + " / OUT: " + (getCheckOut() == null ? "?" : getCheckOut());
 	}
 	
 	/**
@@ -304,9 +441,34 @@ public class EmployeeCheck implements Serializable
 	 */
 	public MinutesDuration getWorkedTime()
 	{
-		if(checkIn.get() == null || checkOut.get() == null)
+		if(getCheckIn() == null || getCheckOut() == null)
 			return MinutesDuration.ZERO;
-		return MinutesDuration.seconds(checkOut.get().toSecondOfDay() - checkIn.get().toSecondOfDay());
+		return new MinutesDuration(getWorkedMinutes());
+	}
+	
+	/**
+	 * Get the number of minutes worked for this day.
+	 *
+	 * @return The minutes worked, 0 if a check is missing.
+	 */
+	public long getWorkedMinutes()
+	{
+		return getWorkedMinutes(getCheckIn(), getCheckOut());
+	}
+	
+	/**
+	 * Get the number of minutes worked between two checks.
+	 *
+	 * @param in  The in check.
+	 * @param out The out check.
+	 *
+	 * @return The minutes worked, 0 if a check is missing.
+	 */
+	private static long getWorkedMinutes(LocalTime in, LocalTime out)
+	{
+		if(in == null || out == null)
+			return 0;
+		return (out.toSecondOfDay() - in.toSecondOfDay()) / 60;
 	}
 	
 	/**
@@ -336,7 +498,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	public LocalTime getCheckIn()
 	{
-		return checkInProperty().get();
+		return toTime(getStore().getRoundedIn(row));
 	}
 	
 	/**
@@ -346,7 +508,7 @@ public class EmployeeCheck implements Serializable
 	 */
 	public LocalTime getCheckOut()
 	{
-		return checkOutProperty().get();
+		return toTime(getStore().getRoundedOut(row));
 	}
 	
 	/**
@@ -356,7 +518,10 @@ public class EmployeeCheck implements Serializable
 	 */
 	public SimpleObjectProperty<LocalTime> checkInProperty()
 	{
-		return checkIn;
+		CheckState state = getState();
+		if(state.checkIn == null)
+			state.checkIn = new CheckTimeProperty(CheckType.IN);
+		return state.checkIn;
 	}
 	
 	/**
@@ -366,6 +531,80 @@ public class EmployeeCheck implements Serializable
 	 */
 	public SimpleObjectProperty<LocalTime> checkOutProperty()
 	{
-		return checkOut;
+		CheckState state = getState();
+		if(state.checkOut == null)
+			state.checkOut = new CheckTimeProperty(CheckType.OUT);
+		return state.checkOut;
+	}
+	
+	/**
+	 * Get the state of the check kept outside of the store of the company, creating it if it's the first time.
+	 *
+	 * @return The state.
+	 */
+	private CheckState getState()
+	{
+		if(state == null)
+			state = new CheckState();
+		return state;
+	}
+	
+	/**
+	 * What a check keeps outside of the store of the company: its own store while it's not in the company's, and the properties used by the UI.
+	 */
+	private static class CheckState
+	{
+		private CheckStore store;
+		private SimpleObjectProperty<Employee> employee;
+		private SimpleObjectProperty<LocalDate> date;
+		private CheckTimeProperty checkIn;
+		private CheckTimeProperty checkOut;
+	}
+	
+	/**
+	 * Property of a check time, reading and writing the store of the check.
+	 * It's updated when the rounding changes, like the store.
+	 */
+	private class CheckTimeProperty extends SimpleObjectProperty<LocalTime>
+	{
+		private final CheckType checkType;
+		private final ChangeListener<TimeRounding> roundingListener = (observable, oldValue, newValue) -> roundAgain(newValue);
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param checkType The check this property is about.
+		 */
+		CheckTimeProperty(CheckType checkType)
+		{
+			super(EmployeeCheck.this, checkType.name(), checkType == CheckType.IN ? getCheckIn() : getCheckOut());
+			this.checkType = checkType;
+			RoundedLocalTimeProperty.roundingProperty().addListener(new WeakChangeListener<>(roundingListener));
+		}
+		
+		@Override
+		public void set(LocalTime newValue)
+		{
+			setTime(checkType, newValue);
+		}
+		
+		/**
+		 * Update the value from the store, notifying the listeners if it changed.
+		 */
+		private void update()
+		{
+			super.set(checkType == CheckType.IN ? getCheckIn() : getCheckOut());
+		}
+		
+		/**
+		 * Round the raw time of the store again after the rounding changed, whether the store already did it or not.
+		 *
+		 * @param rounding The new rounding.
+		 */
+		private void roundAgain(TimeRounding rounding)
+		{
+			int second = checkType == CheckType.IN ? getStore().getIn(row) : getStore().getOut(row);
+			super.set(second == CheckStore.NONE ? null : TimeRounding.ofMinuteOfDay(rounding.round(second)));
+		}
 	}
 }
@@ -0,0 +1,113 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import java.time.LocalDate;
+
+/**
+ * Running totals of the minutes an employee worked, by month.
+ * <p>
+ * The totals of the months are kept in a Fenwick tree, so changing the time worked on a day and getting the total of every month before a date are both done in O(log(months)).
+ * Together with the {@link WorkCalendar}, which counts the time to work between two dates without walking through them, the overtime at any date can be known without replaying the whole history.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class OvertimeLedger
+{
+	private int firstMonth;
+	private long[] totals = new long[0];
+	private long[] tree = new long[1];
+	
+	/**
+	 * Add minutes worked on a day. Negative minutes remove time previously added.
+	 *
+	 * @param date    The day worked.
+	 * @param minutes The minutes to add.
+	 */
+	public void add(LocalDate date, long minutes)
+	{
+		if(minutes == 0)
+			return;
+		int month = monthOf(date);
+		if(totals.length == 0 || month < firstMonth || month >= firstMonth + totals.length)
+			grow(month);
+		int index = month - firstMonth;
+		totals[index] += minutes;
+		for(int i = index + 1; i < tree.length; i += i & -i)
+			tree[i] += minutes;
+	}
+	
+	/**
+	 * Get the minutes worked in the months before the month of a date.
+	 *
+	 * @param date The date.
+	 *
+	 * @return The minutes worked before the first day of the month of this date.
+	 */
+	public long getTotalBeforeMonth(LocalDate date)
+	{
+		int count = Math.min(monthOf(date) - firstMonth, totals.length);
+		long total = 0;
+		for(int i = count; i > 0; i -= i & -i)
+			total += tree[i];
+		return total;
+	}
+	
+	/**
+	 * Get the minutes worked in the month of a date.
+	 *
+	 * @param date The date.
+	 *
+	 * @return The minutes worked in this month.
+	 */
+	public long getMonthTotal(LocalDate date)
+	{
+		int index = monthOf(date) - firstMonth;
+		return index < 0 || index >= totals.length ? 0 : totals[index];
+	}
+	
+	/**
+	 * Extend the months covered to include a month, and rebuild the tree.
+	 *
+	 * @param month The month to include.
+	 */
+	private void grow(int month)
+	{
+		int start = totals.length == 0 ? month : Math.min(firstMonth, month);
+		int end = totals.length == 0 ? month + 1 : Math.max(firstMonth + totals.length, month + 1);
+		long[] newTotals = new long[Math.max(end - start, Math.max(12, totals.length * 2))]; //Leave room for the following months
+		System.arraycopy(totals, 0, newTotals, totals.length == 0 ? 0 : firstMonth - start, totals.length);
+		firstMonth = start;
+		totals = newTotals;
+		tree = new long[totals.length + 1];
+		for(int i = 1; i < tree.length; i++)
+		{
+			tree[i] += totals[i - 1];
+			int parent = i + (i & -i);
+			if(parent < tree.length)
+				tree[parent] += tree[i];
+		}
+	}
+	
+	/**
+	 * Remove every minute added.
+	 */
+	public void clear()
+	{
+		totals = new long[0];
+		tree = new long[1];
+	}
+	
+	/**
+	 * Get the index of the month of a date.
+	 *
+	 * @param date The date.
+	 *
+	 * @return The number of months since the year 0.
+	 */
+	private static int monthOf(LocalDate date)
+	{
+		return date.getYear() * 12 + date.getMonthValue() - 1;
+	}
+}
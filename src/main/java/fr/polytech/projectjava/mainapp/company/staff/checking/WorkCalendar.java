@@ -0,0 +1,84 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import fr.polytech.projectjava.mainapp.company.ClosedDays;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The minutes an employee is expected to work on each day.
+ * <p>
+ * The minutes of each day of the week are kept with their prefix sums over two weeks, so the time to work between any two dates is known in constant time, without walking through the days.
+ * The days the company is closed are then removed using the counts kept by {@link ClosedDays}.
+ * Changing the schedule of a day only updates these sums.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class WorkCalendar
+{
+	private static final int WEEK_LENGTH = DayOfWeek.values().length;
+	private final long[] weekMinutes = new long[WEEK_LENGTH];
+	private final long[] sums = new long[2 * WEEK_LENGTH + 1];
+	
+	/**
+	 * Set the minutes to work on a day of the week.
+	 *
+	 * @param day     The day of the week.
+	 * @param minutes The minutes to work, 0 if not worked.
+	 */
+	public void setWorkTime(DayOfWeek day, long minutes)
+	{
+		weekMinutes[day.ordinal()] = minutes;
+		for(int i = 0; i < 2 * WEEK_LENGTH; i++)
+			sums[i + 1] = sums[i] + weekMinutes[i % WEEK_LENGTH];
+	}
+	
+	/**
+	 * Get the minutes to work on a day of the week.
+	 *
+	 * @param day The day of the week.
+	 *
+	 * @return The minutes to work.
+	 */
+	public long getWorkTime(DayOfWeek day)
+	{
+		return weekMinutes[day.ordinal()];
+	}
+	
+	/**
+	 * Get the minutes to work on a date.
+	 *
+	 * @param date       The date.
+	 * @param closedDays The days the company is closed, may be null.
+	 *
+	 * @return The minutes to work.
+	 */
+	public long getExpectedMinutes(LocalDate date, ClosedDays closedDays)
+	{
+		return closedDays != null && closedDays.isClosed(date) ? 0 : getWorkTime(date.getDayOfWeek());
+	}
+	
+	/**
+	 * Get the minutes to work between two dates.
+	 *
+	 * @param from       The first day, included.
+	 * @param to         The last day, included.
+	 * @param closedDays The days the company is closed, may be null.
+	 *
+	 * @return The minutes to work, 0 if the last day is before the first one.
+	 */
+	public long getExpectedMinutes(LocalDate from, LocalDate to, ClosedDays closedDays)
+	{
+		long days = ChronoUnit.DAYS.between(from, to) + 1;
+		if(days <= 0)
+			return 0;
+		int start = from.getDayOfWeek().ordinal();
+		long expected = days / WEEK_LENGTH * sums[WEEK_LENGTH] + sums[start + (int) (days % WEEK_LENGTH)] - sums[start]; //Every full week, and the days remaining
+		if(closedDays != null)
+			expected -= closedDays.getClosedMinutes(weekMinutes, from, to);
+		return expected;
+	}
+}
@@ -4,16 +4,21 @@ import fr.polytech.projectjava.mainapp.company.staff.Employee;
 import fr.polytech.projectjava.mainapp.company.staff.EmployeeRoundedLocalTimeProperty;
 import fr.polytech.projectjava.utils.Log;
 import fr.polytech.projectjava.utils.jfx.MinutesDuration;
+import fr.polytech.projectjava.utils.jfx.RoundedLocalTimeProperty;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.Objects;
 
 /**
  * Represent a day of work.
  * <p>
+ * The times are kept as plain values, and their properties are only created when asked for.
+ * The work days of an employee are created from his/her {@link WorkSchedule}, and changing their times changes the schedule.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 28/05/2017.
  *
  * @author Thomas Couchoud
@@ -23,9 +28,11 @@ public class WorkDay implements Serializable
 {
 	private static final long serialVersionUID = 2615912793708990817L;
 	private DayOfWeek day;
-	private EmployeeRoundedLocalTimeProperty startTime;
-	private EmployeeRoundedLocalTimeProperty endTime;
+	private LocalTime startTime;
+	private LocalTime endTime;
 	private Employee employee;
+	private transient EmployeeRoundedLocalTimeProperty startTimeProperty;
+	private transient EmployeeRoundedLocalTimeProperty endTimeProperty;
 	
 	/**
 	 * Constructor.
@@ -43,10 +50,8 @@ public class WorkDay implements Serializable
 			throw new IllegalArgumentException("Day cannot be null");
 		this.employee = employee;
 		this.day = day;
-		this.startTime = new EmployeeRoundedLocalTimeProperty(employee, startTime);
-		this.startTime.addListener(((observable, oldValue, newValue) -> Log.info(getEmployee() + " now starts at " + newValue + " on " + getDay())));
-		this.endTime = new EmployeeRoundedLocalTimeProperty(employee, endTime);
-		this.endTime.addListener(((observable, oldValue, newValue) -> Log.info(getEmployee() + " now ends at " + newValue + " on " + getDay())));
+		this.startTime = startTime;
+		this.endTime = endTime;
 	}
 	
 	/**
@@ -93,7 +98,26 @@ public class WorkDay implements Serializable
 	 */
 	public LocalTime getStartTime()
 	{
-		return startTimeProperty().get();
+		return startTimeProperty == null ? RoundedLocalTimeProperty.roundTime(startTime) : startTimeProperty.get();
+	}
+	
+	/**
+	 * Set the start time.
+	 *
+	 * @param startTime The start time to set.
+	 */
+	public void setStartTime(LocalTime startTime)
+	{
+		if(startTimeProperty != null)
+		{
+			startTimeProperty.set(startTime);
+			return;
+		}
+		LocalTime previous = getStartTime();
+		this.startTime = startTime;
+		if(!Objects.equals(previous, getStartTime()))
+			timeChanged("starts", getStartTime());
+		updateEmployee();
 	}
 	
 	/**
@@ -103,7 +127,16 @@ public class WorkDay implements Serializable
 	 */
 	public EmployeeRoundedLocalTimeProperty startTimeProperty()
 	{
-		return startTime;
+		if(startTimeProperty == null)
+			startTimeProperty = new EmployeeRoundedLocalTimeProperty(employee, startTime)
+			{
+				@Override
+				protected void invalidated()
+				{
+					timeChanged("starts", get());
+				}
+			};
+		return startTimeProperty;
 	}
 	
 	/**
@@ -113,7 +146,26 @@ public class WorkDay implements Serializable
 	 */
 	public LocalTime getEndTime()
 	{
-		return endTimeProperty().get();
+		return endTimeProperty == null ? RoundedLocalTimeProperty.roundTime(endTime) : endTimeProperty.get();
+	}
+	
+	/**
+	 * Set the end time.
+	 *
+	 * @param endTime The end time to set.
+	 */
+	public void setEndTime(LocalTime endTime)
+	{
+		if(endTimeProperty != null)
+		{
+			endTimeProperty.set(endTime);
+			return;
+		}
+		LocalTime previous = getEndTime();
+		this.endTime = endTime;
+		if(!Objects.equals(previous, getEndTime()))
+			timeChanged("ends", getEndTime());
+		updateEmployee();
 	}
 	
 	/**
@@ -123,7 +175,16 @@ public class WorkDay implements Serializable
 	 */
 	public EmployeeRoundedLocalTimeProperty endTimeProperty()
 	{
-		return endTime;
+		if(endTimeProperty == null)
+			endTimeProperty = new EmployeeRoundedLocalTimeProperty(employee, endTime)
+			{
+				@Override
+				protected void invalidated()
+				{
+					timeChanged("ends", get());
+				}
+			};
+		return endTimeProperty;
 	}
 	
 	/**
@@ -179,10 +240,33 @@ public class WorkDay implements Serializable
 	{
 		employee = (Employee) ois.readObject();
 		day = (DayOfWeek) ois.readObject();
-		startTime = new EmployeeRoundedLocalTimeProperty(employee, (LocalTime) ois.readObject());
-		startTime.addListener(((observable, oldValue, newValue) -> Log.info(getEmployee() + " now starts at " + newValue + " on " + getDay())));
-		endTime = new EmployeeRoundedLocalTimeProperty(employee, (LocalTime) ois.readObject());
-		endTime.addListener(((observable, oldValue, newValue) -> Log.info(getEmployee() + " now ends at " + newValue + " on " + getDay())));
+		startTime = (LocalTime) ois.readObject();
+		endTime = (LocalTime) ois.readObject();
+	}
+	
+	/**
+	 * Log a change of time and update the time to work of the employee.
+	 *
+	 * @param change What changed, "starts" or "ends".
+	 * @param time   The new time.
+	 */
+	private void timeChanged(String change, LocalTime time)
+	{
+		Log.info(getEmployee() + " now " + change + " at " + time + " on " + getDay());
+		if(getEmployee() != null)
+			getEmployee().updateWorkTime(this);
+	}
+	
+	/**
+	 * Update the overtime and presence of the employee after a time was set, like the time properties do.
+	 */
+	private void updateEmployee()
+	{
+		if(getEmployee() != null)
+		{
+			getEmployee().updateOvertime(null);
+			getEmployee().updatePresence();
+		}
 	}
 	
 	/**
@@ -0,0 +1,247 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import fr.polytech.projectjava.utils.jfx.RoundedLocalTimeProperty;
+import java.lang.ref.WeakReference;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * The times an employee works on each day of the week.
+ * <p>
+ * A schedule can't be modified and every schedule is interned, so all the employees working the same hours share the same instance.
+ * Changing a day gives another schedule, leaving the one shared untouched, and changing several days at once only interns the final one.
+ * The interned schedules are weakly referenced, so the ones nobody works with anymore are dropped.
+ * The times are rounded like the {@link WorkDay} times, and stored in arrays indexed by {@link DayOfWeek#ordinal()}.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public final class WorkSchedule
+{
+	private static final Map<WorkSchedule, WeakReference<WorkSchedule>> SCHEDULES = new WeakHashMap<>();
+	public static final WorkSchedule EMPTY = intern(new WorkSchedule(0, new LocalTime[DayOfWeek.values().length], new LocalTime[DayOfWeek.values().length]));
+	private final int days;
+	private final LocalTime[] startTimes;
+	private final LocalTime[] endTimes;
+	private final int hash;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param days       The days worked, a bit by {@link DayOfWeek#ordinal()}.
+	 * @param startTimes The start times of the days.
+	 * @param endTimes   The end times of the days.
+	 */
+	private WorkSchedule(int days, LocalTime[] startTimes, LocalTime[] endTimes)
+	{
+		this.days = days;
+		this.startTimes = startTimes;
+		this.endTimes = endTimes;
+		hash = 31 * (31 * days + Arrays.hashCode(startTimes)) + Arrays.hashCode(endTimes);
+	}
+	
+	/**
+	 * Get the schedule of someone working the same hours on some days.
+	 *
+	 * @param days      The days worked.
+	 * @param startTime The start time of each day.
+	 * @param endTime   The end time of each day.
+	 *
+	 * @return The schedule.
+	 */
+	public static WorkSchedule of(DayOfWeek[] days, LocalTime startTime, LocalTime endTime)
+	{
+		LocalTime start = RoundedLocalTimeProperty.roundTime(startTime);
+		LocalTime end = RoundedLocalTimeProperty.roundTime(endTime);
+		int worked = 0;
+		LocalTime[] startTimes = new LocalTime[DayOfWeek.values().length];
+		LocalTime[] endTimes = new LocalTime[DayOfWeek.values().length];
+		for(DayOfWeek day : days)
+		{
+			worked |= 1 << day.ordinal();
+			startTimes[day.ordinal()] = start;
+			endTimes[day.ordinal()] = end;
+		}
+		return intern(new WorkSchedule(worked, startTimes, endTimes));
+	}
+	
+	/**
+	 * Get the schedule with some days worked, or with their times changed.
+	 *
+	 * @param workDays The days.
+	 *
+	 * @return The schedule.
+	 */
+	public WorkSchedule with(Iterable<WorkDay> workDays)
+	{
+		int worked = days;
+		LocalTime[] startTimes = this.startTimes.clone();
+		LocalTime[] endTimes = this.endTimes.clone();
+		for(WorkDay day : workDays)
+		{
+			worked |= 1 << day.getDay().ordinal();
+			startTimes[day.getDay().ordinal()] = RoundedLocalTimeProperty.roundTime(day.getStartTime());
+			endTimes[day.getDay().ordinal()] = RoundedLocalTimeProperty.roundTime(day.getEndTime());
+		}
+		WorkSchedule schedule = new WorkSchedule(worked, startTimes, endTimes);
+		return equals(schedule) ? this : intern(schedule);
+	}
+	
+	/**
+	 * Get the schedule with a day worked, or with its times changed.
+	 *
+	 * @param day       The day.
+	 * @param startTime The start time of the day.
+	 * @param endTime   The end time of the day.
+	 *
+	 * @return The schedule.
+	 */
+	public WorkSchedule with(DayOfWeek day, LocalTime startTime, LocalTime endTime)
+	{
+		LocalTime start = RoundedLocalTimeProperty.roundTime(startTime);
+		LocalTime end = RoundedLocalTimeProperty.roundTime(endTime);
+		if(isWorking(day) && Objects.equals(start, getStartTime(day)) && Objects.equals(end, getEndTime(day)))
+			return this;
+		LocalTime[] startTimes = this.startTimes.clone();
+		LocalTime[] endTimes = this.endTimes.clone();
+		startTimes[day.ordinal()] = start;
+		endTimes[day.ordinal()] = end;
+		return intern(new WorkSchedule(days | 1 << day.ordinal(), startTimes, endTimes));
+	}
+	
+	/**
+	 * Get the schedule without a day worked.
+	 *
+	 * @param day The day.
+	 *
+	 * @return The schedule.
+	 */
+	public WorkSchedule without(DayOfWeek day)
+	{
+		if(!isWorking(day))
+			return this;
+		LocalTime[] startTimes = this.startTimes.clone();
+		LocalTime[] endTimes = this.endTimes.clone();
+		startTimes[day.ordinal()] = null;
+		endTimes[day.ordinal()] = null;
+		return intern(new WorkSchedule(days & ~(1 << day.ordinal()), startTimes, endTimes));
+	}
+	
+	/**
+	 * Tell if a day is worked.
+	 *
+	 * @param day The day.
+	 *
+	 * @return True if worked, false else.
+	 */
+	public boolean isWorking(DayOfWeek day)
+	{
+		return (days & 1 << day.ordinal()) != 0;
+	}
+	
+	/**
+	 * Get the days worked.
+	 *
+	 * @return The days worked, in the order of the week.
+	 */
+	public DayOfWeek[] getDays()
+	{
+		DayOfWeek[] worked = new DayOfWeek[Integer.bitCount(days)];
+		int i = 0;
+		for(DayOfWeek day : DayOfWeek.values())
+			if(isWorking(day))
+				worked[i++] = day;
+		return worked;
+	}
+	
+	/**
+	 * Get the start time of a day.
+	 *
+	 * @param day The day.
+	 *
+	 * @return The start time, null if not worked.
+	 */
+	public LocalTime getStartTime(DayOfWeek day)
+	{
+		return startTimes[day.ordinal()];
+	}
+	
+	/**
+	 * Get the end time of a day.
+	 *
+	 * @param day The day.
+	 *
+	 * @return The end time, null if not worked.
+	 */
+	public LocalTime getEndTime(DayOfWeek day)
+	{
+		return endTimes[day.ordinal()];
+	}
+	
+	/**
+	 * Get the minutes to work on a day.
+	 *
+	 * @param day The day.
+	 *
+	 * @return The minutes to work, 0 if not worked or if a time is missing.
+	 */
+	public long getWorkMinutes(DayOfWeek day)
+	{
+		LocalTime start = getStartTime(day);
+		LocalTime end = getEndTime(day);
+		return start == null || end == null ? 0 : (end.toSecondOfDay() - start.toSecondOfDay()) / 60;
+	}
+	
+	/**
+	 * Tell if every day worked is valid, like {@link WorkDay#isValid()}.
+	 *
+	 * @return True if valid, false else.
+	 */
+	public boolean isValid()
+	{
+		for(DayOfWeek day : getDays())
+			if(getStartTime(day) == null || getEndTime(day) == null || !getStartTime(day).isBefore(getEndTime(day)))
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Get the shared instance of a schedule.
+	 *
+	 * @param schedule The schedule.
+	 *
+	 * @return The schedule shared by everyone having the same times.
+	 */
+	private static synchronized WorkSchedule intern(WorkSchedule schedule)
+	{
+		WeakReference<WorkSchedule> reference = SCHEDULES.get(schedule);
+		WorkSchedule shared = reference == null ? null : reference.get();
+		if(shared != null)
+			return shared;
+		SCHEDULES.put(schedule, new WeakReference<>(schedule));
+		return schedule;
+	}
+	
+	@Override
+	public boolean equals(Object obj)
+	{
+		if(this == obj)
+			return true;
+		if(!(obj instanceof WorkSchedule))
+			return false;
+		WorkSchedule schedule = (WorkSchedule) obj;
+		return days == schedule.days && Arrays.equals(startTimes, schedule.startTimes) && Arrays.equals(endTimes, schedule.endTimes);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return hash;
+	}
+}
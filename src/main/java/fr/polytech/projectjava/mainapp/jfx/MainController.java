@@ -3,6 +3,7 @@ package fr.polytech.projectjava.mainapp.jfx;
 import fr.polytech.projectjava.mainapp.alerts.ReportAlerter;
 import fr.polytech.projectjava.mainapp.alerts.ScheduleAlerter;
 import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.RosterLog;
 import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
 import fr.polytech.projectjava.mainapp.company.staff.Employee;
 import fr.polytech.projectjava.mainapp.company.staff.Manager;
@@ -12,9 +13,16 @@ import fr.polytech.projectjava.mainapp.jfx.check.create.CheckCreateDialog;
 import fr.polytech.projectjava.mainapp.jfx.company.create.CompanyCreateDialog;
 import fr.polytech.projectjava.mainapp.jfx.department.create.StandardDepartmentCreateDialog;
 import fr.polytech.projectjava.mainapp.jfx.employee.create.EmployeeCreateDialog;
+import fr.polytech.projectjava.mainapp.socket.CheckEvent;
+import fr.polytech.projectjava.mainapp.socket.CheckIngestion;
+import fr.polytech.projectjava.mainapp.socket.CheckingHandler;
 import fr.polytech.projectjava.mainapp.socket.CheckingServer;
+import fr.polytech.projectjava.mainapp.socket.SelectorCheckingServer;
 import fr.polytech.projectjava.utils.Configuration;
 import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.mail.MailOutbox;
+import fr.polytech.projectjava.utils.socket.SocketServer;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.ObservableList;
@@ -30,8 +38,11 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.Executors;
@@ -46,11 +57,13 @@ import java.util.concurrent.TimeUnit;
  * @author Thomas Couchoud
  * @since 2017-04-27
  */
-public class MainController
+public class MainController implements CheckingHandler
 {
 	private final MainApplication parent;
-	private final CheckingServer socketReceiver;
+	private final CheckIngestion ingestion;
+	private final SocketServer socketReceiver;
 	private final ScheduledExecutorService alertsScheduler;
+	private final ScheduleAlerter scheduleAlerter;
 	private Company company;
 	
 	/**
@@ -63,11 +76,49 @@ public class MainController
 	public MainController(MainApplication mainApplication) throws IOException
 	{
 		parent = mainApplication;
-		socketReceiver = new CheckingServer(this);
+		ingestion = new CheckIngestion(this, Platform::runLater); //The model is only modified on the JavaFX thread
+		new Thread(ingestion, "Check ingestion").start();
+		socketReceiver = buildServer();
 		new Thread(socketReceiver).start();
+		MailOutbox.getDefault(); //Sends the mails left by the last run
 		alertsScheduler = Executors.newScheduledThreadPool(2);
-		alertsScheduler.scheduleAtFixedRate(new ScheduleAlerter(this), 15, 15, TimeUnit.MINUTES);
+		scheduleAlerter = new ScheduleAlerter(this);
+		alertsScheduler.scheduleAtFixedRate(() -> Platform.runLater(scheduleAlerter), 1, 1, TimeUnit.MINUTES); //The alerter works on the model, only the timers due are handled
 		alertsScheduler.scheduleAtFixedRate(new ReportAlerter(this), 12, 12, TimeUnit.HOURS);
+		scheduleNewDay();
+	}
+	
+	/**
+	 * Schedule the recomputation of the company just after the next midnight, as the overtime counts a new day.
+	 * Each run schedules the next one, so a day that doesn't last 24 hours because of a daylight saving time change doesn't shift it.
+	 */
+	private void scheduleNewDay()
+	{
+		ZonedDateTime now = ZonedDateTime.now();
+		long untilTomorrow = now.until(now.toLocalDate().plusDays(1).atStartOfDay(now.getZone()), ChronoUnit.SECONDS) + 60;
+		alertsScheduler.schedule(() -> {
+			Platform.runLater(() -> {
+				if(getCompany() != null)
+					getCompany().recomputeAll();
+			});
+			if(!alertsScheduler.isShutdown())
+				scheduleNewDay();
+		}, untilTomorrow, TimeUnit.SECONDS);
+	}
+	
+	/**
+	 * Build the socket server receiving the checks, in the mode defined by the configuration.
+	 * The checks received go through the ingestion stage before reaching the model.
+	 *
+	 * @return The server.
+	 *
+	 * @throws IOException If the socket failed to be opened.
+	 */
+	private SocketServer buildServer() throws IOException
+	{
+		if("selector".equals(Configuration.getString("serverMode")))
+			return new SelectorCheckingServer(ingestion);
+		return new CheckingServer(ingestion);
 	}
 	
 	/**
@@ -79,7 +130,9 @@ public class MainController
 	{
 		Log.info("Closing main app");
 		socketReceiver.stop();
+		ingestion.stop();
 		alertsScheduler.shutdownNow();
+		MailOutbox.stopDefault();
 		saveDatas();
 		Log.info("Main app closed");
 	}
@@ -114,6 +167,16 @@ public class MainController
 		return getCompany().getEmployees();
 	}
 	
+	/**
+	 * Get the log of the changes made to the employees of the company.
+	 *
+	 * @return The roster log.
+	 */
+	public RosterLog getRoster()
+	{
+		return getCompany().getRoster();
+	}
+	
 	/**
 	 * Export the employees as CSV.
 	 *
@@ -141,6 +204,7 @@ public class MainController
 	{
 		askFile(new File(".")).ifPresent(file -> {
 			Log.info("Importing employees from CSV...");
+			getCompany().beginBulkUpdate(); //Refresh the employees once everything is imported
 			try
 			{
 				for(String employee : Files.readAllLines(Paths.get(file.toURI())))
@@ -169,6 +233,10 @@ public class MainController
 			{
 				Log.warning("Error reading CSV file", e);
 			}
+			finally
+			{
+				getCompany().endBulkUpdate();
+			}
 		});
 	}
 	
@@ -213,11 +281,30 @@ public class MainController
 		if(employee.isPresent())
 		{
 			employee.get().addCheckInOut(checkType, date.toLocalDate(), date.toLocalTime());
+			scheduleAlerter.onCheck(employee.get(), checkType, date);
 			return true;
 		}
 		return false;
 	}
 	
+	/**
+	 * Add several checks at once.
+	 *
+	 * @param checks The checks to add.
+	 *
+	 * @return For each check, true if it was added, false else.
+	 */
+	public boolean[] addCheckings(List<CheckEvent> checks)
+	{
+		boolean[] added = new boolean[checks.size()];
+		for(int i = 0; i < added.length; i++)
+		{
+			CheckEvent check = checks.get(i);
+			added[i] = addChecking(check.getEmployeeID(), check.getCheckType(), check.getDate());
+		}
+		return added;
+	}
+	
 	/**
 	 * Get an employee by its ID.
 	 *
@@ -276,7 +363,7 @@ public class MainController
 		parent.getEmployeeTab().getList().setList(company.getEmployees());
 		parent.getEmployeeTab().getDepartmentFilter().setItems(company.getDepartements());
 		parent.getDepartmentTab().getList().setList(company.getDepartements());
-		parent.getCheckTab().getList().setList(company.getChecks());
+		parent.getCheckTab().getList().setCompany(company);
 		parent.getCheckTab().getDepartmentFilter().setItems(company.getDepartements());
 		parent.getCheckTab().getEmployeeFilter().setItems(company.getEmployees());
 		return true;
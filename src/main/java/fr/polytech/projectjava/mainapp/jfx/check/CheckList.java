@@ -1,22 +1,28 @@
 package fr.polytech.projectjava.mainapp.jfx.check;
 
 import com.sun.javafx.scene.control.skin.TableHeaderRow;
+import fr.polytech.projectjava.mainapp.company.Company;
 import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
 import fr.polytech.projectjava.mainapp.company.staff.Employee;
 import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
 import fr.polytech.projectjava.mainapp.jfx.MainController;
 import fr.polytech.projectjava.utils.jfx.SortedTableView;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.scene.control.TableColumn;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.function.Predicate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 24/05/2017.
@@ -26,7 +32,17 @@ import java.util.function.Predicate;
  */
 public class CheckList extends SortedTableView<EmployeeCheck>
 {
-	private final SimpleObjectProperty<Predicate<EmployeeCheck>> filterRule;
+	private final ReadOnlyObjectProperty<StandardDepartment> departmentFilterProperty;
+	private final ReadOnlyObjectProperty<Employee> employeeFilterProperty;
+	private final ObjectProperty<LocalDate> startDateProperty;
+	private final ObjectProperty<LocalDate> endDateProperty;
+	private final BooleanProperty presenceProperty;
+	private final ObservableList<EmployeeCheck> items;
+	private final Set<EmployeeCheck> shown;
+	private final InvalidationListener refreshListener;
+	private final ListChangeListener<EmployeeCheck> checksListener;
+	private Company company;
+	private boolean refreshPending;
 
 	/**
 	 * Constructor.
@@ -42,54 +58,22 @@ public class CheckList extends SortedTableView<EmployeeCheck>
 	{
 		super();
 
-		filterRule = new SimpleObjectProperty<>(check -> true);
-		final SimpleObjectProperty<Predicate<EmployeeCheck>> startDateFilter = new SimpleObjectProperty<>(check -> true);
-		final SimpleObjectProperty<Predicate<EmployeeCheck>> endDateFilter = new SimpleObjectProperty<>(check -> true);
-		final SimpleObjectProperty<Predicate<EmployeeCheck>> departmentFilter = new SimpleObjectProperty<>(check -> true);
-		final SimpleObjectProperty<Predicate<EmployeeCheck>> employeeFilter = new SimpleObjectProperty<>(check -> true);
-		final SimpleObjectProperty<Predicate<EmployeeCheck>> presenceFilter = new SimpleObjectProperty<>(check -> true);
-
-		InvalidationListener refreshFilters = observable -> filterRule.set(startDateFilter.get().and(endDateFilter.get()).and(departmentFilter.get()).and(employeeFilter.get()).and(presenceFilter.get())); //Refresh the global filter when one of the sub rules change
-		startDateFilter.addListener(refreshFilters);
-		endDateFilter.addListener(refreshFilters);
-		departmentFilter.addListener(refreshFilters);
-		employeeFilter.addListener(refreshFilters);
-		presenceFilter.addListener(refreshFilters);
-
-		departmentFilterProperty.addListener(((observable, oldValue, newValue) -> {
-			if(newValue == null)
-				departmentFilter.set(check -> true);
-			else
-				departmentFilter.set(check -> check.getEmployee().getWorkingDepartment().equals(newValue));
-		}));
-
-		employeeFilterProperty.addListener(((observable, oldValue, newValue) -> {
-			if(newValue == null)
-				employeeFilter.set(check -> true);
-			else
-				employeeFilter.set(check -> check.getEmployee().equals(newValue));
-		}));
-
-		startDateProperty.addListener(((observable, oldValue, newValue) -> {
-			if(newValue == null)
-				startDateFilter.set(check -> true);
-			else
-				startDateFilter.set(check -> check.getDate().isAfter(newValue) || check.getDate().equals(newValue));
-		}));
-
-		endDateProperty.addListener(((observable, oldValue, newValue) -> {
-			if(newValue == null)
-				endDateFilter.set(check -> true);
-			else
-				endDateFilter.set(check -> check.getDate().isBefore(newValue) || check.getDate().equals(newValue));
-		}));
-
-		presenceProperty.addListener(((observable, oldValue, newValue) -> {
-			if(!newValue)
-				endDateFilter.set(check -> true);
-			else
-				endDateFilter.set(EmployeeCheck::isInProgress);
-		}));
+		this.departmentFilterProperty = departmentFilterProperty;
+		this.employeeFilterProperty = employeeFilterProperty;
+		this.startDateProperty = startDateProperty;
+		this.endDateProperty = endDateProperty;
+		this.presenceProperty = presenceProperty;
+		items = FXCollections.observableArrayList();
+		shown = Collections.newSetFromMap(new IdentityHashMap<>()); //Another check of the same employee and day is equal
+		super.setList(items);
+
+		refreshListener = observable -> scheduleRefresh(); //Query the checks again when a filter changes
+		checksListener = this::onChecksChanged;
+		departmentFilterProperty.addListener(refreshListener);
+		employeeFilterProperty.addListener(refreshListener);
+		startDateProperty.addListener(refreshListener);
+		endDateProperty.addListener(refreshListener);
+		presenceProperty.addListener(refreshListener);
 
 		int colCount = 4;
 		int padding = 2;
@@ -126,15 +110,83 @@ public class CheckList extends SortedTableView<EmployeeCheck>
 	}
 
 	/**
-	 * Set the list of this table.
+	 * Set the company whose checks are displayed.
 	 *
-	 * @param list The list to set.
+	 * @param company The company.
 	 */
-	@Override
-	public void setList(ObservableList<EmployeeCheck> list)
+	public void setCompany(Company company)
 	{
-		FilteredList<EmployeeCheck> filteredItems = new FilteredList<>(list);
-		filteredItems.predicateProperty().bind(filterRule);
-		super.setList(filteredItems);
+		if(this.company != null)
+			this.company.getChecks().removeListener(checksListener);
+		this.company = company;
+		if(company != null)
+			company.getChecks().addListener(checksListener);
+		queryChecks();
+	}
+
+	/**
+	 * Query the checks again later on the JavaFX thread, once for all the changes made meanwhile.
+	 */
+	private void scheduleRefresh()
+	{
+		if(refreshPending)
+			return;
+		refreshPending = true;
+		Platform.runLater(this::queryChecks);
+	}
+
+	/**
+	 * Query the checks matching the filters from the index of the company.
+	 */
+	private void queryChecks()
+	{
+		refreshPending = false;
+		shown.clear();
+		if(company == null)
+			items.clear();
+		else
+			items.setAll(company.queryChecks(startDateProperty.get(), endDateProperty.get(), departmentFilterProperty.get(), employeeFilterProperty.get(), presenceProperty.get()));
+		shown.addAll(items);
+	}
+
+	/**
+	 * Add the new checks matching the filters and remove the checks deleted, without querying every check again.
+	 *
+	 * @param change The change made to the checks of the company.
+	 */
+	private void onChecksChanged(ListChangeListener.Change<? extends EmployeeCheck> change)
+	{
+		if(refreshPending) //The checks will be queried anyway
+			return;
+		Set<EmployeeCheck> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<EmployeeCheck> added = new ArrayList<>();
+		while(change.next())
+		{
+			for(EmployeeCheck check : change.getRemoved())
+				if(shown.remove(check))
+					removed.add(check);
+			for(EmployeeCheck check : change.getAddedSubList())
+				if(matches(check) && shown.add(check) && !removed.contains(check)) //If removed then added back, it's still in the list
+					added.add(check);
+		}
+		if(!removed.isEmpty())
+			items.removeIf(check -> removed.contains(check) && !shown.contains(check));
+		items.addAll(added);
+	}
+
+	/**
+	 * Tell if a check matches the filters.
+	 *
+	 * @param check The check.
+	 *
+	 * @return True if it should be displayed, false else.
+	 */
+	private boolean matches(EmployeeCheck check)
+	{
+		LocalDate startDate = startDateProperty.get();
+		LocalDate endDate = endDateProperty.get();
+		StandardDepartment department = departmentFilterProperty.get();
+		Employee employee = employeeFilterProperty.get();
+		return (startDate == null || !check.getDate().isBefore(startDate)) && (endDate == null || !check.getDate().isAfter(endDate)) && (department == null || check.getEmployee().getWorkingDepartment() == department) && (employee == null || check.getEmployee() == employee) && (!presenceProperty.get() || check.isInProgress());
 	}
 }
@@ -0,0 +1,69 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import java.time.LocalDateTime;
+
+/**
+ * Represent a check received from a terminal.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckEvent
+{
+	private final int employeeID;
+	private final EmployeeCheck.CheckType checkType;
+	private final LocalDateTime date;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param employeeID The employee ID.
+	 * @param checkType  The check type.
+	 * @param date       The date and time when it happened.
+	 */
+	public CheckEvent(int employeeID, EmployeeCheck.CheckType checkType, LocalDateTime date)
+	{
+		this.employeeID = employeeID;
+		this.checkType = checkType;
+		this.date = date;
+	}
+	
+	/**
+	 * Get the employee ID.
+	 *
+	 * @return The employee ID.
+	 */
+	public int getEmployeeID()
+	{
+		return employeeID;
+	}
+	
+	/**
+	 * Get the check type.
+	 *
+	 * @return The check type.
+	 */
+	public EmployeeCheck.CheckType getCheckType()
+	{
+		return checkType;
+	}
+	
+	/**
+	 * Get the date of the check.
+	 *
+	 * @return The date and time when it happened.
+	 */
+	public LocalDateTime getDate()
+	{
+		return date;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "Check " + getCheckType() + " of " + getEmployeeID() + " at " + getDate();
+	}
+}
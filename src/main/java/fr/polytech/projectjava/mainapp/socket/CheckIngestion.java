@@ -0,0 +1,242 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.mainapp.company.RosterLog;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Stage between the socket threads and the model receiving the checks.
+ * <p>
+ * The socket threads publish the checks they receive into a bounded queue. A single writer thread takes everything that is pending and applies it to the model in one batch, through the given executor.
+ * With {@code Platform::runLater} as executor, the model is only ever modified on the JavaFX thread, once per batch, and the checks are applied in the order they were published.
+ * <p>
+ * A thread serving a single connection can wait for the result with {@link #addCheckings(List)}: when the queue is full it waits too, slowing its terminal down instead of piling up checks.
+ * An event loop serving many connections can't wait, so it uses {@link #submitCheckings(List)} and gets the result later. When the queue is full, the checks are refused right away and the terminal keeps them to send them again.
+ * The roster is read from the {@link RosterLog}, which doesn't need the JavaFX thread.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckIngestion implements CheckingHandler, Runnable
+{
+	private final CheckingHandler target;
+	private final Executor modelExecutor;
+	private final BlockingQueue<Submission> queue;
+	private final int maxBatchSize;
+	private volatile boolean stop = false;
+	private Thread thread;
+	
+	/**
+	 * Constructor.
+	 * The sizes of the queue and of the batches are taken from the configuration.
+	 *
+	 * @param target        The handler applying the checks to the model.
+	 * @param modelExecutor The executor running the batches, on the thread allowed to modify the model.
+	 */
+	public CheckIngestion(CheckingHandler target, Executor modelExecutor)
+	{
+		this(target, modelExecutor, Configuration.getInt("ingestionQueueSize"), Configuration.getInt("ingestionBatchSize"));
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param target        The handler applying the checks to the model.
+	 * @param modelExecutor The executor running the batches, on the thread allowed to modify the model.
+	 * @param queueSize     The maximum number of submissions waiting to be applied.
+	 * @param maxBatchSize  The maximum number of submissions applied in one batch.
+	 */
+	public CheckIngestion(CheckingHandler target, Executor modelExecutor, int queueSize, int maxBatchSize)
+	{
+		this.target = target;
+		this.modelExecutor = modelExecutor;
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+	}
+	
+	@Override
+	public void run()
+	{
+		thread = Thread.currentThread();
+		Log.info("Starting check ingestion");
+		while(!stop)
+		{
+			try
+			{
+				Submission first = queue.poll(1, TimeUnit.SECONDS);
+				if(first == null)
+					continue;
+				List<Submission> batch = new ArrayList<>(maxBatchSize);
+				batch.add(first);
+				queue.drainTo(batch, maxBatchSize - 1); //Take everything that came meanwhile
+				apply(batch);
+			}
+			catch(InterruptedException ignored)
+			{
+			}
+		}
+		List<Submission> pending = new ArrayList<>();
+		queue.drainTo(pending);
+		pending.forEach(submission -> submission.result.complete(new boolean[submission.checks.size()])); //Nobody will apply them anymore
+		Log.info("Check ingestion stopped");
+	}
+	
+	/**
+	 * Apply a batch of submissions to the model, then wait for it to be done.
+	 * <p>
+	 * Once given to the model executor, only the task applying the batch gives the submissions their result, as it could still apply them after the wait is interrupted.
+	 * Refusing them here would make the terminals send them again, adding them twice.
+	 *
+	 * @param batch The submissions to apply, in the order they were published.
+	 *
+	 * @throws InterruptedException If the wait for the model was interrupted, the batch is still applied.
+	 */
+	private void apply(List<Submission> batch) throws InterruptedException
+	{
+		List<CheckEvent> checks = new ArrayList<>();
+		for(Submission submission : batch)
+			checks.addAll(submission.checks);
+		CountDownLatch applied = new CountDownLatch(1);
+		try
+		{
+			modelExecutor.execute(() -> {
+				try
+				{
+					complete(batch, target.addCheckings(checks));
+				}
+				catch(Throwable e)
+				{
+					Log.warning("Error applying " + checks.size() + " checks", e);
+					complete(batch, new boolean[checks.size()]);
+				}
+				finally
+				{
+					applied.countDown();
+				}
+			});
+		}
+		catch(RuntimeException e)
+		{
+			Log.warning("Couldn't give " + checks.size() + " checks to the model", e);
+			complete(batch, new boolean[checks.size()]); //The task will never run
+			return;
+		}
+		applied.await();
+	}
+	
+	/**
+	 * Give each submission of a batch its part of the result.
+	 *
+	 * @param batch The submissions.
+	 * @param added The result of each check of the batch, in the order of the submissions.
+	 */
+	private static void complete(List<Submission> batch, boolean[] added)
+	{
+		int offset = 0;
+		for(Submission submission : batch)
+		{
+			boolean[] result = new boolean[submission.checks.size()];
+			System.arraycopy(added, offset, result, 0, result.length);
+			offset += result.length;
+			submission.result.complete(result);
+		}
+	}
+	
+	@Override
+	public boolean addChecking(int employeeID, EmployeeCheck.CheckType checkType, LocalDateTime date)
+	{
+		return addCheckings(Collections.singletonList(new CheckEvent(employeeID, checkType, date)))[0];
+	}
+	
+	@Override
+	public boolean[] addCheckings(List<CheckEvent> checks)
+	{
+		if(checks.isEmpty())
+			return new boolean[0];
+		Submission submission = new Submission(checks);
+		try
+		{
+			if(stop)
+				return new boolean[checks.size()];
+			queue.put(submission);
+			if(!stop || !queue.remove(submission)) //If stopped meanwhile and still queued, the writer might never see it
+				return submission.result.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch(ExecutionException e)
+		{
+			Log.warning("Error ingesting checks", e.getCause());
+		}
+		return new boolean[checks.size()];
+	}
+	
+	@Override
+	public CompletableFuture<boolean[]> submitCheckings(List<CheckEvent> checks)
+	{
+		if(checks.isEmpty())
+			return CompletableFuture.completedFuture(new boolean[0]);
+		Submission submission = new Submission(checks);
+		if(stop || !queue.offer(submission)) //Full, the terminal will send them again
+			return CompletableFuture.completedFuture(new boolean[checks.size()]);
+		if(stop && queue.remove(submission)) //If stopped meanwhile and still queued, the writer might never see it
+			submission.result.complete(new boolean[checks.size()]);
+		return submission.result;
+	}
+	
+	@Override
+	public RosterLog getRoster()
+	{
+		return target.getRoster();
+	}
+	
+	/**
+	 * Stop the writer thread. The checks still in the queue are refused, a batch already given to the model is still applied.
+	 */
+	public void stop()
+	{
+		stop = true;
+		if(thread != null)
+			thread.interrupt();
+	}
+	
+	/**
+	 * Get the number of submissions waiting to be applied.
+	 *
+	 * @return The pending submission count.
+	 */
+	public int getPendingCount()
+	{
+		return queue.size();
+	}
+	
+	/**
+	 * Checks published by a socket thread with their result.
+	 */
+	private static class Submission
+	{
+		private final List<CheckEvent> checks;
+		private final CompletableFuture<boolean[]> result;
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param checks The checks published.
+		 */
+		Submission(List<CheckEvent> checks)
+		{
+			this.checks = checks;
+			result = new CompletableFuture<>();
+		}
+	}
+}
@@ -1,18 +1,13 @@
 package fr.polytech.projectjava.mainapp.socket;
 
 import fr.polytech.projectjava.mainapp.company.staff.Employee;
-import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
 import fr.polytech.projectjava.utils.Configuration;
 import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.socket.CheckCodec;
 import fr.polytech.projectjava.utils.socket.SocketBase;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.Date;
 
 /**
  * Represent a connection opened by a client.
@@ -24,9 +19,9 @@ import java.util.Date;
  */
 public class CheckingClient extends SocketBase
 {
-	private static final SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
 	private final CheckingServer parent;
 	private boolean stop = false;
+	private int version = CheckCodec.TEXT_VERSION;
 	
 	/**
 	 * Constructor.
@@ -47,6 +42,7 @@ public class CheckingClient extends SocketBase
 	protected boolean processData() throws Exception
 	{
 		int packetSize = Configuration.getInt("socketPacketSize");
+		detectFraming(packetSize);
 		while(!stop)
 		{
 			try
@@ -54,20 +50,33 @@ public class CheckingClient extends SocketBase
 				byte[] response = receivePacket(packetSize); //Get the command from the client
 				if(response == null)
 					stop();
+				else if(CheckingProtocol.isHello(new String(response)))
+				{
+					version = CheckingProtocol.negotiate(new String(response));
+					sendPacket((CheckingProtocol.HELLO + ";" + version).getBytes()); //Tell the client which version we'll use
+				}
+				else if(CheckingProtocol.isRosterRequest(new String(response)))
+					sendPacket(CheckingProtocol.buildRoster(parent.getController(), new String(response)).getBytes()); //Send what changed in one packet
 				else
 					switch(new String(response))
 					{
-						case "CHECK":
-							sendPacket("OK".getBytes());
+						case CheckingProtocol.CHECK:
+							sendPacket(CheckingProtocol.OK.getBytes());
 							processCheck(receivePacket(packetSize));
 							break;
-						case "EMPLOYEE":
+						case CheckingProtocol.CHECKS:
+							sendPacket(CheckingProtocol.processChecks(parent.getController(), receivePacket(packetSize), version).getBytes()); //Send a single ACK for the whole batch
+							break;
+						case CheckingProtocol.PING:
+							sendPacket(CheckingProtocol.PONG.getBytes());
+							break;
+						case CheckingProtocol.EMPLOYEE:
 							sendEmployees();
 							break;
 						default:
 							Log.warning("Unknown socket command: " + new String(response));
-						case "END":
-						case "ERROR":
+						case CheckingProtocol.END:
+						case CheckingProtocol.ERROR:
 							stop();
 					}
 			}
@@ -89,32 +98,25 @@ public class CheckingClient extends SocketBase
 	
 	/**
 	 * Handle the reception of new datas.
+	 * The client is always answered, OK if the check was added, NOK if it was rejected or invalid.
 	 *
 	 * @param message The data received.
 	 *
-	 * @throws IOException              If the ACK couldn't be sent.
-	 * @throws ParseException           If the date couldn't be read.
-	 * @throws IllegalArgumentException If the message is null.
-	 */
-	private void processCheck(byte[] message) throws IOException, ParseException, IllegalArgumentException
-	{
-		if(message == null)
-			throw new IllegalArgumentException("The response is null");
-		String response[] = new String(message).split(";");
-		if(parent.getController().addChecking(Integer.parseInt(response[0]), EmployeeCheck.CheckType.valueOf(response[1]), toLocalDateTime(dateFormat.parse(response[2])))) //Parse the check
-			sendPacket("OK".getBytes()); //Send ACK
-	}
-	
-	/**
-	 * Convert a Date to a LocalDateTime.
-	 *
-	 * @param date The date to convert.
-	 *
-	 * @return The LocalDateTime.
+	 * @throws IOException If the answer couldn't be sent.
 	 */
-	private LocalDateTime toLocalDateTime(Date date)
+	private void processCheck(byte[] message) throws IOException
 	{
-		return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+		boolean added;
+		try
+		{
+			added = CheckingProtocol.processCheck(parent.getController(), message, version);
+		}
+		catch(IllegalArgumentException e)
+		{
+			Log.warning("Received invalid check", e);
+			added = false;
+		}
+		sendPacket((added ? CheckingProtocol.OK : CheckingProtocol.NOK).getBytes()); //Send ACK
 	}
 	
 	/**
@@ -124,25 +126,13 @@ public class CheckingClient extends SocketBase
 	 */
 	private void sendEmployees() throws IOException
 	{
-		for(Employee employee : parent.getController().listEmployees()) //Send every employee
+		for(Employee employee : parent.getController().getRoster().getEmployees()) //Send every employee
 		{
-			sendPacket(employeeToString(employee).getBytes());
+			sendPacket(CheckingProtocol.employeeToString(employee).getBytes());
 			byte[] response = receivePacket();
-			if(response == null || !new String(response).equals("OK"))
+			if(response == null || !new String(response).equals(CheckingProtocol.OK))
 				throw new IllegalStateException("Received not OK");
 		}
-		sendPacket("DONE".getBytes()); //Say we're done
-	}
-	
-	/**
-	 * Transform an employee to a string ready to be sent.
-	 *
-	 * @param employee The employee to stringify.
-	 *
-	 * @return The string to send corresponding to the employee.
-	 */
-	private String employeeToString(Employee employee)
-	{
-		return employee.getID() + ";" + employee.getFirstName() + ";" + employee.getLastName() + ";" + employee.isPresent();
+		sendPacket(CheckingProtocol.DONE.getBytes()); //Say we're done
 	}
 }
@@ -0,0 +1,58 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.mainapp.company.RosterLog;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle what the checking servers receive.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public interface CheckingHandler
+{
+	/**
+	 * Add a check.
+	 *
+	 * @param employeeID The employee ID.
+	 * @param checkType  The check type.
+	 * @param date       The date and time when it happened.
+	 *
+	 * @return True if the check was added, false else.
+	 */
+	boolean addChecking(int employeeID, EmployeeCheck.CheckType checkType, LocalDateTime date);
+	
+	/**
+	 * Add several checks at once.
+	 *
+	 * @param checks The checks to add.
+	 *
+	 * @return For each check, true if it was added, false else.
+	 */
+	boolean[] addCheckings(List<CheckEvent> checks);
+	
+	/**
+	 * Add several checks at once, without waiting for them to be added.
+	 * By default, they're added right away by {@link #addCheckings(List)}.
+	 *
+	 * @param checks The checks to add.
+	 *
+	 * @return The result, giving for each check true if it was added, false else.
+	 */
+	default CompletableFuture<boolean[]> submitCheckings(List<CheckEvent> checks)
+	{
+		return CompletableFuture.completedFuture(addCheckings(checks));
+	}
+	
+	/**
+	 * Get the log of the changes made to the employees, also giving the employees that can check.
+	 *
+	 * @return The roster log.
+	 */
+	RosterLog getRoster();
+}
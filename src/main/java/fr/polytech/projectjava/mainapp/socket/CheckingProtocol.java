@@ -0,0 +1,416 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.mainapp.company.RosterLog;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.socket.CheckCodec;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Messages and parsing shared by the different server implementations of the checking protocol.
+ * <p>
+ * A client may start with "HELLO;version" to agree on a protocol version, else the text protocol ({@link CheckCodec#TEXT_VERSION}) is used.
+ * From {@link CheckCodec#BINARY_VERSION}, the checks are sent with the {@link CheckCodec} encoding instead of text.
+ * <p>
+ * "PING" is answered by "PONG", letting the terminals keep their connection alive.
+ * <p>
+ * "EMPLOYEE" alone sends the employees one by one, each one being acknowledged. "EMPLOYEE;generation;version" sends only what changed since the given roster version, in one packet (see {@link #buildRoster(CheckingHandler, String)}).
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+final class CheckingProtocol
+{
+	static final String HELLO = "HELLO";
+	static final String CHECK = "CHECK";
+	static final String CHECKS = "CHECKS";
+	static final String ACK = "ACK";
+	static final String EMPLOYEE = "EMPLOYEE";
+	static final String END = "END";
+	static final String ERROR = "ERROR";
+	static final String OK = "OK";
+	static final String NOK = "NOK";
+	static final String DONE = "DONE";
+	static final String FULL = "FULL";
+	static final String DELTA = "DELTA";
+	static final String PING = "PING";
+	static final String PONG = "PONG";
+	private static final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+	
+	/**
+	 * Constructor.
+	 */
+	private CheckingProtocol()
+	{
+	}
+	
+	/**
+	 * Tell if a command is a handshake.
+	 *
+	 * @param command The command received.
+	 *
+	 * @return True if it's a handshake, false else.
+	 */
+	static boolean isHello(String command)
+	{
+		return command.startsWith(HELLO + ";");
+	}
+	
+	/**
+	 * Choose the protocol version to use with a client.
+	 *
+	 * @param command The handshake of the client, formatted as "HELLO;version".
+	 *
+	 * @return The highest version supported by both sides, the text version if the version of the client isn't a number so it still gets an answer.
+	 */
+	static int negotiate(String command)
+	{
+		try
+		{
+			return Math.max(CheckCodec.TEXT_VERSION, Math.min(CheckCodec.VERSION, Integer.parseInt(command.substring(HELLO.length() + 1))));
+		}
+		catch(NumberFormatException e)
+		{
+			Log.warning("Invalid handshake " + command + ", using the text protocol");
+			return CheckCodec.TEXT_VERSION;
+		}
+	}
+	
+	/**
+	 * Parse a check message and give it to the handler.
+	 *
+	 * @param handler The handler to add the check to.
+	 * @param message The data received.
+	 * @param version The protocol version used by the client.
+	 *
+	 * @return True if the check was added, false else.
+	 *
+	 * @throws IllegalArgumentException If the message is null or invalid.
+	 */
+	static boolean processCheck(CheckingHandler handler, byte[] message, int version) throws IllegalArgumentException
+	{
+		CheckEvent check = parseSingleCheck(message, version);
+		return handler.addChecking(check.getEmployeeID(), check.getCheckType(), check.getDate());
+	}
+	
+	/**
+	 * Parse a check message and give it to the handler, without waiting for it to be added.
+	 *
+	 * @param handler The handler to add the check to.
+	 * @param message The data received.
+	 * @param version The protocol version used by the client.
+	 *
+	 * @return The result, true if the check was added, false else.
+	 *
+	 * @throws IllegalArgumentException If the message is null or invalid.
+	 */
+	static CompletableFuture<Boolean> submitCheck(CheckingHandler handler, byte[] message, int version) throws IllegalArgumentException
+	{
+		return handler.submitCheckings(Collections.singletonList(parseSingleCheck(message, version))).thenApply(added -> added[0]);
+	}
+	
+	/**
+	 * Parse a single check message.
+	 *
+	 * @param message The data received.
+	 * @param version The protocol version used by the client.
+	 *
+	 * @return The check.
+	 *
+	 * @throws IllegalArgumentException If the message is null or invalid.
+	 */
+	private static CheckEvent parseSingleCheck(byte[] message, int version) throws IllegalArgumentException
+	{
+		if(message == null)
+			throw new IllegalArgumentException("The response is null");
+		if(version >= CheckCodec.BINARY_VERSION)
+		{
+			if(message.length != CheckCodec.RECORD_SIZE)
+				throw new IllegalArgumentException("Invalid check size " + message.length);
+			return decodeCheck(ByteBuffer.wrap(message));
+		}
+		return parseCheck(new String(message));
+	}
+	
+	/**
+	 * Parse a batch of checks and give them all at once to the handler.
+	 * In text, the batch is made of one check per line, each line formatted as a single check message. In binary, the encoded checks are put one after the other.
+	 *
+	 * @param handler The handler to add the checks to.
+	 * @param message The data received.
+	 * @param version The protocol version used by the client.
+	 *
+	 * @return The acknowledgement to send back, listing the indexes of the accepted and rejected checks.
+	 *
+	 * @throws IllegalArgumentException If the message is null or invalid.
+	 */
+	static String processChecks(CheckingHandler handler, byte[] message, int version) throws IllegalArgumentException
+	{
+		CheckEvent[] parsed = parseBatch(message, version);
+		return buildAck(parsed, handler.addCheckings(getValid(parsed)));
+	}
+	
+	/**
+	 * Parse a batch of checks and give them all at once to the handler, without waiting for them to be added.
+	 *
+	 * @param handler The handler to add the checks to.
+	 * @param message The data received.
+	 * @param version The protocol version used by the client.
+	 *
+	 * @return The acknowledgement to send back, once the checks were handled.
+	 *
+	 * @throws IllegalArgumentException If the message is null or invalid.
+	 */
+	static CompletableFuture<String> submitChecks(CheckingHandler handler, byte[] message, int version) throws IllegalArgumentException
+	{
+		CheckEvent[] parsed = parseBatch(message, version);
+		return handler.submitCheckings(getValid(parsed)).thenApply(added -> buildAck(parsed, added));
+	}
+	
+	/**
+	 * Parse a batch of checks.
+	 *
+	 * @param message The data received.
+	 * @param version The protocol version used by the client.
+	 *
+	 * @return The checks, null for those that couldn't be parsed.
+	 *
+	 * @throws IllegalArgumentException If the message is null or invalid.
+	 */
+	private static CheckEvent[] parseBatch(byte[] message, int version) throws IllegalArgumentException
+	{
+		if(message == null)
+			throw new IllegalArgumentException("The response is null");
+		return version >= CheckCodec.BINARY_VERSION ? decodeChecks(message) : parseChecks(message);
+	}
+	
+	/**
+	 * Get the checks of a batch that could be parsed, a bad check only rejecting itself.
+	 *
+	 * @param parsed The checks parsed, null for those that couldn't be parsed.
+	 *
+	 * @return The valid checks, in the order of the batch.
+	 */
+	private static List<CheckEvent> getValid(CheckEvent[] parsed)
+	{
+		List<CheckEvent> checks = new ArrayList<>(parsed.length);
+		for(CheckEvent check : parsed)
+			if(check != null)
+				checks.add(check);
+		return checks;
+	}
+	
+	/**
+	 * Build the acknowledgement of a batch from the result of its valid checks.
+	 *
+	 * @param parsed The checks parsed, null for those that couldn't be parsed.
+	 * @param added  For each valid check, if it was added.
+	 *
+	 * @return The acknowledgement.
+	 */
+	private static String buildAck(CheckEvent[] parsed, boolean[] added)
+	{
+		boolean[] accepted = new boolean[parsed.length];
+		for(int i = 0, valid = 0; i < parsed.length; i++)
+			if(parsed[i] != null)
+				accepted[i] = added[valid++];
+		return buildAck(accepted);
+	}
+	
+	/**
+	 * Build the acknowledgement of a batch.
+	 * It's formatted as "ACK;accepted indexes;rejected indexes", indexes being separated by commas.
+	 *
+	 * @param accepted For each check of the batch, if it was accepted.
+	 *
+	 * @return The acknowledgement.
+	 */
+	static String buildAck(boolean[] accepted)
+	{
+		StringBuilder acceptedIndexes = new StringBuilder();
+		StringBuilder rejectedIndexes = new StringBuilder();
+		for(int i = 0; i < accepted.length; i++)
+		{
+			StringBuilder builder = accepted[i] ? acceptedIndexes : rejectedIndexes;
+			if(builder.length() > 0)
+				builder.append(',');
+			builder.append(i);
+		}
+		return ACK + ";" + acceptedIndexes + ";" + rejectedIndexes;
+	}
+	
+	/**
+	 * Parse a text batch of checks.
+	 *
+	 * @param message The batch, one check per line.
+	 *
+	 * @return The checks, null for those that couldn't be parsed.
+	 */
+	private static CheckEvent[] parseChecks(byte[] message)
+	{
+		String[] lines = new String(message).split("\n");
+		CheckEvent[] checks = new CheckEvent[lines.length];
+		for(int i = 0; i < lines.length; i++)
+			try
+			{
+				checks[i] = parseCheck(lines[i]);
+			}
+			catch(Exception e)
+			{
+				Log.warning("Invalid check in batch: " + lines[i], e);
+			}
+		return checks;
+	}
+	
+	/**
+	 * Decode a binary batch of checks.
+	 *
+	 * @param message The encoded checks.
+	 *
+	 * @return The checks, null for those that couldn't be decoded.
+	 *
+	 * @throws IllegalArgumentException If the batch size isn't a multiple of a check size.
+	 */
+	private static CheckEvent[] decodeChecks(byte[] message) throws IllegalArgumentException
+	{
+		if(message.length % CheckCodec.RECORD_SIZE != 0)
+			throw new IllegalArgumentException("Invalid batch size " + message.length);
+		ByteBuffer buffer = ByteBuffer.wrap(message);
+		CheckEvent[] checks = new CheckEvent[message.length / CheckCodec.RECORD_SIZE];
+		for(int i = 0; i < checks.length; i++)
+			try
+			{
+				checks[i] = decodeCheck(buffer);
+			}
+			catch(IllegalArgumentException e)
+			{
+				Log.warning("Invalid check in batch at index " + i, e);
+			}
+		return checks;
+	}
+	
+	/**
+	 * Parse a single text check.
+	 *
+	 * @param message The check formatted as "ID;TYPE;date".
+	 *
+	 * @return The parsed check.
+	 *
+	 * @throws IllegalArgumentException If the check couldn't be read.
+	 */
+	private static CheckEvent parseCheck(String message) throws IllegalArgumentException
+	{
+		String response[] = message.split(";");
+		if(response.length != 3)
+			throw new IllegalArgumentException("Invalid check " + message);
+		try
+		{
+			return new CheckEvent(Integer.parseInt(response[0]), EmployeeCheck.CheckType.valueOf(response[1]), LocalDateTime.parse(response[2], dateFormat));
+		}
+		catch(RuntimeException e)
+		{
+			throw new IllegalArgumentException("Invalid check " + message, e);
+		}
+	}
+	
+	/**
+	 * Decode a single binary check.
+	 * The buffer is moved after the check, even if it was invalid.
+	 *
+	 * @param buffer The buffer positioned at the beginning of the check.
+	 *
+	 * @return The decoded check.
+	 *
+	 * @throws IllegalArgumentException If the type of the check is unknown.
+	 */
+	private static CheckEvent decodeCheck(ByteBuffer buffer) throws IllegalArgumentException
+	{
+		int employeeID = buffer.getInt();
+		byte type = buffer.get();
+		LocalDateTime date = CheckCodec.toDate(buffer.getLong());
+		switch(type)
+		{
+			case CheckCodec.TYPE_IN:
+				return new CheckEvent(employeeID, EmployeeCheck.CheckType.IN, date);
+			case CheckCodec.TYPE_OUT:
+				return new CheckEvent(employeeID, EmployeeCheck.CheckType.OUT, date);
+			default:
+				throw new IllegalArgumentException("Unknown check type " + type);
+		}
+	}
+	
+	/**
+	 * Tell if a command asks for the changes of the roster.
+	 *
+	 * @param command The command received.
+	 *
+	 * @return True if it's a versioned employee request, false else.
+	 */
+	static boolean isRosterRequest(String command)
+	{
+		return command.startsWith(EMPLOYEE + ";");
+	}
+	
+	/**
+	 * Build the answer to a versioned employee request.
+	 * The first line is "DELTA;generation;version" followed by the changes since the version asked, or "FULL;generation;version" followed by every employee if those changes aren't known anymore.
+	 * The following lines are "A;employee" for an added employee, "U;employee" for an updated one and "R;ID" for a removed one.
+	 *
+	 * @param handler The handler giving the roster.
+	 * @param command The request, formatted as "EMPLOYEE;generation;version".
+	 *
+	 * @return The answer.
+	 *
+	 * @throws IllegalArgumentException If the request is invalid.
+	 */
+	static String buildRoster(CheckingHandler handler, String command) throws IllegalArgumentException
+	{
+		String[] parts = command.split(";");
+		if(parts.length != 3)
+			throw new IllegalArgumentException("Invalid employee request " + command);
+		RosterLog roster = handler.getRoster();
+		synchronized(roster) //Nothing can change between the version and the employees sent
+		{
+			long version = roster.getVersion();
+			Map<Integer, Byte> changes = roster.getChangesSince(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+			StringBuilder builder = new StringBuilder(changes == null ? FULL : DELTA).append(';').append(roster.getGeneration()).append(';').append(version);
+			if(changes == null)
+			{
+				for(Employee employee : roster.getEmployees())
+					builder.append("\nA;").append(employeeToString(employee));
+			}
+			else
+				for(Map.Entry<Integer, Byte> change : changes.entrySet())
+				{
+					Employee employee = roster.getEmployee(change.getKey());
+					if(employee == null || change.getValue() == RosterLog.REMOVED)
+						builder.append("\nR;").append(change.getKey());
+					else
+						builder.append(change.getValue() == RosterLog.ADDED ? "\nA;" : "\nU;").append(employeeToString(employee));
+				}
+			return builder.toString();
+		}
+	}
+	
+	/**
+	 * Transform an employee to a string ready to be sent.
+	 *
+	 * @param employee The employee to stringify.
+	 *
+	 * @return The string to send corresponding to the employee.
+	 */
+	static String employeeToString(Employee employee)
+	{
+		return employee.getID() + ";" + employee.getFirstName() + ";" + employee.getLastName() + ";" + employee.isPresent();
+	}
+}
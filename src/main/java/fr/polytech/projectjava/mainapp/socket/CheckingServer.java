@@ -1,13 +1,11 @@
 package fr.polytech.projectjava.mainapp.socket;
 
-import fr.polytech.projectjava.mainapp.jfx.MainController;
 import fr.polytech.projectjava.utils.Configuration;
-import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.socket.ConnectionExecutor;
 import fr.polytech.projectjava.utils.socket.ServerSocketBase;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.net.SocketException;
 
 /**
  * Server for the checking app.
@@ -19,41 +17,35 @@ import java.net.SocketException;
  */
 public class CheckingServer extends ServerSocketBase
 {
-	private final MainController controller;
+	private final CheckingHandler controller;
 	
 	/**
 	 * Constructor.
 	 *
-	 * @param controller The main controller.
+	 * @param controller The handler of what is received.
 	 *
 	 * @throws IOException If an I/O error occurs when opening the socket.
 	 */
-	public CheckingServer(MainController controller) throws IOException
+	public CheckingServer(CheckingHandler controller) throws IOException
 	{
 		super("Main Server", new InetSocketAddress(Configuration.getString("serverAddress"), Configuration.getInt("serverPort")));
 		this.controller = controller;
 		setTimeout(Configuration.getInt("mainServerTimeout"));
+		setExecutor(ConnectionExecutor.fromConfiguration("Main Client"));
 	}
 	
 	@Override
-	protected void buildClient(Socket socket)
+	protected Runnable buildClient(Socket socket) throws IOException
 	{
-		try
-		{
-			new Thread(new CheckingClient(socket, this)).start();
-		}
-		catch(SocketException e)
-		{
-			Log.error("Error building server socket", e);
-		}
+		return new CheckingClient(socket, this);
 	}
 	
 	/**
-	 * Get the main controller.
+	 * Get the handler of what is received.
 	 *
-	 * @return The controller.
+	 * @return The handler.
 	 */
-	public MainController getController()
+	public CheckingHandler getController()
 	{
 		return controller;
 	}
@@ -0,0 +1,218 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.socket.CheckCodec;
+import fr.polytech.projectjava.utils.socket.SelectorSocketBase;
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represent a connection opened by a client on the non blocking server.
+ * As nothing can wait for an answer, the exchanges are driven by the state of the connection.
+ * The checks are added without blocking the event loop: the reply is sent from the loop once they're handled, the packets received meanwhile being kept to be processed in order after it.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class SelectorCheckingClient extends SelectorSocketBase
+{
+	private final SelectorCheckingServer parent;
+	private State state = State.COMMAND;
+	private final Queue<byte[]> deferred = new ArrayDeque<>();
+	private Iterator<Employee> employees;
+	private boolean waiting = false;
+	private int version = CheckCodec.TEXT_VERSION;
+	
+	/**
+	 * The states of the connection.
+	 */
+	private enum State
+	{
+		COMMAND, CHECK, CHECKS, EMPLOYEE_ACK
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param channel        The channel opened.
+	 * @param checkingServer The server that opened it.
+	 */
+	SelectorCheckingClient(SocketChannel channel, SelectorCheckingServer checkingServer)
+	{
+		super("Main Client", channel);
+		parent = checkingServer;
+	}
+	
+	@Override
+	protected void processPacket(byte[] packet) throws Exception
+	{
+		if(waiting)
+			deferred.add(packet);
+		else
+			handle(packet);
+	}
+	
+	/**
+	 * Handle a packet according to the state of the connection.
+	 *
+	 * @param packet The packet received.
+	 */
+	private void handle(byte[] packet)
+	{
+		try
+		{
+			switch(state)
+			{
+				case COMMAND:
+					processCommand(new String(packet));
+					break;
+				case CHECK:
+					state = State.COMMAND;
+					processCheck(packet);
+					break;
+				case CHECKS:
+					state = State.COMMAND;
+					reply(CheckingProtocol.submitChecks(parent.getController(), packet, version)); //Send a single ACK for the whole batch
+					break;
+				case EMPLOYEE_ACK:
+					if(!new String(packet).equals(CheckingProtocol.OK))
+						throw new IllegalStateException("Received not OK");
+					sendNextEmployee();
+					break;
+			}
+		}
+		catch(Exception e)
+		{
+			Log.error(getName() + " error", e);
+			state = State.COMMAND;
+		}
+	}
+	
+	/**
+	 * Handle the reception of a single check.
+	 * The client is always answered, OK if the check was added, NOK if it was rejected or invalid.
+	 *
+	 * @param message The data received.
+	 *
+	 * @throws IOException If the answer couldn't be sent.
+	 */
+	private void processCheck(byte[] message) throws IOException
+	{
+		CompletableFuture<Boolean> added;
+		try
+		{
+			added = CheckingProtocol.submitCheck(parent.getController(), message, version);
+		}
+		catch(IllegalArgumentException e)
+		{
+			Log.warning("Received invalid check", e);
+			sendPacket(CheckingProtocol.NOK.getBytes());
+			return;
+		}
+		reply(added.handle((result, error) -> result != null && result ? CheckingProtocol.OK : CheckingProtocol.NOK)); //Send ACK
+	}
+	
+	/**
+	 * Send a reply once it is ready, the packets received until then waiting for it.
+	 *
+	 * @param answer The reply, null to send nothing.
+	 */
+	private void reply(CompletableFuture<String> answer)
+	{
+		waiting = true;
+		answer.whenComplete((data, error) -> runOnLoop(() -> {
+			waiting = false;
+			if(isClosed())
+				return;
+			if(error != null)
+				Log.error(getName() + " error", error);
+			else if(data != null)
+			{
+				try
+				{
+					sendPacket(data.getBytes());
+				}
+				catch(IOException e)
+				{
+					Log.warning("Error during client " + getName(), e);
+					close(false);
+					return;
+				}
+			}
+			byte[] packet;
+			while(!waiting && !isClosed() && (packet = deferred.poll()) != null)
+				handle(packet);
+		}));
+	}
+	
+	/**
+	 * Handle a command sent by the client.
+	 *
+	 * @param command The command.
+	 *
+	 * @throws IOException If the answer couldn't be sent.
+	 */
+	private void processCommand(String command) throws IOException
+	{
+		if(CheckingProtocol.isHello(command))
+		{
+			version = CheckingProtocol.negotiate(command);
+			sendPacket((CheckingProtocol.HELLO + ";" + version).getBytes()); //Tell the client which version we'll use
+			return;
+		}
+		if(CheckingProtocol.isRosterRequest(command))
+		{
+			sendPacket(CheckingProtocol.buildRoster(parent.getController(), command).getBytes()); //Send what changed in one packet
+			return;
+		}
+		switch(command)
+		{
+			case CheckingProtocol.CHECK:
+				state = State.CHECK;
+				sendPacket(CheckingProtocol.OK.getBytes());
+				break;
+			case CheckingProtocol.CHECKS:
+				state = State.CHECKS;
+				break;
+			case CheckingProtocol.PING:
+				sendPacket(CheckingProtocol.PONG.getBytes());
+				break;
+			case CheckingProtocol.EMPLOYEE:
+				employees = parent.getController().getRoster().getEmployees().iterator();
+				sendNextEmployee();
+				break;
+			default:
+				Log.warning("Unknown socket command: " + command);
+			case CheckingProtocol.END:
+			case CheckingProtocol.ERROR:
+				close(true);
+		}
+	}
+	
+	/**
+	 * Send the next employee, or say we're done if all of them were sent.
+	 *
+	 * @throws IOException If the data couldn't be sent.
+	 */
+	private void sendNextEmployee() throws IOException
+	{
+		if(employees.hasNext())
+		{
+			state = State.EMPLOYEE_ACK;
+			sendPacket(CheckingProtocol.employeeToString(employees.next()).getBytes());
+		}
+		else
+		{
+			state = State.COMMAND;
+			employees = null;
+			sendPacket(CheckingProtocol.DONE.getBytes()); //Say we're done
+		}
+	}
+}
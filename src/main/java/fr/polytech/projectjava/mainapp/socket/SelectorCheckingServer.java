@@ -0,0 +1,53 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.socket.SelectorServerSocketBase;
+import fr.polytech.projectjava.utils.socket.SelectorSocketBase;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non blocking server for the checking app.
+ * Every terminal is served by a small fixed set of event loops instead of a thread per connection.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class SelectorCheckingServer extends SelectorServerSocketBase
+{
+	private final CheckingHandler controller;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param controller The handler of what is received.
+	 *
+	 * @throws IOException If an I/O error occurs when opening the socket.
+	 */
+	public SelectorCheckingServer(CheckingHandler controller) throws IOException
+	{
+		super("Main Server", new InetSocketAddress(Configuration.getString("serverAddress"), Configuration.getInt("serverPort")), Configuration.getInt("serverEventLoops"));
+		this.controller = controller;
+		setTimeout(Configuration.getInt("mainServerTimeout"));
+		setClientTimeout(Configuration.getInt("mainClientTimeout"));
+	}
+	
+	@Override
+	protected SelectorSocketBase buildClient(SocketChannel channel) throws IOException
+	{
+		return new SelectorCheckingClient(channel, this);
+	}
+	
+	/**
+	 * Get the handler of what is received.
+	 *
+	 * @return The handler.
+	 */
+	public CheckingHandler getController()
+	{
+		return controller;
+	}
+}
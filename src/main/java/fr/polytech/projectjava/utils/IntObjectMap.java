@@ -0,0 +1,230 @@
+package fr.polytech.projectjava.utils;
+
+import java.util.Arrays;
+
+/**
+ * A map with int keys, without boxing them.
+ * <p>
+ * The entries are stored with open addressing and linear probing in two arrays, one for the keys and one for the values. A null value marks a free slot, so null values can't be stored.
+ * Removals shift the following entries back instead of leaving tombstones, so lookups stay short however many removals were made.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @param <V> The type of the values.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class IntObjectMap<V>
+{
+	private static final float LOAD_FACTOR = 0.5f;
+	private int[] keys;
+	private Object[] values;
+	private int mask;
+	private int size = 0;
+	
+	/**
+	 * Constructor.
+	 */
+	public IntObjectMap()
+	{
+		this(16);
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param expectedSize The number of entries expected, to avoid resizing.
+	 */
+	public IntObjectMap(int expectedSize)
+	{
+		allocate(capacityFor(expectedSize));
+	}
+	
+	/**
+	 * Get the value associated to a key.
+	 *
+	 * @param key The key.
+	 *
+	 * @return The value, null if the key isn't in the map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(int key)
+	{
+		int slot = find(key);
+		return slot < 0 ? null : (V) values[slot];
+	}
+	
+	/**
+	 * Tell if a key is in the map.
+	 *
+	 * @param key The key.
+	 *
+	 * @return True if present, false else.
+	 */
+	public boolean containsKey(int key)
+	{
+		return find(key) >= 0;
+	}
+	
+	/**
+	 * Associate a value to a key, replacing the previous one.
+	 *
+	 * @param key   The key.
+	 * @param value The value.
+	 *
+	 * @return The previous value, null if there was none.
+	 *
+	 * @throws IllegalArgumentException If the value is null.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) throws IllegalArgumentException
+	{
+		if(value == null)
+			throw new IllegalArgumentException("Null values can't be stored");
+		int slot = slot(key);
+		while(values[slot] != null)
+		{
+			if(keys[slot] == key)
+			{
+				V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		if(++size > keys.length * LOAD_FACTOR)
+			rehash(keys.length * 2);
+		return null;
+	}
+	
+	/**
+	 * Remove a key from the map.
+	 *
+	 * @param key The key to remove.
+	 *
+	 * @return The value that was associated to it, null if there was none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(int key)
+	{
+		int slot = find(key);
+		if(slot < 0)
+			return null;
+		V previous = (V) values[slot];
+		int free = slot;
+		int next = (free + 1) & mask;
+		while(values[next] != null) //Move back the entries that would be unreachable because of the new hole
+		{
+			int ideal = slot(keys[next]);
+			if(((next - ideal) & mask) >= ((next - free) & mask))
+			{
+				keys[free] = keys[next];
+				values[free] = values[next];
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+		values[free] = null;
+		size--;
+		return previous;
+	}
+	
+	/**
+	 * Remove every entry.
+	 */
+	public void clear()
+	{
+		Arrays.fill(values, null);
+		size = 0;
+	}
+	
+	/**
+	 * Get the number of entries.
+	 *
+	 * @return The size of the map.
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Find the slot of a key.
+	 *
+	 * @param key The key.
+	 *
+	 * @return The slot, -1 if the key isn't in the map.
+	 */
+	private int find(int key)
+	{
+		int slot = slot(key);
+		while(values[slot] != null)
+		{
+			if(keys[slot] == key)
+				return slot;
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Get the ideal slot of a key.
+	 * The key is mixed first as IDs are often consecutive.
+	 *
+	 * @param key The key.
+	 *
+	 * @return The slot.
+	 */
+	private int slot(int key)
+	{
+		int hash = key * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+	
+	/**
+	 * Move every entry to new arrays.
+	 *
+	 * @param capacity The new capacity, a power of two.
+	 */
+	@SuppressWarnings("unchecked")
+	private void rehash(int capacity)
+	{
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+		size = 0;
+		for(int i = 0; i < oldKeys.length; i++)
+			if(oldValues[i] != null)
+				put(oldKeys[i], (V) oldValues[i]);
+	}
+	
+	/**
+	 * Allocate empty arrays.
+	 *
+	 * @param capacity The capacity, a power of two.
+	 */
+	private void allocate(int capacity)
+	{
+		keys = new int[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+	}
+	
+	/**
+	 * Get the capacity needed for a number of entries.
+	 *
+	 * @param expectedSize The number of entries.
+	 *
+	 * @return The capacity, a power of two.
+	 */
+	private static int capacityFor(int expectedSize)
+	{
+		int capacity = 16;
+		while(capacity * LOAD_FACTOR < expectedSize)
+			capacity <<= 1;
+		return capacity;
+	}
+}
@@ -15,6 +15,7 @@ import java.util.logging.Logger;
 public class Log
 {
 	private static Logger logger;
+	private static final ThreadLocal<int[]> heldInfo = ThreadLocal.withInitial(() -> new int[2]); //Hold depth and messages skipped, for each thread
 	
 	/**
 	 * Send a warning message.
@@ -97,9 +98,38 @@ public class Log
 	 */
 	public static void info(String message)
 	{
+		int[] held = heldInfo.get();
+		if(held[0] > 0)
+		{
+			held[1]++;
+			return;
+		}
 		log(Level.INFO, message);
 	}
 	
+	/**
+	 * Skip the info messages sent by the current thread until {@link #releaseInfo()} is called as many times.
+	 */
+	public static void holdInfo()
+	{
+		heldInfo.get()[0]++;
+	}
+	
+	/**
+	 * Log the info messages sent by the current thread again, if it was the last hold.
+	 *
+	 * @return The number of messages skipped, if it was the last hold, 0 else.
+	 */
+	public static int releaseInfo()
+	{
+		int[] held = heldInfo.get();
+		if(held[0] == 0 || --held[0] > 0)
+			return 0;
+		int skipped = held[1];
+		held[1] = 0;
+		return skipped;
+	}
+	
 	/**
 	 * Send an error message.
 	 *
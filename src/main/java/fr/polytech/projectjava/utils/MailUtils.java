@@ -27,20 +27,29 @@ public class MailUtils
 	 * @throws UnsupportedEncodingException From javax mail.
 	 */
 	public static void sendMail(String emailFrom, String fromName, String to, String object, String body) throws UnsupportedEncodingException, MessagingException
+	{
+		sendMail(buildSession(), emailFrom, fromName, to, object, body);
+	}
+	
+	/**
+	 * Build a session with the values in the configuration file.
+	 *
+	 * @return The session.
+	 */
+	public static Session buildSession()
 	{
 		Properties properties = System.getProperties();
 		properties.put("mail.smtp.starttls.enable", Configuration.getString("smtpStartTls"));
 		properties.put("mail.smtp.auth", "true");
 		properties.put("mail.smtp.host", Configuration.getString("smtpHost"));
 		properties.put("mail.smtp.port", Configuration.getInt("smtpPort"));
-		Session session = Session.getInstance(properties, new Authenticator()
+		return Session.getInstance(properties, new Authenticator()
 		{
 			protected PasswordAuthentication getPasswordAuthentication()
 			{
 				return new PasswordAuthentication(Configuration.getString("smtpUser"), Configuration.getString("smtpPassword"));
 			}
 		});
-		sendMail(session, emailFrom, fromName, to, object, body);
 	}
 	
 	/**
@@ -57,12 +66,32 @@ public class MailUtils
 	 * @throws UnsupportedEncodingException From javax mail.
 	 */
 	public static void sendMail(Session session, String emailFrom, String fromName, String to, String object, String body) throws UnsupportedEncodingException, javax.mail.MessagingException
+	{
+		Transport.send(buildMessage(session, emailFrom, fromName, to, object, body));
+	}
+	
+	/**
+	 * Build a email.
+	 *
+	 * @param session   The session to use.
+	 * @param emailFrom The email of the sender.
+	 * @param fromName  The name of the sender.
+	 * @param to        The mail of the recipient.
+	 * @param object    The object of the mail.
+	 * @param body      The body of the mail.
+	 *
+	 * @return The message.
+	 *
+	 * @throws MessagingException           From javax mail.
+	 * @throws UnsupportedEncodingException From javax mail.
+	 */
+	public static MimeMessage buildMessage(Session session, String emailFrom, String fromName, String to, String object, String body) throws UnsupportedEncodingException, MessagingException
 	{
 		MimeMessage message = new MimeMessage(session);
 		message.setFrom(new InternetAddress(emailFrom, fromName));
 		message.addRecipient(Message.RecipientType.TO, new InternetAddress(to));
 		message.setSubject(object);
 		message.setText(body);
-		Transport.send(message);
+		return message;
 	}
 }
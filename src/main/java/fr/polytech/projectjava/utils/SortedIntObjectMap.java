@@ -0,0 +1,216 @@
+package fr.polytech.projectjava.utils;
+
+import java.util.Arrays;
+
+/**
+ * A map with int keys kept sorted, without boxing them.
+ * <p>
+ * The keys and values are stored in two arrays sorted by key, so lookups are binary searches and entries can be walked in order by their index.
+ * Adding a key greater than every other one, the usual case for dates, is done in constant time. Other insertions and removals move the following entries.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @param <V> The type of the values.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class SortedIntObjectMap<V>
+{
+	private int[] keys;
+	private Object[] values;
+	private int size = 0;
+	
+	/**
+	 * Constructor.
+	 */
+	public SortedIntObjectMap()
+	{
+		this(8);
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param expectedSize The number of entries expected, to avoid resizing.
+	 */
+	public SortedIntObjectMap(int expectedSize)
+	{
+		keys = new int[Math.max(1, expectedSize)];
+		values = new Object[keys.length];
+	}
+	
+	/**
+	 * Get the value associated to a key.
+	 *
+	 * @param key The key.
+	 *
+	 * @return The value, null if the key isn't in the map.
+	 */
+	public V get(int key)
+	{
+		int index = indexOf(key);
+		return index < 0 ? null : valueAt(index);
+	}
+	
+	/**
+	 * Tell if a key is in the map.
+	 *
+	 * @param key The key.
+	 *
+	 * @return True if present, false else.
+	 */
+	public boolean containsKey(int key)
+	{
+		return indexOf(key) >= 0;
+	}
+	
+	/**
+	 * Associate a value to a key, replacing the previous one.
+	 *
+	 * @param key   The key.
+	 * @param value The value.
+	 *
+	 * @return The previous value, null if there was none.
+	 */
+	public V put(int key, V value)
+	{
+		int index = size == 0 || key > keys[size - 1] ? -size - 1 : indexOf(key); //Appending is the most common case
+		if(index >= 0)
+		{
+			V previous = valueAt(index);
+			values[index] = value;
+			return previous;
+		}
+		index = -index - 1;
+		if(size == keys.length)
+		{
+			keys = Arrays.copyOf(keys, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		keys[index] = key;
+		values[index] = value;
+		size++;
+		return null;
+	}
+	
+	/**
+	 * Remove a key from the map.
+	 *
+	 * @param key The key to remove.
+	 *
+	 * @return The value that was associated to it, null if there was none.
+	 */
+	public V remove(int key)
+	{
+		int index = indexOf(key);
+		if(index < 0)
+			return null;
+		V previous = valueAt(index);
+		System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		values[--size] = null;
+		return previous;
+	}
+	
+	/**
+	 * Remove every entry.
+	 */
+	public void clear()
+	{
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+	}
+	
+	/**
+	 * Get the index of a key.
+	 *
+	 * @param key The key to look for.
+	 *
+	 * @return The index of the key if present, else (-(insertion point) - 1) like {@link Arrays#binarySearch(int[], int)}.
+	 */
+	public int indexOf(int key)
+	{
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+	
+	/**
+	 * Get the index of the first key greater than or equal to a key.
+	 *
+	 * @param key The key.
+	 *
+	 * @return The index, {@link #size()} if every key is lower.
+	 */
+	public int ceilingIndex(int key)
+	{
+		int index = indexOf(key);
+		return index >= 0 ? index : -index - 1;
+	}
+	
+	/**
+	 * Get the key at an index.
+	 *
+	 * @param index The index, between 0 and {@link #size()} excluded.
+	 *
+	 * @return The key.
+	 */
+	public int keyAt(int index)
+	{
+		return keys[index];
+	}
+	
+	/**
+	 * Get the value at an index.
+	 *
+	 * @param index The index, between 0 and {@link #size()} excluded.
+	 *
+	 * @return The value.
+	 */
+	@SuppressWarnings("unchecked")
+	public V valueAt(int index)
+	{
+		return (V) values[index];
+	}
+	
+	/**
+	 * Get the value of the lowest key.
+	 *
+	 * @return The value, null if the map is empty.
+	 */
+	public V first()
+	{
+		return size == 0 ? null : valueAt(0);
+	}
+	
+	/**
+	 * Get the value of the greatest key.
+	 *
+	 * @return The value, null if the map is empty.
+	 */
+	public V last()
+	{
+		return size == 0 ? null : valueAt(size - 1);
+	}
+	
+	/**
+	 * Get the number of entries.
+	 *
+	 * @return The size of the map.
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Tell if the map is empty.
+	 *
+	 * @return True if empty, false else.
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+}
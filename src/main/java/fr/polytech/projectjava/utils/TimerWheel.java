@@ -0,0 +1,207 @@
+package fr.polytech.projectjava.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hashed timer wheel, holding values until their deadline.
+ * <p>
+ * Time is cut in ticks, and each timer is put in the slot of its tick modulo the number of slots.
+ * Advancing the wheel only looks at the slots of the ticks elapsed, so the work depends on the timers due and not on all the timers held.
+ * Timers are cancelled in constant time.
+ * <p>
+ * The wheel isn't thread safe, it's meant to be used from a single thread.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @param <T> The type of the values.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class TimerWheel<T>
+{
+	private final Timer<T>[] slots;
+	private final long tickDuration;
+	private long currentTick;
+	private int size;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param slotCount    The number of slots.
+	 * @param tickDuration The duration of a tick, in the unit of the times given.
+	 * @param now          The current time.
+	 *
+	 * @throws IllegalArgumentException If there's no slot or the tick duration isn't positive.
+	 */
+	@SuppressWarnings("unchecked")
+	public TimerWheel(int slotCount, long tickDuration, long now) throws IllegalArgumentException
+	{
+		if(slotCount <= 0 || tickDuration <= 0)
+			throw new IllegalArgumentException("The wheel needs slots and a positive tick duration");
+		slots = new Timer[slotCount];
+		this.tickDuration = tickDuration;
+		currentTick = now / tickDuration;
+	}
+	
+	/**
+	 * Add a timer.
+	 * A deadline already passed expires on the next advance.
+	 *
+	 * @param deadline The time when the timer expires.
+	 * @param value    The value given back when it expires.
+	 *
+	 * @return The timer.
+	 */
+	public Timer<T> schedule(long deadline, T value)
+	{
+		Timer<T> timer = new Timer<>(this, Math.max(deadline / tickDuration, currentTick + 1), value);
+		int slot = (int) (timer.tick % slots.length);
+		timer.next = slots[slot];
+		if(timer.next != null)
+			timer.next.previous = timer;
+		slots[slot] = timer;
+		size++;
+		return timer;
+	}
+	
+	/**
+	 * Advance the wheel to the current time and expire the timers due.
+	 *
+	 * @param now      The current time.
+	 * @param consumer Called with the value of each timer expired, after they were all removed from the wheel.
+	 *
+	 * @return The number of timers expired.
+	 */
+	public int advance(long now, Consumer<T> consumer)
+	{
+		long target = now / tickDuration;
+		if(target <= currentTick)
+			return 0;
+		List<Timer<T>> expired = new ArrayList<>();
+		for(long tick = Math.max(currentTick + 1, target - slots.length + 1); tick <= target; tick++) //Each slot is seen at most once
+		{
+			Timer<T> timer = slots[(int) (tick % slots.length)];
+			while(timer != null)
+			{
+				Timer<T> next = timer.next;
+				if(timer.tick <= target)
+				{
+					unlink(timer);
+					expired.add(timer);
+				}
+				timer = next;
+			}
+		}
+		currentTick = target;
+		for(Timer<T> timer : expired)
+			consumer.accept(timer.value);
+		return expired.size();
+	}
+	
+	/**
+	 * Remove all the timers.
+	 */
+	public void clear()
+	{
+		for(int i = 0; i < slots.length; i++)
+		{
+			for(Timer<T> timer = slots[i]; timer != null; timer = timer.next)
+				timer.wheel = null;
+			slots[i] = null;
+		}
+		size = 0;
+	}
+	
+	/**
+	 * Get the number of timers waiting.
+	 *
+	 * @return The timer count.
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Remove a timer from its slot.
+	 *
+	 * @param timer The timer to remove.
+	 */
+	private void unlink(Timer<T> timer)
+	{
+		if(timer.previous != null)
+			timer.previous.next = timer.next;
+		else
+			slots[(int) (timer.tick % slots.length)] = timer.next;
+		if(timer.next != null)
+			timer.next.previous = timer.previous;
+		timer.previous = null;
+		timer.next = null;
+		timer.wheel = null;
+		size--;
+	}
+	
+	/**
+	 * A timer of a wheel.
+	 *
+	 * @param <T> The type of the value.
+	 */
+	public static class Timer<T>
+	{
+		private final long tick;
+		private final T value;
+		private TimerWheel<T> wheel;
+		private Timer<T> previous;
+		private Timer<T> next;
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param wheel The wheel holding the timer.
+		 * @param tick  The tick when the timer expires.
+		 * @param value The value of the timer.
+		 */
+		private Timer(TimerWheel<T> wheel, long tick, T value)
+		{
+			this.wheel = wheel;
+			this.tick = tick;
+			this.value = value;
+		}
+		
+		/**
+		 * Cancel the timer.
+		 *
+		 * @return True if it was cancelled, false if it already expired or was cancelled.
+		 */
+		public boolean cancel()
+		{
+			if(wheel == null)
+				return false;
+			wheel.unlink(this);
+			return true;
+		}
+		
+		/**
+		 * Tell if the timer is still waiting.
+		 *
+		 * @return True if waiting, false if it expired or was cancelled.
+		 */
+		public boolean isPending()
+		{
+			return wheel != null;
+		}
+		
+		/**
+		 * Get the value of the timer.
+		 *
+		 * @return The value.
+		 */
+		public T getValue()
+		{
+			return value;
+		}
+	}
+}
@@ -1,11 +1,21 @@
 package fr.polytech.projectjava.utils.jfx;
 
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 import java.time.LocalTime;
 
 /**
  * Property for a rounded time property.
  * <p>
+ * The times are rounded with the {@link TimeRounding} of the settings ("timeRoundingStep" and "timeRoundingMode").
+ * The rounding is done once on each write, and the raw and rounded times are kept as second and minute of the day, so reading doesn't round again.
+ * When the rounding changes, every property rounds its time again and notifies its listeners.
+ * <p>
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 25/05/2017.
  *
  * @author Thomas Couchoud
@@ -13,6 +23,12 @@ import java.time.LocalTime;
  */
 public class RoundedLocalTimeProperty extends SimpleObjectProperty<LocalTime>
 {
+	private static final int NONE = -1;
+	private static volatile TimeRounding rounding = loadRounding();
+	private static final ReadOnlyObjectWrapper<TimeRounding> roundingProperty = new ReadOnlyObjectWrapper<>(rounding);
+	private final ChangeListener<TimeRounding> roundingListener = (observable, oldValue, newValue) -> roundAgain(newValue);
+	private int realSecond;
+	private int roundedMinute;
 	
 	/**
 	 * Constructor.
@@ -30,16 +46,72 @@ public class RoundedLocalTimeProperty extends SimpleObjectProperty<LocalTime>
 	public RoundedLocalTimeProperty(LocalTime localTime)
 	{
 		super(localTime);
+		realSecond = localTime == null ? NONE : localTime.toSecondOfDay();
+		roundedMinute = round(rounding, realSecond);
+		roundingProperty.addListener(new WeakChangeListener<>(roundingListener));
+	}
+	
+	@Override
+	public void set(LocalTime newValue)
+	{
+		realSecond = newValue == null ? NONE : newValue.toSecondOfDay(); //Rounded before the listeners are told
+		roundedMinute = round(rounding, realSecond);
+		super.set(newValue);
 	}
 	
 	@Override
 	public LocalTime get()
 	{
-		return roundTime(super.get());
+		super.get(); //Validates the property, else the next writes wouldn't be notified
+		return roundedMinute == NONE ? null : TimeRounding.ofMinuteOfDay(roundedMinute);
+	}
+	
+	/**
+	 * Round the time again after the rounding changed, notifying the listeners.
+	 *
+	 * @param rounding The new rounding.
+	 */
+	private void roundAgain(TimeRounding rounding)
+	{
+		roundedMinute = round(rounding, realSecond);
+		fireValueChangedEvent();
+	}
+	
+	/**
+	 * Round a time.
+	 *
+	 * @param rounding    The rounding to use.
+	 * @param secondOfDay The second of the day of the time, -1 if there's no time.
+	 *
+	 * @return The minute of the day of the rounded time, -1 if there's no time.
+	 */
+	private static int round(TimeRounding rounding, int secondOfDay)
+	{
+		return secondOfDay == NONE ? NONE : rounding.round(secondOfDay);
+	}
+	
+	/**
+	 * Get the rounded time.
+	 *
+	 * @return The minute of the day, -1 if there's no time.
+	 */
+	public int getMinuteOfDay()
+	{
+		return roundedMinute;
 	}
 	
 	/**
-	 * Round a time to the closest quarter of time.
+	 * Get the not rounded time.
+	 *
+	 * @return The second of the day, -1 if there's no time.
+	 */
+	public int getRealSecondOfDay()
+	{
+		return realSecond;
+	}
+	
+	/**
+	 * Round a time with the current rounding.
 	 *
 	 * @param time The time to round.
 	 *
@@ -47,10 +119,74 @@ public class RoundedLocalTimeProperty extends SimpleObjectProperty<LocalTime>
 	 */
 	public static LocalTime roundTime(LocalTime time)
 	{
-		if(time == null)
-			return null;
-		int minutes = 15 * (time.getMinute() / 15) + ((time.getMinute() % 15) <= 7 ? 0 : 15); //Compute the rounded minutes
-		return LocalTime.of(time.getHour() + minutes / 60, minutes % 60);
+		return rounding.round(time);
+	}
+	
+	/**
+	 * Round a time with the current rounding.
+	 *
+	 * @param secondOfDay The second of the day of the time to round.
+	 *
+	 * @return The rounded time.
+	 */
+	public static LocalTime roundTime(int secondOfDay)
+	{
+		return TimeRounding.ofMinuteOfDay(rounding.round(secondOfDay));
+	}
+	
+	/**
+	 * Get the rounding used.
+	 *
+	 * @return The rounding.
+	 */
+	public static TimeRounding getRounding()
+	{
+		return rounding;
+	}
+	
+	/**
+	 * Get the rounding property, changed by {@link #setRounding(TimeRounding)}.
+	 *
+	 * @return The rounding property.
+	 */
+	public static ReadOnlyObjectProperty<TimeRounding> roundingProperty()
+	{
+		return roundingProperty.getReadOnlyProperty();
+	}
+	
+	/**
+	 * Set the rounding to use.
+	 * The properties and the check stores round their times again right away, so this must be called from the JavaFX thread once the model is shown.
+	 * The times already rounded elsewhere, like in a schedule, are kept.
+	 *
+	 * @param rounding The rounding.
+	 *
+	 * @throws IllegalArgumentException If the rounding is null.
+	 */
+	public static void setRounding(TimeRounding rounding) throws IllegalArgumentException
+	{
+		if(rounding == null)
+			throw new IllegalArgumentException("Rounding cannot be null");
+		RoundedLocalTimeProperty.rounding = rounding;
+		roundingProperty.set(rounding);
+	}
+	
+	/**
+	 * Read the rounding from the settings.
+	 *
+	 * @return The rounding of the settings, or {@link TimeRounding#QUARTER} if they don't define a valid one.
+	 */
+	private static TimeRounding loadRounding()
+	{
+		try
+		{
+			return new TimeRounding(Configuration.getInt("timeRoundingStep"), TimeRounding.Mode.valueOf(Configuration.getString("timeRoundingMode").toUpperCase()));
+		}
+		catch(RuntimeException e)
+		{
+			Log.warning("No valid time rounding in the settings, rounding to the quarter");
+			return TimeRounding.QUARTER;
+		}
 	}
 	
 	/**
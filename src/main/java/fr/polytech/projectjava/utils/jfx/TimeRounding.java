@@ -0,0 +1,125 @@
+package fr.polytech.projectjava.utils.jfx;
+
+import java.time.LocalTime;
+
+/**
+ * A way to round times, to a step of some minutes.
+ * <p>
+ * The rounding only looks at the minute of the day, the seconds are ignored.
+ * Rounded times are taken from a table of every minute of the day, so rounding doesn't create any {@link LocalTime}.
+ * A time that would be rounded to midnight of the next day is rounded to the last step of the day instead.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public final class TimeRounding
+{
+	private static final int MINUTES_IN_DAY = 24 * 60;
+	private static final LocalTime[] TIMES = new LocalTime[MINUTES_IN_DAY];
+	public static final TimeRounding QUARTER = new TimeRounding(15, Mode.NEAREST);
+	private final int step;
+	private final Mode mode;
+	
+	/**
+	 * How a time between two steps is rounded.
+	 */
+	public enum Mode
+	{
+		FLOOR, CEIL, NEAREST
+	}
+	
+	static
+	{
+		for(int minute = 0; minute < MINUTES_IN_DAY; minute++)
+			TIMES[minute] = LocalTime.of(minute / 60, minute % 60);
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param step The step in minutes, like 5, 10, 15 or 30.
+	 * @param mode The way to round.
+	 *
+	 * @throws IllegalArgumentException If the step doesn't divide an hour or the mode is null.
+	 */
+	public TimeRounding(int step, Mode mode) throws IllegalArgumentException
+	{
+		if(step <= 0 || 60 % step != 0)
+			throw new IllegalArgumentException("The step must divide an hour");
+		if(mode == null)
+			throw new IllegalArgumentException("Mode cannot be null");
+		this.step = step;
+		this.mode = mode;
+	}
+	
+	/**
+	 * Round a time.
+	 *
+	 * @param secondOfDay The second of the day of the time.
+	 *
+	 * @return The minute of the day of the rounded time.
+	 */
+	public int round(int secondOfDay)
+	{
+		int minute = secondOfDay / 60;
+		int remainder = minute % step;
+		if(remainder == 0)
+			return minute;
+		int rounded = minute - remainder;
+		if(mode == Mode.CEIL || (mode == Mode.NEAREST && remainder > (step - 1) / 2))
+			rounded += step;
+		return Math.min(rounded, MINUTES_IN_DAY - step);
+	}
+	
+	/**
+	 * Round a time.
+	 *
+	 * @param time The time to round.
+	 *
+	 * @return The rounded time, null if the time is null.
+	 */
+	public LocalTime round(LocalTime time)
+	{
+		return time == null ? null : ofMinuteOfDay(round(time.toSecondOfDay()));
+	}
+	
+	/**
+	 * Get the time of a minute of the day.
+	 *
+	 * @param minuteOfDay The minute of the day.
+	 *
+	 * @return The time, shared by every caller.
+	 */
+	public static LocalTime ofMinuteOfDay(int minuteOfDay)
+	{
+		return TIMES[minuteOfDay];
+	}
+	
+	/**
+	 * Get the step.
+	 *
+	 * @return The step in minutes.
+	 */
+	public int getStep()
+	{
+		return step;
+	}
+	
+	/**
+	 * Get the mode.
+	 *
+	 * @return The way to round.
+	 */
+	public Mode getMode()
+	{
+		return mode;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return mode.name().toLowerCase() + " " + step + " minutes";
+	}
+}
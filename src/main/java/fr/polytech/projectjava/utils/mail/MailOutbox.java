@@ -0,0 +1,420 @@
+package fr.polytech.projectjava.utils.mail;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mails waiting to be sent by a dispatcher thread.
+ * <p>
+ * Enqueuing a mail doesn't wait for the server. The mails to a recipient enqueued within a window ("mailDigestWindow" in milliseconds) are merged into a single digest.
+ * The dispatcher sends all the mails due in one batch, through a single connection of the transport.
+ * A mail that failed is sent again later, waiting twice longer after each failure ("mailRetryDelay" up to "mailMaxRetryDelay"), as is and apart from the mails enqueued meanwhile.
+ * It's dropped after too many attempts ("mailMaxAttempts"), or right away if the server refused it for good, as when an address is invalid.
+ * The mails not sent yet are saved in a file ("mailOutboxFile") when the outbox stops or a batch fails, and loaded back by the next outbox to be sent right away.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class MailOutbox implements Runnable
+{
+	private static MailOutbox defaultOutbox;
+	private final MailTransport transport;
+	private final long window;
+	private final long retryDelay;
+	private final long maxRetryDelay;
+	private final int maxAttempts;
+	private final File saveFile;
+	private final Map<String, Mail> pending;
+	private final List<Mail> retrying;
+	private final List<Mail> sending;
+	private volatile boolean stop = false;
+	private Thread thread;
+	private int sentCount;
+	private int droppedCount;
+	
+	/**
+	 * Constructor.
+	 * The mails are sent through SMTP, with the delays and the file from the configuration.
+	 */
+	public MailOutbox()
+	{
+		this(new SmtpMailTransport(), Configuration.getInt("mailDigestWindow"), Configuration.getInt("mailRetryDelay"), Configuration.getInt("mailMaxRetryDelay"), Configuration.getInt("mailMaxAttempts"), new File(Configuration.getString("mailOutboxFile")));
+	}
+	
+	/**
+	 * Constructor.
+	 * The mails saved in the file are loaded.
+	 *
+	 * @param transport     The transport sending the mails.
+	 * @param window        The time in milliseconds during which the mails to a recipient are merged.
+	 * @param retryDelay    The time in milliseconds to wait after the first failure.
+	 * @param maxRetryDelay The maximum time in milliseconds to wait after a failure.
+	 * @param maxAttempts   The number of times a mail is tried before being dropped.
+	 * @param saveFile      The file where the mails not sent are saved, null to not save them.
+	 */
+	public MailOutbox(MailTransport transport, long window, long retryDelay, long maxRetryDelay, int maxAttempts, File saveFile)
+	{
+		this.transport = transport;
+		this.window = Math.max(0, window);
+		this.retryDelay = Math.max(1, retryDelay);
+		this.maxRetryDelay = Math.max(this.retryDelay, maxRetryDelay);
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.saveFile = saveFile;
+		pending = new LinkedHashMap<>();
+		retrying = new ArrayList<>();
+		sending = new ArrayList<>();
+		load();
+	}
+	
+	/**
+	 * Get the outbox used by the application, started on the first call.
+	 *
+	 * @return The outbox.
+	 */
+	public static synchronized MailOutbox getDefault()
+	{
+		if(defaultOutbox == null)
+		{
+			defaultOutbox = new MailOutbox();
+			Thread thread = new Thread(defaultOutbox, "Mail outbox");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		return defaultOutbox;
+	}
+	
+	/**
+	 * Stop the outbox used by the application, if it was started.
+	 */
+	public static synchronized void stopDefault()
+	{
+		if(defaultOutbox != null)
+			defaultOutbox.stop();
+		defaultOutbox = null;
+	}
+	
+	/**
+	 * Add a mail to send, without waiting for it to be sent.
+	 *
+	 * @param to     The mail of the recipient.
+	 * @param object The object of the mail.
+	 * @param body   The body of the mail.
+	 */
+	public synchronized void enqueue(String to, String object, String body)
+	{
+		Mail mail = pending.get(to);
+		if(mail == null)
+			pending.put(to, mail = new Mail(to, System.currentTimeMillis() + window));
+		mail.add(object, body);
+		notifyAll();
+	}
+	
+	@Override
+	public void run()
+	{
+		thread = Thread.currentThread();
+		Log.info("Starting mail outbox");
+		while(!stop)
+		{
+			try
+			{
+				dispatch(takeDue());
+			}
+			catch(InterruptedException ignored)
+			{
+			}
+		}
+		Log.info("Mail outbox stopped");
+	}
+	
+	/**
+	 * Wait for mails to be due and take them.
+	 *
+	 * @return The mails due.
+	 *
+	 * @throws InterruptedException If the wait was interrupted.
+	 */
+	private synchronized List<Mail> takeDue() throws InterruptedException
+	{
+		while(true)
+		{
+			long now = System.currentTimeMillis();
+			long next = Long.MAX_VALUE;
+			for(Mail mail : retrying)
+				if(mail.dueTime <= now)
+					sending.add(mail);
+				else
+					next = Math.min(next, mail.dueTime);
+			retrying.removeAll(sending);
+			for(Mail mail : pending.values())
+				if(mail.dueTime <= now)
+					sending.add(mail);
+				else
+					next = Math.min(next, mail.dueTime);
+			if(!sending.isEmpty())
+			{
+				pending.values().removeAll(sending);
+				return new ArrayList<>(sending);
+			}
+			if(next == Long.MAX_VALUE)
+				wait();
+			else
+				wait(next - now);
+		}
+	}
+	
+	/**
+	 * Send a batch of mails through a single connection.
+	 * Each mail is marked as done as soon as it's delivered or refused, so it isn't saved to be sent again if the outbox stops meanwhile.
+	 * An unexpected error of the transport is handled like a failure to send, so the dispatcher keeps running and the mails are sent again.
+	 *
+	 * @param batch The mails to send.
+	 */
+	private void dispatch(List<Mail> batch)
+	{
+		List<Mail> failed = new ArrayList<>();
+		int refused = 0;
+		int abandoned = 0;
+		try
+		{
+			transport.open();
+			for(Mail mail : batch)
+				try
+				{
+					transport.send(mail.to, mail.getObject(), mail.getBody());
+					done(mail, true);
+				}
+				catch(SendFailedException e) //Refused by the server, it would be refused again
+				{
+					Log.error("Mail to " + mail.to + " refused, dropping it", e);
+					done(mail, false);
+					refused++;
+				}
+				catch(MessagingException | RuntimeException e)
+				{
+					Log.warning("Failed to send mail to " + mail.to, e);
+					failed.add(mail);
+				}
+		}
+		catch(MessagingException | RuntimeException e)
+		{
+			Log.warning("Failed to connect to the mail server", e);
+			failed.addAll(batch);
+		}
+		finally
+		{
+			try
+			{
+				transport.close();
+			}
+			catch(RuntimeException e)
+			{
+				Log.warning("Failed to close the mail connection", e);
+			}
+		}
+		synchronized(this)
+		{
+			sending.clear();
+			for(Mail mail : failed)
+			{
+				mail.attempts++;
+				if(mail.attempts >= maxAttempts)
+				{
+					Log.error("Failed to send mail to " + mail.to + " " + mail.attempts + " times, dropping it");
+					droppedCount++;
+					abandoned++;
+				}
+				else
+				{
+					mail.dueTime = System.currentTimeMillis() + Math.min(retryDelay << Math.min(mail.attempts - 1, 30), maxRetryDelay);
+					retrying.add(mail);
+				}
+			}
+			if(!failed.isEmpty() || saveFile != null && saveFile.exists())
+				save();
+		}
+		Log.info("Sent " + (batch.size() - failed.size() - refused) + " mails, " + (failed.size() - abandoned) + " will be sent again, " + (refused + abandoned) + " dropped");
+	}
+	
+	/**
+	 * Mark a mail of the batch being sent as done.
+	 *
+	 * @param mail The mail.
+	 * @param sent True if delivered, false if dropped.
+	 */
+	private synchronized void done(Mail mail, boolean sent)
+	{
+		sending.remove(mail);
+		if(sent)
+			sentCount++;
+		else
+			droppedCount++;
+	}
+	
+	/**
+	 * Stop the dispatcher thread and save the mails not sent yet.
+	 */
+	public void stop()
+	{
+		stop = true;
+		if(thread != null)
+			thread.interrupt();
+		synchronized(this)
+		{
+			save();
+		}
+	}
+	
+	/**
+	 * Save the mails not sent, including the ones being sent and not delivered yet, in the file. The file is deleted if there's none.
+	 */
+	private void save()
+	{
+		if(saveFile == null)
+			return;
+		ArrayList<Mail> mails = new ArrayList<>(sending);
+		mails.addAll(retrying);
+		mails.addAll(pending.values());
+		if(mails.isEmpty())
+		{
+			if(saveFile.exists() && !saveFile.delete())
+				Log.warning("Failed to delete mail outbox file " + saveFile);
+			return;
+		}
+		try(ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(saveFile)))
+		{
+			oos.writeObject(mails);
+		}
+		catch(IOException e)
+		{
+			Log.error("Failed to save the mail outbox", e);
+		}
+	}
+	
+	/**
+	 * Load the mails saved in the file, to send them as soon as the dispatcher starts.
+	 */
+	@SuppressWarnings("unchecked")
+	private void load()
+	{
+		if(saveFile == null || !saveFile.exists())
+			return;
+		try(ObjectInputStream ois = new ObjectInputStream(new FileInputStream(saveFile)))
+		{
+			for(Mail mail : (Collection<Mail>) ois.readObject())
+			{
+				mail.dueTime = System.currentTimeMillis(); //Try again right away
+				retrying.add(mail);
+			}
+			Log.info("Loaded " + retrying.size() + " mails not sent");
+		}
+		catch(IOException | ClassNotFoundException e)
+		{
+			Log.error("Failed to load the mail outbox", e);
+		}
+	}
+	
+	/**
+	 * Get the number of mails waiting to be sent, digests counting as one mail.
+	 *
+	 * @return The pending mail count.
+	 */
+	public synchronized int getPendingCount()
+	{
+		return pending.size() + retrying.size() + sending.size();
+	}
+	
+	/**
+	 * Get the number of mails sent, digests counting as one mail.
+	 *
+	 * @return The sent mail count.
+	 */
+	public synchronized int getSentCount()
+	{
+		return sentCount;
+	}
+	
+	/**
+	 * Get the number of mails dropped, refused by the server or failed too many times.
+	 *
+	 * @return The dropped mail count.
+	 */
+	public synchronized int getDroppedCount()
+	{
+		return droppedCount;
+	}
+	
+	/**
+	 * A mail to a recipient, holding every message enqueued for him/her.
+	 */
+	private static class Mail implements Serializable
+	{
+		private static final long serialVersionUID = -4385910255287613042L;
+		private final String to;
+		private final List<String> objects;
+		private final List<String> bodies;
+		private long dueTime;
+		private int attempts;
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param to      The mail of the recipient.
+		 * @param dueTime The time when the mail should be sent.
+		 */
+		Mail(String to, long dueTime)
+		{
+			this.to = to;
+			this.dueTime = dueTime;
+			objects = new ArrayList<>();
+			bodies = new ArrayList<>();
+		}
+		
+		/**
+		 * Add a message.
+		 *
+		 * @param object The object of the message.
+		 * @param body   The body of the message.
+		 */
+		void add(String object, String body)
+		{
+			objects.add(object);
+			bodies.add(body);
+		}
+		
+		/**
+		 * Get the object of the mail.
+		 *
+		 * @return The object of the message, or of the first one for a digest.
+		 */
+		String getObject()
+		{
+			return objects.size() == 1 ? objects.get(0) : objects.get(0) + " (and " + (objects.size() - 1) + " more)";
+		}
+		
+		/**
+		 * Get the body of the mail.
+		 *
+		 * @return The body of the message, or all the messages for a digest.
+		 */
+		String getBody()
+		{
+			if(objects.size() == 1)
+				return bodies.get(0);
+			StringBuilder builder = new StringBuilder();
+			for(int i = 0; i < objects.size(); i++)
+				builder.append(objects.get(i)).append("\n").append(bodies.get(i)).append("\n\n");
+			return builder.toString();
+		}
+	}
+}
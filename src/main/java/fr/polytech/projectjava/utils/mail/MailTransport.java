@@ -0,0 +1,37 @@
+package fr.polytech.projectjava.utils.mail;
+
+import javax.mail.MessagingException;
+
+/**
+ * A connection sending mails, opened once for a batch of mails.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public interface MailTransport
+{
+	/**
+	 * Open the connection, if not already opened.
+	 *
+	 * @throws MessagingException If the connection failed.
+	 */
+	void open() throws MessagingException;
+	
+	/**
+	 * Send a mail through the opened connection.
+	 *
+	 * @param to     The mail of the recipient.
+	 * @param object  The object of the mail.
+	 * @param body    The body of the mail.
+	 *
+	 * @throws MessagingException If the mail couldn't be sent.
+	 */
+	void send(String to, String object, String body) throws MessagingException;
+	
+	/**
+	 * Close the connection.
+	 */
+	void close();
+}
@@ -0,0 +1,92 @@
+package fr.polytech.projectjava.utils.mail;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.MailUtils;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Send mails through a SMTP server, keeping the same session and connection for all the mails of a batch.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class SmtpMailTransport implements MailTransport
+{
+	private final Session session;
+	private final String emailFrom;
+	private final String fromName;
+	private Transport transport;
+	
+	/**
+	 * Constructor.
+	 * The server and the sender are taken from the configuration.
+	 */
+	public SmtpMailTransport()
+	{
+		this(MailUtils.buildSession(), Configuration.getString("smtpFrom"), "ManagementApplication");
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param session   The session to use, defining the server.
+	 * @param emailFrom The email of the sender.
+	 * @param fromName  The name of the sender.
+	 */
+	public SmtpMailTransport(Session session, String emailFrom, String fromName)
+	{
+		this.session = session;
+		this.emailFrom = emailFrom;
+		this.fromName = fromName;
+	}
+	
+	@Override
+	public void open() throws MessagingException
+	{
+		if(transport != null && transport.isConnected())
+			return;
+		close();
+		transport = session.getTransport("smtp");
+		transport.connect();
+	}
+	
+	@Override
+	public void send(String to, String object, String body) throws MessagingException
+	{
+		if(transport == null)
+			throw new MessagingException("Transport not opened");
+		try
+		{
+			MimeMessage message = MailUtils.buildMessage(session, emailFrom, fromName, to, object, body);
+			message.saveChanges();
+			transport.sendMessage(message, message.getAllRecipients());
+		}
+		catch(UnsupportedEncodingException e)
+		{
+			throw new MessagingException("Invalid sender name", e);
+		}
+	}
+	
+	@Override
+	public void close()
+	{
+		if(transport == null)
+			return;
+		try
+		{
+			transport.close();
+		}
+		catch(MessagingException e)
+		{
+			Log.warning("Failed to close the mail connection", e);
+		}
+		transport = null;
+	}
+}
@@ -0,0 +1,76 @@
+package fr.polytech.projectjava.utils.socket;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of the checks exchanged between the terminals and the server.
+ * A check is made of the employee ID (int), the type of the check (byte) and its date as the number of seconds since the epoch (long), taken as is without any time zone.
+ * <p>
+ * This encoding is used once both sides agreed on a protocol version of at least {@link #BINARY_VERSION}. Before that, checks are sent as text.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public final class CheckCodec
+{
+	public static final int TEXT_VERSION = 1;
+	public static final int BINARY_VERSION = 2;
+	public static final int VERSION = BINARY_VERSION;
+	public static final int RECORD_SIZE = 4 + 1 + 8;
+	public static final byte TYPE_IN = 0;
+	public static final byte TYPE_OUT = 1;
+	
+	/**
+	 * Constructor.
+	 */
+	private CheckCodec()
+	{
+	}
+	
+	/**
+	 * Write a check.
+	 *
+	 * @param buffer     The buffer to write into, it must have at least {@link #RECORD_SIZE} bytes remaining.
+	 * @param employeeID The employee ID.
+	 * @param type       The type of the check ({@link #TYPE_IN} or {@link #TYPE_OUT}).
+	 * @param date       The date of the check.
+	 */
+	public static void write(ByteBuffer buffer, int employeeID, byte type, LocalDateTime date)
+	{
+		buffer.putInt(employeeID);
+		buffer.put(type);
+		buffer.putLong(date.toEpochSecond(ZoneOffset.UTC));
+	}
+	
+	/**
+	 * Encode a single check.
+	 *
+	 * @param employeeID The employee ID.
+	 * @param type       The type of the check ({@link #TYPE_IN} or {@link #TYPE_OUT}).
+	 * @param date       The date of the check.
+	 *
+	 * @return The encoded check.
+	 */
+	public static byte[] encode(int employeeID, byte type, LocalDateTime date)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+		write(buffer, employeeID, type, date);
+		return buffer.array();
+	}
+	
+	/**
+	 * Convert an encoded date back to a date.
+	 *
+	 * @param epochSecond The encoded date.
+	 *
+	 * @return The date.
+	 */
+	public static LocalDateTime toDate(long epochSecond)
+	{
+		return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+	}
+}
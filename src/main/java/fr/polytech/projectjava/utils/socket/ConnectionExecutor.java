@@ -0,0 +1,296 @@
+package fr.polytech.projectjava.utils.socket;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Run the connections accepted by a {@link ServerSocketBase}.
+ * <p>
+ * Several strategies are available:
+ * <ul>
+ * <li>{@link Mode#THREAD}: a thread for each connection, idle threads being reused.</li>
+ * <li>{@link Mode#POOL}: a bounded pool of threads with a bounded queue, connections being rejected when both are full.</li>
+ * <li>{@link Mode#VIRTUAL}: a virtual thread for each connection, up to a maximum number of connections. It needs a runtime supporting virtual threads, else a thread is used for each connection.</li>
+ * </ul>
+ * <p>
+ * The terminals keep their connection open, so a connection holds its thread for as long as the terminal runs.
+ * The maximum number of connections must then be at least the number of terminals, with some margin for those reconnecting.
+ * With the pool, only that many terminals are served at once: the others wait in the queue, and are closed if they waited longer than the queue timeout as their terminal gave up on them by then.
+ * The pool should only be used if the terminals disconnect between exchanges, or if the number of threads must be strictly bounded. Else the virtual mode, or the selector server, suits better.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class ConnectionExecutor
+{
+	private final String name;
+	private final Mode mode;
+	private final int maxConnections;
+	private final long queueTimeout;
+	private final ExecutorService executor;
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicLong rejected = new AtomicLong();
+	
+	/**
+	 * The ways to run the connections.
+	 */
+	public enum Mode
+	{
+		THREAD, POOL, VIRTUAL
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param name           The name used for the threads.
+	 * @param mode           The way to run the connections.
+	 * @param maxConnections The maximum number of connections handled at the same time, 0 for no limit (only for {@link Mode#THREAD} and {@link Mode#VIRTUAL}).
+	 * @param queueSize      The number of connections that can wait for a thread of the pool (only for {@link Mode#POOL}).
+	 *
+	 * @throws IllegalArgumentException If the pool has no thread.
+	 */
+	public ConnectionExecutor(String name, Mode mode, int maxConnections, int queueSize) throws IllegalArgumentException
+	{
+		this(name, mode, maxConnections, queueSize, 0);
+	}
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param name           The name used for the threads.
+	 * @param mode           The way to run the connections.
+	 * @param maxConnections The maximum number of connections handled at the same time, 0 for no limit (only for {@link Mode#THREAD} and {@link Mode#VIRTUAL}).
+	 * @param queueSize      The number of connections that can wait for a thread of the pool (only for {@link Mode#POOL}).
+	 * @param queueTimeout   The time in milliseconds a connection can wait for a thread before being closed, 0 for no limit.
+	 *
+	 * @throws IllegalArgumentException If the pool has no thread.
+	 */
+	public ConnectionExecutor(String name, Mode mode, int maxConnections, int queueSize, long queueTimeout) throws IllegalArgumentException
+	{
+		this.name = name;
+		this.queueTimeout = queueTimeout;
+		ExecutorService virtualExecutor = mode == Mode.VIRTUAL ? buildVirtualExecutor() : null;
+		if(mode == Mode.VIRTUAL && virtualExecutor == null)
+		{
+			Log.warning("Virtual threads aren't supported by this runtime, using a thread per connection for " + name);
+			mode = Mode.THREAD;
+		}
+		this.mode = mode;
+		this.maxConnections = maxConnections;
+		switch(mode)
+		{
+			case POOL:
+				if(maxConnections < 1)
+					throw new IllegalArgumentException("The pool needs at least one thread");
+				ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConnections, maxConnections, 60, TimeUnit.SECONDS, queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>(), new NamedThreadFactory(name));
+				pool.allowCoreThreadTimeOut(true);
+				executor = pool;
+				break;
+			case VIRTUAL:
+				executor = virtualExecutor;
+				break;
+			case THREAD:
+			default:
+				executor = Executors.newCachedThreadPool(new NamedThreadFactory(name));
+				break;
+		}
+	}
+	
+	/**
+	 * Build an executor from the configuration ("serverExecutor", "serverMaxConnections" and "serverConnectionQueue").
+	 * The connections can wait in the queue as long as a client can stay silent ("mainClientTimeout").
+	 *
+	 * @param name The name used for the threads.
+	 *
+	 * @return The executor.
+	 */
+	public static ConnectionExecutor fromConfiguration(String name)
+	{
+		return new ConnectionExecutor(name, Mode.valueOf(Configuration.getString("serverExecutor").toUpperCase()), Configuration.getInt("serverMaxConnections"), Configuration.getInt("serverConnectionQueue"), Configuration.getInt("mainClientTimeout"));
+	}
+	
+	/**
+	 * Build an executor starting a virtual thread per task.
+	 * Virtual threads are looked up at runtime as they don't exist in every supported Java version.
+	 *
+	 * @return The executor, null if virtual threads aren't available.
+	 */
+	private static ExecutorService buildVirtualExecutor()
+	{
+		try
+		{
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch(ReflectiveOperationException | RuntimeException e)
+		{
+			return null;
+		}
+	}
+	
+	/**
+	 * Run a connection.
+	 *
+	 * @param connection The connection to run.
+	 *
+	 * @return True if the connection will be ran, false if it was rejected.
+	 */
+	public boolean execute(Runnable connection)
+	{
+		return execute(connection, null);
+	}
+	
+	/**
+	 * Run a connection, closing it instead if it waited too long for a thread.
+	 *
+	 * @param connection The connection to run.
+	 * @param resource   What to close if the connection waited too long, null if nothing.
+	 *
+	 * @return True if the connection will be ran, false if it was rejected.
+	 */
+	public boolean execute(Runnable connection, Closeable resource)
+	{
+		if(maxConnections > 0 && mode != Mode.POOL && active.get() + queued.get() >= maxConnections)
+		{
+			rejected.incrementAndGet();
+			return false;
+		}
+		queued.incrementAndGet();
+		long submitted = System.currentTimeMillis();
+		try
+		{
+			executor.execute(() -> {
+				queued.decrementAndGet();
+				if(queueTimeout > 0 && System.currentTimeMillis() - submitted > queueTimeout)
+				{
+					expire(resource);
+					return;
+				}
+				active.incrementAndGet();
+				try
+				{
+					connection.run();
+				}
+				finally
+				{
+					active.decrementAndGet();
+				}
+			});
+			return true;
+		}
+		catch(RejectedExecutionException e)
+		{
+			queued.decrementAndGet();
+			rejected.incrementAndGet();
+			return false;
+		}
+	}
+	
+	/**
+	 * Drop a connection that waited too long for a thread.
+	 *
+	 * @param resource What to close, null if nothing.
+	 */
+	private void expire(Closeable resource)
+	{
+		rejected.incrementAndGet();
+		Log.warning("Connection waited too long in " + name + ", closing it");
+		if(resource != null)
+		{
+			try
+			{
+				resource.close();
+			}
+			catch(IOException e)
+			{
+				Log.warning("Error closing connection of " + name, e);
+			}
+		}
+	}
+	
+	/**
+	 * Stop accepting connections. Those already running are left to finish.
+	 */
+	public void shutdown()
+	{
+		executor.shutdown();
+	}
+	
+	/**
+	 * Get the mode really used.
+	 *
+	 * @return The mode.
+	 */
+	public Mode getMode()
+	{
+		return mode;
+	}
+	
+	/**
+	 * Get the number of connections being ran.
+	 *
+	 * @return The active connection count.
+	 */
+	public int getActiveCount()
+	{
+		return active.get();
+	}
+	
+	/**
+	 * Get the number of connections waiting to be ran.
+	 *
+	 * @return The queued connection count.
+	 */
+	public int getQueuedCount()
+	{
+		return queued.get();
+	}
+	
+	/**
+	 * Get the number of connections rejected since the start, including those that waited too long.
+	 *
+	 * @return The rejected connection count.
+	 */
+	public long getRejectedCount()
+	{
+		return rejected.get();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return name + " (" + mode + "): " + getActiveCount() + " active, " + getQueuedCount() + " queued, " + getRejectedCount() + " rejected";
+	}
+	
+	/**
+	 * Give names to the threads of the executor.
+	 */
+	private static class NamedThreadFactory implements ThreadFactory
+	{
+		private final String name;
+		private final AtomicInteger count = new AtomicInteger();
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param name The base name of the threads.
+		 */
+		NamedThreadFactory(String name)
+		{
+			this.name = name;
+		}
+		
+		@Override
+		public Thread newThread(Runnable runnable)
+		{
+			return new Thread(runnable, name + " " + count.incrementAndGet());
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package fr.polytech.projectjava.utils.socket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decode length prefixed frames out of a stream of bytes.
+ * A frame is made of its length on 4 bytes (big endian) followed by its content.
+ * <p>
+ * The read buffer is kept between reads and only grows when a frame doesn't fit in it, so one read can give several frames and a frame can be split over several reads.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class FrameReader
+{
+	public static final int HEADER_SIZE = 4;
+	private final int maxFrameSize;
+	private byte[] buffer;
+	private int start = 0;
+	private int end = 0;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param initialSize  The initial size of the read buffer.
+	 * @param maxFrameSize The maximum size of a frame content.
+	 */
+	public FrameReader(int initialSize, int maxFrameSize)
+	{
+		this.maxFrameSize = maxFrameSize;
+		buffer = new byte[Math.max(initialSize, HEADER_SIZE)];
+	}
+	
+	/**
+	 * Build the frame of some data.
+	 *
+	 * @param data The content of the frame.
+	 *
+	 * @return The frame, ready to be sent.
+	 */
+	public static byte[] encode(byte[] data)
+	{
+		byte[] frame = new byte[HEADER_SIZE + data.length];
+		writeHeader(frame, 0, data.length);
+		System.arraycopy(data, 0, frame, HEADER_SIZE, data.length);
+		return frame;
+	}
+	
+	/**
+	 * Write a frame header.
+	 *
+	 * @param destination The array to write into.
+	 * @param offset      The position of the header in the array.
+	 * @param length      The length of the frame content.
+	 */
+	public static void writeHeader(byte[] destination, int offset, int length)
+	{
+		destination[offset] = (byte) (length >>> 24);
+		destination[offset + 1] = (byte) (length >>> 16);
+		destination[offset + 2] = (byte) (length >>> 8);
+		destination[offset + 3] = (byte) length;
+	}
+	
+	/**
+	 * Read once from a stream into the buffer.
+	 *
+	 * @param in      The stream to read from.
+	 * @param maxRead The maximum number of bytes to read.
+	 *
+	 * @return The number of bytes read, -1 if the end of the stream is reached.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public int read(InputStream in, int maxRead) throws IOException
+	{
+		ensureCapacity(maxRead);
+		int read = in.read(buffer, end, Math.min(maxRead, buffer.length - end));
+		if(read > 0)
+			end += read;
+		return read;
+	}
+	
+	/**
+	 * Add data to the buffer.
+	 *
+	 * @param data The data to add. It will be fully consumed.
+	 */
+	public void feed(ByteBuffer data)
+	{
+		int length = data.remaining();
+		ensureCapacity(length);
+		data.get(buffer, end, length);
+		end += length;
+	}
+	
+	/**
+	 * Get the next complete frame.
+	 *
+	 * @return The content of the frame, null if no complete frame is available yet.
+	 *
+	 * @throws IOException If the size of the frame is invalid.
+	 */
+	public byte[] nextFrame() throws IOException
+	{
+		if(available() < HEADER_SIZE)
+			return null;
+		int length = ((buffer[start] & 0xFF) << 24) | ((buffer[start + 1] & 0xFF) << 16) | ((buffer[start + 2] & 0xFF) << 8) | (buffer[start + 3] & 0xFF);
+		if(length < 0 || length > maxFrameSize)
+			throw new IOException("Invalid frame size " + length);
+		if(available() < HEADER_SIZE + length)
+		{
+			ensureCapacity(HEADER_SIZE + length - available()); //Make room for the rest of the frame
+			return null;
+		}
+		byte[] frame = Arrays.copyOfRange(buffer, start + HEADER_SIZE, start + HEADER_SIZE + length);
+		start += HEADER_SIZE + length;
+		if(start == end) //Everything was consumed, restart from the beginning of the buffer
+			start = end = 0;
+		return frame;
+	}
+	
+	/**
+	 * Get every byte available as they are, without any framing.
+	 *
+	 * @return The bytes available, null if there's none.
+	 */
+	public byte[] drain()
+	{
+		if(available() == 0)
+			return null;
+		byte[] data = Arrays.copyOfRange(buffer, start, end);
+		start = end = 0;
+		return data;
+	}
+	
+	/**
+	 * Get the first available byte without consuming it.
+	 *
+	 * @return The byte, -1 if nothing is available.
+	 */
+	public int peek()
+	{
+		return available() == 0 ? -1 : buffer[start] & 0xFF;
+	}
+	
+	/**
+	 * Get the number of bytes in the buffer that weren't consumed.
+	 *
+	 * @return The available byte count.
+	 */
+	public int available()
+	{
+		return end - start;
+	}
+	
+	/**
+	 * Make sure some bytes can be added at the end of the buffer, compacting or growing it if needed.
+	 *
+	 * @param size The number of bytes that will be added.
+	 */
+	private void ensureCapacity(int size)
+	{
+		if(buffer.length - end >= size)
+			return;
+		if(start > 0) //Move the pending bytes at the beginning
+		{
+			System.arraycopy(buffer, start, buffer, 0, end - start);
+			end -= start;
+			start = 0;
+		}
+		if(buffer.length - end < size)
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, end + size));
+	}
+}
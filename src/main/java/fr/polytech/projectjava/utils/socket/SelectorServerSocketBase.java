@@ -0,0 +1,330 @@
+package fr.polytech.projectjava.utils.socket;
+
+import fr.polytech.projectjava.utils.Log;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Represent a non blocking TCP server.
+ * Every connection is handled by one of a fixed set of event loops, each one owning a {@link Selector}.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public abstract class SelectorServerSocketBase implements SocketServer
+{
+	private final ServerSocketChannel socket;
+	private final Selector acceptSelector;
+	private final EventLoop[] loops;
+	private final String name;
+	private volatile boolean stop = false;
+	private int timeout = 0;
+	private int clientTimeout = 0;
+	private int nextLoop = 0;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param name      The name of the socket.
+	 * @param address   The address to listen to.
+	 * @param loopCount The number of event loops handling the clients.
+	 *
+	 * @throws IOException              If an I/O error occurs when opening the socket.
+	 * @throws IllegalArgumentException If the number of loops is lower than 1.
+	 */
+	public SelectorServerSocketBase(String name, InetSocketAddress address, int loopCount) throws IOException, IllegalArgumentException
+	{
+		if(loopCount < 1)
+			throw new IllegalArgumentException("At least one event loop is needed");
+		this.name = name;
+		socket = ServerSocketChannel.open();
+		socket.configureBlocking(false);
+		socket.bind(address);
+		acceptSelector = Selector.open();
+		socket.register(acceptSelector, SelectionKey.OP_ACCEPT);
+		loops = new EventLoop[loopCount];
+		for(int i = 0; i < loopCount; i++)
+			loops[i] = new EventLoop(i);
+	}
+	
+	@Override
+	public void run()
+	{
+		Log.info("Starting server " + getName() + " with " + loops.length + " event loops");
+		for(EventLoop loop : loops)
+			new Thread(loop, getName() + " loop " + loop.index).start();
+		while(!stop)
+		{
+			try
+			{
+				if(acceptSelector.select(timeout) == 0)
+					continue;
+				acceptSelector.selectedKeys().clear();
+				SocketChannel channel;
+				while((channel = socket.accept()) != null) //Accept everything that is pending
+				{
+					channel.configureBlocking(false);
+					loops[nextLoop++ % loops.length].register(channel); //Spread the clients over the loops
+					Log.info("Server " + getName() + " accepted client");
+				}
+			}
+			catch(Exception e)
+			{
+				Log.warning("Error in server " + getName(), e);
+			}
+		}
+		try
+		{
+			Log.info("Closing server " + getName());
+			for(EventLoop loop : loops)
+				loop.wakeup();
+			acceptSelector.close();
+			socket.close();
+		}
+		catch(IOException e)
+		{
+			Log.warning("Error closing server " + getName(), e);
+		}
+	}
+	
+	/**
+	 * Function called when a client connects to build the object that will handle it.
+	 *
+	 * @param channel The channel created.
+	 *
+	 * @return The client handling this channel.
+	 *
+	 * @throws IOException If the client couldn't be built.
+	 */
+	protected abstract SelectorSocketBase buildClient(SocketChannel channel) throws IOException;
+	
+	@Override
+	public void stop()
+	{
+		Log.info("Stopping server " + getName() + "... This may take up to " + (timeout / 1000) + "s");
+		stop = true;
+		acceptSelector.wakeup();
+	}
+	
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+	
+	/**
+	 * Set the server timeout, used as the maximum time a selection can block.
+	 *
+	 * @param duration The timeout.
+	 */
+	protected void setTimeout(int duration)
+	{
+		timeout = duration;
+	}
+	
+	/**
+	 * Set the time a client can stay idle before being disconnected.
+	 *
+	 * @param duration The timeout, 0 to disable.
+	 */
+	protected void setClientTimeout(int duration)
+	{
+		clientTimeout = duration;
+	}
+	
+	/**
+	 * Loop handling the IOs of a part of the clients.
+	 */
+	private class EventLoop implements Runnable
+	{
+		private final int index;
+		private final Selector selector;
+		private final Queue<SocketChannel> pending;
+		private final Queue<Runnable> tasks;
+		private final ByteBuffer readBuffer;
+		
+		/**
+		 * Constructor.
+		 *
+		 * @param index The index of the loop.
+		 *
+		 * @throws IOException If the selector couldn't be opened.
+		 */
+		EventLoop(int index) throws IOException
+		{
+			this.index = index;
+			selector = Selector.open();
+			pending = new ConcurrentLinkedQueue<>();
+			tasks = new ConcurrentLinkedQueue<>();
+			readBuffer = ByteBuffer.allocateDirect(64 * 1024); //Shared by every client of this loop as reads are sequential
+		}
+		
+		/**
+		 * Give a new channel to this loop.
+		 *
+		 * @param channel The channel to handle.
+		 */
+		void register(SocketChannel channel)
+		{
+			pending.add(channel);
+			selector.wakeup();
+		}
+		
+		/**
+		 * Run a task on this loop, used to get back on it once something done elsewhere is finished.
+		 *
+		 * @param task The task to run.
+		 */
+		void execute(Runnable task)
+		{
+			tasks.add(task);
+			selector.wakeup();
+		}
+		
+		/**
+		 * Wake the selector up.
+		 */
+		void wakeup()
+		{
+			selector.wakeup();
+		}
+		
+		@Override
+		public void run()
+		{
+			while(!stop)
+			{
+				try
+				{
+					selector.select(timeout);
+					registerPending();
+					runTasks();
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+					while(keys.hasNext())
+					{
+						SelectionKey key = keys.next();
+						keys.remove();
+						handle(key);
+					}
+					closeIdle();
+				}
+				catch(Exception e)
+				{
+					Log.warning("Error in event loop " + index + " of server " + getName(), e);
+				}
+			}
+			for(SelectionKey key : selector.keys())
+				if(key.attachment() instanceof SelectorSocketBase)
+					((SelectorSocketBase) key.attachment()).close(true);
+			try
+			{
+				selector.close();
+			}
+			catch(IOException e)
+			{
+				Log.warning("Error closing event loop " + index + " of server " + getName(), e);
+			}
+		}
+		
+		/**
+		 * Register the channels given by the acceptor.
+		 */
+		private void registerPending()
+		{
+			SocketChannel channel;
+			while((channel = pending.poll()) != null)
+			{
+				try
+				{
+					SelectorSocketBase client = buildClient(channel);
+					client.attach(channel.register(selector, SelectionKey.OP_READ, client), this::execute);
+				}
+				catch(IOException e)
+				{
+					Log.warning("Error building client for server " + getName(), e);
+					try
+					{
+						channel.close();
+					}
+					catch(IOException ignored)
+					{
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Run the tasks given to this loop.
+		 */
+		private void runTasks()
+		{
+			Runnable task;
+			while((task = tasks.poll()) != null)
+			{
+				try
+				{
+					task.run();
+				}
+				catch(Exception e)
+				{
+					Log.warning("Error running task in event loop " + index + " of server " + getName(), e);
+				}
+			}
+		}
+		
+		/**
+		 * Handle a ready key.
+		 *
+		 * @param key The key to handle.
+		 */
+		private void handle(SelectionKey key)
+		{
+			SelectorSocketBase client = (SelectorSocketBase) key.attachment();
+			try
+			{
+				if(key.isValid() && key.isWritable())
+					client.flush();
+				if(key.isValid() && key.isReadable())
+				{
+					readBuffer.clear();
+					int read = ((SocketChannel) key.channel()).read(readBuffer);
+					if(read < 0)
+						client.close(true);
+					else if(read > 0)
+					{
+						readBuffer.flip();
+						client.onRead(readBuffer);
+					}
+				}
+			}
+			catch(Exception e)
+			{
+				Log.warning("Error during client " + client.getName(), e);
+				client.close(false);
+			}
+		}
+		
+		/**
+		 * Disconnect the clients that didn't send anything for too long.
+		 */
+		private void closeIdle()
+		{
+			if(clientTimeout <= 0)
+				return;
+			long limit = System.currentTimeMillis() - clientTimeout;
+			for(SelectionKey key : selector.keys())
+				if(key.attachment() instanceof SelectorSocketBase && ((SelectorSocketBase) key.attachment()).getLastActivity() < limit)
+				{
+					Log.info("Client " + ((SelectorSocketBase) key.attachment()).getName() + " timed out");
+					((SelectorSocketBase) key.attachment()).close(true);
+				}
+		}
+	}
+}
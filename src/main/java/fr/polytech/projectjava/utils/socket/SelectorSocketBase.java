@@ -0,0 +1,257 @@
+package fr.polytech.projectjava.utils.socket;
+
+import fr.polytech.projectjava.utils.Configuration;
+import fr.polytech.projectjava.utils.Log;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Represent a TCP client handled by an event loop of a {@link SelectorServerSocketBase}.
+ * Every method of this class is called from the event loop owning the client, so no synchronization is needed.
+ * Work done on another thread gets back on the loop through {@link #runOnLoop(Runnable)}.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public abstract class SelectorSocketBase
+{
+	protected final SocketChannel channel;
+	private final ArrayList<SocketDisconnectedListener> disconnectListeners;
+	private final Queue<ByteBuffer> outgoing;
+	private final FrameReader reader;
+	private final String name;
+	private SelectionKey key;
+	private Executor loop;
+	private long lastActivity;
+	private boolean closed = false;
+	private boolean log = true;
+	private boolean framed = false;
+	private boolean framingDetected = false;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param name    The name of the socket.
+	 * @param channel The channel.
+	 */
+	protected SelectorSocketBase(String name, SocketChannel channel)
+	{
+		this.name = name;
+		this.channel = channel;
+		disconnectListeners = new ArrayList<>();
+		outgoing = new ArrayDeque<>();
+		reader = new FrameReader(Configuration.getInt("socketPacketSize"), Configuration.getInt("socketMaxFrameSize"));
+		lastActivity = System.currentTimeMillis();
+	}
+	
+	/**
+	 * Set the key this client is registered with.
+	 *
+	 * @param key  The selection key.
+	 * @param loop The event loop owning this client.
+	 */
+	void attach(SelectionKey key, Executor loop)
+	{
+		this.key = key;
+		this.loop = loop;
+		Log.info("Starting client " + getName());
+	}
+	
+	/**
+	 * Called by the event loop when data have been read.
+	 * The buffer is only valid during this call.
+	 * <p>
+	 * The first byte received tells if the client uses frames (see {@link SocketUtils#detectFraming(int)}).
+	 * When framed, every complete frame is processed, even if several of them came in one read. Else the data read is processed as one packet.
+	 *
+	 * @param buffer The data read.
+	 *
+	 * @throws Exception If an error occurred.
+	 */
+	void onRead(ByteBuffer buffer) throws Exception
+	{
+		lastActivity = System.currentTimeMillis();
+		if(!framingDetected)
+		{
+			framingDetected = true;
+			framed = buffer.get(buffer.position()) == 0;
+		}
+		if(framed)
+		{
+			reader.feed(buffer);
+			byte[] frame;
+			while(!closed && (frame = reader.nextFrame()) != null)
+				receive(frame);
+		}
+		else
+		{
+			byte[] packet = new byte[buffer.remaining()];
+			buffer.get(packet);
+			receive(packet);
+		}
+	}
+	
+	/**
+	 * Give a received packet to the implementation.
+	 *
+	 * @param packet The packet received.
+	 *
+	 * @throws Exception If an error occurred.
+	 */
+	private void receive(byte[] packet) throws Exception
+	{
+		if(log)
+			Log.info("Received data: " + Arrays.toString(packet));
+		processPacket(packet);
+	}
+	
+	/**
+	 * Function called when a packet is received.
+	 *
+	 * @param packet The packet received.
+	 *
+	 * @throws Exception If an error occurred.
+	 */
+	protected abstract void processPacket(byte[] packet) throws Exception;
+	
+	/**
+	 * Send a packet.
+	 * The data is written right away if the socket can take it, else it is queued until the socket is writable.
+	 *
+	 * @param data The data to send.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected void sendPacket(byte[] data) throws IOException
+	{
+		if(closed)
+			throw new IllegalStateException("Socket is not connected");
+		outgoing.add(ByteBuffer.wrap(framed ? FrameReader.encode(data) : data));
+		flush();
+		if(log)
+			Log.info("Sent data: " + Arrays.toString(data));
+	}
+	
+	/**
+	 * Write as much queued data as the socket can take.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	void flush() throws IOException
+	{
+		ByteBuffer buffer;
+		while((buffer = outgoing.peek()) != null)
+		{
+			channel.write(buffer);
+			if(buffer.hasRemaining()) //The socket is full, wait for it to be writable again
+				break;
+			outgoing.poll();
+		}
+		if(key != null && key.isValid())
+			key.interestOps(outgoing.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+	}
+	
+	/**
+	 * Run a task on the event loop owning this client, from any thread.
+	 * The loop is woken up, so the task runs even if nothing is received.
+	 *
+	 * @param task The task to run.
+	 */
+	protected void runOnLoop(Runnable task)
+	{
+		loop.execute(task);
+	}
+	
+	/**
+	 * Tell if the client was disconnected.
+	 *
+	 * @return True if closed, false else.
+	 */
+	protected boolean isClosed()
+	{
+		return closed;
+	}
+	
+	/**
+	 * Disconnect the socket and notify the listeners.
+	 *
+	 * @param result True if everything went fine, false else.
+	 */
+	protected void close(boolean result)
+	{
+		if(closed)
+			return;
+		closed = true;
+		Log.info("Closing client " + getName());
+		try
+		{
+			if(key != null)
+				key.cancel();
+			channel.close();
+		}
+		catch(IOException e)
+		{
+			Log.warning("Error disconnecting client " + getName(), e);
+		}
+		disconnectListeners.forEach(listener -> listener.onSocketDisconnected(new DisconnectedEvent(result)));
+	}
+	
+	/**
+	 * Register a SocketDisconnectedListener.
+	 *
+	 * @param listener The listener to add.
+	 */
+	public void addFinishedListener(SocketDisconnectedListener listener)
+	{
+		disconnectListeners.add(listener);
+	}
+	
+	/**
+	 * Get the last time something was received from the client.
+	 *
+	 * @return The timestamp in milliseconds.
+	 */
+	long getLastActivity()
+	{
+		return lastActivity;
+	}
+	
+	/**
+	 * Tell if the client uses length prefixed frames.
+	 *
+	 * @return True if framed, false else.
+	 */
+	protected boolean isFramed()
+	{
+		return framed;
+	}
+	
+	/**
+	 * Defines if these methods should log what happens.
+	 *
+	 * @param log The state of the logging.
+	 */
+	protected void setLog(boolean log)
+	{
+		this.log = log;
+	}
+	
+	/**
+	 * Get the name of the socket.
+	 *
+	 * @return The socket name.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+}
@@ -12,10 +12,11 @@ import java.net.*;
  * @author Thomas Couchoud
  * @since 2017-05-03
  */
-public abstract class ServerSocketBase implements Runnable
+public abstract class ServerSocketBase implements SocketServer
 {
 	private final ServerSocket socket;
 	private final String name;
+	private ConnectionExecutor executor;
 	private boolean stop = false;
 	
 	/**
@@ -30,6 +31,7 @@ public abstract class ServerSocketBase implements Runnable
 	{
 		this.name = name;
 		socket = new ServerSocket(address.getPort(), 0, address.getAddress());
+		executor = new ConnectionExecutor(name, ConnectionExecutor.Mode.THREAD, 0, 0);
 	}
 	
 	/**
@@ -44,6 +46,7 @@ public abstract class ServerSocketBase implements Runnable
 	{
 		this.name = name;
 		socket = new ServerSocket(port);
+		executor = new ConnectionExecutor(name, ConnectionExecutor.Mode.THREAD, 0, 0);
 	}
 	
 	@Override
@@ -52,10 +55,17 @@ public abstract class ServerSocketBase implements Runnable
 		Log.info("Starting server " + getName());
 		while(!stop)
 		{
+			Socket client = null;
 			try
 			{
-				buildClient(this.socket.accept());
-				Log.info("Server " +getName() + " accepted client");
+				client = this.socket.accept();
+				if(executor.execute(buildClient(client), client))
+					Log.info("Server " + getName() + " accepted client");
+				else
+				{
+					Log.warning("Server " + getName() + " rejected client, " + executor);
+					client.close();
+				}
 			}
 			catch(SocketTimeoutException ignored)
 			{
@@ -63,11 +73,21 @@ public abstract class ServerSocketBase implements Runnable
 			catch(Exception e)
 			{
 				Log.warning("Error in server " + getName(), e);
+				if(client != null)
+					try
+					{
+						client.close(); //The client couldn't be handled, don't leave its connection open
+					}
+					catch(IOException closeException)
+					{
+						Log.warning("Error closing client of server " + getName(), closeException);
+					}
 			}
 		}
 		try
 		{
 			Log.info("Closing server " + getName());
+			executor.shutdown();
 			socket.close();
 		}
 		catch(IOException e)
@@ -77,15 +97,18 @@ public abstract class ServerSocketBase implements Runnable
 	}
 	
 	/**
-	 * Function called when a client connects.
+	 * Function called when a client connects to build the object that will handle it.
+	 * It is then ran by the executor of the server.
 	 *
 	 * @param socket The socket created.
+	 *
+	 * @return The client handling this socket.
+	 *
+	 * @throws IOException If the client couldn't be built.
 	 */
-	protected abstract void buildClient(Socket socket);
+	protected abstract Runnable buildClient(Socket socket) throws IOException;
 	
-	/**
-	 * Stop the runnable.
-	 */
+	@Override
 	public void stop()
 	{
 		try
@@ -99,14 +122,31 @@ public abstract class ServerSocketBase implements Runnable
 		stop = true;
 	}
 	
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+	
 	/**
-	 * Get the name of the socket.
+	 * Set the way the connections are ran.
 	 *
-	 * @return The socket name.
+	 * @param executor The executor to use.
 	 */
-	public String getName()
+	protected void setExecutor(ConnectionExecutor executor)
 	{
-		return name;
+		this.executor.shutdown();
+		this.executor = executor;
+	}
+	
+	/**
+	 * Get the executor running the connections, giving how many are active, queued and rejected.
+	 *
+	 * @return The executor.
+	 */
+	public ConnectionExecutor getExecutor()
+	{
+		return executor;
 	}
 	
 	/**
@@ -0,0 +1,24 @@
+package fr.polytech.projectjava.utils.socket;
+
+/**
+ * Represent a TCP server that can be ran and stopped, whatever the way it handles its connections.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public interface SocketServer extends Runnable
+{
+	/**
+	 * Stop the server.
+	 */
+	void stop();
+	
+	/**
+	 * Get the name of the server.
+	 *
+	 * @return The server name.
+	 */
+	String getName();
+}
@@ -1,6 +1,8 @@
 package fr.polytech.projectjava.utils.socket;
 
+import fr.polytech.projectjava.utils.Configuration;
 import fr.polytech.projectjava.utils.Log;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketException;
@@ -17,7 +19,9 @@ import java.util.Arrays;
 public abstract class SocketUtils
 {
 	protected final Socket socket;
+	private final FrameReader reader;
 	private boolean log = true;
+	private boolean framed = false;
 	
 	/**
 	 * Constructor.
@@ -27,6 +31,7 @@ public abstract class SocketUtils
 	SocketUtils(Socket socket)
 	{
 		this.socket = socket;
+		reader = new FrameReader(Configuration.getInt("socketPacketSize"), Configuration.getInt("socketMaxFrameSize"));
 	}
 	
 	/**
@@ -43,8 +48,9 @@ public abstract class SocketUtils
 	
 	/**
 	 * Receive a packet.
+	 * When framed, the next complete frame is returned, reading as much as needed. Else what a single read gives is returned.
 	 *
-	 * @param size The maximum size to read.
+	 * @param size The maximum size to read at once.
 	 *
 	 * @return The read packet, null if failed.
 	 *
@@ -54,13 +60,21 @@ public abstract class SocketUtils
 	{
 		if(!socket.isConnected())
 			throw new IllegalStateException("Socket is not connected");
-		byte buffer[] = new byte[size];
 		try
 		{
-			int read = socket.getInputStream().read(buffer); //Read into the buffer
-			if(read <= 0)
-				return null;
-			buffer = Arrays.copyOf(buffer, read); //Cut the buffer to what have been read
+			byte[] buffer;
+			if(framed)
+			{
+				while((buffer = reader.nextFrame()) == null) //Read until a whole frame is available
+					if(reader.read(socket.getInputStream(), size) < 0)
+						return null;
+			}
+			else
+			{
+				if(reader.available() == 0 && reader.read(socket.getInputStream(), size) <= 0) //Read into the buffer
+					return null;
+				buffer = reader.drain();
+			}
 			if(log)
 				Log.info("Received data: " + Arrays.toString(buffer));
 			return buffer;
@@ -72,6 +86,24 @@ public abstract class SocketUtils
 		return null;
 	}
 	
+	/**
+	 * Wait for the first data of the peer and look if it uses frames.
+	 * A frame begins with its length, so its first byte is always 0 as frames are smaller than 16MB, while a raw message begins with a letter.
+	 *
+	 * @param size The maximum size to read at once.
+	 *
+	 * @return True if the peer uses frames, false else.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected boolean detectFraming(int size) throws IOException
+	{
+		if(reader.available() == 0)
+			reader.read(socket.getInputStream(), size);
+		framed = reader.peek() == 0;
+		return framed;
+	}
+	
 	/**
 	 * Send a packet.
 	 *
@@ -84,12 +116,36 @@ public abstract class SocketUtils
 	{
 		if(!socket.isConnected())
 			throw new IllegalStateException("Socket is not connected");
-		socket.getOutputStream().write(data);
+		socket.getOutputStream().write(framed ? FrameReader.encode(data) : data);
 		socket.getOutputStream().flush();
 		if(log)
 			Log.info("Sent data: " + Arrays.toString(data));
 	}
 	
+	/**
+	 * Send several packets at once, without waiting for any answer between them.
+	 *
+	 * @param datas The packets to send.
+	 *
+	 * @throws IOException           If an I/O error occurs.
+	 * @throws IllegalStateException If the socket isn't connected or isn't framed.
+	 */
+	protected void sendPackets(byte[]... datas) throws IOException, IllegalStateException
+	{
+		if(!socket.isConnected())
+			throw new IllegalStateException("Socket is not connected");
+		if(!framed)
+			throw new IllegalStateException("Packets can only be sent back to back with frames");
+		ByteArrayOutputStream frames = new ByteArrayOutputStream();
+		for(byte[] data : datas)
+			frames.write(FrameReader.encode(data));
+		socket.getOutputStream().write(frames.toByteArray()); //Send everything in one write
+		socket.getOutputStream().flush();
+		if(log)
+			for(byte[] data : datas)
+				Log.info("Sent data: " + Arrays.toString(data));
+	}
+	
 	/**
 	 * Defines if these methods should log what happens.
 	 *
@@ -100,6 +156,26 @@ public abstract class SocketUtils
 		this.log = log;
 	}
 	
+	/**
+	 * Defines if the packets are sent and received as length prefixed frames.
+	 *
+	 * @param framed The state of the framing.
+	 */
+	protected void setFramed(boolean framed)
+	{
+		this.framed = framed;
+	}
+	
+	/**
+	 * Tell if the packets are sent and received as length prefixed frames.
+	 *
+	 * @return True if framed, false else.
+	 */
+	protected boolean isFramed()
+	{
+		return framed;
+	}
+	
 	/**
 	 * Set the socket timeout.
 	 *
@@ -0,0 +1,81 @@
+package fr.polytech.projectjava.benchmark;
+
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.Manager;
+import fr.polytech.projectjava.utils.Log;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.logging.Level;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.OUT;
+
+/**
+ * Measure the heap used by each check of a company, loaded through its employees like the server does.
+ * <p>
+ * Everything kept for a check is counted: its object, the lists of the employee and of the company, the day index of the employee, the {@link fr.polytech.projectjava.mainapp.company.staff.checking.CheckStore}, the check index and the attendance.
+ * The number of checks can be given as the first argument, 10000000 needs around 1.5GB of heap.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckMemoryBenchmark
+{
+	private static final int DEPARTMENTS = 10;
+	private static final int EMPLOYEES = 1000;
+	private static final LocalDate START = LocalDate.of(2000, 1, 1);
+	
+	/**
+	 * Main method.
+	 *
+	 * @param args Program's arguments.
+	 */
+	public static void main(String[] args)
+	{
+		Log.getInstance().setLevel(Level.WARNING);
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		Company company = new Company("Benchmark", new Boss("A", "B"));
+		StandardDepartment[] departments = new StandardDepartment[DEPARTMENTS];
+		for(int i = 0; i < DEPARTMENTS; i++)
+			departments[i] = new StandardDepartment(company, "Department" + i, new Manager(company, "Manager" + i, "Manager"));
+		Employee[] employees = new Employee[EMPLOYEES];
+		for(int i = 0; i < EMPLOYEES; i++)
+		{
+			employees[i] = new Employee(company, "Last" + i, "First" + i);
+			company.addEmployee(employees[i]);
+			departments[i % DEPARTMENTS].addEmployee(employees[i]);
+		}
+		
+		long before = usedMemory();
+		long start = System.nanoTime();
+		for(int i = 0; i < count; i++)
+		{
+			Employee employee = employees[i % EMPLOYEES];
+			LocalDate date = START.plusDays(i / EMPLOYEES);
+			employee.addCheckInOut(IN, date, LocalTime.of(8, i % 60));
+			employee.addCheckInOut(OUT, date, LocalTime.of(17, i % 60));
+		}
+		company.getCheckIndex();
+		company.getAttendance();
+		long loadTime = System.nanoTime() - start;
+		double bytes = (usedMemory() - before) / (double) count;
+		System.out.printf("%d checks loaded in %dms: %.1f bytes per check (%d in the company, %d in the store)%n", count, loadTime / 1000000, bytes, company.getChecks().size(), company.getCheckStore().getCheckCount());
+	}
+	
+	/**
+	 * Get the heap used after a garbage collection.
+	 *
+	 * @return The bytes used.
+	 */
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,117 @@
+package fr.polytech.projectjava.benchmark;
+
+import fr.polytech.projectjava.checkingsimulation.CheckInfos;
+import fr.polytech.projectjava.checkingsimulation.socket.OutboundQueue;
+import fr.polytech.projectjava.checkingsimulation.socket.TerminalConnection;
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.socket.CheckIngestion;
+import fr.polytech.projectjava.mainapp.socket.CheckingServer;
+import fr.polytech.projectjava.mainapp.socket.SelectorCheckingServer;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.socket.SocketServer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Measure how fast a backlog of checks is flushed to a local server, one check per exchange versus in batches.
+ * <p>
+ * Run it with "selector" as argument to use the non blocking server.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckingBatchBenchmark
+{
+	private static final int EMPLOYEES = 500;
+	private static final int DAYS = 10;
+	private final CompanyCheckingHandler handler;
+	
+	/**
+	 * Constructor.
+	 */
+	private CheckingBatchBenchmark()
+	{
+		handler = new CompanyCheckingHandler(0);
+	}
+	
+	/**
+	 * Main method.
+	 *
+	 * @param args Program's arguments.
+	 *
+	 * @throws Exception If the benchmark failed.
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Log.getInstance().setLevel(Level.WARNING);
+		CheckingBatchBenchmark benchmark = new CheckingBatchBenchmark();
+		CheckIngestion ingestion = new CheckIngestion(benchmark.handler, Runnable::run); //No UI, the writer thread applies the checks itself
+		new Thread(ingestion).start();
+		SocketServer server = args.length > 0 && args[0].equals("selector") ? new SelectorCheckingServer(ingestion) : new CheckingServer(ingestion);
+		new Thread(server).start();
+		TerminalConnection connection = new TerminalConnection();
+		new Thread(connection).start();
+		try
+		{
+			benchmark.run(connection, "One check per exchange", 1);
+			benchmark.run(connection, "Batches of 500", 500);
+		}
+		finally
+		{
+			connection.stop();
+			server.stop();
+			ingestion.stop();
+		}
+	}
+	
+	/**
+	 * Flush a backlog of checks to the server and print the throughput.
+	 *
+	 * @param connection The connection of the terminal.
+	 * @param label      The name of the run.
+	 * @param batchSize  The size of the batches.
+	 *
+	 * @throws Exception If the checks couldn't be sent.
+	 */
+	private void run(TerminalConnection connection, String label, int batchSize) throws Exception
+	{
+		List<CheckInfos> backlog = buildBacklog();
+		int count = backlog.size();
+		OutboundQueue queue = new OutboundQueue(connection, sent -> {}, batchSize);
+		queue.addAll(backlog);
+		long start = System.nanoTime();
+		queue.flush().get();
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%s: %d checks in %.2fs (%.0f checks/s), %d left%n", label, count, seconds, count / seconds, queue.size());
+	}
+	
+	/**
+	 * Build the pending checks of new employees, one arrival and one departure per day.
+	 *
+	 * @return The backlog.
+	 */
+	private List<CheckInfos> buildBacklog()
+	{
+		List<CheckInfos> backlog = new ArrayList<>();
+		LocalDate firstDay = LocalDate.of(2017, 1, 2);
+		Company company = handler.getCompany();
+		for(int i = 0; i < EMPLOYEES; i++)
+		{
+			Employee employee = new Employee(company, "Last" + i, "First" + i);
+			company.addEmployee(employee);
+			fr.polytech.projectjava.checkingsimulation.Employee terminalEmployee = new fr.polytech.projectjava.checkingsimulation.Employee(employee.getID(), employee.getFirstName(), employee.getLastName(), false);
+			for(int day = 0; day < DAYS; day++)
+			{
+				backlog.add(new CheckInfos(terminalEmployee, CheckInfos.CheckType.IN, firstDay.plusDays(day), LocalTime.of(8, 0)));
+				backlog.add(new CheckInfos(terminalEmployee, CheckInfos.CheckType.OUT, firstDay.plusDays(day), LocalTime.of(17, 0)));
+			}
+		}
+		return backlog;
+	}
+}
@@ -0,0 +1,53 @@
+package fr.polytech.projectjava.benchmark;
+
+import fr.polytech.projectjava.checkingsimulation.load.LoadGenerator;
+import fr.polytech.projectjava.checkingsimulation.load.LoadReport;
+import fr.polytech.projectjava.mainapp.socket.CheckIngestion;
+import fr.polytech.projectjava.mainapp.socket.CheckingServer;
+import fr.polytech.projectjava.mainapp.socket.SelectorCheckingServer;
+import fr.polytech.projectjava.utils.Log;
+import fr.polytech.projectjava.utils.socket.SocketServer;
+import java.util.Arrays;
+import java.util.logging.Level;
+
+/**
+ * Run the load generator against a local server, to follow how the socket stack copes over time.
+ * <p>
+ * Run it with "selector" as argument to use the non blocking server. The other arguments are given to the generator (see {@link LoadGenerator#fromArguments(String[])}), for example "--terminals=100 --rate=20 --distribution=burst".
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckingLoadBenchmark
+{
+	private static final int EMPLOYEES = 2000;
+	
+	/**
+	 * Main method.
+	 *
+	 * @param args Program's arguments.
+	 *
+	 * @throws Exception If the benchmark failed.
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Log.getInstance().setLevel(Level.WARNING);
+		CheckIngestion ingestion = new CheckIngestion(new CompanyCheckingHandler(EMPLOYEES), Runnable::run); //No UI, the writer thread applies the checks itself
+		new Thread(ingestion).start();
+		SocketServer server = Arrays.asList(args).contains("selector") ? new SelectorCheckingServer(ingestion) : new CheckingServer(ingestion);
+		new Thread(server).start();
+		try
+		{
+			LoadReport report = LoadGenerator.fromArguments(args).run();
+			System.out.println(report);
+		}
+		finally
+		{
+			server.stop();
+			ingestion.stop();
+		}
+		System.exit(0);
+	}
+}
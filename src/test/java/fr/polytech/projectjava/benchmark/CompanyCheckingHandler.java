@@ -0,0 +1,70 @@
+package fr.polytech.projectjava.benchmark;
+
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.RosterLog;
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.mainapp.socket.CheckEvent;
+import fr.polytech.projectjava.mainapp.socket.CheckingHandler;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Handler applying the checks received to a company, without any UI.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+class CompanyCheckingHandler implements CheckingHandler
+{
+	private final Company company;
+	
+	/**
+	 * Constructor.
+	 *
+	 * @param employees The number of employees to create in the company.
+	 */
+	CompanyCheckingHandler(int employees)
+	{
+		company = new Company("Benchmark", new Boss("A", "B"));
+		for(int i = 0; i < employees; i++)
+			company.addEmployee(new Employee(company, "Last" + i, "First" + i));
+	}
+	
+	/**
+	 * Get the company the checks are applied to.
+	 *
+	 * @return The company.
+	 */
+	Company getCompany()
+	{
+		return company;
+	}
+	
+	@Override
+	public synchronized boolean addChecking(int employeeID, EmployeeCheck.CheckType checkType, LocalDateTime date)
+	{
+		Optional<Employee> employee = company.getEmployee(employeeID);
+		employee.ifPresent(emp -> emp.addCheckInOut(checkType, date.toLocalDate(), date.toLocalTime()));
+		return employee.isPresent();
+	}
+	
+	@Override
+	public synchronized boolean[] addCheckings(List<CheckEvent> checks)
+	{
+		boolean[] added = new boolean[checks.size()];
+		for(int i = 0; i < added.length; i++)
+			added[i] = addChecking(checks.get(i).getEmployeeID(), checks.get(i).getCheckType(), checks.get(i).getDate());
+		return added;
+	}
+	
+	@Override
+	public RosterLog getRoster()
+	{
+		return company.getRoster();
+	}
+}
@@ -0,0 +1,62 @@
+package fr.polytech.projectjava.benchmark;
+
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.utils.Log;
+import java.util.Random;
+import java.util.logging.Level;
+
+/**
+ * Measure the cost of looking an employee up by ID as the company grows.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class EmployeeLookupBenchmark
+{
+	private static final int[] SIZES = {100, 1000, 10000, 100000};
+	private static final int LOOKUPS = 2000000;
+	
+	/**
+	 * Main method.
+	 *
+	 * @param args Program's arguments.
+	 */
+	public static void main(String[] args)
+	{
+		Log.getInstance().setLevel(Level.WARNING);
+		for(int round = 0; round < 2; round++) //The first round warms the JIT up
+			for(int size : SIZES)
+				run(size, round > 0);
+	}
+	
+	/**
+	 * Look random employees up in a company and print the mean time of a lookup.
+	 *
+	 * @param size  The number of employees in the company.
+	 * @param print Whether the result should be printed.
+	 */
+	private static void run(int size, boolean print)
+	{
+		Company company = new Company("Benchmark", new Boss("A", "B"));
+		int[] IDs = new int[size];
+		for(int i = 0; i < size; i++)
+		{
+			Employee employee = new Employee(company, "Last" + i, "First" + i);
+			company.addEmployee(employee);
+			IDs[i] = employee.getID();
+		}
+		Random random = new Random(42);
+		int found = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < LOOKUPS; i++)
+			if(company.getEmployee(IDs[random.nextInt(size)]).isPresent())
+				found++;
+		double nanos = (System.nanoTime() - start) / (double) LOOKUPS;
+		if(print)
+			System.out.printf("%6d employees: %.1fns per lookup (%d found)%n", size, nanos, found);
+	}
+}
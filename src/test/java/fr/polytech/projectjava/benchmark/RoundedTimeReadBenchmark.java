@@ -0,0 +1,63 @@
+package fr.polytech.projectjava.benchmark;
+
+import fr.polytech.projectjava.utils.jfx.RoundedLocalTimeProperty;
+import java.time.LocalTime;
+import java.util.Random;
+
+/**
+ * Compare the cost of reading a rounded time when it is rounded on every read and when the rounding is cached.
+ * <p>
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class RoundedTimeReadBenchmark
+{
+	private static final int PROPERTIES = 1000;
+	private static final int READS = 20000000;
+	
+	/**
+	 * Main method.
+	 *
+	 * @param args Program's arguments.
+	 */
+	public static void main(String[] args)
+	{
+		Random random = new Random(42);
+		LocalTime[] times = new LocalTime[PROPERTIES];
+		RoundedLocalTimeProperty[] properties = new RoundedLocalTimeProperty[PROPERTIES];
+		for(int i = 0; i < PROPERTIES; i++)
+		{
+			times[i] = LocalTime.ofSecondOfDay(random.nextInt(23 * 3600));
+			properties[i] = new RoundedLocalTimeProperty(times[i]);
+		}
+		for(int round = 0; round < 2; round++) //The first round warms the JIT up
+		{
+			long sum = 0;
+			long start = System.nanoTime();
+			for(int i = 0; i < READS; i++)
+				sum += roundEachRead(times[i % PROPERTIES]).getMinute();
+			double each = (System.nanoTime() - start) / (double) READS;
+			start = System.nanoTime();
+			for(int i = 0; i < READS; i++)
+				sum += properties[i % PROPERTIES].get().getMinute();
+			double cached = (System.nanoTime() - start) / (double) READS;
+			if(round > 0)
+				System.out.printf("Rounded on each read: %.1fns, cached: %.1fns (%d)%n", each, cached, sum);
+		}
+	}
+	
+	/**
+	 * Round a time like the property did before caching it.
+	 *
+	 * @param time The time to round.
+	 *
+	 * @return The rounded time.
+	 */
+	private static LocalTime roundEachRead(LocalTime time)
+	{
+		int minutes = 15 * (time.getMinute() / 15) + ((time.getMinute() % 15) <= 7 ? 0 : 15);
+		return LocalTime.of(time.getHour() + minutes / 60, minutes % 60);
+	}
+}
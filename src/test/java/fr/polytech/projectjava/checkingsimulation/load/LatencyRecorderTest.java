@@ -0,0 +1,50 @@
+package fr.polytech.projectjava.checkingsimulation.load;
+
+import org.junit.Test;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class LatencyRecorderTest
+{
+	@Test
+	public void percentiles()
+	{
+		LatencyRecorder recorder = new LatencyRecorder();
+		for(int i = 1000; i >= 1; i--)
+			recorder.record(i);
+		assertEquals(1000, recorder.getCount());
+		long[] sorted = recorder.sorted();
+		assertEquals(500, LatencyRecorder.percentile(sorted, 0.5));
+		assertEquals(990, LatencyRecorder.percentile(sorted, 0.99));
+		assertEquals(999, LatencyRecorder.percentile(sorted, 0.999));
+		assertEquals(1000, LatencyRecorder.percentile(sorted, 1));
+		assertEquals(1, LatencyRecorder.percentile(sorted, 0));
+	}
+	
+	@Test
+	public void emptyPercentile()
+	{
+		assertEquals(0, LatencyRecorder.percentile(new LatencyRecorder().sorted(), 0.99));
+	}
+	
+	@Test
+	public void distributionsKeepMeanRate()
+	{
+		Random random = new Random(42);
+		long mean = 1000;
+		for(Distribution distribution : Distribution.values())
+		{
+			long total = 0;
+			int count = 100000;
+			for(int i = 0; i < count; i++)
+				total += distribution.nextInterval(random, mean, i, 20);
+			assertEquals(distribution.name(), mean, total / (double) count, mean * 0.05);
+		}
+	}
+}
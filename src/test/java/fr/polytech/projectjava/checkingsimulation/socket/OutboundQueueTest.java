@@ -0,0 +1,84 @@
+package fr.polytech.projectjava.checkingsimulation.socket;
+
+import fr.polytech.projectjava.checkingsimulation.CheckInfos;
+import fr.polytech.projectjava.checkingsimulation.Employee;
+import org.junit.Before;
+import org.junit.Test;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class OutboundQueueTest
+{
+	private TerminalConnection connection;
+	private List<CheckInfos> sent;
+	private OutboundQueue queue;
+	private Employee employee;
+	
+	@Before
+	public void setUp()
+	{
+		connection = new TerminalConnection(new InetSocketAddress("localhost", 1)); //Never started, jobs just stay queued
+		sent = new ArrayList<>();
+		queue = new OutboundQueue(connection, sent::addAll, 2);
+		employee = new Employee(0, "A", "B", false);
+	}
+	
+	@Test
+	public void onlyOneSenderScheduled()
+	{
+		CompletableFuture<Boolean> first = queue.flush();
+		queue.offer(check(8));
+		queue.offer(check(9));
+		assertSame(first, queue.flush());
+		assertEquals(2, queue.size());
+	}
+	
+	@Test
+	public void pollAndRequeueKeepOrder()
+	{
+		CheckInfos c1 = check(8);
+		CheckInfos c2 = check(9);
+		CheckInfos c3 = check(10);
+		queue.addAll(Arrays.asList(c1, c2, c3));
+		List<CheckInfos> batch = queue.poll(2);
+		assertEquals(Arrays.asList(c1, c2), batch);
+		assertEquals(1, queue.size());
+		queue.requeue(batch);
+		assertEquals(Arrays.asList(c1, c2, c3), queue.poll(5));
+		assertTrue(queue.poll(5).isEmpty());
+	}
+	
+	@Test
+	public void sentListenerCalledPerBatch()
+	{
+		queue.sent(new ArrayList<>());
+		assertTrue(sent.isEmpty());
+		CheckInfos c1 = check(8);
+		queue.sent(Arrays.asList(c1));
+		assertEquals(Arrays.asList(c1), sent);
+	}
+	
+	/**
+	 * Build a check of the test employee.
+	 *
+	 * @param hour The hour of the check.
+	 *
+	 * @return The check.
+	 */
+	private CheckInfos check(int hour)
+	{
+		return new CheckInfos(employee, CheckInfos.CheckType.IN, LocalDate.of(2017, 1, 2), LocalTime.of(hour, 0));
+	}
+}
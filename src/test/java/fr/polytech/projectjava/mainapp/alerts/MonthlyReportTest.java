@@ -0,0 +1,60 @@
+package fr.polytech.projectjava.mainapp.alerts;
+
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.Manager;
+import org.junit.Test;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.concurrent.ForkJoinPool;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.OUT;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class MonthlyReportTest
+{
+	@Test
+	public void monthTotals() throws Exception
+	{
+		Company company = new Company("Company", new Boss("A", "B"));
+		StandardDepartment department = new StandardDepartment(company, "Dev", new Manager(company, "A", "B"));
+		Employee employee = new Employee(company, "C", "D", LocalTime.of(8, 0), LocalTime.of(17, 0));
+		department.addEmployee(employee);
+		employee.addCheckInOut(IN, LocalDate.of(2016, 12, 30), LocalTime.of(8, 0));
+		employee.addCheckInOut(OUT, LocalDate.of(2016, 12, 30), LocalTime.of(17, 0));
+		employee.addCheckInOut(IN, LocalDate.of(2017, 1, 2), LocalTime.of(8, 0));
+		employee.addCheckInOut(OUT, LocalDate.of(2017, 1, 2), LocalTime.of(17, 0));
+		employee.addCheckInOut(IN, LocalDate.of(2017, 1, 3), LocalTime.of(8, 30));
+		employee.addCheckInOut(OUT, LocalDate.of(2017, 1, 3), LocalTime.of(17, 0));
+		employee.addCheckInOut(IN, LocalDate.of(2017, 1, 4), LocalTime.of(8, 0));
+		employee.addCheckInOut(IN, LocalDate.of(2017, 2, 1), LocalTime.of(8, 0));
+		
+		MonthlyReport report = MonthlyReport.build(company, YearMonth.of(2017, 1), Runnable::run, ForkJoinPool.commonPool()).get();
+		MonthlyReport.Section section = report.getSections().stream().filter(s -> s.getDepartment() == department).findFirst().orElseThrow(AssertionError::new);
+		MonthlyReport.Totals totals = section.getTotals();
+		assertEquals(1050, totals.getWorkedMinutes());
+		assertEquals(2 * 22 * 540, totals.getExpectedMinutes()); //The leader is one of the employees of the department
+		assertEquals(1050 - 2 * 22 * 540, totals.getOvertime());
+		assertEquals(3, totals.getPresentDays());
+		assertEquals(1, totals.getLateArrivals());
+		assertEquals(1, totals.getMissingCheckOuts());
+		assertTrue(report.getTotals().getWorkedMinutes() >= 1050);
+		
+		StringWriter csv = new StringWriter();
+		report.writeCSV(csv);
+		assertTrue(csv.toString().contains("Dev;" + employee.getID() + ";D C;1050;11880;-10830;3;1;1\n"));
+		StringWriter summary = new StringWriter();
+		report.writeSummary(summary);
+		assertTrue(summary.toString().startsWith("Attendance report of 2017-01"));
+	}
+}
@@ -0,0 +1,152 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.Manager;
+import fr.polytech.projectjava.mainapp.company.staff.checking.WorkSchedule;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.OUT;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class AttendanceStatsTest
+{
+	private static final LocalDate DATE = LocalDate.of(2017, 1, 2);
+	private Company company;
+	private StandardDepartment first;
+	private StandardDepartment second;
+	private Employee employee;
+	
+	@Before
+	public void setUp()
+	{
+		company = new Company("Company", new Boss("A", "B"));
+		first = new StandardDepartment(company, "First", new Manager(company, "A", "B"));
+		second = new StandardDepartment(company, "Second", new Manager(company, "C", "D"));
+		employee = new Employee(company, "E", "F", LocalTime.of(8, 0), LocalTime.of(17, 0));
+	}
+	
+	@Test
+	public void keptUpToDate()
+	{
+		AttendanceStats stats = company.getAttendance();
+		first.addEmployee(employee);
+		employee.addCheckInOut(IN, DATE, LocalTime.of(8, 30));
+		AttendanceStats.Day day = stats.getDay(first, DATE);
+		assertEquals(1, day.getPresentCount());
+		assertEquals(1, day.getInsideCount());
+		assertEquals(1, day.getLateCount());
+		assertEquals(1, day.getArrivals(8 * 60 / AttendanceStats.HISTOGRAM_STEP + 2));
+		assertEquals(LocalTime.of(8, 30), day.getAverageArrival());
+		assertRebuilt();
+		
+		employee.addCheckInOut(OUT, DATE, LocalTime.of(17, 0));
+		day = stats.getDay(first, DATE);
+		assertEquals(0, day.getInsideCount());
+		assertEquals(510, day.getWorkedMinutes());
+		assertRebuilt();
+		
+		second.addEmployee(employee); //The days before the transfer stay in the first department
+		assertEquals(1, stats.getDay(first, DATE).getPresentCount());
+		assertEquals(0, stats.getDay(second, DATE).getPresentCount());
+		assertEquals(510, stats.getDay(first, DATE).getWorkedMinutes());
+		assertRebuilt();
+		
+		employee.setSchedule(WorkSchedule.of(new DayOfWeek[]{DayOfWeek.MONDAY}, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+		assertEquals(0, stats.getDay(first, DATE).getLateCount());
+		assertRebuilt();
+		
+		employee.removeCheck(employee.getCheckForDate(DATE));
+		assertEquals(0, stats.getDay(first, DATE).getPresentCount());
+		assertEquals(0, stats.getDay(first, DATE).getWorkedMinutes());
+		assertRebuilt();
+		
+		employee.addCheckInOut(IN, DATE.plusDays(1), LocalTime.of(9, 0));
+		company.removeEmployee(employee);
+		assertEquals(0, stats.getDay(null, DATE.plusDays(1)).getPresentCount());
+		assertRebuilt();
+	}
+	
+	@Test
+	public void transferMovesFromToday() throws Exception
+	{
+		LocalDate today = LocalDate.now();
+		company.addEmployee(employee);
+		employee.addCheckInOut(IN, DATE, LocalTime.of(8, 0));
+		first.addEmployee(employee); //The first department takes the checks made before
+		assertEquals(1, company.getAttendance().getDay(first, DATE).getPresentCount());
+		employee.addCheckInOut(IN, today, LocalTime.of(8, 0));
+		employee.addCheckInOut(IN, today.plusDays(1), LocalTime.of(8, 0));
+		
+		second.addEmployee(employee);
+		AttendanceStats stats = company.getAttendance();
+		assertEquals(1, stats.getDay(first, DATE).getPresentCount());
+		assertEquals(0, stats.getDay(first, today).getPresentCount());
+		assertEquals(1, stats.getDay(second, today).getPresentCount());
+		assertEquals(1, stats.getDay(second, today.plusDays(1)).getPresentCount());
+		assertEquals(first, employee.getWorkingDepartment((int) DATE.toEpochDay()));
+		assertEquals(second, employee.getWorkingDepartment((int) today.toEpochDay()));
+		
+		employee.addCheckInOut(IN, DATE.plusDays(1), LocalTime.of(8, 0)); //A check made for a day before the transfer
+		assertEquals(1, stats.getDay(first, DATE.plusDays(1)).getPresentCount());
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bytes))
+		{
+			oos.writeObject(company);
+		}
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			Company read = (Company) ois.readObject();
+			Employee readEmployee = read.getEmployee(employee.getID()).orElseThrow(AssertionError::new);
+			assertEquals("First", readEmployee.getWorkingDepartment((int) DATE.toEpochDay()).getName());
+			assertEquals("Second", readEmployee.getWorkingDepartment((int) today.toEpochDay()).getName());
+		}
+	}
+	
+	@Test
+	public void averageArrival()
+	{
+		first.addEmployee(employee);
+		Employee other = new Employee(company, "G", "H", LocalTime.of(8, 0), LocalTime.of(17, 0));
+		first.addEmployee(other);
+		employee.addCheckInOut(IN, DATE, LocalTime.of(8, 0));
+		other.addCheckInOut(IN, DATE.plusDays(1), LocalTime.of(9, 0));
+		assertEquals(LocalTime.of(8, 30), company.getAttendance().getAverageArrival(first, DATE, DATE.plusDays(6)));
+		assertNull(company.getAttendance().getAverageArrival(second, DATE, DATE.plusDays(6)));
+	}
+	
+	/**
+	 * Verify the attendance kept up to date is the same as the one built from the checks.
+	 */
+	private void assertRebuilt()
+	{
+		AttendanceStats rebuilt = AttendanceStats.build(company.getEmployees());
+		for(StandardDepartment department : new StandardDepartment[]{first, second, null})
+			for(LocalDate date = DATE; date.isBefore(DATE.plusDays(3)); date = date.plusDays(1))
+			{
+				AttendanceStats.Day expected = rebuilt.getDay(department, date);
+				AttendanceStats.Day actual = company.getAttendance().getDay(department, date);
+				assertEquals(expected.getPresentCount(), actual.getPresentCount());
+				assertEquals(expected.getInsideCount(), actual.getInsideCount());
+				assertEquals(expected.getLateCount(), actual.getLateCount());
+				assertEquals(expected.getWorkedMinutes(), actual.getWorkedMinutes());
+				assertEquals(expected.getAverageArrival(), actual.getAverageArrival());
+			}
+	}
+}
@@ -0,0 +1,129 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.departments.StandardDepartment;
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.Manager;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import org.junit.Before;
+import org.junit.Test;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.OUT;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckIndexTest
+{
+	private static final LocalDate DATE = LocalDate.of(2017, 1, 2);
+	private Company company;
+	private StandardDepartment first;
+	private StandardDepartment second;
+	private Employee employee;
+	private Employee other;
+	
+	@Before
+	public void setUp()
+	{
+		company = new Company("Company", new Boss("A", "B"));
+		first = new StandardDepartment(company, "First", new Manager(company, "A", "B"));
+		second = new StandardDepartment(company, "Second", new Manager(company, "C", "D"));
+		employee = new Employee(company, "E", "F", LocalTime.of(8, 0), LocalTime.of(17, 0));
+		other = new Employee(company, "G", "H", LocalTime.of(8, 0), LocalTime.of(17, 0));
+		first.addEmployee(employee);
+		second.addEmployee(other);
+	}
+	
+	@Test
+	public void queryFilters()
+	{
+		employee.addCheckInOut(IN, DATE, LocalTime.of(8, 0));
+		employee.addCheckInOut(OUT, DATE, LocalTime.of(17, 0));
+		employee.addCheckInOut(IN, DATE.plusDays(1), LocalTime.of(8, 0));
+		other.addCheckInOut(IN, DATE.plusDays(1), LocalTime.of(9, 0));
+		other.addCheckInOut(IN, DATE.plusDays(5), LocalTime.of(9, 0));
+		assertQueries();
+		
+		assertEquals(4, company.queryChecks(null, null, null, null, false).size());
+		assertEquals(2, company.queryChecks(DATE.plusDays(1), DATE.plusDays(1), null, null, false).size());
+		assertEquals(2, company.queryChecks(null, null, first, null, false).size());
+		assertEquals(1, company.queryChecks(DATE.plusDays(1), null, null, employee, true).size());
+		assertEquals(0, company.queryChecks(null, null, second, employee, false).size());
+		assertEquals(3, company.queryChecks(null, null, null, null, true).size());
+	}
+	
+	@Test
+	public void keptUpToDate()
+	{
+		company.getCheckIndex();
+		employee.addCheckInOut(IN, DATE, LocalTime.of(8, 0));
+		other.addCheckInOut(IN, DATE, LocalTime.of(9, 0));
+		assertQueries();
+		
+		employee.addCheckInOut(OUT, DATE, LocalTime.of(17, 0));
+		assertEquals(1, company.queryChecks(null, null, null, null, true).size());
+		assertQueries();
+		
+		second.addEmployee(employee);
+		assertEquals(0, company.queryChecks(null, null, first, null, false).size());
+		assertEquals(2, company.queryChecks(null, null, second, null, false).size());
+		assertQueries();
+		
+		employee.removeCheck(employee.getCheckForDate(DATE));
+		assertEquals(1, company.queryChecks(DATE, DATE, null, null, false).size());
+		assertQueries();
+		
+		company.removeEmployee(other);
+		assertEquals(0, company.queryChecks(null, null, null, null, false).size());
+		assertQueries();
+	}
+	
+	/**
+	 * Verify the queries give the same checks as going through every check of the employees.
+	 */
+	private void assertQueries()
+	{
+		for(StandardDepartment department : new StandardDepartment[]{first, second, null})
+			for(Employee filter : new Employee[]{employee, other, null})
+				for(boolean inProgressOnly : new boolean[]{false, true})
+				{
+					LocalDate from = DATE.plusDays(1);
+					assertQuery(null, null, department, filter, inProgressOnly);
+					assertQuery(from, null, department, filter, inProgressOnly);
+					assertQuery(null, from, department, filter, inProgressOnly);
+				}
+	}
+	
+	/**
+	 * Verify a query gives the same checks as going through every check of the employees.
+	 *
+	 * @param from           The first day, included, null for no limit.
+	 * @param to             The last day, included, null for no limit.
+	 * @param department     The department of the employees, null for every employee.
+	 * @param employee       The employee, null for every employee.
+	 * @param inProgressOnly True to only get the checks in progress.
+	 */
+	private void assertQuery(LocalDate from, LocalDate to, StandardDepartment department, Employee employee, boolean inProgressOnly)
+	{
+		Predicate<EmployeeCheck> filter = check -> (from == null || !check.getDate().isBefore(from)) && (to == null || !check.getDate().isAfter(to)) && (department == null || check.getEmployee().getWorkingDepartment() == department) && (employee == null || check.getEmployee() == employee) && (!inProgressOnly || check.isInProgress());
+		Set<EmployeeCheck> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+		company.getEmployees().forEach(emp -> emp.forEachCheck(check -> {
+			if(filter.test(check))
+				expected.add(check);
+		}));
+		List<EmployeeCheck> actual = company.queryChecks(from, to, department, employee, inProgressOnly);
+		assertEquals(expected.size(), actual.size());
+		actual.forEach(check -> assertTrue(expected.contains(check)));
+	}
+}
@@ -6,6 +6,13 @@ import fr.polytech.projectjava.mainapp.company.staff.Employee;
 import fr.polytech.projectjava.mainapp.company.staff.Manager;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
 import static org.junit.Assert.*;
 
 /**
@@ -108,6 +115,98 @@ public class CompanyTest
 		assertFalse(company.getDepartment(Integer.MAX_VALUE).isPresent());
 	}
 	
+	@Test
+	public void indexesFollowTheLists() throws Exception
+	{
+		Employee employee = new Employee(company, "A", "B");
+		company.getEmployees().add(employee);
+		assertSame(employee, company.getEmployee(employee.getID()).get());
+		company.getEmployees().remove(employee);
+		assertFalse(company.getEmployee(employee.getID()).isPresent());
+		
+		StandardDepartment department = new StandardDepartment(company, "A", new Manager(company, "A", "B"));
+		company.addDepartment(department);
+		assertSame(department, company.getDepartment(department.getID()).get());
+		company.getDepartements().remove(department); //Its manager is inside, removeDepartment would refuse
+		assertFalse(company.getDepartment(department.getID()).isPresent());
+	}
+	
+	@Test
+	public void indexesSurviveSerialization() throws Exception
+	{
+		StandardDepartment department = new StandardDepartment(company, "A", new Manager(company, "A", "B"));
+		company.addDepartment(department);
+		Employee employee = new Employee(company, "A", "B");
+		company.addEmployee(employee);
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bytes))
+		{
+			oos.writeObject(company);
+		}
+		Company read;
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			read = (Company) ois.readObject();
+		}
+		
+		assertEquals(employee, read.getEmployee(employee.getID()).get());
+		assertEquals(department, read.getDepartment(department.getID()).get());
+		read.removeEmployee(read.getEmployee(employee.getID()).get());
+		assertFalse(read.getEmployee(employee.getID()).isPresent());
+	}
+	
+	@Test
+	public void closedDaysSurviveSerialization() throws Exception
+	{
+		Employee employee = new Employee(company, "A", "B");
+		company.addEmployee(employee);
+		company.addClosedDay(LocalDate.of(2017, 5, 1), "Labour Day");
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bytes))
+		{
+			oos.writeObject(company);
+		}
+		Company read;
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			read = (Company) ois.readObject();
+		}
+		
+		assertTrue(read.getClosedDays().isClosed(LocalDate.of(2017, 5, 1)));
+		assertEquals("Labour Day", read.getClosedDays().getName(LocalDate.of(2017, 5, 1)));
+		assertFalse(read.getClosedDays().isClosed(LocalDate.of(2017, 5, 2)));
+		assertEquals(employee.getOvertime(LocalDate.of(2017, 5, 5)), read.getEmployee(employee.getID()).get().getOvertime(LocalDate.of(2017, 5, 5)));
+	}
+	
+	@Test
+	public void bulkUpdateDefersDerivedState() throws Exception
+	{
+		Employee employee = new Employee(company, "A", "B");
+		company.beginBulkUpdate();
+		company.beginBulkUpdate();
+		assertTrue(company.isBulkUpdating());
+		employee.addCheckInOut(IN, LocalDate.now(), LocalTime.of(0, 0));
+		Manager manager = new Manager(company, "C", "D");
+		company.addEmployee(manager);
+		assertFalse(employee.isPresent());
+		assertFalse(company.getManagers().contains(manager));
+		
+		company.endBulkUpdate();
+		assertTrue(company.isBulkUpdating());
+		assertFalse(employee.isPresent());
+		
+		company.endBulkUpdate();
+		assertFalse(company.isBulkUpdating());
+		assertTrue(employee.isPresent());
+		assertTrue(company.getManagers().contains(manager));
+		assertEquals(employee.getOvertime(LocalDate.now()), employee.getLateDuration().getMinutes());
+		
+		company.endBulkUpdate();
+		assertFalse(company.isBulkUpdating());
+	}
+	
 	@Test
 	public void getBoss() throws Exception
 	{
@@ -0,0 +1,52 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import org.junit.Test;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
+import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.OUT;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class RecomputeServiceTest
+{
+	@Test
+	public void publishedAtOnce() throws Exception
+	{
+		Company company = new Company("Company", new Boss("A", "B"));
+		List<Employee> employees = new ArrayList<>();
+		for(int i = 0; i < 100; i++)
+		{
+			Employee employee = new Employee(company, "A" + i, "B");
+			employee.addCheckInOut(IN, LocalDate.of(2017, 1, 2), LocalTime.of(8, 0));
+			employee.addCheckInOut(OUT, LocalDate.of(2017, 1, 2), LocalTime.of(17, i % 4 * 15));
+			if(i % 2 == 0)
+				employee.addCheckInOut(IN, LocalDate.of(2017, 1, 3), LocalTime.of(8, 0));
+			employees.add(employee);
+		}
+		
+		List<Runnable> published = new ArrayList<>();
+		RecomputeService service = new RecomputeService(new ForkJoinPool(4), published::add);
+		service.recompute(employees, LocalDate.of(2017, 1, 2));
+		assertEquals(1, published.size());
+		assertEquals(0, service.getLastRunTime());
+		
+		published.get(0).run();
+		assertTrue(service.getLastRunTime() > 0);
+		for(int i = 0; i < employees.size(); i++)
+		{
+			assertEquals(i % 4 * 15, employees.get(i).getLateDuration().getMinutes());
+			assertEquals(i % 2 == 0, employees.get(i).isPresent());
+		}
+	}
+}
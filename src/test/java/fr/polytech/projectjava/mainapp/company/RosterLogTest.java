@@ -0,0 +1,96 @@
+package fr.polytech.projectjava.mainapp.company;
+
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class RosterLogTest
+{
+	private ObservableList<Employee> employees;
+	private RosterLog roster;
+	private Employee employee;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		employees = FXCollections.observableArrayList();
+		employee = new Employee(null, "A", "B");
+		employees.add(employee);
+		roster = new RosterLog(employees, 3);
+	}
+	
+	@Test
+	public void collapseChanges() throws Exception
+	{
+		assertEquals(0, roster.getVersion());
+		employee.firstNameProperty().set("C");
+		employees.remove(employee);
+		employees.add(employee);
+		employee.lastNameProperty().set("D");
+		assertEquals(4, roster.getVersion());
+		
+		Map<Integer, Byte> changes = roster.getChangesSince(roster.getGeneration(), 1);
+		assertEquals(1, changes.size());
+		assertEquals(RosterLog.ADDED, (byte) changes.get(employee.getID()));
+		assertEquals(RosterLog.UPDATED, (byte) roster.getChangesSince(roster.getGeneration(), 3).get(employee.getID()));
+		
+		employees.remove(employee);
+		employee.firstNameProperty().set("E"); //Not tracked anymore
+		assertEquals(5, roster.getVersion());
+		assertEquals(RosterLog.REMOVED, (byte) roster.getChangesSince(roster.getGeneration(), 2).get(employee.getID()));
+	}
+	
+	@Test
+	public void tooOld() throws Exception
+	{
+		for(int i = 0; i < 4; i++)
+			employee.firstNameProperty().set("N" + i);
+		assertNull(roster.getChangesSince(roster.getGeneration(), 0));
+		assertEquals(1, roster.getChangesSince(roster.getGeneration(), 1).size());
+		assertEquals(0, roster.getChangesSince(roster.getGeneration(), 4).size());
+		assertNull(roster.getChangesSince(roster.getGeneration(), 5));
+		assertNull(roster.getChangesSince(roster.getGeneration() + 1, 4));
+	}
+	
+	@Test
+	public void presenceTracked() throws Exception
+	{
+		employee.setPresent(false);
+		assertEquals(0, roster.getVersion());
+		employee.setPresent(true);
+		assertEquals(1, roster.getVersion());
+		employee.isPresentProperty().set(false);
+		employee.isPresentProperty().set(true);
+		employee.setPresent(true);
+		assertEquals(3, roster.getVersion());
+		assertEquals(RosterLog.UPDATED, (byte) roster.getChangesSince(roster.getGeneration(), 0).get(employee.getID()));
+		assertSame(employee, roster.getEmployee(employee.getID()));
+		employees.remove(employee);
+		assertNull(roster.getEmployee(employee.getID()));
+		assertTrue(roster.getEmployees().isEmpty());
+	}
+	
+	@Test
+	public void plainSetters() throws Exception
+	{
+		employee.setFirstName("C");
+		employee.setLastName("D");
+		assertEquals(2, roster.getVersion());
+		assertEquals(RosterLog.UPDATED, (byte) roster.getChangesSince(roster.getGeneration(), 0).get(employee.getID()));
+		employees.remove(employee);
+		assertNull(employee.getRoster());
+	}
+}
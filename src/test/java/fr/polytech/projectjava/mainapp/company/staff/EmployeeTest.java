@@ -9,12 +9,16 @@ import org.junit.Test;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Random;
 import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
 import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.OUT;
 import static java.time.DayOfWeek.MONDAY;
 import static java.time.temporal.ChronoUnit.MINUTES;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -83,6 +87,69 @@ public class EmployeeTest
 		workingDepartment.addEmployee(employee);
 	}
 	
+	@Test
+	public void checksByDate() throws Exception
+	{
+		LocalDate day = LocalDate.of(2017, 5, 15);
+		assertFalse(employee.hasCheckForDate(day));
+		employee.addCheckInOut(IN, day.plusDays(1), LocalTime.of(8, 0));
+		employee.addCheckInOut(IN, day, LocalTime.of(8, 0));
+		employee.addCheckInOut(OUT, day, LocalTime.of(17, 0));
+		assertEquals(2, employee.getChecks().size());
+		assertTrue(employee.hasCheckForDate(day));
+		assertSame(employee.getCheckForDate(day), employee.getCheckForDate(day));
+		assertEquals(LocalTime.of(17, 0), employee.getCheckForDate(day).getCheckOut());
+		assertTrue(employee.isPresent()); //The latest check is the next day, still in progress
+		
+		EmployeeCheck duplicate = new EmployeeCheck(employee, IN, day, LocalTime.of(9, 0));
+		employee.addCheck(duplicate);
+		assertEquals(2, employee.getChecks().size());
+		assertNotSame(duplicate, employee.getCheckForDate(day));
+		
+		employee.removeCheck(employee.getCheckForDate(day.plusDays(1)));
+		assertFalse(employee.hasCheckForDate(day.plusDays(1)));
+		employee.updatePresence();
+		assertFalse(employee.isPresent());
+	}
+	
+	@Test
+	public void overtimeFollowsEdits() throws Exception
+	{
+		Random random = new Random(42);
+		LocalDate start = LocalDate.of(2016, 11, 20);
+		for(int i = 0; i < 300; i++)
+		{
+			LocalDate day = start.plusDays(random.nextInt(120));
+			if(random.nextInt(10) == 0 && employee.hasCheckForDate(day))
+				employee.removeCheck(employee.getCheckForDate(day));
+			else
+				employee.addCheckInOut(random.nextBoolean() ? IN : OUT, day, LocalTime.of(7 + random.nextInt(3), random.nextInt(60)).plusHours(random.nextBoolean() ? 0 : 9));
+			if(i % 50 == 0)
+				employee.getWorkDay(MONDAY).endTimeProperty().set(LocalTime.of(15 + random.nextInt(4), 0));
+			if(i % 30 == 0)
+				company.addClosedDay(start.plusDays(random.nextInt(120)), "Holiday");
+			if(i % 70 == 0)
+				company.removeClosedDay(start.plusDays(random.nextInt(120)));
+			LocalDate date = start.plusDays(random.nextInt(150) - 10);
+			assertEquals(date.toString(), replayOvertime(employee, date), employee.getOvertime(date));
+		}
+	}
+	
+	private static long replayOvertime(Employee employee, LocalDate date)
+	{
+		long overtime = 0;
+		LocalDate current = employee.getChecks().stream().map(EmployeeCheck::getDate).min(LocalDate::compareTo).orElse(LocalDate.now());
+		for(; !current.isAfter(date); current = current.plusDays(1))
+		{
+			if(employee.hasCheckForDate(current))
+				overtime += employee.getCheckForDate(current).getWorkedTime().getMinutes();
+			WorkDay workDay = employee.getWorkDay(current.getDayOfWeek());
+			if(workDay != null && !employee.getCompany().getClosedDays().isClosed(current))
+				overtime -= workDay.getWorkTime().getMinutes();
+		}
+		return overtime;
+	}
+	
 	@Test
 	public void getID() throws Exception
 	{
@@ -114,6 +181,30 @@ public class EmployeeTest
 		assertEquals(LocalTime.of(2, 0), employee2.getWorkingDays().get(0).getEndTime());
 	}
 	
+	@Test
+	public void sharedSchedule() throws Exception
+	{
+		Employee employee1 = new Employee(company, "A", "B");
+		Employee employee2 = new Employee(company, "C", "D");
+		assertSame(employee1.getSchedule(), employee2.getSchedule());
+		
+		employee1.getWorkDay(MONDAY).setStartTime(LocalTime.of(10, 0));
+		assertNotSame(employee1.getSchedule(), employee2.getSchedule());
+		assertEquals(LocalTime.of(10, 0), employee1.getSchedule().getStartTime(MONDAY));
+		assertEquals(Employee.DEFAULT_ARRIVAL_TIME, employee2.getSchedule().getStartTime(MONDAY));
+		assertEquals(450, employee1.getWorkCalendar().getWorkTime(MONDAY));
+		
+		employee1.getWorkDay(MONDAY).setStartTime(Employee.DEFAULT_ARRIVAL_TIME);
+		assertSame(employee1.getSchedule(), employee2.getSchedule());
+		
+		employee2.removeWorkingDay(MONDAY);
+		assertFalse(employee2.getSchedule().isWorking(MONDAY));
+		assertEquals(0, employee2.getWorkCalendar().getWorkTime(MONDAY));
+		employee1.setSchedule(employee2.getSchedule());
+		assertEquals(4, employee1.getWorkingDays().size());
+		assertNull(employee1.getWorkDay(MONDAY));
+	}
+	
 	@Test
 	public void isPresent() throws Exception
 	{
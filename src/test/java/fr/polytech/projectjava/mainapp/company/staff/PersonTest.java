@@ -2,6 +2,9 @@ package fr.polytech.projectjava.mainapp.company.staff;
 
 import org.junit.Before;
 import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import static org.junit.Assert.assertEquals;
 /**
  * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 23/03/2017.
@@ -33,4 +36,23 @@ public class PersonTest
 	{
 		assertEquals(FIRST_NAME, person.getFirstName());
 	}
+
+	@Test
+	public void lazyProperties() throws Exception
+	{
+		person.setFirstName("Paul");
+		assertEquals("Paul " + LAST_NAME, person.getFullName());
+		assertEquals("Paul", person.firstNameProperty().get());
+
+		List<String> fullNames = new ArrayList<>();
+		person.fullNameProperty().addListener((observable, oldValue, newValue) -> fullNames.add(newValue));
+		person.setLastName("Martin");
+		person.firstNameProperty().set("Marc");
+		person.setMail("marc@mail.fr");
+		assertEquals(Arrays.asList("Paul Martin", "Marc Martin"), fullNames);
+		assertEquals("Martin", person.lastNameProperty().get());
+		assertEquals("marc@mail.fr", person.mailProperty().get());
+		person.mailProperty().set("");
+		assertEquals("", person.getMail());
+	}
 }
\ No newline at end of file
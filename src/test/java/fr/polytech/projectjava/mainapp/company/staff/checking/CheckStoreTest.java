@@ -0,0 +1,131 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import fr.polytech.projectjava.utils.jfx.RoundedLocalTimeProperty;
+import fr.polytech.projectjava.utils.jfx.TimeRounding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckStoreTest
+{
+	private CheckStore store;
+	
+	@Before
+	public void setUp()
+	{
+		store = new CheckStore();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		RoundedLocalTimeProperty.setRounding(TimeRounding.QUARTER);
+	}
+	
+	@Test
+	public void addAcrossChunks()
+	{
+		int count = 100000;
+		for(int i = 0; i < count; i++)
+		{
+			int row = store.add(i % 97, 17000 + i);
+			assertEquals(i, row);
+			store.setIn(row, i % 86400);
+		}
+		assertEquals(count, store.size());
+		for(int i = 0; i < count; i += 7)
+		{
+			assertEquals(i % 97, store.getEmployeeID(i));
+			assertEquals(17000 + i, store.getDay(i));
+			assertEquals(i % 86400, store.getIn(i));
+			assertEquals(CheckStore.NONE, store.getOut(i));
+		}
+	}
+	
+	@Test
+	public void flags()
+	{
+		int row = store.add(1, 2);
+		int other = store.add(1, 3);
+		assertEquals(2, store.getCheckCount());
+		
+		store.setFlag(row, CheckStore.ARRIVAL_NOTIFIED);
+		assertTrue(store.hasFlag(row, CheckStore.ARRIVAL_NOTIFIED));
+		assertFalse(store.hasFlag(row, CheckStore.DEPARTURE_NOTIFIED));
+		assertFalse(store.hasFlag(other, CheckStore.ARRIVAL_NOTIFIED));
+	}
+	
+	@Test
+	public void releasedRowsReused()
+	{
+		int row = store.add(1, 2);
+		store.setFlag(row, CheckStore.ARRIVAL_NOTIFIED);
+		store.setIn(row, 100);
+		store.add(1, 3);
+		store.release(row);
+		assertEquals(1, store.getCheckCount());
+		assertEquals(2, store.size());
+		
+		assertEquals(row, store.add(4, 5));
+		assertEquals(4, store.getEmployeeID(row));
+		assertEquals(5, store.getDay(row));
+		assertEquals(CheckStore.NONE, store.getIn(row));
+		assertFalse(store.hasFlag(row, CheckStore.ARRIVAL_NOTIFIED));
+		assertEquals(2, store.getCheckCount());
+		assertEquals(2, store.size());
+	}
+	
+	@Test
+	public void move()
+	{
+		CheckStore small = new CheckStore(1);
+		for(int i = 0; i < 20; i++)
+			assertEquals(i, small.add(i, i));
+		assertEquals(19, small.getDay(19));
+		
+		int row = store.add(1, 2);
+		store.setIn(row, 100);
+		store.setOut(row, 200);
+		store.setFlag(row, CheckStore.DEPARTURE_NOTIFIED);
+		int moved = store.move(row, small);
+		assertEquals(20, moved);
+		assertEquals(1, small.getEmployeeID(moved));
+		assertEquals(2, small.getDay(moved));
+		assertEquals(100, small.getIn(moved));
+		assertEquals(200, small.getOut(moved));
+		assertTrue(small.hasFlag(moved, CheckStore.DEPARTURE_NOTIFIED));
+		assertEquals(0, store.getCheckCount());
+		assertEquals(row, store.add(3, 4));
+	}
+	
+	@Test
+	public void roundedOnWrite()
+	{
+		int row = store.add(1, 2);
+		assertEquals(CheckStore.NONE, store.getRoundedIn(row));
+		store.setIn(row, 8 * 3600 + 8 * 60);
+		store.setOut(row, 17 * 3600 + 7 * 60);
+		assertEquals(8 * 60 + 15, store.getRoundedIn(row));
+		assertEquals(17 * 60, store.getRoundedOut(row));
+		
+		RoundedLocalTimeProperty.setRounding(new TimeRounding(5, TimeRounding.Mode.FLOOR));
+		assertEquals(8 * 60 + 5, store.getRoundedIn(row));
+		assertEquals(17 * 60 + 5, store.getRoundedOut(row));
+		assertEquals(8 * 3600 + 8 * 60, store.getIn(row));
+		
+		CheckStore small = new CheckStore(1);
+		int moved = store.move(row, small);
+		assertEquals(8 * 60 + 5, small.getRoundedIn(moved));
+		assertEquals(row, store.add(3, 4));
+		assertEquals(CheckStore.NONE, store.getRoundedIn(row));
+	}
+}
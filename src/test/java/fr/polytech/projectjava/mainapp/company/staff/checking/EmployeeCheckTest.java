@@ -4,10 +4,16 @@ import fr.polytech.projectjava.mainapp.company.Company;
 import fr.polytech.projectjava.mainapp.company.staff.Boss;
 import fr.polytech.projectjava.mainapp.company.staff.Employee;
 import fr.polytech.projectjava.utils.jfx.MinutesDuration;
+import fr.polytech.projectjava.utils.jfx.RoundedLocalTimeProperty;
+import fr.polytech.projectjava.utils.jfx.TimeRounding;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.IN;
 import static fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck.CheckType.OUT;
 import static java.time.temporal.ChronoUnit.MINUTES;
@@ -32,6 +38,12 @@ public class EmployeeCheckTest
 		employee = new Employee(new Company("C", new Boss("AA", "BB")), "A", "B");
 	}
 	
+	@After
+	public void tearDown() throws Exception
+	{
+		RoundedLocalTimeProperty.setRounding(TimeRounding.QUARTER);
+	}
+	
 	@Test
 	public void setIn() throws Exception
 	{
@@ -56,6 +68,51 @@ public class EmployeeCheckTest
 		assertEquals(LocalTime.of(3, 0), check2.getCheckOut());
 	}
 	
+	@Test
+	public void propertiesFollowTheStore() throws Exception
+	{
+		CheckStore store = employee.getCompany().getCheckStore();
+		int count = store.getCheckCount();
+		EmployeeCheck check = new EmployeeCheck(employee, LocalDate.of(2017, 5, 15));
+		assertEquals(count + 1, store.getCheckCount());
+		employee.addCheck(check);
+		assertEquals(count + 1, store.getCheckCount());
+		
+		check.setIn(LocalTime.of(8, 2));
+		assertEquals(LocalTime.of(8, 0), check.checkInProperty().get());
+		check.setIn(LocalTime.of(8, 14));
+		assertEquals(LocalTime.of(8, 15), check.checkInProperty().get());
+		check.checkOutProperty().set(LocalTime.of(17, 15));
+		assertEquals(LocalTime.of(17, 15), check.getCheckOut());
+		assertEquals(540, check.getWorkedMinutes());
+		assertEquals(LocalDate.of(2017, 5, 15), check.dateProperty().get());
+		assertEquals(employee, check.employeeProperty().get());
+		
+		employee.removeCheck(check);
+		assertEquals(count, store.getCheckCount());
+		assertEquals(LocalTime.of(8, 15), check.getCheckIn());
+		assertEquals(LocalTime.of(17, 15), check.getCheckOut());
+		
+		int size = store.size();
+		employee.addCheck(new EmployeeCheck(employee, LocalDate.of(2017, 5, 16)));
+		assertEquals(size, store.size());
+	}
+	
+	@Test
+	public void roundingChange() throws Exception
+	{
+		EmployeeCheck check = new EmployeeCheck(employee, IN, LocalDate.of(2017, 5, 15), LocalTime.of(8, 8));
+		employee.addCheck(check);
+		List<LocalTime> changes = new ArrayList<>();
+		check.checkInProperty().addListener((observable, oldValue, newValue) -> changes.add(newValue));
+		assertEquals(LocalTime.of(8, 15), check.checkInProperty().get());
+		
+		RoundedLocalTimeProperty.setRounding(new TimeRounding(5, TimeRounding.Mode.FLOOR));
+		assertEquals(LocalTime.of(8, 5), check.getCheckIn());
+		assertEquals(Collections.singletonList(LocalTime.of(8, 5)), changes);
+		assertEquals(LocalTime.of(8, 5), check.checkInProperty().get());
+	}
+	
 	@Test
 	public void isInProgress() throws Exception
 	{
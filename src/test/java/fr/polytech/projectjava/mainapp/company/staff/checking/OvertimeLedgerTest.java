@@ -0,0 +1,44 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import org.junit.Before;
+import org.junit.Test;
+import java.time.LocalDate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class OvertimeLedgerTest
+{
+	private OvertimeLedger ledger;
+	
+	@Before
+	public void setUp()
+	{
+		ledger = new OvertimeLedger();
+	}
+	
+	@Test
+	public void totalsByMonth()
+	{
+		assertEquals(0, ledger.getTotalBeforeMonth(LocalDate.of(2017, 5, 1)));
+		ledger.add(LocalDate.of(2017, 5, 10), 60);
+		ledger.add(LocalDate.of(2017, 5, 20), 30);
+		ledger.add(LocalDate.of(2018, 9, 1), 15); //Beyond the months covered
+		ledger.add(LocalDate.of(2016, 1, 31), 5); //Before the months covered
+		assertEquals(0, ledger.getTotalBeforeMonth(LocalDate.of(2016, 1, 31)));
+		assertEquals(5, ledger.getTotalBeforeMonth(LocalDate.of(2017, 5, 31)));
+		assertEquals(95, ledger.getTotalBeforeMonth(LocalDate.of(2017, 6, 1)));
+		assertEquals(110, ledger.getTotalBeforeMonth(LocalDate.of(2030, 1, 1)));
+		assertEquals(90, ledger.getMonthTotal(LocalDate.of(2017, 5, 1)));
+		assertEquals(0, ledger.getMonthTotal(LocalDate.of(2010, 5, 1)));
+		
+		ledger.add(LocalDate.of(2017, 5, 10), -60);
+		assertEquals(50, ledger.getTotalBeforeMonth(LocalDate.of(2030, 1, 1)));
+		ledger.clear();
+		assertEquals(0, ledger.getTotalBeforeMonth(LocalDate.of(2030, 1, 1)));
+	}
+}
@@ -0,0 +1,77 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import fr.polytech.projectjava.mainapp.company.ClosedDays;
+import org.junit.Before;
+import org.junit.Test;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class WorkCalendarTest
+{
+	private static final long[] WEEK = {60, 60, 60, 60, 60, 10, 0}; //Monday to Sunday
+	private static final LocalDate MONDAY = LocalDate.of(2017, 1, 2);
+	private WorkCalendar calendar;
+	
+	@Before
+	public void setUp()
+	{
+		calendar = new WorkCalendar();
+		for(DayOfWeek day : DayOfWeek.values())
+			calendar.setWorkTime(day, WEEK[day.ordinal()]);
+	}
+	
+	@Test
+	public void expectedMinutes()
+	{
+		assertEquals(0, calendar.getExpectedMinutes(MONDAY, MONDAY.minusDays(1), null));
+		assertEquals(60, calendar.getExpectedMinutes(MONDAY, MONDAY, null));
+		assertEquals(310, calendar.getExpectedMinutes(MONDAY, MONDAY.plusDays(6), null));
+		assertEquals(10, calendar.getExpectedMinutes(MONDAY.plusDays(5), MONDAY.plusDays(6), null));
+		for(int from = 0; from < 7; from++)
+			for(int length = 0; length < 30; length++)
+				assertEquals(countExpected(MONDAY.plusDays(from), length, null), calendar.getExpectedMinutes(MONDAY.plusDays(from), MONDAY.plusDays(from + length - 1), null));
+	}
+	
+	@Test
+	public void closedDays()
+	{
+		ClosedDays closedDays = new ClosedDays();
+		closedDays.add(MONDAY, "New year");
+		closedDays.add(MONDAY.plusDays(5), "Saturday");
+		closedDays.add(MONDAY.plusDays(15), "Tuesday");
+		assertEquals(0, calendar.getExpectedMinutes(MONDAY, closedDays));
+		assertEquals(60, calendar.getExpectedMinutes(MONDAY.plusDays(1), closedDays));
+		assertEquals(240, calendar.getExpectedMinutes(MONDAY, MONDAY.plusDays(6), closedDays));
+		for(int from = -3; from < 7; from++)
+			for(int length = 0; length < 30; length++)
+				assertEquals(countExpected(MONDAY.plusDays(from), length, closedDays), calendar.getExpectedMinutes(MONDAY.plusDays(from), MONDAY.plusDays(from + length - 1), closedDays));
+	
+		closedDays.remove(MONDAY);
+		assertEquals(300, calendar.getExpectedMinutes(MONDAY, MONDAY.plusDays(6), closedDays));
+	}
+	
+	@Test
+	public void scheduleChanges()
+	{
+		calendar.setWorkTime(DayOfWeek.SUNDAY, 30);
+		calendar.setWorkTime(DayOfWeek.MONDAY, 0);
+		assertEquals(30, calendar.getWorkTime(DayOfWeek.SUNDAY));
+		assertEquals(280, calendar.getExpectedMinutes(MONDAY, MONDAY.plusDays(6), null));
+		assertEquals(30 + 280 * 3, calendar.getExpectedMinutes(MONDAY.minusDays(1), MONDAY.plusDays(20), null));
+	}
+	
+	private long countExpected(LocalDate from, int length, ClosedDays closedDays)
+	{
+		long expected = 0;
+		for(int i = 0; i < length; i++)
+			expected += calendar.getExpectedMinutes(from.plusDays(i), closedDays);
+		return expected;
+	}
+}
@@ -0,0 +1,61 @@
+package fr.polytech.projectjava.mainapp.company.staff.checking;
+
+import org.junit.Test;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class WorkScheduleTest
+{
+	private static final DayOfWeek[] WEEK = {DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY};
+	
+	@Test
+	public void shared()
+	{
+		WorkSchedule schedule = WorkSchedule.of(WEEK, LocalTime.of(8, 0), LocalTime.of(17, 0));
+		assertSame(schedule, WorkSchedule.of(WEEK, LocalTime.of(8, 2), LocalTime.of(17, 0)));
+		assertSame(schedule, schedule.with(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(17, 0)));
+		assertSame(WorkSchedule.EMPTY, WorkSchedule.of(new DayOfWeek[0], null, null));
+		
+		WorkSchedule changed = schedule.with(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0));
+		assertNotSame(schedule, changed);
+		assertEquals(LocalTime.of(8, 0), schedule.getStartTime(DayOfWeek.MONDAY));
+		assertEquals(LocalTime.of(9, 0), changed.getStartTime(DayOfWeek.MONDAY));
+		assertSame(schedule, changed.with(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(17, 0)));
+	}
+	
+	@Test
+	public void days()
+	{
+		WorkSchedule schedule = WorkSchedule.of(WEEK, LocalTime.of(8, 0), LocalTime.of(17, 0)).without(DayOfWeek.WEDNESDAY).with(DayOfWeek.SUNDAY, LocalTime.of(10, 0), LocalTime.of(12, 0));
+		assertArrayEquals(new DayOfWeek[]{DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SUNDAY}, schedule.getDays());
+		assertFalse(schedule.isWorking(DayOfWeek.WEDNESDAY));
+		assertNull(schedule.getStartTime(DayOfWeek.WEDNESDAY));
+		assertEquals(0, schedule.getWorkMinutes(DayOfWeek.WEDNESDAY));
+		assertEquals(540, schedule.getWorkMinutes(DayOfWeek.MONDAY));
+		assertEquals(120, schedule.getWorkMinutes(DayOfWeek.SUNDAY));
+		assertTrue(schedule.isValid());
+		assertFalse(schedule.with(DayOfWeek.SATURDAY, LocalTime.of(12, 0), LocalTime.of(10, 0)).isValid());
+		assertFalse(schedule.with(DayOfWeek.SATURDAY, null, LocalTime.of(10, 0)).isValid());
+	}
+	
+	@Test
+	public void withSeveralDays()
+	{
+		WorkSchedule schedule = WorkSchedule.of(WEEK, LocalTime.of(8, 0), LocalTime.of(17, 0));
+		WorkSchedule changed = schedule.with(Arrays.asList(new WorkDay(null, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0)), new WorkDay(null, DayOfWeek.SATURDAY, LocalTime.of(10, 2), LocalTime.of(12, 0))));
+		assertSame(changed, schedule.with(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0)).with(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+		assertEquals(LocalTime.of(10, 0), changed.getStartTime(DayOfWeek.SATURDAY));
+		assertEquals(LocalTime.of(8, 0), changed.getStartTime(DayOfWeek.TUESDAY));
+		assertSame(schedule, schedule.with(Collections.singletonList(new WorkDay(null, DayOfWeek.FRIDAY, LocalTime.of(8, 0), LocalTime.of(17, 0)))));
+		assertSame(schedule, WorkSchedule.EMPTY.with(Arrays.asList(Arrays.stream(WEEK).map(day -> new WorkDay(null, day, LocalTime.of(8, 0), LocalTime.of(17, 0))).toArray(WorkDay[]::new))));
+	}
+}
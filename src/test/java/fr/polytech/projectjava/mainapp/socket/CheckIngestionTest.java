@@ -0,0 +1,176 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.mainapp.company.RosterLog;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckIngestionTest
+{
+	private static final LocalDateTime DATE = LocalDateTime.of(2017, 1, 2, 8, 0);
+	private ExecutorService modelThread;
+	private List<CheckEvent> applied;
+	private AtomicInteger batches;
+	private List<Thread> threads;
+	private CheckIngestion ingestion;
+	private Thread writer;
+	
+	@Before
+	public void setUp()
+	{
+		modelThread = Executors.newSingleThreadExecutor();
+		applied = new ArrayList<>();
+		batches = new AtomicInteger();
+		threads = Collections.synchronizedList(new ArrayList<>());
+		ingestion = new CheckIngestion(new CheckingHandler()
+		{
+			@Override
+			public boolean addChecking(int employeeID, EmployeeCheck.CheckType checkType, LocalDateTime date)
+			{
+				throw new UnsupportedOperationException();
+			}
+			
+			@Override
+			public boolean[] addCheckings(List<CheckEvent> checks)
+			{
+				threads.add(Thread.currentThread());
+				batches.incrementAndGet();
+				boolean[] added = new boolean[checks.size()];
+				for(int i = 0; i < added.length; i++)
+				{
+					applied.add(checks.get(i));
+					added[i] = checks.get(i).getEmployeeID() >= 0;
+				}
+				return added;
+			}
+			
+			@Override
+			public RosterLog getRoster()
+			{
+				return null;
+			}
+		}, modelThread, 16, 8);
+		writer = new Thread(ingestion);
+		writer.start();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		ingestion.stop();
+		modelThread.shutdownNow();
+	}
+	
+	@Test
+	public void resultsMatchSubmissions()
+	{
+		boolean[] added = ingestion.addCheckings(Arrays.asList(new CheckEvent(1, EmployeeCheck.CheckType.IN, DATE), new CheckEvent(-1, EmployeeCheck.CheckType.IN, DATE), new CheckEvent(2, EmployeeCheck.CheckType.OUT, DATE)));
+		assertArrayEquals(new boolean[]{true, false, true}, added);
+		assertTrue(ingestion.addChecking(3, EmployeeCheck.CheckType.IN, DATE));
+		assertFalse(ingestion.addChecking(-3, EmployeeCheck.CheckType.IN, DATE));
+		assertEquals(5, applied.size());
+	}
+	
+	@Test
+	public void concurrentPublishersUseOneWriter() throws Exception
+	{
+		int publishers = 8;
+		int perPublisher = 200;
+		ExecutorService sockets = Executors.newFixedThreadPool(publishers);
+		try
+		{
+			List<Future<Integer>> results = new ArrayList<>();
+			for(int p = 0; p < publishers; p++)
+			{
+				int publisher = p;
+				results.add(sockets.submit(() -> {
+					int accepted = 0;
+					for(int i = 0; i < perPublisher; i++)
+						if(ingestion.addChecking(publisher, EmployeeCheck.CheckType.IN, DATE.plusMinutes(i)))
+							accepted++;
+					return accepted;
+				}));
+			}
+			for(Future<Integer> result : results)
+				assertEquals(perPublisher, (int) result.get());
+		}
+		finally
+		{
+			sockets.shutdownNow();
+		}
+		assertEquals(publishers * perPublisher, applied.size());
+		assertEquals(1, threads.stream().distinct().count());
+		assertTrue(batches.get() <= publishers * perPublisher);
+		for(int p = 0; p < publishers; p++) //Each publisher's checks are applied in the order it sent them
+		{
+			int publisher = p;
+			LocalDateTime last = null;
+			for(CheckEvent check : applied)
+				if(check.getEmployeeID() == publisher)
+				{
+					assertTrue(last == null || check.getDate().isAfter(last));
+					last = check.getDate();
+				}
+		}
+	}
+	
+	@Test
+	public void submitDoesNotWait() throws Exception
+	{
+		CompletableFuture<boolean[]> result = ingestion.submitCheckings(Arrays.asList(new CheckEvent(1, EmployeeCheck.CheckType.IN, DATE), new CheckEvent(-1, EmployeeCheck.CheckType.IN, DATE)));
+		assertArrayEquals(new boolean[]{true, false}, result.get(5, TimeUnit.SECONDS));
+		assertEquals(0, ingestion.submitCheckings(Collections.emptyList()).get().length);
+		ingestion.stop();
+		assertArrayEquals(new boolean[]{false}, ingestion.submitCheckings(Collections.singletonList(new CheckEvent(1, EmployeeCheck.CheckType.IN, DATE))).get());
+	}
+	
+	@Test
+	public void stopKeepsTheResultOfTheModel() throws Exception
+	{
+		CountDownLatch blocked = new CountDownLatch(1);
+		modelThread.execute(() -> {
+			try
+			{
+				blocked.await();
+			}
+			catch(InterruptedException ignored)
+			{
+			}
+		});
+		CompletableFuture<boolean[]> result = ingestion.submitCheckings(Collections.singletonList(new CheckEvent(1, EmployeeCheck.CheckType.IN, DATE)));
+		while(ingestion.getPendingCount() > 0) //Wait for the writer to take the batch
+			Thread.sleep(10);
+		ingestion.stop();
+		writer.join(5000); //The writer gave up waiting for the model
+		blocked.countDown();
+		assertArrayEquals(new boolean[]{true}, result.get(5, TimeUnit.SECONDS)); //Applied by the model after the stop, so not refused
+		assertEquals(1, applied.size());
+	}
+	
+	@Test
+	public void refusesAfterStop()
+	{
+		ingestion.stop();
+		assertFalse(ingestion.addChecking(1, EmployeeCheck.CheckType.IN, DATE));
+	}
+}
@@ -0,0 +1,167 @@
+package fr.polytech.projectjava.mainapp.socket;
+
+import fr.polytech.projectjava.mainapp.company.Company;
+import fr.polytech.projectjava.mainapp.company.RosterLog;
+import fr.polytech.projectjava.mainapp.company.staff.Boss;
+import fr.polytech.projectjava.mainapp.company.staff.Employee;
+import fr.polytech.projectjava.mainapp.company.staff.checking.EmployeeCheck;
+import fr.polytech.projectjava.utils.socket.CheckCodec;
+import org.junit.Before;
+import org.junit.Test;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class CheckingProtocolTest
+{
+	private List<CheckEvent> received;
+	private CheckingHandler handler;
+	private Company company;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		received = new ArrayList<>();
+		company = new Company("A", new Boss("A", "B"));
+		handler = new CheckingHandler()
+		{
+			@Override
+			public boolean addChecking(int employeeID, EmployeeCheck.CheckType checkType, LocalDateTime date)
+			{
+				received.add(new CheckEvent(employeeID, checkType, date));
+				return employeeID != 0;
+			}
+			
+			@Override
+			public boolean[] addCheckings(List<CheckEvent> checks)
+			{
+				boolean[] added = new boolean[checks.size()];
+				for(int i = 0; i < added.length; i++)
+					added[i] = addChecking(checks.get(i).getEmployeeID(), checks.get(i).getCheckType(), checks.get(i).getDate());
+				return added;
+			}
+			
+			@Override
+			public RosterLog getRoster()
+			{
+				return company.getRoster();
+			}
+		};
+	}
+	
+	@Test
+	public void processChecks() throws Exception
+	{
+		String batch = "1;IN;02/01/2017 08:00:00\n0;IN;02/01/2017 08:05:00\nbad line\n1;OUT;02/01/2017 17:00:00";
+		assertEquals("ACK;0,3;1,2", CheckingProtocol.processChecks(handler, batch.getBytes(), CheckCodec.TEXT_VERSION));
+		assertEquals(3, received.size());
+		assertEquals(LocalDateTime.of(2017, 1, 2, 17, 0), received.get(2).getDate());
+		assertEquals(EmployeeCheck.CheckType.OUT, received.get(2).getCheckType());
+	}
+	
+	@Test
+	public void submitChecks() throws Exception
+	{
+		String batch = "1;IN;02/01/2017 08:00:00\nbad line\n0;OUT;02/01/2017 17:00:00";
+		assertEquals("ACK;0;1,2", CheckingProtocol.submitChecks(handler, batch.getBytes(), CheckCodec.TEXT_VERSION).get());
+		assertTrue(CheckingProtocol.submitCheck(handler, "1;OUT;02/01/2017 17:00:00".getBytes(), CheckCodec.TEXT_VERSION).get());
+		assertFalse(CheckingProtocol.submitCheck(handler, "0;OUT;02/01/2017 17:00:00".getBytes(), CheckCodec.TEXT_VERSION).get());
+		assertEquals(4, received.size());
+	}
+	
+	@Test
+	public void processBinaryChecks() throws Exception
+	{
+		ByteBuffer batch = ByteBuffer.allocate(3 * CheckCodec.RECORD_SIZE);
+		CheckCodec.write(batch, 1, CheckCodec.TYPE_IN, LocalDateTime.of(2017, 1, 2, 8, 0, 30));
+		CheckCodec.write(batch, 1, (byte) 7, LocalDateTime.of(2017, 1, 2, 12, 0));
+		CheckCodec.write(batch, 0, CheckCodec.TYPE_OUT, LocalDateTime.of(2017, 1, 2, 17, 0));
+		assertEquals("ACK;0;1,2", CheckingProtocol.processChecks(handler, batch.array(), CheckCodec.BINARY_VERSION));
+		assertEquals(2, received.size());
+		assertEquals(LocalDateTime.of(2017, 1, 2, 8, 0, 30), received.get(0).getDate());
+		assertEquals(EmployeeCheck.CheckType.OUT, received.get(1).getCheckType());
+	}
+	
+	@Test
+	public void processBinaryCheck() throws Exception
+	{
+		assertTrue(CheckingProtocol.processCheck(handler, CheckCodec.encode(5, CheckCodec.TYPE_OUT, LocalDateTime.of(2017, 3, 4, 17, 15)), CheckCodec.BINARY_VERSION));
+		assertEquals(5, received.get(0).getEmployeeID());
+		assertEquals(LocalDateTime.of(2017, 3, 4, 17, 15), received.get(0).getDate());
+		assertTrue(CheckingProtocol.processCheck(handler, "5;IN;04/03/2017 08:00:00".getBytes(), CheckCodec.TEXT_VERSION));
+		assertEquals(LocalDateTime.of(2017, 3, 4, 8, 0), received.get(1).getDate());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void processBinaryCheckInvalidSize() throws Exception
+	{
+		CheckingProtocol.processCheck(handler, new byte[5], CheckCodec.BINARY_VERSION);
+	}
+	
+	@Test
+	public void negotiate() throws Exception
+	{
+		assertTrue(CheckingProtocol.isHello("HELLO;2"));
+		assertFalse(CheckingProtocol.isHello("CHECK"));
+		assertEquals(CheckCodec.TEXT_VERSION, CheckingProtocol.negotiate("HELLO;1"));
+		assertEquals(CheckCodec.VERSION, CheckingProtocol.negotiate("HELLO;" + (CheckCodec.VERSION + 5)));
+		assertEquals(CheckCodec.TEXT_VERSION, CheckingProtocol.negotiate("HELLO;0"));
+		assertEquals(CheckCodec.TEXT_VERSION, CheckingProtocol.negotiate("HELLO;abc"));
+		assertEquals(CheckCodec.TEXT_VERSION, CheckingProtocol.negotiate("HELLO;"));
+	}
+	
+	@Test
+	public void buildRoster() throws Exception
+	{
+		Employee employee1 = new Employee(company, "L1", "F1");
+		Employee employee2 = new Employee(company, "L2", "F2");
+		company.addEmployee(employee1);
+		company.addEmployee(employee2);
+		long generation = company.getRoster().getGeneration();
+		
+		String[] full = CheckingProtocol.buildRoster(handler, "EMPLOYEE;-1;0").split("\n");
+		assertEquals("FULL;" + generation + ";2", full[0]);
+		assertEquals(3, full.length);
+		assertEquals("A;" + CheckingProtocol.employeeToString(employee2), full[2]);
+		
+		assertEquals("DELTA;" + generation + ";2", CheckingProtocol.buildRoster(handler, "EMPLOYEE;" + generation + ";2"));
+		
+		Employee employee3 = new Employee(company, "L3", "F3");
+		company.addEmployee(employee3);
+		employee1.firstNameProperty().set("G1");
+		employee3.lastNameProperty().set("M3");
+		company.removeEmployee(employee2);
+		String[] delta = CheckingProtocol.buildRoster(handler, "EMPLOYEE;" + generation + ";2").split("\n");
+		assertEquals("DELTA;" + generation + ";6", delta[0]);
+		assertEquals("U;" + CheckingProtocol.employeeToString(employee1), delta[1]);
+		assertEquals("A;" + CheckingProtocol.employeeToString(employee3), delta[2]);
+		assertEquals("R;" + employee2.getID(), delta[3]);
+		
+		assertTrue(CheckingProtocol.buildRoster(handler, "EMPLOYEE;" + (generation + 1) + ";6").startsWith("FULL;"));
+		assertTrue(CheckingProtocol.buildRoster(handler, "EMPLOYEE;" + generation + ";7").startsWith("FULL;"));
+	}
+	
+	@Test
+	public void buildAck() throws Exception
+	{
+		assertEquals("ACK;;", CheckingProtocol.buildAck(new boolean[0]));
+		assertEquals("ACK;0,1;", CheckingProtocol.buildAck(new boolean[]{true, true}));
+		assertEquals("ACK;;0", CheckingProtocol.buildAck(new boolean[]{false}));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void processChecksNull() throws Exception
+	{
+		CheckingProtocol.processChecks(handler, null, CheckCodec.TEXT_VERSION);
+	}
+}
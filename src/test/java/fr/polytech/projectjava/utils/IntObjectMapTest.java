@@ -0,0 +1,67 @@
+package fr.polytech.projectjava.utils;
+
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class IntObjectMapTest
+{
+	@Test
+	public void putGetRemove()
+	{
+		IntObjectMap<String> map = new IntObjectMap<>();
+		assertNull(map.get(1));
+		assertNull(map.put(1, "a"));
+		assertEquals("a", map.put(1, "b"));
+		assertEquals("b", map.get(1));
+		assertTrue(map.containsKey(1));
+		assertEquals(1, map.size());
+		assertEquals("b", map.remove(1));
+		assertNull(map.remove(1));
+		assertFalse(map.containsKey(1));
+		assertEquals(0, map.size());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void nullValue()
+	{
+		new IntObjectMap<String>().put(1, null);
+	}
+	
+	@Test
+	public void sameAsHashMap()
+	{
+		IntObjectMap<Integer> map = new IntObjectMap<>();
+		Map<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+		for(int i = 0; i < 200000; i++)
+		{
+			int key = random.nextInt(5000) - 100; //Small range to have many collisions and removals
+			switch(random.nextInt(3))
+			{
+				case 0:
+					assertEquals(expected.put(key, i), map.put(key, i));
+					break;
+				case 1:
+					assertEquals(expected.remove(key), map.remove(key));
+					break;
+				default:
+					assertEquals(expected.get(key), map.get(key));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		for(Map.Entry<Integer, Integer> entry : expected.entrySet())
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		map.clear();
+		assertEquals(0, map.size());
+		assertNull(map.get(expected.keySet().iterator().next()));
+	}
+}
@@ -0,0 +1,69 @@
+package fr.polytech.projectjava.utils;
+
+import org.junit.Test;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class SortedIntObjectMapTest
+{
+	@Test
+	public void orderedAccess()
+	{
+		SortedIntObjectMap<String> map = new SortedIntObjectMap<>(1);
+		assertNull(map.first());
+		assertNull(map.last());
+		map.put(5, "e");
+		map.put(1, "a");
+		map.put(9, "i");
+		map.put(3, "c");
+		assertEquals(4, map.size());
+		assertEquals("a", map.first());
+		assertEquals("i", map.last());
+		assertEquals(3, map.keyAt(1));
+		assertEquals("c", map.valueAt(1));
+		assertEquals(2, map.ceilingIndex(4));
+		assertEquals(2, map.ceilingIndex(5));
+		assertEquals(4, map.ceilingIndex(10));
+		assertEquals("e", map.remove(5));
+		assertFalse(map.containsKey(5));
+		assertEquals("i", map.valueAt(2));
+	}
+	
+	@Test
+	public void sameAsTreeMap()
+	{
+		SortedIntObjectMap<Integer> map = new SortedIntObjectMap<>();
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		Random random = new Random(42);
+		for(int i = 0; i < 100000; i++)
+		{
+			int key = random.nextInt(2000) - 100;
+			switch(random.nextInt(3))
+			{
+				case 0:
+					assertEquals(expected.put(key, i), map.put(key, i));
+					break;
+				case 1:
+					assertEquals(expected.remove(key), map.remove(key));
+					break;
+				default:
+					assertEquals(expected.get(key), map.get(key));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		int index = 0;
+		for(Map.Entry<Integer, Integer> entry : expected.entrySet())
+		{
+			assertEquals((int) entry.getKey(), map.keyAt(index));
+			assertEquals(entry.getValue(), map.valueAt(index++));
+		}
+	}
+}
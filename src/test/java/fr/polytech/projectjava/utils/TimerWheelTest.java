@@ -0,0 +1,87 @@
+package fr.polytech.projectjava.utils;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class TimerWheelTest
+{
+	@Test
+	public void expiresInOrderOfTicks()
+	{
+		TimerWheel<String> wheel = new TimerWheel<>(8, 10, 0);
+		wheel.schedule(25, "a");
+		wheel.schedule(45, "b");
+		wheel.schedule(5, "past");
+		assertEquals(3, wheel.size());
+		List<String> expired = new ArrayList<>();
+		assertEquals(1, wheel.advance(10, expired::add));
+		assertEquals(1, wheel.advance(29, expired::add));
+		assertEquals(0, wheel.advance(39, expired::add));
+		assertEquals(1, wheel.advance(40, expired::add));
+		assertEquals(0, wheel.size());
+		assertEquals("past", expired.get(0));
+		assertEquals("a", expired.get(1));
+		assertEquals("b", expired.get(2));
+	}
+	
+	@Test
+	public void cancel()
+	{
+		TimerWheel<String> wheel = new TimerWheel<>(8, 10, 0);
+		TimerWheel.Timer<String> a = wheel.schedule(20, "a");
+		TimerWheel.Timer<String> b = wheel.schedule(20, "b");
+		TimerWheel.Timer<String> c = wheel.schedule(20, "c");
+		assertTrue(b.cancel());
+		assertFalse(b.cancel());
+		assertFalse(b.isPending());
+		assertTrue(a.isPending());
+		List<String> expired = new ArrayList<>();
+		wheel.advance(20, expired::add);
+		assertEquals(2, expired.size());
+		assertTrue(expired.contains("a"));
+		assertTrue(expired.contains("c"));
+		assertFalse(c.cancel());
+	}
+	
+	@Test
+	public void laps()
+	{
+		TimerWheel<String> wheel = new TimerWheel<>(4, 10, 0);
+		wheel.schedule(15, "first");
+		wheel.schedule(55, "second lap");
+		wheel.schedule(1000, "far");
+		List<String> expired = new ArrayList<>();
+		assertEquals(1, wheel.advance(20, expired::add));
+		assertEquals("first", expired.get(0));
+		assertEquals(1, wheel.advance(50, expired::add));
+		assertEquals("second lap", expired.get(1));
+		assertEquals(1, wheel.size());
+		assertEquals(1, wheel.advance(5000, expired::add));
+		assertEquals("far", expired.get(2));
+	}
+	
+	@Test
+	public void clear()
+	{
+		TimerWheel<String> wheel = new TimerWheel<>(4, 10, 0);
+		TimerWheel.Timer<String> timer = wheel.schedule(15, "a");
+		wheel.clear();
+		assertEquals(0, wheel.size());
+		assertFalse(timer.cancel());
+		assertEquals(0, wheel.advance(100, value -> fail()));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void noSlot()
+	{
+		new TimerWheel<String>(0, 10, 0);
+	}
+}
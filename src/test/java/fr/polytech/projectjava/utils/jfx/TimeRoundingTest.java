@@ -0,0 +1,79 @@
+package fr.polytech.projectjava.utils.jfx;
+
+import org.junit.After;
+import org.junit.Test;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class TimeRoundingTest
+{
+	@After
+	public void tearDown()
+	{
+		RoundedLocalTimeProperty.setRounding(TimeRounding.QUARTER);
+	}
+	
+	@Test
+	public void quarter()
+	{
+		assertEquals(LocalTime.of(8, 0), TimeRounding.QUARTER.round(LocalTime.of(8, 7, 59)));
+		assertEquals(LocalTime.of(8, 15), TimeRounding.QUARTER.round(LocalTime.of(8, 8)));
+		assertEquals(LocalTime.of(9, 0), TimeRounding.QUARTER.round(LocalTime.of(8, 53)));
+		assertEquals(LocalTime.of(23, 45), TimeRounding.QUARTER.round(LocalTime.of(23, 53)));
+		assertNull(TimeRounding.QUARTER.round(null));
+		assertSame(TimeRounding.QUARTER.round(LocalTime.of(8, 10)), TimeRounding.QUARTER.round(LocalTime.of(8, 20)));
+	}
+	
+	@Test
+	public void modes()
+	{
+		LocalTime time = LocalTime.of(8, 12);
+		assertEquals(LocalTime.of(8, 10), new TimeRounding(5, TimeRounding.Mode.FLOOR).round(time));
+		assertEquals(LocalTime.of(8, 15), new TimeRounding(5, TimeRounding.Mode.CEIL).round(time));
+		assertEquals(LocalTime.of(8, 10), new TimeRounding(10, TimeRounding.Mode.NEAREST).round(time));
+		assertEquals(LocalTime.of(8, 20), new TimeRounding(10, TimeRounding.Mode.CEIL).round(time));
+		assertEquals(LocalTime.of(8, 0), new TimeRounding(30, TimeRounding.Mode.NEAREST).round(time));
+		assertEquals(LocalTime.of(8, 30), new TimeRounding(30, TimeRounding.Mode.NEAREST).round(LocalTime.of(8, 15)));
+		assertEquals(LocalTime.of(8, 0), new TimeRounding(30, TimeRounding.Mode.CEIL).round(LocalTime.of(8, 0, 30)));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void badStep()
+	{
+		new TimeRounding(7, TimeRounding.Mode.FLOOR);
+	}
+	
+	@Test
+	public void cachedProperty()
+	{
+		RoundedLocalTimeProperty property = new RoundedLocalTimeProperty(LocalTime.of(8, 8, 30));
+		assertEquals(LocalTime.of(8, 15), property.get());
+		assertEquals(8 * 60 + 15, property.getMinuteOfDay());
+		assertEquals(LocalTime.of(8, 8, 30).toSecondOfDay(), property.getRealSecondOfDay());
+		assertEquals(LocalTime.of(8, 8, 30), property.getRealTime());
+		
+		List<LocalTime> changes = new ArrayList<>();
+		property.addListener((observable, oldValue, newValue) -> changes.add(newValue));
+		RoundedLocalTimeProperty.setRounding(new TimeRounding(5, TimeRounding.Mode.FLOOR));
+		assertEquals(Collections.singletonList(LocalTime.of(8, 5)), changes);
+		assertEquals(LocalTime.of(8, 5), property.get());
+		assertEquals(8 * 60 + 5, property.getMinuteOfDay());
+		
+		property.set(null);
+		assertNull(property.get());
+		assertEquals(-1, property.getMinuteOfDay());
+		property.set(LocalTime.of(17, 2));
+		assertEquals(LocalTime.of(17, 0), property.get());
+		assertEquals(Arrays.asList(LocalTime.of(8, 5), null, LocalTime.of(17, 0)), changes);
+	}
+}
@@ -0,0 +1,343 @@
+package fr.polytech.projectjava.utils.mail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class MailOutboxTest
+{
+	private File saveFile;
+	private LocalTransport transport;
+	private MailOutbox outbox;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		saveFile = File.createTempFile("outbox", ".pjv");
+		if(!saveFile.delete())
+			fail("Couldn't prepare the outbox file");
+		transport = new LocalTransport();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(outbox != null)
+			outbox.stop();
+		saveFile.delete();
+	}
+	
+	@Test
+	public void digestInOneConnection() throws Exception
+	{
+		outbox = new MailOutbox(transport, 50, 10, 100, 10, saveFile);
+		outbox.enqueue("a@b.c", "Late 1", "Body 1");
+		outbox.enqueue("d@e.f", "Late 2", "Body 2");
+		outbox.enqueue("a@b.c", "Late 3", "Body 3");
+		Thread.sleep(100); //Everything is due before the dispatcher starts
+		start();
+		waitSent(2);
+		assertEquals(1, transport.opens);
+		assertEquals(2, transport.sent.size());
+		assertEquals("a@b.c", transport.sent.get(0)[0]);
+		assertEquals("Late 1 (and 1 more)", transport.sent.get(0)[1]);
+		assertTrue(transport.sent.get(0)[2].contains("Body 1"));
+		assertTrue(transport.sent.get(0)[2].contains("Body 3"));
+		assertEquals("Late 2", transport.sent.get(1)[1]);
+		assertEquals("Body 2", transport.sent.get(1)[2]);
+		assertEquals(0, outbox.getPendingCount());
+	}
+	
+	@Test
+	public void retry() throws Exception
+	{
+		transport.failures = 2;
+		outbox = new MailOutbox(transport, 0, 10, 100, 10, saveFile);
+		start();
+		outbox.enqueue("a@b.c", "Late", "Body");
+		waitSent(1);
+		assertEquals(3, transport.opens);
+		assertEquals(1, outbox.getSentCount());
+		assertFalse(saveFile.exists());
+	}
+	
+	@Test
+	public void retriedApart() throws Exception
+	{
+		transport.failures = 1;
+		outbox = new MailOutbox(transport, 0, 200, 200, 10, saveFile);
+		start();
+		outbox.enqueue("a@b.c", "Late 1", "Body 1");
+		for(int i = 0; i < 100 && transport.opens == 0; i++)
+			Thread.sleep(20);
+		Thread.sleep(50);
+		outbox.enqueue("a@b.c", "Late 2", "Body 2");
+		waitSent(2);
+		assertEquals("Late 2", transport.sent.get(0)[1]);
+		assertEquals("Late 1", transport.sent.get(1)[1]);
+	}
+	
+	@Test
+	public void unexpectedErrorRetried() throws Exception
+	{
+		transport.unexpectedFailures = 1;
+		outbox = new MailOutbox(transport, 0, 10, 100, 10, saveFile);
+		start();
+		outbox.enqueue("a@b.c", "Late", "Body");
+		waitSent(1);
+		assertEquals(2, transport.opens);
+		assertEquals(0, outbox.getPendingCount());
+	}
+	
+	@Test
+	public void smtpBatchInOneConnection() throws Exception
+	{
+		try(SmtpServer server = new SmtpServer())
+		{
+			Thread serverThread = new Thread(server);
+			serverThread.setDaemon(true);
+			serverThread.start();
+			Properties properties = new Properties();
+			properties.put("mail.smtp.host", "127.0.0.1");
+			properties.put("mail.smtp.port", String.valueOf(server.getPort()));
+			properties.put("mail.smtp.localhost", "localhost");
+			outbox = new MailOutbox(new SmtpMailTransport(Session.getInstance(properties), "app@b.c", "Application"), 50, 10, 100, 10, saveFile);
+			outbox.enqueue("a@b.c", "Late 1", "Body 1");
+			outbox.enqueue("d@e.f", "Late 2", "Body 2");
+			outbox.enqueue("g@h.i", "Late 3", "Body 3");
+			Thread.sleep(100); //Everything is due before the dispatcher starts
+			start();
+			waitSent(3);
+			assertEquals(1, server.connections.get());
+			assertEquals(Arrays.asList("<a@b.c>", "<d@e.f>", "<g@h.i>"), server.recipients);
+			assertEquals(3, server.messages.get());
+		}
+	}
+	
+	@Test
+	public void dropped() throws Exception
+	{
+		transport.failures = Integer.MAX_VALUE;
+		outbox = new MailOutbox(transport, 0, 10, 10, 3, saveFile);
+		start();
+		outbox.enqueue("a@b.c", "Late", "Body");
+		for(int i = 0; i < 250 && outbox.getDroppedCount() == 0; i++)
+			Thread.sleep(20);
+		assertEquals(1, outbox.getDroppedCount());
+		assertEquals(3, transport.opens);
+		assertEquals(0, outbox.getPendingCount());
+		
+		transport.failures = 0;
+		transport.refused = "bad@b.c";
+		outbox.enqueue("bad@b.c", "Late", "Body");
+		outbox.enqueue("a@b.c", "Late", "Body");
+		waitSent(1);
+		assertEquals(2, outbox.getDroppedCount());
+	}
+	
+	@Test
+	public void persisted() throws Exception
+	{
+		transport.failures = Integer.MAX_VALUE;
+		MailOutbox failing = new MailOutbox(transport, 0, 60000, 60000, 10, saveFile);
+		Thread thread = new Thread(failing);
+		thread.start();
+		failing.enqueue("a@b.c", "Late", "Body");
+		for(int i = 0; i < 100 && transport.opens == 0; i++)
+			Thread.sleep(20);
+		failing.stop();
+		thread.join(1000);
+		assertTrue(saveFile.exists());
+		
+		transport = new LocalTransport();
+		outbox = new MailOutbox(transport, 0, 10, 100, 10, saveFile);
+		assertEquals(1, outbox.getPendingCount());
+		start();
+		waitSent(1);
+		assertEquals("Body", transport.sent.get(0)[2]);
+	}
+	
+	/**
+	 * Start the dispatcher of the outbox.
+	 */
+	private void start()
+	{
+		Thread thread = new Thread(outbox);
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Wait for the outbox to send mails.
+	 *
+	 * @param count The number of mails to wait for.
+	 *
+	 * @throws InterruptedException If interrupted.
+	 */
+	private void waitSent(int count) throws InterruptedException
+	{
+		for(int i = 0; i < 250 && outbox.getSentCount() < count; i++)
+			Thread.sleep(20);
+		assertEquals(count, outbox.getSentCount());
+	}
+	
+	/**
+	 * A transport keeping the mails in memory, standing for a SMTP server.
+	 */
+	private static class LocalTransport implements MailTransport
+	{
+		private final List<String[]> sent = Collections.synchronizedList(new ArrayList<>());
+		private volatile int opens;
+		private volatile int failures;
+		private volatile int unexpectedFailures;
+		private volatile String refused;
+		private boolean opened;
+		
+		@Override
+		public void open() throws MessagingException
+		{
+			opens++;
+			if(failures-- > 0)
+				throw new MessagingException("Server down");
+			opened = true;
+		}
+		
+		@Override
+		public void send(String to, String object, String body) throws MessagingException
+		{
+			if(!opened)
+				throw new MessagingException("Not connected");
+			if(unexpectedFailures-- > 0)
+				throw new IllegalStateException("Not connected");
+			if(to.equals(refused))
+				throw new SendFailedException("Invalid address");
+			sent.add(new String[]{to, object, body});
+		}
+		
+		@Override
+		public void close()
+		{
+			opened = false;
+		}
+	}
+	
+	/**
+	 * A SMTP server accepting every mail, one connection at a time, standing for the real server.
+	 */
+	private static class SmtpServer implements Runnable, Closeable
+	{
+		private final ServerSocket socket;
+		private final AtomicInteger connections = new AtomicInteger();
+		private final AtomicInteger messages = new AtomicInteger();
+		private final List<String> recipients = Collections.synchronizedList(new ArrayList<>());
+		
+		/**
+		 * Constructor, listening on a free port.
+		 *
+		 * @throws IOException If the socket couldn't be opened.
+		 */
+		SmtpServer() throws IOException
+		{
+			socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		}
+		
+		@Override
+		public void run()
+		{
+			while(!socket.isClosed())
+				try(Socket client = socket.accept())
+				{
+					connections.incrementAndGet();
+					serve(client);
+				}
+				catch(IOException ignored)
+				{
+				}
+		}
+		
+		/**
+		 * Answer the commands of a client until it quits.
+		 *
+		 * @param client The client.
+		 *
+		 * @throws IOException If the connection failed.
+		 */
+		private void serve(Socket client) throws IOException
+		{
+			BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+			Writer writer = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.US_ASCII);
+			reply(writer, "220 localhost");
+			String line;
+			while((line = reader.readLine()) != null)
+			{
+				String command = line.toUpperCase();
+				if(command.startsWith("RCPT TO:"))
+					recipients.add(line.substring("RCPT TO:".length()).trim());
+				else if(command.equals("DATA"))
+				{
+					reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+					while((line = reader.readLine()) != null && !line.equals("."))
+						;
+					messages.incrementAndGet();
+				}
+				else if(command.equals("QUIT"))
+				{
+					reply(writer, "221 Bye");
+					return;
+				}
+				reply(writer, "250 OK");
+			}
+		}
+		
+		/**
+		 * Send a reply to the client.
+		 *
+		 * @param writer Where to write.
+		 * @param reply  The reply.
+		 *
+		 * @throws IOException If the writing failed.
+		 */
+		private static void reply(Writer writer, String reply) throws IOException
+		{
+			writer.write(reply + "\r\n");
+			writer.flush();
+		}
+		
+		/**
+		 * Get the port the server listens to.
+		 *
+		 * @return The port.
+		 */
+		int getPort()
+		{
+			return socket.getLocalPort();
+		}
+		
+		@Override
+		public void close() throws IOException
+		{
+			socket.close();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package fr.polytech.projectjava.utils.socket;
+
+import org.junit.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class ConnectionExecutorTest
+{
+	@Test
+	public void poolRejectsWhenFull() throws Exception
+	{
+		ConnectionExecutor executor = new ConnectionExecutor("Test", ConnectionExecutor.Mode.POOL, 2, 1);
+		CountDownLatch started = new CountDownLatch(2);
+		CountDownLatch release = new CountDownLatch(1);
+		Runnable connection = () -> {
+			started.countDown();
+			try
+			{
+				release.await();
+			}
+			catch(InterruptedException ignored)
+			{
+			}
+		};
+		assertTrue(executor.execute(connection));
+		assertTrue(executor.execute(connection));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertTrue(executor.execute(connection));
+		assertFalse(executor.execute(connection));
+		assertEquals(2, executor.getActiveCount());
+		assertEquals(1, executor.getQueuedCount());
+		assertEquals(1, executor.getRejectedCount());
+		
+		release.countDown();
+		executor.shutdown();
+		for(int i = 0; i < 50 && executor.getActiveCount() + executor.getQueuedCount() > 0; i++)
+			Thread.sleep(100);
+		assertEquals(0, executor.getActiveCount());
+		assertEquals(0, executor.getQueuedCount());
+	}
+	
+	@Test
+	public void queuedTooLong() throws Exception
+	{
+		ConnectionExecutor executor = new ConnectionExecutor("Test", ConnectionExecutor.Mode.POOL, 1, 1, 100);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch closed = new CountDownLatch(1);
+		AtomicBoolean ran = new AtomicBoolean();
+		assertTrue(executor.execute(() -> {
+			try
+			{
+				release.await();
+			}
+			catch(InterruptedException ignored)
+			{
+			}
+		}));
+		assertTrue(executor.execute(() -> ran.set(true), closed::countDown));
+		Thread.sleep(300);
+		release.countDown();
+		assertTrue(closed.await(5, TimeUnit.SECONDS));
+		assertFalse(ran.get());
+		assertEquals(1, executor.getRejectedCount());
+		executor.shutdown();
+	}
+	
+	@Test
+	public void maxConnections() throws Exception
+	{
+		ConnectionExecutor executor = new ConnectionExecutor("Test", ConnectionExecutor.Mode.THREAD, 1, 0);
+		CountDownLatch release = new CountDownLatch(1);
+		assertTrue(executor.execute(() -> {
+			try
+			{
+				release.await();
+			}
+			catch(InterruptedException ignored)
+			{
+			}
+		}));
+		assertFalse(executor.execute(() -> {
+		}));
+		assertEquals(1, executor.getRejectedCount());
+		release.countDown();
+		executor.shutdown();
+	}
+	
+	@Test
+	public void virtualFallback() throws Exception
+	{
+		ConnectionExecutor executor = new ConnectionExecutor("Test", ConnectionExecutor.Mode.VIRTUAL, 4, 4);
+		CountDownLatch ran = new CountDownLatch(1);
+		assertTrue(executor.execute(ran::countDown));
+		assertTrue(ran.await(5, TimeUnit.SECONDS));
+		assertNotNull(executor.getMode());
+		executor.shutdown();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyPool() throws Exception
+	{
+		new ConnectionExecutor("Test", ConnectionExecutor.Mode.POOL, 0, 10);
+	}
+}
@@ -0,0 +1,78 @@
+package fr.polytech.projectjava.utils.socket;
+
+import org.junit.Before;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+/**
+ * Created by Thomas Couchoud (MrCraftCod - zerderr@gmail.com) on 16/10/2026.
+ *
+ * @author Thomas Couchoud
+ * @since 2026-10-16
+ */
+public class FrameReaderTest
+{
+	private FrameReader reader;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		reader = new FrameReader(8, 1024);
+	}
+	
+	@Test
+	public void severalFramesInOneRead() throws Exception
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		stream.write(FrameReader.encode("CHECK".getBytes()));
+		stream.write(FrameReader.encode("1;IN;01/01/2017 08:00:00".getBytes()));
+		stream.write(FrameReader.encode(new byte[0]));
+		
+		assertTrue(reader.read(new ByteArrayInputStream(stream.toByteArray()), 1024) > 0);
+		assertEquals(0, reader.peek());
+		assertEquals("CHECK", new String(reader.nextFrame()));
+		assertEquals("1;IN;01/01/2017 08:00:00", new String(reader.nextFrame()));
+		assertEquals(0, reader.nextFrame().length);
+		assertNull(reader.nextFrame());
+		assertEquals(0, reader.available());
+	}
+	
+	@Test
+	public void frameSplitOverSeveralReads() throws Exception
+	{
+		byte[] content = new byte[100];
+		Arrays.fill(content, (byte) 'a');
+		byte[] frame = FrameReader.encode(content);
+		
+		for(int i = 0; i < frame.length - 1; i++)
+		{
+			reader.feed(ByteBuffer.wrap(frame, i, 1));
+			assertNull(reader.nextFrame());
+		}
+		reader.feed(ByteBuffer.wrap(frame, frame.length - 1, 1));
+		assertArrayEquals(content, reader.nextFrame());
+	}
+	
+	@Test
+	public void drain() throws Exception
+	{
+		assertNull(reader.drain());
+		assertEquals(-1, reader.peek());
+		reader.feed(ByteBuffer.wrap("EMPLOYEE".getBytes()));
+		assertEquals('E', reader.peek());
+		assertEquals("EMPLOYEE", new String(reader.drain()));
+		assertEquals(0, reader.available());
+	}
+	
+	@Test(expected = IOException.class)
+	public void frameTooBig() throws Exception
+	{
+		reader.feed(ByteBuffer.wrap(FrameReader.encode(new byte[2048])));
+		reader.nextFrame();
+	}
+}